@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.adapters;
+
+import com.firefly.core.banking.psdx.core.cache.TransactionHistoryCache;
+import com.firefly.core.banking.psdx.core.cache.TransactionView;
+import com.firefly.core.banking.psdx.core.ports.TransactionServicePort;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDTransactionDTO;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+
+/**
+ * Caching decorator for the TransactionServicePort.
+ * Booked transactions with a booking date before today never change, so the booked history
+ * of a range is served from the {@link TransactionHistoryCache} and only missing days are
+ * fetched once from downstream. Transactions that are not booked, and today and later, are
+ * always fetched live, and all parts are merged into a single response. Cached transactions
+ * are decoded one at a time as the response is consumed.
+ */
+@Slf4j
+public class CachingTransactionServiceAdapter implements TransactionServicePort {
+
+    private static final String BOOKED = "booked";
+
+    private final TransactionServicePort delegate;
+    private final TransactionHistoryCache cache;
+    private final Clock clock;
+
+    /**
+     * Constructor for CachingTransactionServiceAdapter.
+     *
+     * @param delegate The downstream transaction service port
+     * @param cache The transaction history cache
+     */
+    public CachingTransactionServiceAdapter(TransactionServicePort delegate, TransactionHistoryCache cache) {
+        this(delegate, cache, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor for CachingTransactionServiceAdapter.
+     *
+     * @param delegate The downstream transaction service port
+     * @param cache The transaction history cache
+     * @param clock The clock used to determine today
+     */
+    public CachingTransactionServiceAdapter(TransactionServicePort delegate, TransactionHistoryCache cache, Clock clock) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.clock = clock;
+    }
+
+    @Override
+    public Flux<PSDTransactionDTO> getTransactionsByAccountId(UUID accountId, LocalDate fromDate, LocalDate toDate) {
+        LocalDate today = LocalDate.now(clock);
+        if (fromDate == null || toDate == null || !fromDate.isBefore(today)) {
+            return delegate.getTransactionsByAccountId(accountId, fromDate, toDate);
+        }
+
+        LocalDate historyEnd = toDate.isBefore(today) ? toDate : today.minusDays(1);
+        Flux<PSDTransactionDTO> history = getHistory(accountId, fromDate, historyEnd, today);
+        if (toDate.isBefore(today)) {
+            return history;
+        }
+        return history.concatWith(delegate.getTransactionsByAccountId(accountId, today, toDate));
+    }
+
+    @Override
+    public Flux<PSDTransactionDTO> getNonBookedTransactionsByAccountId(UUID accountId, LocalDate fromDate, LocalDate toDate) {
+        return delegate.getNonBookedTransactionsByAccountId(accountId, fromDate, toDate);
+    }
+
+    @Override
+    public Mono<PSDTransactionDTO> getTransactionById(UUID transactionId) {
+        return delegate.getTransactionById(transactionId);
+    }
+
+    /**
+     * Get the transactions of a range that lies entirely before today.
+     *
+     * @param accountId The ID of the account
+     * @param fromDate The first day of the range
+     * @param toDate The last day of the range
+     * @param today The current day
+     * @return A Flux of transactions ordered by booking day
+     */
+    private Flux<PSDTransactionDTO> getHistory(UUID accountId, LocalDate fromDate, LocalDate toDate, LocalDate today) {
+        NavigableMap<LocalDate, List<TransactionView>> cached = cache.getDays(accountId, fromDate, toDate);
+
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate day = fromDate; !day.isAfter(toDate); day = day.plusDays(1)) {
+            if (!cached.containsKey(day)) {
+                if (firstMissing == null) {
+                    firstMissing = day;
+                }
+                lastMissing = day;
+            }
+        }
+
+        if (firstMissing == null) {
+            log.debug("Served booked transactions for account ID: {} between {} and {} from cache", accountId, fromDate, toDate);
+            return Flux.fromIterable(cached.values())
+                    .<TransactionView>flatMapIterable(views -> views)
+                    .map(TransactionView::toDTO)
+                    .concatWith(delegate.getNonBookedTransactionsByAccountId(accountId, fromDate, toDate)
+                            .filter(transaction -> !isImmutable(transaction, today)));
+        }
+
+        LocalDate fetchFrom = firstMissing;
+        LocalDate fetchTo = lastMissing;
+        log.debug("Fetching uncached transactions for account ID: {} between {} and {}", accountId, fetchFrom, fetchTo);
+
+        return delegate.getTransactionsByAccountId(accountId, fetchFrom, fetchTo)
+                .collectList()
+                .flatMapMany(fetched -> {
+                    Map<LocalDate, List<PSDTransactionDTO>> bookedByDay = new HashMap<>();
+                    List<PSDTransactionDTO> notBooked = new ArrayList<>();
+                    for (PSDTransactionDTO transaction : fetched) {
+                        if (isImmutable(transaction, today)) {
+                            bookedByDay.computeIfAbsent(transaction.getBookingDate(), day -> new ArrayList<>()).add(transaction);
+                        } else {
+                            notBooked.add(transaction);
+                        }
+                    }
+
+                    List<Flux<PSDTransactionDTO>> days = new ArrayList<>();
+                    for (LocalDate day = fromDate; !day.isAfter(toDate); day = day.plusDays(1)) {
+                        List<TransactionView> views = cached.get(day);
+                        if (views != null) {
+                            days.add(Flux.fromIterable(views).map(TransactionView::toDTO));
+                            continue;
+                        }
+                        List<PSDTransactionDTO> transactions = bookedByDay.getOrDefault(day, List.of());
+                        cache.putDay(accountId, day, transactions);
+                        days.add(Flux.fromIterable(transactions));
+                    }
+                    Flux<PSDTransactionDTO> booked = Flux.concat(days);
+                    if (fetchFrom.equals(fromDate) && fetchTo.equals(toDate)) {
+                        return booked.concatWith(Flux.fromIterable(notBooked));
+                    }
+                    // Cached days outside the fetched window may still carry live pending entries
+                    return booked
+                            .concatWith(delegate.getNonBookedTransactionsByAccountId(accountId, fromDate, toDate)
+                                    .filter(transaction -> !isImmutable(transaction, today)));
+                });
+    }
+
+    /**
+     * Check whether a transaction can be cached permanently.
+     *
+     * @param transaction The transaction
+     * @param today The current day
+     * @return True if the transaction is booked on a day before today
+     */
+    private static boolean isImmutable(PSDTransactionDTO transaction, LocalDate today) {
+        return BOOKED.equals(transaction.getTransactionStatus())
+                && transaction.getBookingDate() != null
+                && transaction.getBookingDate().isBefore(today);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.adapters;
+
+import com.firefly.core.banking.psdx.core.ports.ScaChallengePersistencePort;
+import com.firefly.core.banking.psdx.core.sca.PendingChallenge;
+import com.firefly.core.banking.psdx.models.entities.ScaChallenge;
+import com.firefly.core.banking.psdx.models.repositories.ScaChallengeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HexFormat;
+
+/**
+ * Persistence adapter sharing challenges between nodes through the sca_challenges table.
+ * Only created when psdx.sca.challenges.persistence is set to database, so the cleanup job does
+ * not run against a table the in-memory mode does not use.
+ */
+@Component
+@ConditionalOnProperty(prefix = "psdx.sca.challenges", name = "persistence", havingValue = "database")
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseScaChallengePersistenceAdapter implements ScaChallengePersistencePort {
+
+    private final ScaChallengeRepository scaChallengeRepository;
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    @Override
+    public Mono<Void> save(PendingChallenge challenge) {
+        return scaChallengeRepository.upsert(challenge.challengeId(), challenge.partyId(), challenge.resourceId(),
+                        challenge.method(), HexFormat.of().formatHex(challenge.codeHash()), challenge.failedAttempts(),
+                        toDateTime(challenge.expiresAtMillis()))
+                .then();
+    }
+
+    @Override
+    public Mono<PendingChallenge> findById(String challengeId) {
+        return scaChallengeRepository.findChallenge(challengeId)
+                .map(DatabaseScaChallengePersistenceAdapter::toPendingChallenge);
+    }
+
+    @Override
+    public Mono<PendingChallenge> recordAttempt(String challengeId, int maxAttempts) {
+        return scaChallengeRepository.recordAttempt(challengeId, LocalDateTime.now(ZoneOffset.UTC), maxAttempts)
+                .map(DatabaseScaChallengePersistenceAdapter::toPendingChallenge);
+    }
+
+    @Override
+    public Mono<Boolean> consume(String challengeId) {
+        return scaChallengeRepository.consume(challengeId)
+                .map(count -> count > 0);
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Collection<String> challengeIds) {
+        return scaChallengeRepository.deleteChallenges(challengeIds).then();
+    }
+
+    /**
+     * Delete challenges left behind by nodes that stopped before expiring them.
+     */
+    @Scheduled(fixedDelayString = "${psdx.sca.challenges.cleanup-interval-ms:300000}")
+    public void cleanupExpired() {
+        scaChallengeRepository.deleteExpired(LocalDateTime.now(ZoneOffset.UTC))
+                .subscribe(
+                        count -> log.debug("Deleted {} expired SCA challenges", count),
+                        e -> log.warn("Failed to delete expired SCA challenges: {}", e.getMessage()));
+    }
+
+    private static PendingChallenge toPendingChallenge(ScaChallenge challenge) {
+        return new PendingChallenge(challenge.getId(), challenge.getPartyId(), challenge.getResourceId(),
+                challenge.getMethod(), HexFormat.of().parseHex(challenge.getCodeHash()),
+                challenge.getFailedAttempts() != null ? challenge.getFailedAttempts() : 0,
+                challenge.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
@@ -18,32 +18,38 @@
 package com.firefly.core.banking.psdx.core.adapters;
 
 import com.firefly.core.banking.psdx.core.ports.SCAServicePort;
+import com.firefly.core.banking.psdx.core.sca.ScaChallengeStore;
+import com.firefly.core.banking.psdx.core.sca.ScaDecision;
+import com.firefly.core.banking.psdx.core.sca.ScaExemptionEngine;
+import com.firefly.core.banking.psdx.core.sca.ScaExemptionRequest;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDSCAAuthenticationRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDSCAAuthenticationResponseDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDSCAValidationRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDSCAValidationResponseDTO;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.util.UUID;
+
 /**
  * Default adapter for the SCA service.
  * This is a simplified implementation for demonstration purposes.
  * In a real application, this would be replaced with a client for the SCA service.
+ * Pending challenges are kept in the {@link ScaChallengeStore} and exemption decisions are taken
+ * locally by the {@link ScaExemptionEngine}.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class DefaultSCAServiceAdapter implements SCAServicePort {
 
-    @Value("${psdx.sca.required-for-all-payments:true}")
-    private boolean scaRequiredForAllPayments;
-
-    @Value("${psdx.sca.exemption-threshold-amount:30.00}")
-    private double scaExemptionThresholdAmount;
+    private static final String DEMO_CODE = "123456";
 
-    @Value("${psdx.sca.exemption-threshold-currency:EUR}")
-    private String scaExemptionThresholdCurrency;
+    private final ScaExemptionEngine scaExemptionEngine;
+    private final ScaChallengeStore scaChallengeStore;
 
     /**
      * Initiate SCA for a customer.
@@ -55,15 +61,17 @@ public class DefaultSCAServiceAdapter implements SCAServicePort {
     public Mono<PSDSCAAuthenticationResponseDTO> initiateSCA(PSDSCAAuthenticationRequestDTO request) {
         log.debug("Initiating SCA for party ID: {}, resource: {}", request.getPartyId(), request.getResourceId());
         
-        // In a real implementation, this would call the SCA service
-        // For now, we'll just return a mock response
-        return Mono.just(PSDSCAAuthenticationResponseDTO.builder()
-                .challengeId("sca-" + System.currentTimeMillis())
-                .method("SMS")
-                .maskedTarget("+49 *** *** 789")
-                .expiresIn(300)
-                .additionalInfo("An SMS has been sent to your registered mobile number")
-                .build());
+        // In a real implementation, the SCA service would generate and deliver the code
+        // For now, every challenge uses the demonstration code
+        String method = request.getPreferredMethod() != null ? request.getPreferredMethod() : "SMS";
+        return scaChallengeStore.create(request.getPartyId(), request.getResourceId(), method, DEMO_CODE)
+                .map(challenge -> PSDSCAAuthenticationResponseDTO.builder()
+                        .challengeId(challenge.challengeId())
+                        .method(challenge.method())
+                        .maskedTarget("+49 *** *** 789")
+                        .expiresIn(scaChallengeStore.getTtlSeconds())
+                        .additionalInfo("An SMS has been sent to your registered mobile number")
+                        .build());
     }
 
     /**
@@ -75,22 +83,25 @@ public class DefaultSCAServiceAdapter implements SCAServicePort {
     @Override
     public Mono<PSDSCAValidationResponseDTO> validateSCA(PSDSCAValidationRequestDTO request) {
         log.debug("Validating SCA for challenge ID: {}", request.getChallengeId());
-        
-        // In a real implementation, this would call the SCA service
-        // For now, we'll just return a mock response
-        // For demonstration purposes, we'll accept any code that is "123456"
-        if ("123456".equals(request.getAuthenticationCode())) {
-            return Mono.just(PSDSCAValidationResponseDTO.builder()
-                    .success(true)
-                    .authenticationToken("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
-                    .expiresIn(3600)
-                    .build());
-        } else {
-            return Mono.just(PSDSCAValidationResponseDTO.builder()
-                    .success(false)
-                    .errorMessage("Invalid authentication code")
-                    .build());
-        }
+
+        return scaChallengeStore.validate(request.getChallengeId(), request.getAuthenticationCode())
+                .map(outcome -> switch (outcome) {
+                    case AUTHENTICATED -> PSDSCAValidationResponseDTO.builder()
+                            .success(true)
+                            .authenticationToken("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
+                            .expiresIn(3600)
+                            .build();
+                    case INVALID_CODE -> failure("Invalid authentication code");
+                    case ATTEMPTS_EXCEEDED -> failure("Too many failed attempts, the challenge has been cancelled");
+                    case UNKNOWN_CHALLENGE -> failure("Unknown or expired challenge");
+                });
+    }
+
+    private static PSDSCAValidationResponseDTO failure(String errorMessage) {
+        return PSDSCAValidationResponseDTO.builder()
+                .success(false)
+                .errorMessage(errorMessage)
+                .build();
     }
 
     /**
@@ -101,22 +112,32 @@ public class DefaultSCAServiceAdapter implements SCAServicePort {
      * @return A Mono of Boolean indicating if SCA is required
      */
     @Override
-    public Mono<Boolean> isSCARequired(Double amount, String currency) {
+    public Mono<Boolean> isSCARequired(BigDecimal amount, String currency) {
         log.debug("Checking if SCA is required for amount: {} {}", amount, currency);
-        
-        // If SCA is required for all payments, return true
-        if (scaRequiredForAllPayments) {
-            return Mono.just(true);
-        }
-        
-        // If the amount is below the exemption threshold and the currency matches, return false
-        if (amount != null && currency != null && 
-                amount <= scaExemptionThresholdAmount && 
-                scaExemptionThresholdCurrency.equals(currency)) {
-            return Mono.just(false);
-        }
-        
-        // Otherwise, return true
-        return Mono.just(true);
+        return Mono.fromSupplier(() -> scaExemptionEngine.evaluate(new ScaExemptionRequest(null, amount, currency)))
+                .map(ScaDecision::scaRequired);
+    }
+
+    /**
+     * Decide whether a payment of a PSU requires SCA or can be exempted.
+     *
+     * @param request The payment to evaluate
+     * @return A Mono of the decision
+     */
+    @Override
+    public Mono<ScaDecision> evaluateExemption(ScaExemptionRequest request) {
+        return Mono.fromSupplier(() -> scaExemptionEngine.evaluate(request))
+                .doOnNext(decision -> log.debug("SCA exemption decision for party ID: {}: {}", request.partyId(), decision));
+    }
+
+    /**
+     * Record a successful SCA of a PSU.
+     *
+     * @param partyId The ID of the PSU
+     * @return A Mono that completes when the authentication is recorded
+     */
+    @Override
+    public Mono<Void> recordAuthentication(UUID partyId) {
+        return Mono.fromRunnable(() -> scaExemptionEngine.recordAuthentication(partyId));
     }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.adapters;
+
+import com.firefly.core.banking.psdx.core.ports.ScaChallengePersistencePort;
+import com.firefly.core.banking.psdx.core.sca.PendingChallenge;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Persistence adapter for single-node deployments.
+ * Challenges only live in the memory of the node that created them.
+ */
+@Component
+public class LocalScaChallengePersistenceAdapter implements ScaChallengePersistencePort {
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public Mono<Void> save(PendingChallenge challenge) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<PendingChallenge> findById(String challengeId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<PendingChallenge> recordAttempt(String challengeId, int maxAttempts) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Boolean> consume(String challengeId) {
+        return Mono.just(false);
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Collection<String> challengeIds) {
+        return Mono.empty();
+    }
+}
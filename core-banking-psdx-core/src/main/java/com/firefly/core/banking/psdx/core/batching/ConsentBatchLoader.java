@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.batching;
+
+import com.firefly.core.banking.psdx.core.consent.ConsentAccessScope;
+import com.firefly.core.banking.psdx.core.consent.ValidatedConsent;
+import com.firefly.core.banking.psdx.core.events.ConsentInvalidationEventBus;
+import com.firefly.core.banking.psdx.models.entities.Consent;
+import com.firefly.core.banking.psdx.models.projections.ConsentAccess;
+import com.firefly.core.banking.psdx.models.projections.ConsentSummary;
+import com.firefly.core.banking.psdx.models.repositories.ConsentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Batched read access to consents.
+ * Concurrent lookups by ID, for instance from the consent validation interceptor and the
+ * services behind it, are collected into a single {@code id = ANY(:ids)} query.
+ * Validation only needs a {@link ValidatedConsent}: its columns are read through the
+ * {@link ConsentSummary} projection, an index-only scan, and the parsed access scope, which
+ * never changes, is kept per consent until the consent is invalidated.
+ */
+@Component
+public class ConsentBatchLoader {
+
+    private final ConsentRepository consentRepository;
+    private final MicroBatchLoader<UUID, Consent> loader;
+    private final MicroBatchLoader<UUID, ConsentSummary> summaryLoader;
+    private final MicroBatchLoader<UUID, ConsentAccess> accessLoader;
+    private final ConcurrentMap<UUID, ConsentAccessScope> scopes = new ConcurrentHashMap<>();
+    private final int maxCachedScopes;
+    private final Disposable invalidations;
+
+    /**
+     * Constructor for ConsentBatchLoader.
+     *
+     * @param consentRepository The consent repository
+     * @param eventBus The bus of invalidated consents, whose cached scopes are dropped
+     * @param windowMs How long concurrent lookups are collected before the batch query is issued
+     * @param maxBatchSize The maximum number of consents per batch query
+     * @param maxCachedScopes The maximum number of access scopes kept in memory
+     */
+    public ConsentBatchLoader(
+            ConsentRepository consentRepository,
+            ConsentInvalidationEventBus eventBus,
+            @Value("${psdx.consent.batch.window-ms:2}") long windowMs,
+            @Value("${psdx.consent.batch.max-size:128}") int maxBatchSize,
+            @Value("${psdx.consent.scope-cache.max-entries:10000}") int maxCachedScopes) {
+        this.consentRepository = consentRepository;
+        Duration window = Duration.ofMillis(windowMs);
+        this.loader = new MicroBatchLoader<>(this::loadAll, Consent::getId, window, maxBatchSize);
+        this.summaryLoader = new MicroBatchLoader<>(ids -> consentRepository.findSummariesByIds(toArray(ids)),
+                ConsentSummary::id, window, maxBatchSize);
+        this.accessLoader = new MicroBatchLoader<>(ids -> consentRepository.findAccessByIds(toArray(ids)),
+                ConsentAccess::id, window, maxBatchSize);
+        this.maxCachedScopes = maxCachedScopes;
+        this.invalidations = eventBus.events().subscribe(invalidation -> scopes.remove(invalidation.consentId()));
+    }
+
+    /**
+     * Load a consent as part of the current batch.
+     *
+     * @param consentId The ID of the consent
+     * @return A Mono of the consent, or an empty Mono if it does not exist
+     */
+    public Mono<Consent> load(UUID consentId) {
+        return loader.load(consentId);
+    }
+
+    /**
+     * Load many consents with a single query.
+     *
+     * @param consentIds The IDs of the consents
+     * @return A Flux of the consents that exist
+     */
+    public Flux<Consent> loadAll(Collection<UUID> consentIds) {
+        if (consentIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return consentRepository.findAllByIds(toArray(consentIds));
+    }
+
+    /**
+     * Load the snapshot of a consent as part of the current batch, without loading the entity.
+     *
+     * @param consentId The ID of the consent
+     * @return A Mono of the snapshot, or an empty Mono if the consent does not exist
+     */
+    public Mono<ValidatedConsent> loadValidated(UUID consentId) {
+        return summaryLoader.load(consentId)
+                .flatMap(summary -> {
+                    ConsentAccessScope scope = scopes.get(consentId);
+                    if (scope != null) {
+                        return Mono.just(ValidatedConsent.of(summary, scope));
+                    }
+                    return accessLoader.load(consentId)
+                            .map(access -> ValidatedConsent.of(summary, cacheScope(access)));
+                });
+    }
+
+    /**
+     * Load the snapshots of many consents with at most two queries.
+     *
+     * @param consentIds The IDs of the consents
+     * @return A Flux of the snapshots of the consents that exist
+     */
+    public Flux<ValidatedConsent> loadAllValidated(Collection<UUID> consentIds) {
+        if (consentIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return consentRepository.findSummariesByIds(toArray(consentIds))
+                .collectList()
+                .flatMapMany(summaries -> {
+                    Map<UUID, ConsentAccessScope> known = new HashMap<>();
+                    List<UUID> uncached = new ArrayList<>();
+                    for (ConsentSummary summary : summaries) {
+                        ConsentAccessScope scope = scopes.get(summary.id());
+                        if (scope != null) {
+                            known.put(summary.id(), scope);
+                        } else {
+                            uncached.add(summary.id());
+                        }
+                    }
+                    Mono<Map<UUID, ConsentAccessScope>> complete = uncached.isEmpty()
+                            ? Mono.just(known)
+                            : consentRepository.findAccessByIds(toArray(uncached))
+                                    .doOnNext(access -> known.put(access.id(), cacheScope(access)))
+                                    .then(Mono.just(known));
+                    return complete.flatMapIterable(found -> summaries.stream()
+                            .filter(summary -> found.containsKey(summary.id()))
+                            .map(summary -> ValidatedConsent.of(summary, found.get(summary.id())))
+                            .toList());
+                });
+    }
+
+    @PreDestroy
+    void close() {
+        invalidations.dispose();
+    }
+
+    private ConsentAccessScope cacheScope(ConsentAccess access) {
+        ConsentAccessScope scope = ConsentAccessScope.of(access.accessScope(), access.access());
+        if (scopes.size() >= maxCachedScopes) {
+            scopes.clear();
+        }
+        scopes.put(access.id(), scope);
+        return scope;
+    }
+
+    private static UUID[] toArray(Collection<UUID> ids) {
+        return new LinkedHashSet<>(ids).toArray(UUID[]::new);
+    }
+}
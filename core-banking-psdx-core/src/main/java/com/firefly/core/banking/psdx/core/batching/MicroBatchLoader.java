@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.batching;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects single-key lookups issued concurrently within a short window and resolves them
+ * with one batch query, in the style of a DataLoader.
+ * Lookups of the same key within a window share one result. A batch is dispatched when its
+ * window elapses or as soon as it reaches the maximum batch size.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class MicroBatchLoader<K, V> {
+
+    private final Function<Collection<K>, Flux<V>> batchFunction;
+    private final Function<V, K> keyFunction;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Object lock = new Object();
+    private Map<K, Sinks.One<V>> pending = new LinkedHashMap<>();
+
+    /**
+     * Constructor for MicroBatchLoader.
+     *
+     * @param batchFunction Loads the values of a batch of keys; missing keys are simply absent
+     * @param keyFunction Extracts the key of a loaded value
+     * @param window How long a batch collects keys before it is dispatched
+     * @param maxBatchSize The maximum number of keys per batch
+     */
+    public MicroBatchLoader(Function<Collection<K>, Flux<V>> batchFunction, Function<V, K> keyFunction,
+                            Duration window, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be at least 1");
+        }
+        this.batchFunction = batchFunction;
+        this.keyFunction = keyFunction;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Load the value of a key as part of the current batch.
+     *
+     * @param key The key
+     * @return A Mono of the value, or an empty Mono if the key does not exist
+     */
+    public Mono<V> load(K key) {
+        return Mono.defer(() -> {
+            Sinks.One<V> sink;
+            Map<K, Sinks.One<V>> full = null;
+            boolean opened = false;
+            synchronized (lock) {
+                sink = pending.get(key);
+                if (sink == null) {
+                    sink = Sinks.one();
+                    opened = pending.isEmpty();
+                    pending.put(key, sink);
+                    if (pending.size() >= maxBatchSize) {
+                        full = pending;
+                        pending = new LinkedHashMap<>();
+                    }
+                }
+            }
+            if (full != null) {
+                dispatch(full);
+            } else if (opened) {
+                Schedulers.parallel().schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            return sink.asMono();
+        });
+    }
+
+    private void flush() {
+        Map<K, Sinks.One<V>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, Sinks.One<V>> batch) {
+        batchFunction.apply(List.copyOf(batch.keySet()))
+                .collectMap(keyFunction)
+                .subscribe(
+                        found -> batch.forEach((key, sink) -> {
+                            V value = found.get(key);
+                            if (value != null) {
+                                sink.tryEmitValue(value);
+                            } else {
+                                sink.tryEmitEmpty();
+                            }
+                        }),
+                        error -> batch.values().forEach(sink -> sink.tryEmitError(error)));
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.cache;
+
+import com.firefly.core.banking.psdx.core.ports.AccountServicePort;
+import com.firefly.core.banking.psdx.core.ports.CardServicePort;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBalanceDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot of the balances of accounts and cards, keyed by account reference (IBAN or BBAN)
+ * or card ID. The balances are loaded through the AccountServicePort or CardServicePort on first use
+ * and kept for a short time, encoded with the {@link BalanceRecordCodec} next to the available
+ * balance derived from them, so funds checks and balance reads are answered from memory.
+ * Concurrent misses for the same account share a single downstream call. Payments invalidate
+ * the snapshot of their debtor account.
+ */
+@Component
+@Slf4j
+public class AvailableBalanceCache {
+
+    /**
+     * Balance types that express the amount a PSU can spend, in order of preference.
+     */
+    private static final List<String> AVAILABLE_BALANCE_TYPES =
+            List.of("interimAvailable", "expected", "interimBooked", "closingBooked");
+    private static final String DEBIT = "DBIT";
+
+    private static final String CARD_PREFIX = "card:";
+
+    private final AccountServicePort accountServicePort;
+    private final CardServicePort cardServicePort;
+    private final ConcurrentMap<String, Mono<CachedBalances>> snapshots = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final int maxAccounts;
+
+    /**
+     * Constructor for AvailableBalanceCache.
+     *
+     * @param accountServicePort The account service port
+     * @param cardServicePort The card service port
+     * @param ttlMs How long a snapshot is used before it is reloaded
+     * @param maxAccounts The maximum number of accounts kept in memory
+     */
+    public AvailableBalanceCache(
+            AccountServicePort accountServicePort,
+            CardServicePort cardServicePort,
+            @Value("${psdx.funds-confirmation.snapshot.ttl-ms:5000}") long ttlMs,
+            @Value("${psdx.funds-confirmation.snapshot.max-accounts:100000}") int maxAccounts) {
+        this.accountServicePort = accountServicePort;
+        this.cardServicePort = cardServicePort;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.maxAccounts = maxAccounts;
+    }
+
+    /**
+     * Get the available balance snapshot of an account.
+     *
+     * @param accountReference The IBAN or BBAN of the account
+     * @param accountId The ID of the account in the account service
+     * @return A Mono of the snapshot
+     */
+    public Mono<Snapshot> getSnapshot(String accountReference, UUID accountId) {
+        return available(accountId, getOrLoad(accountReference, accountId,
+                () -> accountServicePort.getBalancesByAccountId(accountId)));
+    }
+
+    /**
+     * Get the balances of an account.
+     *
+     * @param accountReference The IBAN or BBAN of the account
+     * @param accountId The ID of the account in the account service
+     * @return A Flux of the balances
+     */
+    public Flux<PSDBalanceDTO> getBalances(String accountReference, UUID accountId) {
+        return getOrLoad(accountReference, accountId, () -> accountServicePort.getBalancesByAccountId(accountId))
+                .flatMapIterable(cached -> BalanceRecordCodec.decode(cached.balances()));
+    }
+
+    /**
+     * Get the available balance snapshot of a card.
+     *
+     * @param cardId The ID of the card in the card service
+     * @return A Mono of the snapshot
+     */
+    public Mono<Snapshot> getCardSnapshot(UUID cardId) {
+        return available(cardId, getOrLoad(CARD_PREFIX + cardId, cardId, () -> cardServicePort.getBalancesByCardId(cardId)));
+    }
+
+    /**
+     * Drop the snapshot of an account, so the next funds check reloads its balance.
+     *
+     * @param accountReference The IBAN or BBAN of the account
+     */
+    public void invalidate(String accountReference) {
+        if (accountReference != null && snapshots.remove(accountReference) != null) {
+            log.debug("Invalidated available balance snapshot for account: {}", accountReference);
+        }
+    }
+
+    private Mono<CachedBalances> getOrLoad(String key, UUID accountId, Supplier<Flux<PSDBalanceDTO>> balances) {
+        Mono<CachedBalances> cached = snapshots.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (snapshots.size() >= maxAccounts) {
+            trim();
+        }
+        return snapshots.computeIfAbsent(key, k -> load(accountId, balances));
+    }
+
+    /**
+     * Load the balances of an account. The returned Mono caches them for the TTL and reloads them
+     * on the first use after that; failures are not cached.
+     */
+    private Mono<CachedBalances> load(UUID accountId, Supplier<Flux<PSDBalanceDTO>> balances) {
+        return Flux.defer(balances)
+                .collectList()
+                .map(loaded -> new CachedBalances(BalanceRecordCodec.encode(loaded, Arena.ofAuto()),
+                        toSnapshot(accountId, loaded)))
+                .cache(cached -> ttl, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    private static Mono<Snapshot> available(UUID accountId, Mono<CachedBalances> cached) {
+        return cached.flatMap(balances -> balances.snapshot() != null
+                ? Mono.just(balances.snapshot())
+                : Mono.error(new IllegalStateException("No available balance for account " + accountId)));
+    }
+
+    private void trim() {
+        Iterator<String> references = snapshots.keySet().iterator();
+        int target = maxAccounts - maxAccounts / 4;
+        while (references.hasNext() && snapshots.size() > target) {
+            references.next();
+            references.remove();
+        }
+    }
+
+    private static Snapshot toSnapshot(UUID accountId, List<PSDBalanceDTO> balances) {
+        for (String balanceType : AVAILABLE_BALANCE_TYPES) {
+            for (PSDBalanceDTO balance : balances) {
+                PSDBalanceDTO.PSDAmountDTO amount = balance.getBalanceAmount();
+                if (balanceType.equals(balance.getBalanceType()) && amount != null && amount.getAmount() != null) {
+                    BigDecimal available = DEBIT.equals(balance.getCreditDebitIndicator())
+                            ? amount.getAmount().abs().negate()
+                            : amount.getAmount();
+                    return new Snapshot(accountId, available, amount.getCurrency());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Available balance of an account at the time it was loaded.
+     *
+     * @param accountId The ID of the account or card
+     * @param available The available amount; negative if the account is overdrawn
+     * @param currency The currency of the account
+     */
+    public record Snapshot(UUID accountId, BigDecimal available, String currency) {
+    }
+
+    /**
+     * Encoded balances of an account and the available balance derived from them, or null if none
+     * of the balances expresses an available amount.
+     */
+    private record CachedBalances(MemorySegment balances, Snapshot snapshot) {
+    }
+}
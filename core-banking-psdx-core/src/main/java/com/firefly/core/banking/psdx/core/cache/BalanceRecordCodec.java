@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.cache;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBalanceDTO;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact codec for balances, built on the {@link CompactBlock} format.
+ * Balance types, credit/debit indicators and currencies are dictionary encoded and
+ * amounts are stored as unscaled long plus scale.
+ */
+public final class BalanceRecordCodec {
+
+    private static final int FLAGS = 0;
+    private static final int BALANCE_TYPE = 4;
+    private static final int CREDIT_DEBIT_INDICATOR = 8;
+    private static final int AMOUNT_UNSCALED = 12;
+    private static final int AMOUNT_SCALE = 20;
+    private static final int AMOUNT_CURRENCY = 24;
+    private static final int REFERENCE_SECONDS = 28;
+    private static final int REFERENCE_NANOS = 36;
+    private static final int FIXED_SIZE = 40;
+
+    private static final int HAS_AMOUNT = 1;
+    private static final int HAS_AMOUNT_VALUE = 1 << 1;
+    private static final int AMOUNT_AS_TEXT = 1 << 2;
+    private static final int HAS_REFERENCE_DATE = 1 << 3;
+
+    private static final int LAST_COMMITTED_TRANSACTION = 0;
+    private static final int AMOUNT_TEXT = 1;
+
+    private BalanceRecordCodec() {
+    }
+
+    /**
+     * Encode a list of balances into a segment allocated from the given arena.
+     *
+     * @param balances The balances to encode
+     * @param arena The arena owning the returned segment
+     * @return The encoded block
+     */
+    public static MemorySegment encode(List<PSDBalanceDTO> balances, Arena arena) {
+        CompactBlockWriter writer = new CompactBlockWriter(CompactBlock.KIND_BALANCES, FIXED_SIZE);
+        for (PSDBalanceDTO balance : balances) {
+            writer.beginRecord();
+            int flags = 0;
+            String amountText = null;
+            writer.setRef(BALANCE_TYPE, balance.getBalanceType());
+            writer.setRef(CREDIT_DEBIT_INDICATOR, balance.getCreditDebitIndicator());
+            PSDBalanceDTO.PSDAmountDTO amount = balance.getBalanceAmount();
+            writer.setRef(AMOUNT_CURRENCY, amount != null ? amount.getCurrency() : null);
+            if (amount != null) {
+                flags |= HAS_AMOUNT;
+                BigDecimal value = amount.getAmount();
+                if (value != null) {
+                    flags |= HAS_AMOUNT_VALUE;
+                    if (!writer.setDecimal(AMOUNT_UNSCALED, AMOUNT_SCALE, value)) {
+                        flags |= AMOUNT_AS_TEXT;
+                        amountText = value.toString();
+                    }
+                }
+            }
+            if (balance.getReferenceDate() != null) {
+                flags |= HAS_REFERENCE_DATE;
+                writer.setLong(REFERENCE_SECONDS, balance.getReferenceDate().toEpochSecond(ZoneOffset.UTC));
+                writer.setInt(REFERENCE_NANOS, balance.getReferenceDate().getNano());
+            }
+            writer.setInt(FLAGS, flags);
+            writer.appendString(balance.getLastCommittedTransaction());
+            writer.appendString(amountText);
+        }
+        return writer.toSegment(arena);
+    }
+
+    /**
+     * Decode an encoded block.
+     *
+     * @param segment The encoded block
+     * @return The decoded balances
+     */
+    public static List<PSDBalanceDTO> decode(MemorySegment segment) {
+        CompactBlock block = CompactBlock.open(segment, CompactBlock.KIND_BALANCES);
+        List<PSDBalanceDTO> balances = new ArrayList<>(block.size());
+        for (int i = 0; i < block.size(); i++) {
+            long record = block.recordOffset(i);
+            int flags = block.getInt(record, FLAGS);
+            PSDBalanceDTO.PSDAmountDTO amount = null;
+            if ((flags & HAS_AMOUNT) != 0) {
+                BigDecimal value = null;
+                if ((flags & AMOUNT_AS_TEXT) != 0) {
+                    value = new BigDecimal(block.getString(record, FIXED_SIZE, AMOUNT_TEXT));
+                } else if ((flags & HAS_AMOUNT_VALUE) != 0) {
+                    value = block.getDecimal(record, AMOUNT_UNSCALED, AMOUNT_SCALE);
+                }
+                amount = PSDBalanceDTO.PSDAmountDTO.builder()
+                        .currency(block.getRef(record, AMOUNT_CURRENCY))
+                        .amount(value)
+                        .build();
+            }
+            balances.add(PSDBalanceDTO.builder()
+                    .balanceType(block.getRef(record, BALANCE_TYPE))
+                    .balanceAmount(amount)
+                    .creditDebitIndicator(block.getRef(record, CREDIT_DEBIT_INDICATOR))
+                    .referenceDate((flags & HAS_REFERENCE_DATE) != 0
+                            ? LocalDateTime.ofEpochSecond(block.getLong(record, REFERENCE_SECONDS),
+                                    block.getInt(record, REFERENCE_NANOS), ZoneOffset.UTC)
+                            : null)
+                    .lastCommittedTransaction(block.getString(record, FIXED_SIZE, LAST_COMMITTED_TRANSACTION))
+                    .build());
+        }
+        return balances;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.cache;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigDecimal;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only view over a schema-versioned compact block.
+ * <p>
+ * Layout: a header (schema version, record kind, record count, dictionary size),
+ * the dictionary of interned strings, one offset per record, then the records.
+ * Only the dictionary is decoded when the block is opened; record fields are read
+ * directly from the segment when they are accessed, so the segment can live on or
+ * off the heap.
+ */
+public final class CompactBlock {
+
+    public static final byte SCHEMA_VERSION = 2;
+    public static final byte KIND_TRANSACTIONS = 1;
+    public static final byte KIND_BALANCES = 2;
+
+    static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final int HEADER_SIZE = 12;
+    static final int NULL_REF = -1;
+
+    private final MemorySegment segment;
+    private final String[] dictionary;
+    private final int recordCount;
+    private final long offsetsStart;
+    private final long recordsStart;
+
+    private CompactBlock(MemorySegment segment, String[] dictionary, int recordCount, long offsetsStart) {
+        this.segment = segment;
+        this.dictionary = dictionary;
+        this.recordCount = recordCount;
+        this.offsetsStart = offsetsStart;
+        this.recordsStart = offsetsStart + (long) recordCount * Integer.BYTES;
+    }
+
+    /**
+     * Open a block and decode its dictionary.
+     *
+     * @param segment The encoded block
+     * @param expectedKind The kind of records the caller expects
+     * @return The opened block
+     * @throws IllegalStateException if the schema version or record kind does not match
+     */
+    public static CompactBlock open(MemorySegment segment, byte expectedKind) {
+        byte version = segment.get(ValueLayout.JAVA_BYTE, 0);
+        if (version != SCHEMA_VERSION) {
+            throw new IllegalStateException("Unsupported compact block schema version: " + version);
+        }
+        byte kind = segment.get(ValueLayout.JAVA_BYTE, 1);
+        if (kind != expectedKind) {
+            throw new IllegalStateException("Unexpected compact block kind: " + kind);
+        }
+        int recordCount = segment.get(INT, 4);
+        String[] dictionary = new String[segment.get(INT, 8)];
+        long offset = HEADER_SIZE;
+        for (int i = 0; i < dictionary.length; i++) {
+            int length = segment.get(INT, offset);
+            dictionary[i] = utf8(segment, offset + Integer.BYTES, length);
+            offset += Integer.BYTES + length;
+        }
+        return new CompactBlock(segment, dictionary, recordCount, offset);
+    }
+
+    /**
+     * Get the number of records in the block.
+     *
+     * @return The record count
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Get the underlying segment, for instance to stream it to an export sink.
+     *
+     * @return The encoded block
+     */
+    public MemorySegment segment() {
+        return segment;
+    }
+
+    long recordOffset(int index) {
+        return recordsStart + segment.get(INT, offsetsStart + (long) index * Integer.BYTES);
+    }
+
+    int getInt(long record, int field) {
+        return segment.get(INT, record + field);
+    }
+
+    long getLong(long record, int field) {
+        return segment.get(LONG, record + field);
+    }
+
+    String getRef(long record, int field) {
+        int ref = getInt(record, field);
+        return ref == NULL_REF ? null : dictionary[ref];
+    }
+
+    BigDecimal getDecimal(long record, int unscaledField, int scaleField) {
+        return BigDecimal.valueOf(getLong(record, unscaledField), getInt(record, scaleField));
+    }
+
+    /**
+     * Read a string from the variable area of a record.
+     * Preceding variable fields are skipped using their length prefixes only.
+     *
+     * @param record The offset of the record
+     * @param fixedSize The size of the fixed area of the record
+     * @param index The index of the variable field
+     * @return The string, or null
+     */
+    String getString(long record, int fixedSize, int index) {
+        long offset = record + fixedSize;
+        for (int i = 0; i < index; i++) {
+            offset += Integer.BYTES + Math.max(segment.get(INT, offset), 0);
+        }
+        int length = segment.get(INT, offset);
+        return length < 0 ? null : utf8(segment, offset + Integer.BYTES, length);
+    }
+
+    private static String utf8(MemorySegment segment, long offset, int length) {
+        return new String(segment.asSlice(offset, length).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.cache;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writer for the compact block format read by {@link CompactBlock}.
+ * Records consist of a fixed-size area addressed by field offset, followed by a
+ * variable area of length-prefixed UTF-8 strings. Repeated values such as currencies,
+ * BICs and IBANs are written once into the block dictionary and referenced by index.
+ */
+final class CompactBlockWriter {
+
+    private final byte kind;
+    private final int fixedSize;
+    private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+    private final List<byte[]> dictionary = new ArrayList<>();
+    private byte[] records = new byte[1024];
+    private int position;
+    private int[] recordOffsets = new int[16];
+    private int recordCount;
+    private int recordStart = -1;
+
+    /**
+     * Constructor for CompactBlockWriter.
+     *
+     * @param kind The kind of records stored in the block
+     * @param fixedSize The size of the fixed area of every record
+     */
+    CompactBlockWriter(byte kind, int fixedSize) {
+        this.kind = kind;
+        this.fixedSize = fixedSize;
+    }
+
+    /**
+     * Start a new record and reserve its zero-filled fixed area.
+     */
+    void beginRecord() {
+        if (recordCount == recordOffsets.length) {
+            recordOffsets = Arrays.copyOf(recordOffsets, recordCount * 2);
+        }
+        ensureCapacity(fixedSize);
+        recordStart = position;
+        recordOffsets[recordCount++] = position;
+        Arrays.fill(records, position, position + fixedSize, (byte) 0);
+        position += fixedSize;
+    }
+
+    void setInt(int field, int value) {
+        MemorySegment.ofArray(records).set(CompactBlock.INT, recordStart + field, value);
+    }
+
+    void setLong(int field, long value) {
+        MemorySegment.ofArray(records).set(CompactBlock.LONG, recordStart + field, value);
+    }
+
+    /**
+     * Store a dictionary reference in the fixed area.
+     *
+     * @param field The offset of the field
+     * @param value The value, or null
+     */
+    void setRef(int field, String value) {
+        setInt(field, value == null ? CompactBlock.NULL_REF : dictionaryIndex.computeIfAbsent(value, key -> {
+            dictionary.add(key.getBytes(StandardCharsets.UTF_8));
+            return dictionary.size() - 1;
+        }));
+    }
+
+    /**
+     * Store a decimal as unscaled long and scale.
+     *
+     * @param unscaledField The offset of the unscaled value field
+     * @param scaleField The offset of the scale field
+     * @param value The decimal value
+     * @return False if the unscaled value does not fit into a long and must be written as text
+     */
+    boolean setDecimal(int unscaledField, int scaleField, BigDecimal value) {
+        if (value.unscaledValue().bitLength() > 63) {
+            return false;
+        }
+        setLong(unscaledField, value.unscaledValue().longValue());
+        setInt(scaleField, value.scale());
+        return true;
+    }
+
+    /**
+     * Append a string to the variable area of the current record.
+     *
+     * @param value The value, or null
+     */
+    void appendString(String value) {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+        int length = bytes != null ? bytes.length : -1;
+        ensureCapacity(Integer.BYTES + Math.max(length, 0));
+        MemorySegment.ofArray(records).set(CompactBlock.INT, position, length);
+        position += Integer.BYTES;
+        if (bytes != null) {
+            System.arraycopy(bytes, 0, records, position, bytes.length);
+            position += bytes.length;
+        }
+    }
+
+    /**
+     * Copy the block into a segment allocated from the given arena.
+     *
+     * @param arena The arena owning the returned segment
+     * @return The encoded block
+     */
+    MemorySegment toSegment(Arena arena) {
+        long dictionarySize = 0;
+        for (byte[] entry : dictionary) {
+            dictionarySize += Integer.BYTES + entry.length;
+        }
+        long size = CompactBlock.HEADER_SIZE + dictionarySize + (long) recordCount * Integer.BYTES + position;
+        MemorySegment segment = arena.allocate(Math.max(size, 1));
+
+        segment.set(ValueLayout.JAVA_BYTE, 0, CompactBlock.SCHEMA_VERSION);
+        segment.set(ValueLayout.JAVA_BYTE, 1, kind);
+        segment.set(CompactBlock.INT, 4, recordCount);
+        segment.set(CompactBlock.INT, 8, dictionary.size());
+        long offset = CompactBlock.HEADER_SIZE;
+        for (byte[] entry : dictionary) {
+            segment.set(CompactBlock.INT, offset, entry.length);
+            MemorySegment.copy(entry, 0, segment, ValueLayout.JAVA_BYTE, offset + Integer.BYTES, entry.length);
+            offset += Integer.BYTES + entry.length;
+        }
+        for (int i = 0; i < recordCount; i++) {
+            segment.set(CompactBlock.INT, offset, recordOffsets[i]);
+            offset += Integer.BYTES;
+        }
+        MemorySegment.copy(records, 0, segment, ValueLayout.JAVA_BYTE, offset, position);
+        return segment;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > records.length) {
+            records = Arrays.copyOf(records, Math.max(records.length * 2, position + additional));
+        }
+    }
+}
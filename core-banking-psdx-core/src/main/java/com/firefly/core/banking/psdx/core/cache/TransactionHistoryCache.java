@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.cache;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDTransactionDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of booked transaction history, partitioned per account and booking day.
+ * Each day partition holds the compact block produced by {@link TransactionRecordCodec},
+ * allocated off the Java heap so that cached history adds no GC pressure.
+ * When the resident size exceeds its budget the coldest accounts are spilled to the
+ * optional {@link TransactionOverflowStore}, or dropped if no overflow segment is configured.
+ */
+@Component
+@Slf4j
+public class TransactionHistoryCache {
+
+    private final ConcurrentMap<UUID, AccountPartition> partitions = new ConcurrentHashMap<>();
+    private final AtomicLong residentBytes = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private final long maxResidentBytes;
+    private final TransactionOverflowStore overflowStore;
+
+    /**
+     * Constructor for TransactionHistoryCache.
+     *
+     * @param maxResidentBytes The maximum number of encoded bytes kept resident in memory
+     * @param overflowEnabled Whether cold accounts are spilled to a memory-mapped segment
+     * @param overflowPath The file backing the overflow segment
+     * @param overflowMaxBytes The size of the overflow segment in bytes
+     */
+    public TransactionHistoryCache(
+            @Value("${psdx.cache.transactions.max-resident-bytes:67108864}") long maxResidentBytes,
+            @Value("${psdx.cache.transactions.overflow.enabled:false}") boolean overflowEnabled,
+            @Value("${psdx.cache.transactions.overflow.path:${java.io.tmpdir}/psdx-transaction-history.cache}") String overflowPath,
+            @Value("${psdx.cache.transactions.overflow.max-bytes:268435456}") long overflowMaxBytes) {
+        this.maxResidentBytes = maxResidentBytes;
+        this.overflowStore = overflowEnabled ? new TransactionOverflowStore(Path.of(overflowPath), overflowMaxBytes) : null;
+    }
+
+    /**
+     * Read every cached day of an account within a date range.
+     * Days that are not cached are absent from the returned map. The transactions are
+     * returned as views over the encoded blocks, so each one is only decoded when it is read.
+     *
+     * @param accountId The ID of the account
+     * @param fromDate The first day of the range
+     * @param toDate The last day of the range
+     * @return The cached transactions keyed by booking day
+     */
+    public NavigableMap<LocalDate, List<TransactionView>> getDays(UUID accountId, LocalDate fromDate, LocalDate toDate) {
+        NavigableMap<LocalDate, List<TransactionView>> result = new TreeMap<>();
+        AccountPartition partition = partitions.get(accountId);
+        if (partition == null) {
+            return result;
+        }
+        partition.touch();
+        for (Map.Entry<LocalDate, DaySlot> entry : partition.days.subMap(fromDate, true, toDate, true).entrySet()) {
+            MemorySegment data = read(entry.getValue());
+            if (data == null) {
+                partition.days.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            result.put(entry.getKey(), TransactionRecordCodec.views(data));
+        }
+        return result;
+    }
+
+    /**
+     * Store the booked transactions of a single account day.
+     * An empty list records that the day is known to have no transactions.
+     *
+     * @param accountId The ID of the account
+     * @param day The booking day
+     * @param transactions The booked transactions of that day
+     */
+    public void putDay(UUID accountId, LocalDate day, List<PSDTransactionDTO> transactions) {
+        MemorySegment data = TransactionRecordCodec.encode(transactions, Arena.ofAuto());
+        AccountPartition partition = partitions.computeIfAbsent(accountId, id -> new AccountPartition());
+        partition.touch();
+        DaySlot previous = partition.days.put(day, new ResidentSlot(data));
+        residentBytes.addAndGet(data.byteSize() - residentSize(previous));
+        if (residentBytes.get() > maxResidentBytes) {
+            evictColdAccounts();
+        }
+    }
+
+    /**
+     * Drop every cached day of an account, for instance after a downstream correction.
+     *
+     * @param accountId The ID of the account
+     */
+    public void evictAccount(UUID accountId) {
+        AccountPartition partition = partitions.remove(accountId);
+        if (partition != null) {
+            partition.days.values().forEach(slot -> residentBytes.addAndGet(-residentSize(slot)));
+            log.debug("Evicted transaction history for account ID: {}", accountId);
+        }
+    }
+
+    /**
+     * Get the number of encoded bytes currently held in resident off-heap segments.
+     *
+     * @return The resident size in bytes
+     */
+    public long getResidentBytes() {
+        return residentBytes.get();
+    }
+
+    @PreDestroy
+    void close() {
+        if (overflowStore != null) {
+            overflowStore.close();
+        }
+    }
+
+    private MemorySegment read(DaySlot slot) {
+        return switch (slot) {
+            case ResidentSlot resident -> resident.data();
+            case SpilledSlot spilled -> overflowStore != null ? overflowStore.read(spilled.region()) : null;
+        };
+    }
+
+    private static long residentSize(DaySlot slot) {
+        return slot instanceof ResidentSlot resident ? resident.data().byteSize() : 0;
+    }
+
+    private void evictColdAccounts() {
+        synchronized (evictionLock) {
+            if (residentBytes.get() <= maxResidentBytes) {
+                return;
+            }
+            // Access times keep changing while the accounts are read, so they are sorted as read once
+            List<AccessSnapshot> coldest = new ArrayList<>(partitions.size());
+            partitions.forEach((accountId, partition) ->
+                    coldest.add(new AccessSnapshot(accountId, partition, partition.lastAccess)));
+            coldest.sort(Comparator.comparingLong(AccessSnapshot::lastAccess));
+            long target = maxResidentBytes - maxResidentBytes / 4;
+            for (AccessSnapshot snapshot : coldest) {
+                if (residentBytes.get() <= target) {
+                    break;
+                }
+                if (overflowStore != null) {
+                    spill(snapshot.partition());
+                } else {
+                    evictAccount(snapshot.accountId());
+                }
+            }
+        }
+    }
+
+    private void spill(AccountPartition partition) {
+        for (Map.Entry<LocalDate, DaySlot> entry : partition.days.entrySet()) {
+            if (!(entry.getValue() instanceof ResidentSlot resident)) {
+                continue;
+            }
+            TransactionOverflowStore.Region region = overflowStore.write(resident.data());
+            boolean replaced = region != null
+                    ? partition.days.replace(entry.getKey(), resident, new SpilledSlot(region))
+                    : partition.days.remove(entry.getKey(), resident);
+            if (replaced) {
+                residentBytes.addAndGet(-resident.data().byteSize());
+            }
+        }
+    }
+
+    /**
+     * Cached days of a single account.
+     */
+    private static final class AccountPartition {
+        private final ConcurrentSkipListMap<LocalDate, DaySlot> days = new ConcurrentSkipListMap<>();
+        private volatile long lastAccess = System.nanoTime();
+
+        private void touch() {
+            lastAccess = System.nanoTime();
+        }
+    }
+
+    private record AccessSnapshot(UUID accountId, AccountPartition partition, long lastAccess) {
+    }
+
+    private sealed interface DaySlot permits ResidentSlot, SpilledSlot {
+    }
+
+    private record ResidentSlot(MemorySegment data) implements DaySlot {
+    }
+
+    private record SpilledSlot(TransactionOverflowStore.Region region) implements DaySlot {
+    }
+}
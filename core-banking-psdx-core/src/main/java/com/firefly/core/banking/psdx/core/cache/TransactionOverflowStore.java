@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Memory-mapped overflow segment for the transaction history cache.
+ * Encoded day partitions of cold accounts are appended to a file-backed segment
+ * outside the Java heap. When the segment is full it starts a new generation and
+ * every region written in an older generation becomes invalid.
+ */
+@Slf4j
+public class TransactionOverflowStore implements AutoCloseable {
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long writePosition;
+    private int generation;
+
+    /**
+     * Constructor for TransactionOverflowStore.
+     *
+     * @param path The file backing the segment
+     * @param capacity The size of the segment in bytes
+     */
+    public TransactionOverflowStore(Path path, long capacity) {
+        this.arena = Arena.ofShared();
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                this.segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity, arena);
+            }
+        } catch (IOException e) {
+            arena.close();
+            throw new UncheckedIOException("Failed to map transaction overflow segment at " + path, e);
+        }
+        log.info("Mapped transaction overflow segment of {} bytes at {}", capacity, path);
+    }
+
+    /**
+     * Append a region to the segment.
+     *
+     * @param data The encoded block to store
+     * @return The location of the stored region, or null if the region does not fit in the segment
+     */
+    public Region write(MemorySegment data) {
+        if (data.byteSize() > segment.byteSize()) {
+            return null;
+        }
+        lock.writeLock().lock();
+        try {
+            if (writePosition + data.byteSize() > segment.byteSize()) {
+                generation++;
+                writePosition = 0;
+                log.debug("Transaction overflow segment full, starting generation {}", generation);
+            }
+            long offset = writePosition;
+            MemorySegment.copy(data, 0, segment, offset, data.byteSize());
+            writePosition += data.byteSize();
+            return new Region(generation, offset, data.byteSize());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Read a region previously returned by {@link #write(MemorySegment)}.
+     * The region is copied, so the result stays valid if the segment wraps around later.
+     *
+     * @param region The region to read
+     * @return A copy of the stored block, or null if the region has been overwritten
+     */
+    public MemorySegment read(Region region) {
+        lock.readLock().lock();
+        try {
+            if (region.generation() != generation) {
+                return null;
+            }
+            return Arena.ofAuto().allocate(region.length()).copyFrom(segment.asSlice(region.offset(), region.length()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            arena.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Location of a region inside the overflow segment.
+     *
+     * @param generation The generation the region was written in
+     * @param offset The offset of the region
+     * @param length The length of the region in bytes
+     */
+    public record Region(int generation, long offset, long length) {
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.cache;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDLinksDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDTransactionDTO;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Compact codec for transactions, built on the {@link CompactBlock} format.
+ * Currencies, BICs, IBANs and statuses are dictionary encoded, amounts are stored as
+ * unscaled long plus scale, and the remaining strings live in a variable area that is
+ * only decoded when a field is read through a {@link TransactionView}.
+ * HATEOAS links returned by the downstream service are stored with the record, so a
+ * transaction served from the cache carries the same links as a live one.
+ */
+public final class TransactionRecordCodec {
+
+    static final int FLAGS = 0;
+    static final int ID_MSB = 4;
+    static final int ID_LSB = 12;
+    static final int BOOKING_DATE = 20;
+    static final int VALUE_DATE = 24;
+    static final int AMOUNT_UNSCALED = 28;
+    static final int AMOUNT_SCALE = 36;
+    static final int AMOUNT_CURRENCY = 40;
+    static final int STATUS = 44;
+    static final int CREDITOR_IBAN = 48;
+    static final int CREDITOR_CURRENCY = 52;
+    static final int CREDITOR_AGENT = 56;
+    static final int DEBTOR_IBAN = 60;
+    static final int DEBTOR_CURRENCY = 64;
+    static final int DEBTOR_AGENT = 68;
+    static final int REMITTANCE_DATE = 72;
+    static final int LINKS_PRESENT = 76;
+    static final int ADDITIONAL_LINK_COUNT = 80;
+    static final int FIXED_SIZE = 84;
+
+    static final int HAS_ID = 1;
+    static final int HAS_BOOKING_DATE = 1 << 1;
+    static final int HAS_VALUE_DATE = 1 << 2;
+    static final int HAS_AMOUNT = 1 << 3;
+    static final int HAS_AMOUNT_VALUE = 1 << 4;
+    static final int AMOUNT_AS_TEXT = 1 << 5;
+    static final int HAS_CREDITOR_ACCOUNT = 1 << 6;
+    static final int HAS_DEBTOR_ACCOUNT = 1 << 7;
+    static final int HAS_REMITTANCE = 1 << 8;
+    static final int HAS_REMITTANCE_DATE = 1 << 9;
+    static final int HAS_LINKS = 1 << 10;
+    static final int HAS_ADDITIONAL_LINKS = 1 << 11;
+
+    static final int END_TO_END_ID = 0;
+    static final int MANDATE_ID = 1;
+    static final int CREDITOR_REFERENCE = 2;
+    static final int EXCHANGE_RATE = 3;
+    static final int CREDITOR_NAME = 4;
+    static final int DEBTOR_NAME = 5;
+    static final int REMITTANCE_UNSTRUCTURED = 6;
+    static final int REMITTANCE_REFERENCE = 7;
+    static final int REMITTANCE_ISSUER = 8;
+    static final int PURPOSE_CODE = 9;
+    static final int BANK_TRANSACTION_CODE = 10;
+    static final int PROPRIETARY_BANK_TRANSACTION_CODE = 11;
+    static final int CREDITOR_BBAN = 12;
+    static final int CREDITOR_PAN = 13;
+    static final int CREDITOR_MASKED_PAN = 14;
+    static final int CREDITOR_MSISDN = 15;
+    static final int DEBTOR_BBAN = 16;
+    static final int DEBTOR_PAN = 17;
+    static final int DEBTOR_MASKED_PAN = 18;
+    static final int DEBTOR_MSISDN = 19;
+    static final int AMOUNT_TEXT = 20;
+    static final int FIRST_LINK = 21;
+
+    /**
+     * Named links in storage order. When a record has links, one href per entry follows
+     * the fixed variable fields, then one name and href pair per additional link.
+     */
+    static final List<LinkField> LINK_FIELDS = List.of(
+            new LinkField(PSDLinksDTO::getSelf, PSDLinksDTO::setSelf),
+            new LinkField(PSDLinksDTO::getFirst, PSDLinksDTO::setFirst),
+            new LinkField(PSDLinksDTO::getPrev, PSDLinksDTO::setPrev),
+            new LinkField(PSDLinksDTO::getNext, PSDLinksDTO::setNext),
+            new LinkField(PSDLinksDTO::getLast, PSDLinksDTO::setLast),
+            new LinkField(PSDLinksDTO::getStatus, PSDLinksDTO::setStatus),
+            new LinkField(PSDLinksDTO::getAccount, PSDLinksDTO::setAccount),
+            new LinkField(PSDLinksDTO::getBalances, PSDLinksDTO::setBalances),
+            new LinkField(PSDLinksDTO::getTransactions, PSDLinksDTO::setTransactions),
+            new LinkField(PSDLinksDTO::getScaRedirect, PSDLinksDTO::setScaRedirect),
+            new LinkField(PSDLinksDTO::getScaStatus, PSDLinksDTO::setScaStatus),
+            new LinkField(PSDLinksDTO::getConfirmation, PSDLinksDTO::setConfirmation),
+            new LinkField(PSDLinksDTO::getAuthorization, PSDLinksDTO::setAuthorization));
+    static final int FIRST_ADDITIONAL_LINK = FIRST_LINK + LINK_FIELDS.size();
+
+    private TransactionRecordCodec() {
+    }
+
+    /**
+     * Encode a list of transactions into a segment allocated from the given arena.
+     *
+     * @param transactions The transactions to encode
+     * @param arena The arena owning the returned segment
+     * @return The encoded block
+     */
+    public static MemorySegment encode(List<PSDTransactionDTO> transactions, Arena arena) {
+        CompactBlockWriter writer = new CompactBlockWriter(CompactBlock.KIND_TRANSACTIONS, FIXED_SIZE);
+        for (PSDTransactionDTO transaction : transactions) {
+            writeTransaction(writer, transaction);
+        }
+        return writer.toSegment(arena);
+    }
+
+    /**
+     * Open an encoded block as lazily decoded views.
+     *
+     * @param segment The encoded block
+     * @return One view per transaction, in encoding order
+     */
+    public static List<TransactionView> views(MemorySegment segment) {
+        CompactBlock block = CompactBlock.open(segment, CompactBlock.KIND_TRANSACTIONS);
+        List<TransactionView> views = new ArrayList<>(block.size());
+        for (int i = 0; i < block.size(); i++) {
+            views.add(new TransactionView(block, block.recordOffset(i)));
+        }
+        return views;
+    }
+
+    /**
+     * Fully decode an encoded block.
+     *
+     * @param segment The encoded block
+     * @return The decoded transactions
+     */
+    public static List<PSDTransactionDTO> decode(MemorySegment segment) {
+        List<TransactionView> views = views(segment);
+        List<PSDTransactionDTO> transactions = new ArrayList<>(views.size());
+        for (TransactionView view : views) {
+            transactions.add(view.toDTO());
+        }
+        return transactions;
+    }
+
+    private static void writeTransaction(CompactBlockWriter writer, PSDTransactionDTO transaction) {
+        writer.beginRecord();
+        int flags = 0;
+        if (transaction.getTransactionId() != null) {
+            flags |= HAS_ID;
+            writer.setLong(ID_MSB, transaction.getTransactionId().getMostSignificantBits());
+            writer.setLong(ID_LSB, transaction.getTransactionId().getLeastSignificantBits());
+        }
+        if (transaction.getBookingDate() != null) {
+            flags |= HAS_BOOKING_DATE;
+            writer.setInt(BOOKING_DATE, (int) transaction.getBookingDate().toEpochDay());
+        }
+        if (transaction.getValueDate() != null) {
+            flags |= HAS_VALUE_DATE;
+            writer.setInt(VALUE_DATE, (int) transaction.getValueDate().toEpochDay());
+        }
+        writer.setRef(STATUS, transaction.getTransactionStatus());
+
+        PSDTransactionDTO.PSDAmountDTO amount = transaction.getTransactionAmount();
+        String amountText = null;
+        writer.setRef(AMOUNT_CURRENCY, amount != null ? amount.getCurrency() : null);
+        if (amount != null) {
+            flags |= HAS_AMOUNT;
+            BigDecimal value = amount.getAmount();
+            if (value != null) {
+                flags |= HAS_AMOUNT_VALUE;
+                if (!writer.setDecimal(AMOUNT_UNSCALED, AMOUNT_SCALE, value)) {
+                    flags |= AMOUNT_AS_TEXT;
+                    amountText = value.toString();
+                }
+            }
+        }
+
+        PSDTransactionDTO.PSDAccountReferenceDTO creditor = transaction.getCreditorAccount();
+        PSDTransactionDTO.PSDAccountReferenceDTO debtor = transaction.getDebtorAccount();
+        PSDTransactionDTO.PSDRemittanceDTO remittance = transaction.getRemittanceInformationStructured();
+        if (creditor != null) {
+            flags |= HAS_CREDITOR_ACCOUNT;
+        }
+        if (debtor != null) {
+            flags |= HAS_DEBTOR_ACCOUNT;
+        }
+        writer.setRef(CREDITOR_IBAN, creditor != null ? creditor.getIban() : null);
+        writer.setRef(CREDITOR_CURRENCY, creditor != null ? creditor.getCurrency() : null);
+        writer.setRef(CREDITOR_AGENT, transaction.getCreditorAgent());
+        writer.setRef(DEBTOR_IBAN, debtor != null ? debtor.getIban() : null);
+        writer.setRef(DEBTOR_CURRENCY, debtor != null ? debtor.getCurrency() : null);
+        writer.setRef(DEBTOR_AGENT, transaction.getDebtorAgent());
+        if (remittance != null) {
+            flags |= HAS_REMITTANCE;
+            if (remittance.getReferenceDate() != null) {
+                flags |= HAS_REMITTANCE_DATE;
+                writer.setInt(REMITTANCE_DATE, (int) remittance.getReferenceDate().toEpochDay());
+            }
+        }
+        PSDLinksDTO links = transaction.get_links();
+        if (links != null) {
+            flags |= HAS_LINKS;
+            int present = 0;
+            for (int i = 0; i < LINK_FIELDS.size(); i++) {
+                if (LINK_FIELDS.get(i).getter().apply(links) != null) {
+                    present |= 1 << i;
+                }
+            }
+            writer.setInt(LINKS_PRESENT, present);
+            if (links.getAdditionalLinks() != null) {
+                flags |= HAS_ADDITIONAL_LINKS;
+                writer.setInt(ADDITIONAL_LINK_COUNT, links.getAdditionalLinks().size());
+            }
+        }
+        writer.setInt(FLAGS, flags);
+
+        // Variable area, in field index order
+        writer.appendString(transaction.getEndToEndId());
+        writer.appendString(transaction.getMandateId());
+        writer.appendString(transaction.getCreditorReference());
+        writer.appendString(transaction.getExchangeRate());
+        writer.appendString(transaction.getCreditorName());
+        writer.appendString(transaction.getDebtorName());
+        writer.appendString(transaction.getRemittanceInformationUnstructured());
+        writer.appendString(remittance != null ? remittance.getReference() : null);
+        writer.appendString(remittance != null ? remittance.getReferenceIssuer() : null);
+        writer.appendString(transaction.getPurposeCode());
+        writer.appendString(transaction.getBankTransactionCode());
+        writer.appendString(transaction.getProprietaryBankTransactionCode());
+        writer.appendString(creditor != null ? creditor.getBban() : null);
+        writer.appendString(creditor != null ? creditor.getPan() : null);
+        writer.appendString(creditor != null ? creditor.getMaskedPan() : null);
+        writer.appendString(creditor != null ? creditor.getMsisdn() : null);
+        writer.appendString(debtor != null ? debtor.getBban() : null);
+        writer.appendString(debtor != null ? debtor.getPan() : null);
+        writer.appendString(debtor != null ? debtor.getMaskedPan() : null);
+        writer.appendString(debtor != null ? debtor.getMsisdn() : null);
+        writer.appendString(amountText);
+        if (links != null) {
+            for (LinkField field : LINK_FIELDS) {
+                PSDLinksDTO.PSDLinkDTO link = field.getter().apply(links);
+                writer.appendString(link != null ? link.getHref() : null);
+            }
+            if (links.getAdditionalLinks() != null) {
+                for (Map.Entry<String, PSDLinksDTO.PSDLinkDTO> entry : links.getAdditionalLinks().entrySet()) {
+                    writer.appendString(entry.getKey());
+                    writer.appendString(entry.getValue() != null ? entry.getValue().getHref() : null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Accessors of a named link inside {@link PSDLinksDTO}.
+     *
+     * @param getter Reads the link
+     * @param setter Writes the link
+     */
+    record LinkField(Function<PSDLinksDTO, PSDLinksDTO.PSDLinkDTO> getter,
+                     BiConsumer<PSDLinksDTO, PSDLinksDTO.PSDLinkDTO> setter) {
+    }
+}
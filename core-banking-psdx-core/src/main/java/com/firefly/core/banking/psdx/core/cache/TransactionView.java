@@ -0,0 +1,193 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.cache;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDLinksDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDTransactionDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.firefly.core.banking.psdx.core.cache.TransactionRecordCodec.*;
+
+/**
+ * Lazily decoded view of a single transaction inside a {@link CompactBlock}.
+ * Every accessor reads its field straight from the encoded segment, so callers that
+ * only need a few fields (filters, exports, aggregations) never build the DTO graph.
+ */
+public final class TransactionView {
+
+    private final CompactBlock block;
+    private final long record;
+
+    TransactionView(CompactBlock block, long record) {
+        this.block = block;
+        this.record = record;
+    }
+
+    public UUID getTransactionId() {
+        return has(HAS_ID) ? new UUID(block.getLong(record, ID_MSB), block.getLong(record, ID_LSB)) : null;
+    }
+
+    public String getTransactionStatus() {
+        return block.getRef(record, STATUS);
+    }
+
+    public LocalDate getBookingDate() {
+        return has(HAS_BOOKING_DATE) ? LocalDate.ofEpochDay(block.getInt(record, BOOKING_DATE)) : null;
+    }
+
+    public LocalDate getValueDate() {
+        return has(HAS_VALUE_DATE) ? LocalDate.ofEpochDay(block.getInt(record, VALUE_DATE)) : null;
+    }
+
+    public String getCurrency() {
+        return block.getRef(record, AMOUNT_CURRENCY);
+    }
+
+    public BigDecimal getAmount() {
+        if (!has(HAS_AMOUNT_VALUE)) {
+            return null;
+        }
+        return has(AMOUNT_AS_TEXT)
+                ? new BigDecimal(block.getString(record, FIXED_SIZE, AMOUNT_TEXT))
+                : block.getDecimal(record, AMOUNT_UNSCALED, AMOUNT_SCALE);
+    }
+
+    public String getCreditorIban() {
+        return block.getRef(record, CREDITOR_IBAN);
+    }
+
+    public String getDebtorIban() {
+        return block.getRef(record, DEBTOR_IBAN);
+    }
+
+    public String getCreditorName() {
+        return string(CREDITOR_NAME);
+    }
+
+    public String getDebtorName() {
+        return string(DEBTOR_NAME);
+    }
+
+    public String getRemittanceInformationUnstructured() {
+        return string(REMITTANCE_UNSTRUCTURED);
+    }
+
+    /**
+     * Decode the HATEOAS links stored with the transaction.
+     *
+     * @return The links, or null if the transaction had none
+     */
+    public PSDLinksDTO getLinks() {
+        if (!has(HAS_LINKS)) {
+            return null;
+        }
+        PSDLinksDTO links = new PSDLinksDTO();
+        int present = block.getInt(record, LINKS_PRESENT);
+        for (int i = 0; i < LINK_FIELDS.size(); i++) {
+            if ((present & (1 << i)) != 0) {
+                LINK_FIELDS.get(i).setter().accept(links, link(string(FIRST_LINK + i)));
+            }
+        }
+        if (has(HAS_ADDITIONAL_LINKS)) {
+            int count = block.getInt(record, ADDITIONAL_LINK_COUNT);
+            Map<String, PSDLinksDTO.PSDLinkDTO> additionalLinks = new LinkedHashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                String href = string(FIRST_ADDITIONAL_LINK + 2 * i + 1);
+                additionalLinks.put(string(FIRST_ADDITIONAL_LINK + 2 * i), href != null ? link(href) : null);
+            }
+            links.setAdditionalLinks(additionalLinks);
+        }
+        return links;
+    }
+
+    /**
+     * Decode every field into a DTO.
+     *
+     * @return The decoded transaction
+     */
+    public PSDTransactionDTO toDTO() {
+        return PSDTransactionDTO.builder()
+                .transactionId(getTransactionId())
+                .endToEndId(string(END_TO_END_ID))
+                .mandateId(string(MANDATE_ID))
+                .creditorReference(string(CREDITOR_REFERENCE))
+                .transactionStatus(getTransactionStatus())
+                .bookingDate(getBookingDate())
+                .valueDate(getValueDate())
+                .transactionAmount(has(HAS_AMOUNT)
+                        ? PSDTransactionDTO.PSDAmountDTO.builder()
+                                .currency(getCurrency())
+                                .amount(getAmount())
+                                .build()
+                        : null)
+                .exchangeRate(string(EXCHANGE_RATE))
+                .creditorName(getCreditorName())
+                .creditorAccount(has(HAS_CREDITOR_ACCOUNT)
+                        ? account(CREDITOR_IBAN, CREDITOR_CURRENCY, CREDITOR_BBAN, CREDITOR_PAN, CREDITOR_MASKED_PAN, CREDITOR_MSISDN)
+                        : null)
+                .creditorAgent(block.getRef(record, CREDITOR_AGENT))
+                .debtorName(getDebtorName())
+                .debtorAccount(has(HAS_DEBTOR_ACCOUNT)
+                        ? account(DEBTOR_IBAN, DEBTOR_CURRENCY, DEBTOR_BBAN, DEBTOR_PAN, DEBTOR_MASKED_PAN, DEBTOR_MSISDN)
+                        : null)
+                .debtorAgent(block.getRef(record, DEBTOR_AGENT))
+                .remittanceInformationUnstructured(getRemittanceInformationUnstructured())
+                .remittanceInformationStructured(has(HAS_REMITTANCE)
+                        ? PSDTransactionDTO.PSDRemittanceDTO.builder()
+                                .reference(string(REMITTANCE_REFERENCE))
+                                .referenceIssuer(string(REMITTANCE_ISSUER))
+                                .referenceDate(has(HAS_REMITTANCE_DATE)
+                                        ? LocalDate.ofEpochDay(block.getInt(record, REMITTANCE_DATE))
+                                        : null)
+                                .build()
+                        : null)
+                .purposeCode(string(PURPOSE_CODE))
+                .bankTransactionCode(string(BANK_TRANSACTION_CODE))
+                .proprietaryBankTransactionCode(string(PROPRIETARY_BANK_TRANSACTION_CODE))
+                ._links(getLinks())
+                .build();
+    }
+
+    private PSDTransactionDTO.PSDAccountReferenceDTO account(int iban, int currency, int bban, int pan, int maskedPan, int msisdn) {
+        return PSDTransactionDTO.PSDAccountReferenceDTO.builder()
+                .iban(block.getRef(record, iban))
+                .bban(string(bban))
+                .pan(string(pan))
+                .maskedPan(string(maskedPan))
+                .msisdn(string(msisdn))
+                .currency(block.getRef(record, currency))
+                .build();
+    }
+
+    private static PSDLinksDTO.PSDLinkDTO link(String href) {
+        return PSDLinksDTO.PSDLinkDTO.builder().href(href).build();
+    }
+
+    private boolean has(int flag) {
+        return (block.getInt(record, FLAGS) & flag) != 0;
+    }
+
+    private String string(int index) {
+        return block.getString(record, FIXED_SIZE, index);
+    }
+}
@@ -17,8 +17,12 @@
 
 package com.firefly.core.banking.psdx.core.config;
 
+import com.firefly.core.banking.psdx.core.adapters.DatabaseScaChallengePersistenceAdapter;
 import com.firefly.core.banking.psdx.core.adapters.DefaultSCAServiceAdapter;
+import com.firefly.core.banking.psdx.core.adapters.LocalScaChallengePersistenceAdapter;
 import com.firefly.core.banking.psdx.core.ports.SCAServicePort;
+import com.firefly.core.banking.psdx.core.ports.ScaChallengePersistencePort;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -50,4 +54,22 @@ public class SCAServiceClientConfig {
         // if scaMgmtEnabled is true. For now, we'll just return the default adapter.
         return defaultAdapter;
     }
+
+    /**
+     * Create a bean for the SCA challenge persistence port.
+     * Multi-node deployments share pending challenges through the database, so that any node
+     * can validate a challenge; single-node deployments keep them in memory only. The database
+     * adapter only exists when psdx.sca.challenges.persistence is set to database.
+     *
+     * @param localAdapter The in-memory adapter
+     * @param databaseAdapter The database adapter, if enabled
+     * @return The SCA challenge persistence port
+     */
+    @Bean
+    @Primary
+    public ScaChallengePersistencePort scaChallengePersistencePort(LocalScaChallengePersistenceAdapter localAdapter,
+                                                                   ObjectProvider<DatabaseScaChallengePersistenceAdapter> databaseAdapter) {
+        ScaChallengePersistencePort shared = databaseAdapter.getIfAvailable();
+        return shared != null ? shared : localAdapter;
+    }
 }
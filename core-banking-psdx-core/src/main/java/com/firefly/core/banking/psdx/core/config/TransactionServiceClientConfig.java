@@ -17,7 +17,9 @@
 
 package com.firefly.core.banking.psdx.core.config;
 
+import com.firefly.core.banking.psdx.core.adapters.CachingTransactionServiceAdapter;
 import com.firefly.core.banking.psdx.core.adapters.DefaultTransactionServiceAdapter;
+import com.firefly.core.banking.psdx.core.cache.TransactionHistoryCache;
 import com.firefly.core.banking.psdx.core.ports.TransactionServicePort;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -35,19 +37,26 @@ public class TransactionServiceClientConfig {
     @Value("${integration.ledger.enabled:false}")
     private boolean ledgerEnabled;
 
+    @Value("${psdx.cache.transactions.enabled:true}")
+    private boolean cacheEnabled;
+
     /**
      * Create a bean for the Transaction service port.
      * If the Ledger service is enabled, this would return a client for that service.
      * Otherwise, it returns the default adapter that throws "not yet implemented" exceptions.
+     * When the history cache is enabled, the port is wrapped so booked history is served from the cache.
      *
      * @param defaultAdapter The default adapter
+     * @param historyCache The transaction history cache
      * @return The Transaction service port
      */
     @Bean
     @Primary
-    public TransactionServicePort transactionServicePort(DefaultTransactionServiceAdapter defaultAdapter) {
+    public TransactionServicePort transactionServicePort(DefaultTransactionServiceAdapter defaultAdapter,
+                                                         TransactionHistoryCache historyCache) {
         // In a real implementation, this would return a client for the core-banking-ledger service
         // if ledgerEnabled is true. For now, we'll just return the default adapter.
-        return defaultAdapter;
+        TransactionServicePort port = defaultAdapter;
+        return cacheEnabled ? new CachingTransactionServiceAdapter(port, historyCache) : port;
     }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.consent;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed, immutable form of the access granted by a consent.
+ * The free-text access scope and the Berlin Group style access object of a consent are parsed
+ * once into a set of resource types plus, per resource type, an optional allow-list of account
+ * identifiers. A resource type without allow-list covers every account of the PSU.
+ */
+public final class ConsentAccessScope {
+
+    /**
+     * Scope of a consent without access scope, limited only by its consent type.
+     */
+    public static final ConsentAccessScope UNRESTRICTED =
+            new ConsentAccessScope(EnumSet.allOf(ResourceType.class), new EnumMap<>(ResourceType.class));
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int MAX_CACHED_SCOPES = 1024;
+    private static final Map<String, ConsentAccessScope> SCOPES_BY_TEXT = new ConcurrentHashMap<>();
+    private static final Map<String, ResourceType> ACCESS_LISTS = Map.of(
+            "accounts", ResourceType.ACCOUNT,
+            "balances", ResourceType.BALANCE,
+            "transactions", ResourceType.TRANSACTION);
+
+    private final Set<ResourceType> resourceTypes;
+    private final Map<ResourceType, Set<String>> allowedAccounts;
+
+    private ConsentAccessScope(EnumSet<ResourceType> resourceTypes, EnumMap<ResourceType, Set<String>> allowedAccounts) {
+        this.resourceTypes = Collections.unmodifiableSet(resourceTypes);
+        this.allowedAccounts = Collections.unmodifiableMap(allowedAccounts);
+    }
+
+    /**
+     * Parse the access of a consent.
+     * Scopes without access object are shared between consents, as many consents use the same scope text.
+     *
+     * @param accessScope The access scope, a list of resource types separated by commas or whitespace
+     * @param access The Berlin Group style access object as JSON, or null
+     * @return The parsed scope
+     */
+    public static ConsentAccessScope of(String accessScope, String access) {
+        if (accessScope == null && (access == null || access.isBlank())) {
+            return UNRESTRICTED;
+        }
+        if (access == null || access.isBlank()) {
+            ConsentAccessScope cached = SCOPES_BY_TEXT.get(accessScope);
+            if (cached == null) {
+                if (SCOPES_BY_TEXT.size() >= MAX_CACHED_SCOPES) {
+                    SCOPES_BY_TEXT.clear();
+                }
+                cached = parse(accessScope, null);
+                SCOPES_BY_TEXT.put(accessScope, cached);
+            }
+            return cached;
+        }
+        return parse(accessScope, access);
+    }
+
+    /**
+     * Check that an access scope only lists known resource types, before it is stored with a consent.
+     * Consents already stored are parsed leniently, ignoring tokens that are not understood.
+     *
+     * @param accessScope The access scope, or null
+     * @throws IllegalArgumentException If the access scope contains an unknown token
+     */
+    public static void requireKnownTokens(String accessScope) {
+        if (accessScope == null) {
+            return;
+        }
+        for (String token : tokens(accessScope)) {
+            if (!addScopeToken(token, EnumSet.noneOf(ResourceType.class), new EnumMap<>(ResourceType.class))) {
+                throw new IllegalArgumentException("Unknown access scope: " + token);
+            }
+        }
+    }
+
+    /**
+     * Check whether the scope covers a resource type for at least one account.
+     *
+     * @param resourceType The type of resource
+     * @return True if the resource type is covered
+     */
+    public boolean permits(ResourceType resourceType) {
+        return resourceTypes.contains(resourceType);
+    }
+
+    /**
+     * Check whether access to a resource type is limited to an allow-list of accounts.
+     *
+     * @param resourceType The type of resource
+     * @return True if only listed accounts are covered
+     */
+    public boolean isRestricted(ResourceType resourceType) {
+        return allowedAccounts.containsKey(resourceType);
+    }
+
+    /**
+     * Check whether the scope covers a resource type of a specific account.
+     *
+     * @param resourceType The type of resource
+     * @param accountIdentifier The IBAN or BBAN of the account
+     * @return True if the resource type is covered for the account
+     */
+    public boolean permits(ResourceType resourceType, String accountIdentifier) {
+        if (!resourceTypes.contains(resourceType)) {
+            return false;
+        }
+        Set<String> allowed = allowedAccounts.get(resourceType);
+        return allowed == null || (accountIdentifier != null && allowed.contains(normalize(accountIdentifier)));
+    }
+
+    /**
+     * Get the resource types covered by the scope.
+     *
+     * @return An unmodifiable set of resource types
+     */
+    public Set<ResourceType> getResourceTypes() {
+        return resourceTypes;
+    }
+
+    private static ConsentAccessScope parse(String accessScope, String access) {
+        EnumSet<ResourceType> resourceTypes = EnumSet.noneOf(ResourceType.class);
+        EnumMap<ResourceType, Set<String>> allowedAccounts = new EnumMap<>(ResourceType.class);
+        if (accessScope != null) {
+            for (String token : tokens(accessScope)) {
+                addScopeToken(token, resourceTypes, allowedAccounts);
+            }
+        }
+        if (access != null && !access.isBlank()) {
+            JsonNode node = readAccess(access);
+            if (node.isArray()) {
+                node.forEach(entry -> addAccessObject(entry, resourceTypes, allowedAccounts));
+            } else {
+                addAccessObject(node, resourceTypes, allowedAccounts);
+            }
+        }
+        allowedAccounts.replaceAll((resourceType, accounts) -> Set.copyOf(accounts));
+        return new ConsentAccessScope(resourceTypes, allowedAccounts);
+    }
+
+    private static String[] tokens(String accessScope) {
+        return accessScope.toLowerCase(Locale.ROOT).replace('-', '_').split("[,;\\s]+");
+    }
+
+    /**
+     * Add the resource types granted by one token of an access scope.
+     *
+     * @return False if the token is not understood
+     */
+    private static boolean addScopeToken(String token, EnumSet<ResourceType> resourceTypes,
+                                         EnumMap<ResourceType, Set<String>> allowedAccounts) {
+        switch (token) {
+            case "" -> {
+            }
+            case "card_accounts" -> resourceTypes.add(ResourceType.CARD);
+            case "card_balances" -> resourceTypes.add(ResourceType.CARD_BALANCE);
+            case "card_transactions" -> resourceTypes.add(ResourceType.CARD_TRANSACTION);
+            case "all_accounts" -> resourceTypes.add(ResourceType.ACCOUNT);
+            case "specific_accounts" -> {
+                resourceTypes.add(ResourceType.ACCOUNT);
+                allowedAccounts.computeIfAbsent(ResourceType.ACCOUNT, type -> new HashSet<>());
+            }
+            case "all_psd2" -> resourceTypes.addAll(EnumSet.of(ResourceType.ACCOUNT, ResourceType.BALANCE, ResourceType.TRANSACTION));
+            default -> {
+                ResourceType resourceType = resourceType(token);
+                if (resourceType == null && token.endsWith("s")) {
+                    resourceType = resourceType(token.substring(0, token.length() - 1));
+                }
+                if (resourceType == null) {
+                    return false;
+                }
+                resourceTypes.add(resourceType);
+            }
+        }
+        return true;
+    }
+
+    private static void addAccessObject(JsonNode node, EnumSet<ResourceType> resourceTypes,
+                                        EnumMap<ResourceType, Set<String>> allowedAccounts) {
+        ACCESS_LISTS.forEach((field, resourceType) -> {
+            JsonNode references = node.get(field);
+            if (references == null || !references.isArray() || references.isEmpty()) {
+                return;
+            }
+            resourceTypes.add(resourceType);
+            Set<String> accounts = allowedAccounts.computeIfAbsent(resourceType, type -> new HashSet<>());
+            references.forEach(reference -> {
+                addIdentifier(accounts, reference.get("iban"));
+                addIdentifier(accounts, reference.get("bban"));
+            });
+        });
+        if (node.hasNonNull("availableAccounts")) {
+            resourceTypes.add(ResourceType.ACCOUNT);
+        }
+        if (node.hasNonNull("availableAccountsWithBalances")) {
+            resourceTypes.addAll(EnumSet.of(ResourceType.ACCOUNT, ResourceType.BALANCE));
+        }
+        if (node.hasNonNull("allPsd2")) {
+            resourceTypes.addAll(EnumSet.of(ResourceType.ACCOUNT, ResourceType.BALANCE, ResourceType.TRANSACTION));
+        }
+    }
+
+    private static void addIdentifier(Set<String> accounts, JsonNode identifier) {
+        if (identifier != null && identifier.isTextual() && !identifier.asText().isBlank()) {
+            accounts.add(normalize(identifier.asText()));
+        }
+    }
+
+    private static ResourceType resourceType(String token) {
+        try {
+            return ResourceType.valueOf(token.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static JsonNode readAccess(String access) {
+        try {
+            return OBJECT_MAPPER.readTree(access);
+        } catch (IOException e) {
+            throw new IllegalStateException("Consent access is not valid JSON", e);
+        }
+    }
+
+    private static String normalize(String accountIdentifier) {
+        return accountIdentifier.replace(" ", "").toUpperCase(Locale.ROOT);
+    }
+}
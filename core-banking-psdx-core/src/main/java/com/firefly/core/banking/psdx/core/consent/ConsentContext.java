@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.consent;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.UUID;
+
+/**
+ * Access to the consent validated for the current exchange.
+ * The consent validation interceptor writes the snapshot into the Reactor Context, and the
+ * services read it instead of loading and validating the consent a second time.
+ */
+public final class ConsentContext {
+
+    private static final Class<ValidatedConsent> KEY = ValidatedConsent.class;
+
+    private ConsentContext() {
+    }
+
+    /**
+     * Create a context holding a validated consent.
+     *
+     * @param consent The validated consent
+     * @return A Context to write into the exchange's subscriber context
+     */
+    public static Context of(ValidatedConsent consent) {
+        return Context.of(KEY, consent);
+    }
+
+    /**
+     * Get the consent validated for the current exchange.
+     *
+     * @param consentId The ID of the consent the caller expects
+     * @return A Mono of the snapshot, or an empty Mono if no consent with this ID was validated for the exchange
+     */
+    public static Mono<ValidatedConsent> current(UUID consentId) {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.<ValidatedConsent>getOrEmpty(KEY)
+                .filter(consent -> consent.consentId().equals(consentId))));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.consent;
+
+import com.firefly.core.banking.psdx.core.events.ConsentInvalidationEventBus;
+import com.firefly.core.banking.psdx.core.events.ConsentInvalidationEventBus.ConsentInvalidation;
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
+import com.firefly.core.banking.psdx.models.entities.Consent;
+import com.firefly.core.banking.psdx.models.repositories.ConsentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background sweeper that moves valid consents past their valid_until to EXPIRED.
+ * Consents are expired in keyset-paginated batches, each one a single statement that selects
+ * and updates the batch, so no expired consent stays VALID until a TPP happens to read it.
+ * Every batch takes a transaction-scoped Postgres advisory lock, which lets all nodes run the
+ * sweeper without expiring the same consents twice. Expired consents are published on the
+ * {@link ConsentInvalidationEventBus} once their batch is committed.
+ */
+@Component
+@Slf4j
+public class ConsentExpirySweeper {
+
+    static final LocalDateTime START_VALID_UNTIL = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final UUID START_ID = new UUID(0L, 0L);
+
+    private final ConsentRepository consentRepository;
+    private final ConsentInvalidationEventBus eventBus;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long lockKey;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructor for ConsentExpirySweeper.
+     *
+     * @param consentRepository The consent repository
+     * @param eventBus The bus notified of expired consents
+     * @param enabled Whether the scheduled sweep runs on this node
+     * @param batchSize The maximum number of consents expired by a single statement
+     * @param maxBatchesPerRun The maximum number of batches of a single sweep
+     * @param lockKey The advisory lock key shared by every node
+     */
+    public ConsentExpirySweeper(
+            ConsentRepository consentRepository,
+            ConsentInvalidationEventBus eventBus,
+            @Value("${psdx.consent.expiry.enabled:true}") boolean enabled,
+            @Value("${psdx.consent.expiry.batch-size:500}") int batchSize,
+            @Value("${psdx.consent.expiry.max-batches-per-run:100}") int maxBatchesPerRun,
+            @Value("${psdx.consent.expiry.lock-key:7340012}") long lockKey) {
+        this.consentRepository = consentRepository;
+        this.eventBus = eventBus;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lockKey = lockKey;
+    }
+
+    /**
+     * Expire the consents whose validity has ended.
+     * A run is skipped while the previous run of this node is still in progress.
+     */
+    @Scheduled(fixedDelayString = "${psdx.consent.expiry.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        sweepExpired()
+                .doFinally(signal -> running.set(false))
+                .subscribe(
+                        count -> log.debug("Expired {} consents", count),
+                        e -> log.warn("Failed to expire consents: {}", e.getMessage()));
+    }
+
+    /**
+     * Expire the consents whose validity ended before now, one batch after the other.
+     * The sweep stops at the first partial batch, which also happens when another node holds
+     * the lock, or after the maximum number of batches; the next run continues from the start.
+     *
+     * @return A Mono of the number of expired consents
+     */
+    public Mono<Long> sweepExpired() {
+        return Mono.defer(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            return expireBatch(now, START_VALID_UNTIL, START_ID)
+                    .expand(batch -> batch.size() < batchSize
+                            ? Mono.empty()
+                            : expireBatch(now, batch.getLast().getValidUntil(), batch.getLast().getId()))
+                    .take(maxBatchesPerRun)
+                    .map(List::size)
+                    .reduce(0L, Long::sum);
+        });
+    }
+
+    private Mono<List<Consent>> expireBatch(LocalDateTime now, LocalDateTime afterValidUntil, UUID afterId) {
+        return consentRepository.expireBatch(lockKey, now, afterValidUntil, afterId, batchSize)
+                .collectList()
+                .doOnNext(batch -> batch.forEach(consent -> eventBus.publish(
+                        new ConsentInvalidation(consent.getId(), consent.getPartyId(), ConsentStatus.EXPIRED))));
+    }
+}
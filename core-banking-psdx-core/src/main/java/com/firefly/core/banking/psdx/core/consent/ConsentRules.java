@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.consent;
+
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentType;
+import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The rules deciding whether a consent grants access to a resource type.
+ * Used by both the consent validation interceptor and the services, so that a request is
+ * judged the same way wherever its consent is checked.
+ */
+public final class ConsentRules {
+
+    private static final Map<ConsentType, Set<ResourceType>> RESOURCES_BY_CONSENT_TYPE = Map.of(
+            ConsentType.ACCOUNT_INFORMATION, EnumSet.of(ResourceType.ACCOUNT, ResourceType.BALANCE, ResourceType.TRANSACTION),
+            ConsentType.PAYMENT_INITIATION, EnumSet.of(ResourceType.PAYMENT),
+            ConsentType.FUNDS_CONFIRMATION, EnumSet.of(ResourceType.FUNDS_CONFIRMATION),
+            ConsentType.CARD_INFORMATION, EnumSet.of(ResourceType.CARD, ResourceType.CARD_BALANCE, ResourceType.CARD_TRANSACTION));
+
+    private ConsentRules() {
+    }
+
+    /**
+     * Check whether a consent is valid at a given time.
+     *
+     * @param consent The consent
+     * @param now The current date and time
+     * @return True if the consent has status VALID and lies within its validity period
+     */
+    public static boolean isActive(ValidatedConsent consent, LocalDateTime now) {
+        return consent.status() == ConsentStatus.VALID
+                && (consent.validFrom() == null || !consent.validFrom().isAfter(now))
+                && consent.validUntil() != null && consent.validUntil().isAfter(now);
+    }
+
+    /**
+     * Check whether the type and access scope of a consent cover a resource type.
+     * A consent without access scope is limited by its type only.
+     *
+     * @param consent The consent
+     * @param resourceType The type of resource being accessed
+     * @return True if the consent covers the resource type for at least one account
+     */
+    public static boolean covers(ValidatedConsent consent, ResourceType resourceType) {
+        return allowedByType(consent, resourceType)
+                && (consent.accessScope() == null || consent.accessScope().permits(resourceType));
+    }
+
+    /**
+     * Check whether the type and access scope of a consent cover a resource type of a specific account.
+     *
+     * @param consent The consent
+     * @param resourceType The type of resource being accessed
+     * @param accountIdentifier The IBAN or BBAN of the account
+     * @return True if the consent covers the resource type for the account
+     */
+    public static boolean covers(ValidatedConsent consent, ResourceType resourceType, String accountIdentifier) {
+        return allowedByType(consent, resourceType)
+                && (consent.accessScope() == null || consent.accessScope().permits(resourceType, accountIdentifier));
+    }
+
+    /**
+     * Check whether a consent grants access to a resource type at a given time.
+     *
+     * @param consent The consent
+     * @param resourceType The type of resource being accessed
+     * @param now The current date and time
+     * @return True if the consent is active and covers the resource type
+     */
+    public static boolean grants(ValidatedConsent consent, ResourceType resourceType, LocalDateTime now) {
+        return isActive(consent, now) && covers(consent, resourceType);
+    }
+
+    private static boolean allowedByType(ValidatedConsent consent, ResourceType resourceType) {
+        return consent.consentType() != null
+                && RESOURCES_BY_CONSENT_TYPE.getOrDefault(consent.consentType(), Set.of()).contains(resourceType);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.consent;
+
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentType;
+import com.firefly.core.banking.psdx.models.entities.Consent;
+import com.firefly.core.banking.psdx.models.projections.ConsentSummary;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of a consent, taken when the consent is validated.
+ *
+ * @param consentId The ID of the consent
+ * @param partyId The ID of the PSU who granted the consent
+ * @param consentType The type of the consent
+ * @param status The status of the consent
+ * @param validFrom The start of the validity period, or null if valid from creation
+ * @param validUntil The end of the validity period
+ * @param accessScope The parsed access scope of the consent
+ * @param accessFrequency The maximum number of accesses, or null if unlimited
+ */
+public record ValidatedConsent(UUID consentId, UUID partyId, ConsentType consentType, ConsentStatus status,
+                               LocalDateTime validFrom, LocalDateTime validUntil, ConsentAccessScope accessScope,
+                               Integer accessFrequency) {
+
+    /**
+     * Take a snapshot of a consent entity, parsing its access scope.
+     *
+     * @param consent The consent entity
+     * @return The snapshot
+     */
+    public static ValidatedConsent of(Consent consent) {
+        return new ValidatedConsent(consent.getId(), consent.getPartyId(), consent.getConsentType(), consent.getStatus(),
+                consent.getValidFrom(), consent.getValidUntil(),
+                ConsentAccessScope.of(consent.getAccessScope(), consent.getAccess()), consent.getAccessFrequency());
+    }
+
+    /**
+     * Take a snapshot of a consent from its validation columns and its already parsed access scope.
+     *
+     * @param summary The validation columns of the consent
+     * @param accessScope The parsed access scope of the consent
+     * @return The snapshot
+     */
+    public static ValidatedConsent of(ConsentSummary summary, ConsentAccessScope accessScope) {
+        return new ValidatedConsent(summary.id(), summary.partyId(), summary.consentType(), summary.status(),
+                summary.validFrom(), summary.validUntil(), accessScope, summary.accessFrequency());
+    }
+}
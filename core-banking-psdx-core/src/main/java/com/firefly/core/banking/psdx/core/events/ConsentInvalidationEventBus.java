@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.events;
+
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.UUID;
+
+/**
+ * In-process bus for consents that stopped being usable.
+ * Components that keep consent state in memory subscribe to drop their entries as soon as a
+ * consent is expired, instead of waiting for their own expiry. Emission is non-blocking and
+ * best effort, like the {@link PaymentStatusEventBus}: a subscriber that cannot keep up misses
+ * events, so subscribers must still check the status of what they serve.
+ */
+@Component
+@Slf4j
+public class ConsentInvalidationEventBus {
+
+    private final Sinks.Many<ConsentInvalidation> sink = Sinks.many().multicast().directBestEffort();
+
+    /**
+     * Publish the invalidation of a consent to every current subscriber.
+     *
+     * @param invalidation The invalidated consent
+     */
+    public void publish(ConsentInvalidation invalidation) {
+        Sinks.EmitResult result = sink.tryEmitNext(invalidation);
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            log.debug("Dropped invalidation of consent ID: {}: {}", invalidation.consentId(), result);
+        }
+    }
+
+    /**
+     * Subscribe to consent invalidations.
+     *
+     * @return A hot Flux of the invalidations published after subscription
+     */
+    public Flux<ConsentInvalidation> events() {
+        return sink.asFlux();
+    }
+
+    /**
+     * A consent that moved to a final status.
+     *
+     * @param consentId The ID of the consent
+     * @param partyId The ID of the party that granted the consent
+     * @param status The new status of the consent
+     */
+    public record ConsentInvalidation(UUID consentId, UUID partyId, ConsentStatus status) {
+    }
+}
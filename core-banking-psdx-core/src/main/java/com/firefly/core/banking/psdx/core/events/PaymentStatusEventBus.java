@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.events;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentStatusDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process bus for payment status changes.
+ * Every watched payment has one channel, shared by all of its subscribers. While a channel has
+ * subscribers, a single poller refreshes the status from downstream on the parallel scheduler,
+ * so the number of downstream calls does not grow with the number of waiting TPPs.
+ * Emission is non-blocking and best effort: a subscriber that cannot keep up misses intermediate
+ * statuses instead of slowing down the others.
+ */
+@Component
+@Slf4j
+public class PaymentStatusEventBus {
+
+    private static final String ANONYMOUS = "";
+
+    private final ConcurrentMap<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> subscriptionsPerTpp = new ConcurrentHashMap<>();
+    private final int maxSubscriptionsPerTpp;
+    private final Duration pollInterval;
+
+    /**
+     * Constructor for PaymentStatusEventBus.
+     *
+     * @param maxSubscriptionsPerTpp The maximum number of concurrent subscriptions of a single TPP
+     * @param pollIntervalMs The interval between downstream refreshes of a watched payment
+     */
+    public PaymentStatusEventBus(
+            @Value("${psdx.payments.status.push.max-subscriptions-per-tpp:100}") int maxSubscriptionsPerTpp,
+            @Value("${psdx.payments.status.push.poll-interval-ms:2000}") long pollIntervalMs) {
+        this.maxSubscriptionsPerTpp = maxSubscriptionsPerTpp;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+    }
+
+    /**
+     * Publish a status to the subscribers of its payment.
+     * Statuses of payments nobody watches, and repeats of the last published status, are dropped.
+     *
+     * @param status The payment status
+     */
+    public void publish(PSDPaymentStatusDTO status) {
+        if (status.getPaymentId() == null) {
+            return;
+        }
+        Channel channel = channels.get(status.getPaymentId());
+        if (channel != null) {
+            channel.emit(status);
+        }
+    }
+
+    /**
+     * Subscribe to the status changes of a payment.
+     * The first subscriber of a payment starts the shared poller and the last one stops it.
+     *
+     * @param thirdPartyId The identifier of the subscribing TPP
+     * @param paymentId The ID of the payment
+     * @param refresh A Mono that fetches the downstream status and publishes it on this bus
+     * @return A Flux of status changes, failing with 429 if the TPP has too many subscriptions
+     */
+    public Flux<PSDPaymentStatusDTO> subscribe(String thirdPartyId, UUID paymentId, Mono<?> refresh) {
+        return Flux.defer(() -> {
+            AtomicInteger subscriptions = subscriptionsPerTpp.computeIfAbsent(
+                    thirdPartyId != null ? thirdPartyId : ANONYMOUS, tpp -> new AtomicInteger());
+            if (subscriptions.incrementAndGet() > maxSubscriptionsPerTpp) {
+                subscriptions.decrementAndGet();
+                log.warn("Rejected payment status subscription for payment ID: {}, TPP subscription limit reached",
+                        paymentId);
+                return Flux.error(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Too many concurrent payment status subscriptions"));
+            }
+
+            Channel channel = channels.compute(paymentId, (id, existing) -> {
+                Channel joined = existing != null ? existing : new Channel();
+                if (joined.subscribers++ == 0) {
+                    joined.poller = startPoller(id, refresh);
+                }
+                return joined;
+            });
+
+            return channel.sink.asFlux()
+                    .doFinally(signal -> {
+                        subscriptions.decrementAndGet();
+                        channels.computeIfPresent(paymentId, (id, existing) -> {
+                            if (--existing.subscribers > 0) {
+                                return existing;
+                            }
+                            existing.poller.dispose();
+                            return null;
+                        });
+                    });
+        });
+    }
+
+    /**
+     * Get the number of payments currently watched.
+     *
+     * @return The number of channels
+     */
+    public int getWatchedPayments() {
+        return channels.size();
+    }
+
+    private Disposable startPoller(UUID paymentId, Mono<?> refresh) {
+        return Flux.interval(pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh.onErrorResume(e -> {
+                    log.debug("Failed to refresh status for watched payment ID: {}: {}", paymentId, e.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    /**
+     * Subscribers and poller of a single payment.
+     * The subscriber count and poller are only touched inside map compute calls.
+     */
+    private static final class Channel {
+        private final Sinks.Many<PSDPaymentStatusDTO> sink = Sinks.many().multicast().directBestEffort();
+        private int subscribers;
+        private Disposable poller;
+        private String lastStatus;
+
+        private synchronized void emit(PSDPaymentStatusDTO status) {
+            if (Objects.equals(lastStatus, status.getTransactionStatus())) {
+                return;
+            }
+            lastStatus = status.getTransactionStatus();
+            sink.tryEmitNext(status);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.integrity;
+
+import com.firefly.core.banking.psdx.models.entities.AccessLog;
+import com.firefly.core.banking.psdx.models.entities.AccessLogSeal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hashing rules of the access log seals.
+ * Every access log is hashed over a canonical, length-prefixed encoding of its persisted columns.
+ * Leaves and inner nodes use distinct prefixes, and an odd node is carried up unchanged instead of
+ * being paired with itself, so a leaf can neither pass for an inner node nor be duplicated
+ * without changing the Merkle root.
+ * A seal hash covers the previous seal hash, the sealed range and the Merkle root.
+ */
+public final class AccessLogHashing {
+
+    /**
+     * Previous seal hash of the first seal of the chain.
+     */
+    public static final String GENESIS_HASH = "0".repeat(64);
+
+    private static final byte LEAF = 0x00;
+    private static final byte NODE = 0x01;
+
+    private AccessLogHashing() {
+    }
+
+    /**
+     * Hash a single access log.
+     *
+     * @param accessLog The access log, as read from the database
+     * @return The leaf hash
+     */
+    public static byte[] leafHash(AccessLog accessLog) {
+        MessageDigest digest = sha256();
+        digest.update(LEAF);
+        update(digest, accessLog.getId());
+        update(digest, accessLog.getConsentId());
+        update(digest, accessLog.getPartyId());
+        update(digest, accessLog.getThirdPartyId());
+        update(digest, accessLog.getAccessType());
+        update(digest, accessLog.getResourceType());
+        update(digest, accessLog.getResourceId());
+        update(digest, accessLog.getIpAddress());
+        update(digest, accessLog.getUserAgent());
+        update(digest, accessLog.getStatus());
+        update(digest, accessLog.getErrorMessage());
+        update(digest, accessLog.getXRequestId());
+        update(digest, accessLog.getTppRequestId());
+        update(digest, accessLog.getPsuId());
+        update(digest, accessLog.getPsuIdType());
+        update(digest, accessLog.getPsuCorporateId());
+        update(digest, accessLog.getPsuCorporateIdType());
+        update(digest, accessLog.getTppRedirectUri());
+        update(digest, accessLog.getCreatedAt());
+        return digest.digest();
+    }
+
+    /**
+     * Compute the Merkle root of a batch of access logs.
+     *
+     * @param accessLogs The access logs in seal order
+     * @return The hex encoded Merkle root
+     * @throws IllegalArgumentException If the batch is empty
+     */
+    public static String merkleRoot(List<AccessLog> accessLogs) {
+        if (accessLogs.isEmpty()) {
+            throw new IllegalArgumentException("Cannot seal an empty batch");
+        }
+        List<byte[]> level = new ArrayList<>(accessLogs.size());
+        for (AccessLog accessLog : accessLogs) {
+            level.add(leafHash(accessLog));
+        }
+        while (level.size() > 1) {
+            List<byte[]> parents = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i + 1 < level.size(); i += 2) {
+                MessageDigest digest = sha256();
+                digest.update(NODE);
+                digest.update(level.get(i));
+                digest.update(level.get(i + 1));
+                parents.add(digest.digest());
+            }
+            if (level.size() % 2 == 1) {
+                parents.add(level.getLast());
+            }
+            level = parents;
+        }
+        return HexFormat.of().formatHex(level.getFirst());
+    }
+
+    /**
+     * Compute the hash of a seal from its chained fields.
+     *
+     * @param seal The seal
+     * @return The hex encoded seal hash
+     */
+    public static String sealHash(AccessLogSeal seal) {
+        MessageDigest digest = sha256();
+        update(digest, seal.getPreviousSealHash());
+        update(digest, seal.getSequenceNumber());
+        update(digest, seal.getFirstCreatedAt());
+        update(digest, seal.getFirstLogId());
+        update(digest, seal.getLastCreatedAt());
+        update(digest, seal.getLastLogId());
+        update(digest, seal.getRowCount());
+        update(digest, seal.getMerkleRoot());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update(ByteBuffer.allocate(4).putInt(-1).array());
+            return;
+        }
+        byte[] bytes = Objects.toString(value).getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
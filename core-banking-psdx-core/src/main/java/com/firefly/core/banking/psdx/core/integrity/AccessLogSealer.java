@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.integrity;
+
+import com.firefly.core.banking.psdx.models.entities.AccessLog;
+import com.firefly.core.banking.psdx.models.entities.AccessLogSeal;
+import com.firefly.core.banking.psdx.models.repositories.AccessLogRepository;
+import com.firefly.core.banking.psdx.models.repositories.AccessLogSealRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background job sealing access logs in batches.
+ * Access logs are inserted without any hashing. On a fixed delay, the logs created after the last
+ * seal are read in (created_at, id) order, and each batch gets a seal holding its Merkle root,
+ * chained to the previous seal. Logs younger than the settle delay are left for the next run, so
+ * a seal never passes over a row that is still being inserted; the settle delay must exceed the
+ * maximum replica lag when reads go to a replica. The unique sequence number of the seals makes
+ * a concurrent sealer on another node fail instead of forking the chain.
+ */
+@Component
+@Slf4j
+public class AccessLogSealer {
+
+    static final LocalDateTime START_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final UUID START_ID = new UUID(0L, 0L);
+
+    private final AccessLogRepository accessLogRepository;
+    private final AccessLogSealRepository accessLogSealRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration settleDelay;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructor for AccessLogSealer.
+     *
+     * @param accessLogRepository The access log repository
+     * @param accessLogSealRepository The seal repository
+     * @param enabled Whether the scheduled sealing runs on this node
+     * @param batchSize The maximum number of access logs covered by a single seal
+     * @param maxBatchesPerRun The maximum number of seals written by a single run
+     * @param settleDelayMs The minimum age of an access log before it is sealed, in milliseconds
+     */
+    public AccessLogSealer(
+            AccessLogRepository accessLogRepository,
+            AccessLogSealRepository accessLogSealRepository,
+            @Value("${psdx.logging.sealing.enabled:true}") boolean enabled,
+            @Value("${psdx.logging.sealing.batch-size:1000}") int batchSize,
+            @Value("${psdx.logging.sealing.max-batches-per-run:100}") int maxBatchesPerRun,
+            @Value("${psdx.logging.sealing.settle-delay-ms:60000}") long settleDelayMs) {
+        this.accessLogRepository = accessLogRepository;
+        this.accessLogSealRepository = accessLogSealRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.settleDelay = Duration.ofMillis(settleDelayMs);
+    }
+
+    /**
+     * Seal the access logs created since the last seal.
+     * A run is skipped while the previous run of this node is still in progress.
+     */
+    @Scheduled(fixedDelayString = "${psdx.logging.sealing.interval-ms:30000}")
+    public void seal() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        sealPending()
+                .doFinally(signal -> running.set(false))
+                .subscribe(
+                        count -> log.debug("Sealed {} access logs", count),
+                        e -> log.warn("Failed to seal access logs: {}", e.getMessage()));
+    }
+
+    /**
+     * Seal the settled access logs created since the last seal, one batch after the other.
+     * Sealing stops at the first partial batch or after the maximum number of batches.
+     *
+     * @return A Mono of the number of sealed access logs
+     */
+    public Mono<Long> sealPending() {
+        return Mono.defer(() -> {
+            LocalDateTime settledBefore = LocalDateTime.now().minus(settleDelay);
+            return accessLogSealRepository.findLatest()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(latest -> sealBatch(latest.orElse(null), settledBefore))
+                    .expand(seal -> seal.getRowCount() < batchSize ? Mono.empty() : sealBatch(seal, settledBefore))
+                    .take(maxBatchesPerRun)
+                    .map(seal -> (long) seal.getRowCount())
+                    .reduce(0L, Long::sum);
+        });
+    }
+
+    private Mono<AccessLogSeal> sealBatch(AccessLogSeal previous, LocalDateTime settledBefore) {
+        LocalDateTime afterCreatedAt = previous != null ? previous.getLastCreatedAt() : START_CREATED_AT;
+        UUID afterId = previous != null ? previous.getLastLogId() : START_ID;
+        return accessLogRepository.findUnsealed(afterCreatedAt, afterId, settledBefore, batchSize)
+                .collectList()
+                .filter(batch -> !batch.isEmpty())
+                .flatMap(batch -> accessLogSealRepository.save(newSeal(previous, batch)));
+    }
+
+    private static AccessLogSeal newSeal(AccessLogSeal previous, List<AccessLog> batch) {
+        AccessLogSeal seal = AccessLogSeal.builder()
+                .sequenceNumber(previous != null ? previous.getSequenceNumber() + 1 : 1L)
+                .firstCreatedAt(batch.getFirst().getCreatedAt())
+                .firstLogId(batch.getFirst().getId())
+                .lastCreatedAt(batch.getLast().getCreatedAt())
+                .lastLogId(batch.getLast().getId())
+                .rowCount(batch.size())
+                .merkleRoot(AccessLogHashing.merkleRoot(batch))
+                .previousSealHash(previous != null ? previous.getSealHash() : AccessLogHashing.GENESIS_HASH)
+                .sealedAt(LocalDateTime.now())
+                .build();
+        seal.setSealHash(AccessLogHashing.sealHash(seal));
+        return seal;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.mappers;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccountReferenceDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationDTO;
+import com.firefly.core.banking.psdx.models.entities.FundsConfirmation;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper for converting between FundsConfirmation entity and FundsConfirmationDTO.
+ */
+@Mapper(componentModel = "spring")
+public interface FundsConfirmationMapper {
+
+    /**
+     * Convert a FundsConfirmation entity to a FundsConfirmationDTO.
+     *
+     * @param fundsConfirmation The FundsConfirmation entity
+     * @return The FundsConfirmationDTO
+     */
+    @Mapping(target = "fundsConfirmationId", source = "id")
+    @Mapping(target = "account", source = "accountReference")
+    @Mapping(target = "instructedAmount.amount", source = "amount")
+    @Mapping(target = "instructedAmount.currency", source = "currency")
+    @Mapping(target = "_links", ignore = true)
+    PSDFundsConfirmationDTO toDto(FundsConfirmation fundsConfirmation);
+
+    /**
+     * Convert a FundsConfirmationDTO to a FundsConfirmation entity.
+     *
+     * @param fundsConfirmationDTO The FundsConfirmationDTO
+     * @return The FundsConfirmation entity
+     */
+    @Mapping(target = "id", source = "fundsConfirmationId")
+    @Mapping(target = "accountReference", source = "account")
+    @Mapping(target = "amount", source = "instructedAmount.amount")
+    @Mapping(target = "currency", source = "instructedAmount.currency")
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "newConfirmation", ignore = true)
+    FundsConfirmation toEntity(PSDFundsConfirmationDTO fundsConfirmationDTO);
+
+    /**
+     * Convert an account reference to the account identifier stored on the confirmation.
+     *
+     * @param account The account reference
+     * @return The IBAN, or the BBAN if no IBAN is present
+     */
+    default String map(PSDAccountReferenceDTO account) {
+        if (account == null) {
+            return null;
+        }
+        return account.getIban() != null ? account.getIban() : account.getBban();
+    }
+
+    /**
+     * Convert a stored account identifier to an account reference.
+     *
+     * @param account The account identifier
+     * @return The account reference
+     */
+    default PSDAccountReferenceDTO toAccountReference(String account) {
+        if (account == null) {
+            return null;
+        }
+        return PSDAccountReferenceDTO.builder().iban(account).build();
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.mappers;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentDTO;
+import com.firefly.core.banking.psdx.models.entities.Payment;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Mapper for converting between Payment entity and PaymentDTO.
+ * Account references are stored as an identifier plus its type, so a stored payment maps back
+ * to the same kind of reference it was initiated with.
+ */
+@Mapper(componentModel = "spring")
+public interface PaymentMapper {
+
+    String IBAN = "IBAN";
+    String BBAN = "BBAN";
+    String PAN = "PAN";
+    String MASKED_PAN = "MASKED_PAN";
+    String MSISDN = "MSISDN";
+
+    /**
+     * Convert a Payment entity to a PaymentDTO.
+     *
+     * @param payment The Payment entity
+     * @return The PaymentDTO
+     */
+    @Mapping(target = "paymentId", source = "id")
+    @Mapping(target = "instructedAmount.amount", source = "amount")
+    @Mapping(target = "instructedAmount.currency", source = "currency")
+    @Mapping(target = "debtorAccount", expression = "java(toAccountReference(payment.getDebtorAccount(), payment.getDebtorAccountType(), payment.getDebtorAccountCurrency()))")
+    @Mapping(target = "creditorAccount", expression = "java(toAccountReference(payment.getCreditorAccount(), payment.getCreditorAccountType(), payment.getCreditorAccountCurrency()))")
+    @Mapping(target = "creditorAddress", expression = "java(toAddress(payment))")
+    @Mapping(target = "remittanceInformationStructured", expression = "java(toRemittance(payment))")
+    @Mapping(target = "scaRequired", ignore = true)
+    @Mapping(target = "_links", ignore = true)
+    PSDPaymentDTO toDto(Payment payment);
+
+    /**
+     * Convert a PaymentDTO to a Payment entity.
+     *
+     * @param paymentDTO The PaymentDTO
+     * @return The Payment entity
+     */
+    @Mapping(target = "id", source = "paymentId")
+    @Mapping(target = "amount", source = "instructedAmount.amount")
+    @Mapping(target = "currency", source = "instructedAmount.currency")
+    @Mapping(target = "debtorAccountType", expression = "java(accountType(paymentDTO.getDebtorAccount()))")
+    @Mapping(target = "debtorAccountCurrency", source = "debtorAccount.currency")
+    @Mapping(target = "creditorAccountType", expression = "java(accountType(paymentDTO.getCreditorAccount()))")
+    @Mapping(target = "creditorAccountCurrency", source = "creditorAccount.currency")
+    @Mapping(target = "creditorAddressStreet", source = "creditorAddress.street")
+    @Mapping(target = "creditorAddressBuildingNumber", source = "creditorAddress.buildingNumber")
+    @Mapping(target = "creditorAddressCity", source = "creditorAddress.city")
+    @Mapping(target = "creditorAddressPostalCode", source = "creditorAddress.postalCode")
+    @Mapping(target = "creditorAddressCountry", source = "creditorAddress.country")
+    @Mapping(target = "remittanceReferenceIssuer", source = "remittanceInformationStructured.referenceIssuer")
+    @Mapping(target = "remittanceReferenceDate", source = "remittanceInformationStructured.referenceDate")
+    @Mapping(target = "bulkId", ignore = true)
+    @Mapping(target = "newPayment", ignore = true)
+    Payment toEntity(PSDPaymentDTO paymentDTO);
+
+    /**
+     * Convert an account reference to the account identifier stored on the payment.
+     *
+     * @param account The account reference
+     * @return The identifier matching {@link #accountType(PSDPaymentDTO.PSDAccountReferenceDTO)}
+     */
+    default String map(PSDPaymentDTO.PSDAccountReferenceDTO account) {
+        String type = accountType(account);
+        if (type == null) {
+            return null;
+        }
+        return switch (type) {
+            case IBAN -> account.getIban();
+            case BBAN -> account.getBban();
+            case PAN -> account.getPan();
+            case MASKED_PAN -> account.getMaskedPan();
+            default -> account.getMsisdn();
+        };
+    }
+
+    /**
+     * Get the kind of identifier an account reference is stored with.
+     * The IBAN is preferred, then the BBAN, the PAN, the masked PAN and the MSISDN.
+     *
+     * @param account The account reference
+     * @return The account type, or null if the reference has no identifier
+     */
+    @Named("accountType")
+    default String accountType(PSDPaymentDTO.PSDAccountReferenceDTO account) {
+        if (account == null) {
+            return null;
+        }
+        if (account.getIban() != null) {
+            return IBAN;
+        }
+        if (account.getBban() != null) {
+            return BBAN;
+        }
+        if (account.getPan() != null) {
+            return PAN;
+        }
+        if (account.getMaskedPan() != null) {
+            return MASKED_PAN;
+        }
+        return account.getMsisdn() != null ? MSISDN : null;
+    }
+
+    /**
+     * Convert a stored account identifier to an account reference.
+     * Rows stored without an account type hold an IBAN or BBAN and are read back as IBAN.
+     *
+     * @param account The account identifier
+     * @param type The account type
+     * @param currency The account currency
+     * @return The account reference
+     */
+    default PSDPaymentDTO.PSDAccountReferenceDTO toAccountReference(String account, String type, String currency) {
+        if (account == null) {
+            return null;
+        }
+        PSDPaymentDTO.PSDAccountReferenceDTO.PSDAccountReferenceDTOBuilder reference =
+                PSDPaymentDTO.PSDAccountReferenceDTO.builder().currency(currency);
+        switch (type != null ? type : IBAN) {
+            case BBAN -> reference.bban(account);
+            case PAN -> reference.pan(account);
+            case MASKED_PAN -> reference.maskedPan(account);
+            case MSISDN -> reference.msisdn(account);
+            default -> reference.iban(account);
+        }
+        return reference.build();
+    }
+
+    /**
+     * Convert an address to a single line.
+     *
+     * @param address The address
+     * @return The formatted address
+     */
+    default String map(PSDPaymentDTO.PSDAddressDTO address) {
+        if (address == null) {
+            return null;
+        }
+        return Stream.of(address.getStreet(), address.getBuildingNumber(), address.getPostalCode(),
+                        address.getCity(), address.getCountry())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Rebuild the creditor address from its stored parts.
+     *
+     * @param payment The Payment entity
+     * @return The creditor address, or null if none was stored
+     */
+    default PSDPaymentDTO.PSDAddressDTO toAddress(Payment payment) {
+        if (payment.getCreditorAddressStreet() == null && payment.getCreditorAddressBuildingNumber() == null
+                && payment.getCreditorAddressCity() == null && payment.getCreditorAddressPostalCode() == null
+                && payment.getCreditorAddressCountry() == null) {
+            return null;
+        }
+        return PSDPaymentDTO.PSDAddressDTO.builder()
+                .street(payment.getCreditorAddressStreet())
+                .buildingNumber(payment.getCreditorAddressBuildingNumber())
+                .city(payment.getCreditorAddressCity())
+                .postalCode(payment.getCreditorAddressPostalCode())
+                .country(payment.getCreditorAddressCountry())
+                .build();
+    }
+
+    /**
+     * Convert structured remittance information to its reference.
+     *
+     * @param remittance The structured remittance information
+     * @return The reference
+     */
+    default String map(PSDPaymentDTO.PSDRemittanceDTO remittance) {
+        return remittance != null ? remittance.getReference() : null;
+    }
+
+    /**
+     * Rebuild structured remittance information from its stored parts.
+     *
+     * @param payment The Payment entity
+     * @return The structured remittance information, or null if none was stored
+     */
+    default PSDPaymentDTO.PSDRemittanceDTO toRemittance(Payment payment) {
+        if (payment.getRemittanceInformationStructured() == null && payment.getRemittanceReferenceIssuer() == null
+                && payment.getRemittanceReferenceDate() == null) {
+            return null;
+        }
+        return PSDPaymentDTO.PSDRemittanceDTO.builder()
+                .reference(payment.getRemittanceInformationStructured())
+                .referenceIssuer(payment.getRemittanceReferenceIssuer())
+                .referenceDate(payment.getRemittanceReferenceDate())
+                .build();
+    }
+}
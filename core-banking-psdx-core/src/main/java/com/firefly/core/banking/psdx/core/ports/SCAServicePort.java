@@ -17,12 +17,17 @@
 
 package com.firefly.core.banking.psdx.core.ports;
 
+import com.firefly.core.banking.psdx.core.sca.ScaDecision;
+import com.firefly.core.banking.psdx.core.sca.ScaExemptionRequest;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDSCAAuthenticationRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDSCAAuthenticationResponseDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDSCAValidationRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDSCAValidationResponseDTO;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.util.UUID;
+
 /**
  * Port for the SCA (Strong Customer Authentication) service.
  */
@@ -51,5 +56,22 @@ public interface SCAServicePort {
      * @param currency The payment currency
      * @return A Mono of Boolean indicating if SCA is required
      */
-    Mono<Boolean> isSCARequired(Double amount, String currency);
+    Mono<Boolean> isSCARequired(BigDecimal amount, String currency);
+
+    /**
+     * Decide whether a payment of a PSU requires SCA or can be exempted.
+     * An applied low-value exemption counts towards the PSU's limits.
+     *
+     * @param request The payment to evaluate
+     * @return A Mono of the decision
+     */
+    Mono<ScaDecision> evaluateExemption(ScaExemptionRequest request);
+
+    /**
+     * Record a successful SCA of a PSU, which resets its low-value exemption limits.
+     *
+     * @param partyId The ID of the PSU
+     * @return A Mono that completes when the authentication is recorded
+     */
+    Mono<Void> recordAuthentication(UUID partyId);
 }
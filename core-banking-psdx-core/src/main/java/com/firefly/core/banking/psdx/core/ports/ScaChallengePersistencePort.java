@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.ports;
+
+import com.firefly.core.banking.psdx.core.sca.PendingChallenge;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Port for sharing pending SCA challenges between nodes.
+ */
+public interface ScaChallengePersistencePort {
+
+    /**
+     * Whether challenges are visible to other nodes.
+     * A shared port is the authority for attempts and consumption of a challenge.
+     *
+     * @return true if challenges are shared between nodes
+     */
+    boolean isShared();
+
+    /**
+     * Store or overwrite a challenge.
+     *
+     * @param challenge The challenge
+     * @return A Mono that completes when the challenge is stored
+     */
+    Mono<Void> save(PendingChallenge challenge);
+
+    /**
+     * Find a challenge created on any node.
+     *
+     * @param challengeId The ID of the challenge
+     * @return A Mono of the challenge, or empty if it is unknown
+     */
+    Mono<PendingChallenge> findById(String challengeId);
+
+    /**
+     * Count a validation attempt against a challenge.
+     * The attempt is recorded atomically, so concurrent validations on different nodes each see their own count.
+     *
+     * @param challengeId The ID of the challenge
+     * @param maxAttempts The number of attempts after which the challenge no longer accepts validations
+     * @return A Mono of the challenge including this attempt, or empty if it is unknown, expired or exhausted
+     */
+    Mono<PendingChallenge> recordAttempt(String challengeId, int maxAttempts);
+
+    /**
+     * Delete a challenge that was validated successfully.
+     *
+     * @param challengeId The ID of the challenge
+     * @return A Mono of true if this call deleted the challenge, false if it was already gone
+     */
+    Mono<Boolean> consume(String challengeId);
+
+    /**
+     * Delete challenges that were completed or expired.
+     *
+     * @param challengeIds The IDs of the challenges
+     * @return A Mono that completes when the challenges are deleted
+     */
+    Mono<Void> deleteAll(Collection<String> challengeIds);
+}
@@ -39,6 +39,23 @@ public interface TransactionServicePort {
      */
     Flux<PSDTransactionDTO> getTransactionsByAccountId(UUID accountId, LocalDate fromDate, LocalDate toDate);
 
+    /**
+     * Get the transactions of an account within a date range that can still change, that is
+     * every transaction that is not booked or carries no booking date.
+     * The default implementation filters the full range; adapters whose downstream API can
+     * filter by status should override it.
+     *
+     * @param accountId The ID of the account
+     * @param fromDate The start date of the range
+     * @param toDate The end date of the range
+     * @return A Flux of transactions that are not booked
+     */
+    default Flux<PSDTransactionDTO> getNonBookedTransactionsByAccountId(UUID accountId, LocalDate fromDate, LocalDate toDate) {
+        return getTransactionsByAccountId(accountId, fromDate, toDate)
+                .filter(transaction -> !"booked".equals(transaction.getTransactionStatus())
+                        || transaction.getBookingDate() == null);
+    }
+
     /**
      * Get a specific transaction.
      *
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.retention;
+
+import java.time.LocalDateTime;
+
+/**
+ * Manifest entry of an archive segment.
+ *
+ * @param table The name of the archived table
+ * @param file The name of the segment file, relative to the table directory
+ * @param rowCount The number of rows in the segment
+ * @param sizeBytes The size of the compressed segment in bytes
+ * @param sha256 The hex encoded SHA-256 checksum of the compressed segment
+ * @param firstCreatedAt The creation time of the first row
+ * @param lastCreatedAt The creation time of the last row
+ * @param archivedAt The time the segment was written
+ */
+public record ArchiveSegment(
+        String table,
+        String file,
+        long rowCount,
+        long sizeBytes,
+        String sha256,
+        LocalDateTime firstCreatedAt,
+        LocalDateTime lastCreatedAt,
+        LocalDateTime archivedAt) {
+
+    /**
+     * Check whether the segment may hold rows created within a range.
+     *
+     * @param fromDate The start of the range, inclusive
+     * @param toDate The end of the range, exclusive
+     * @return True if the segment overlaps the range
+     */
+    public boolean overlaps(LocalDateTime fromDate, LocalDateTime toDate) {
+        return firstCreatedAt.isBefore(toDate) && !lastCreatedAt.isBefore(fromDate);
+    }
+}
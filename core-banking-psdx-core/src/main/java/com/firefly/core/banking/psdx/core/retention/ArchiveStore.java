@@ -0,0 +1,293 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.retention;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local disk store of archived rows.
+ * Every table has its own directory holding gzip compressed NDJSON segments and a manifest.
+ * A segment starts with a header line naming the columns, followed by one JSON array of values
+ * per row, so column names are stored once per segment instead of once per row. Values other
+ * than booleans and integers are stored as text, which keeps decimals and timestamps exact.
+ * The manifest has one line per segment with its row count, creation time range and SHA-256
+ * checksum, and is only appended once the segment has been verified. A segment and its directory
+ * entry are flushed to disk before the manifest refers to it, and writing the same segment again,
+ * as a retried batch does, keeps a single manifest entry for it.
+ * All methods block and must be called from a scheduler that allows blocking.
+ */
+@Component
+@Slf4j
+public class ArchiveStore {
+
+    static final String MANIFEST = "manifest.ndjson";
+    static final String CREATED_AT = "created_at";
+    private static final String SEGMENT_SUFFIX = ".ndjson.gz";
+
+    private final Path root;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for ArchiveStore.
+     *
+     * @param archivePath The root directory of the archive
+     * @param objectMapper The object mapper used for segments and manifests
+     */
+    public ArchiveStore(
+            @Value("${psdx.retention.archive-path:${java.io.tmpdir}/psdx-archive}") String archivePath,
+            ObjectMapper objectMapper) {
+        this.root = Path.of(archivePath);
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Write rows to a new segment, verify it and record it in the manifest.
+     *
+     * @param table The table the rows were read from
+     * @param rows The rows ordered by creation time, each one keyed by column name
+     * @return The manifest entry of the segment
+     * @throws IllegalStateException If the written segment cannot be verified
+     */
+    public ArchiveSegment write(ArchivedTable table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Cannot archive an empty segment");
+        }
+        List<String> columns = new ArrayList<>(rows.getFirst().keySet());
+        LocalDateTime firstCreatedAt = (LocalDateTime) rows.getFirst().get(CREATED_AT);
+        LocalDateTime lastCreatedAt = (LocalDateTime) rows.getLast().get(CREATED_AT);
+        String file = table.tableName() + "-" + rows.getFirst().get("id") + SEGMENT_SUFFIX;
+
+        try {
+            Path directory = Files.createDirectories(root.resolve(table.tableName()));
+            Path target = directory.resolve(file);
+            Path temporary = directory.resolve(file + ".tmp");
+            MessageDigest digest = sha256();
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                GZIPOutputStream gzip = new GZIPOutputStream(new DigestOutputStream(Channels.newOutputStream(channel), digest));
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+                Map<String, Object> header = new LinkedHashMap<>();
+                header.put("table", table.tableName());
+                header.put("columns", columns);
+                writer.write(objectMapper.writeValueAsString(header));
+                writer.newLine();
+                List<Object> values = new ArrayList<>(columns.size());
+                for (Map<String, Object> row : rows) {
+                    values.clear();
+                    for (String column : columns) {
+                        values.add(toText(row.get(column)));
+                    }
+                    writer.write(objectMapper.writeValueAsString(values));
+                    writer.newLine();
+                }
+                writer.flush();
+                gzip.finish();
+                channel.force(true);
+                writer.close();
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory(directory);
+
+            ArchiveSegment segment = new ArchiveSegment(table.tableName(), file, rows.size(), Files.size(target),
+                    HexFormat.of().formatHex(digest.digest()), firstCreatedAt, lastCreatedAt, LocalDateTime.now());
+            verify(segment);
+            recordInManifest(table, directory, segment);
+            log.debug("Archived {} rows of {} to {}", rows.size(), table.tableName(), file);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write archive segment " + file, e);
+        }
+    }
+
+    /**
+     * Check the checksum and row count of a segment against its manifest entry.
+     *
+     * @param segment The manifest entry
+     * @throws IllegalStateException If the segment does not match its manifest entry
+     */
+    public void verify(ArchiveSegment segment) {
+        read(segment);
+    }
+
+    /**
+     * List the segments of a table in the order they were written.
+     *
+     * @param table The archived table
+     * @return The manifest entries of the table
+     */
+    public List<ArchiveSegment> segments(ArchivedTable table) {
+        Path manifest = root.resolve(table.tableName()).resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return List.of();
+        }
+        try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            List<ArchiveSegment> segments = new ArrayList<>();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank()) {
+                    segments.add(objectMapper.readValue(line, ArchiveSegment.class));
+                }
+            }
+            return segments;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive manifest of " + table.tableName(), e);
+        }
+    }
+
+    /**
+     * Read the rows of a segment after verifying it.
+     *
+     * @param segment The manifest entry
+     * @return The rows keyed by column name, with values as stored
+     * @throws IllegalStateException If the segment does not match its manifest entry
+     */
+    public List<Map<String, Object>> read(ArchiveSegment segment) {
+        Path file = root.resolve(segment.table()).resolve(segment.file());
+        MessageDigest digest = sha256();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (InputStream input = new DigestInputStream(Files.newInputStream(file), digest);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(input), StandardCharsets.UTF_8))) {
+            Map<String, Object> header = objectMapper.readValue(reader.readLine(), new TypeReference<>() {
+            });
+            @SuppressWarnings("unchecked")
+            List<String> columns = (List<String>) header.get("columns");
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                List<Object> values = objectMapper.readValue(line, new TypeReference<>() {
+                });
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    row.put(columns.get(i), values.get(i));
+                }
+                rows.add(row);
+            }
+            // The checksum covers the whole file, including bytes the gzip reader left unread
+            input.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new IllegalStateException("Archive segment " + segment.file() + " is unreadable", e);
+        }
+        String checksum = HexFormat.of().formatHex(digest.digest());
+        if (!checksum.equals(segment.sha256())) {
+            throw new IllegalStateException("Checksum mismatch for archive segment " + segment.file());
+        }
+        if (rows.size() != segment.rowCount()) {
+            throw new IllegalStateException("Archive segment " + segment.file() + " holds " + rows.size()
+                    + " rows instead of " + segment.rowCount());
+        }
+        return rows;
+    }
+
+    /**
+     * Add a segment to the manifest of its table.
+     * A segment already listed under the same file name is not appended again: an identical entry
+     * is kept as it is, and an entry for different content is replaced by rewriting the manifest.
+     */
+    private synchronized void recordInManifest(ArchivedTable table, Path directory, ArchiveSegment segment) throws IOException {
+        Path manifest = directory.resolve(MANIFEST);
+        List<ArchiveSegment> segments = segments(table);
+        ArchiveSegment existing = segments.stream()
+                .filter(listed -> listed.file().equals(segment.file()))
+                .findFirst()
+                .orElse(null);
+        if (existing == null) {
+            boolean created = !Files.exists(manifest);
+            Files.writeString(manifest, objectMapper.writeValueAsString(segment) + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+            if (created) {
+                syncDirectory(directory);
+            }
+            return;
+        }
+        if (existing.sha256().equals(segment.sha256()) && existing.rowCount() == segment.rowCount()) {
+            log.debug("Archive segment {} is already in the manifest", segment.file());
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (ArchiveSegment listed : segments) {
+            lines.append(objectMapper.writeValueAsString(listed.file().equals(segment.file()) ? segment : listed))
+                    .append(System.lineSeparator());
+        }
+        Path temporary = directory.resolve(MANIFEST + ".tmp");
+        Files.writeString(temporary, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        Files.move(temporary, manifest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(directory);
+        log.info("Replaced manifest entry of rewritten archive segment {}", segment.file());
+    }
+
+    /**
+     * Flush a directory so that files created or renamed in it survive a crash.
+     * Some platforms cannot open a directory; there the rename itself is relied upon.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Cannot sync directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static Object toText(Object value) {
+        if (value == null || value instanceof Boolean || value instanceof Integer || value instanceof Long
+                || value instanceof Short) {
+            return value;
+        }
+        return value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.retention;
+
+import com.firefly.core.banking.psdx.interfaces.security.EncryptionService;
+import com.firefly.core.banking.psdx.models.entities.AccessLog;
+import com.firefly.core.banking.psdx.models.entities.FundsConfirmation;
+import com.firefly.core.banking.psdx.models.entities.Payment;
+import org.springframework.data.relational.core.mapping.Column;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tables whose expired rows are moved to the archive.
+ * Table and column names are only ever taken from this enum, so they can be used in SQL safely.
+ * Rows are read and archived as stored, so the text columns of the entity, which the string
+ * converter encrypts, hold ciphertext until they are decrypted through {@link #decrypt}.
+ */
+public enum ArchivedTable {
+
+    ACCESS_LOGS("access_logs", AccessLog.class, Set.of("consent_id", "party_id", "third_party_id"), null, Set.of()),
+    PAYMENTS("payments", Payment.class, Set.of("consent_id"), "transaction_status", Set.of("ACSC", "RJCT", "CANC")),
+    FUNDS_CONFIRMATIONS("funds_confirmations", FundsConfirmation.class, Set.of("consent_id"), null, Set.of());
+
+    private final String tableName;
+    private final Set<String> filterColumns;
+    private final Set<String> encryptedColumns;
+    private final String statusColumn;
+    private final Set<String> finalStatuses;
+
+    ArchivedTable(String tableName, Class<?> entityType, Set<String> filterColumns, String statusColumn,
+                  Set<String> finalStatuses) {
+        this.tableName = tableName;
+        this.filterColumns = filterColumns;
+        this.encryptedColumns = Arrays.stream(entityType.getDeclaredFields())
+                .filter(field -> field.getType() == String.class)
+                .map(field -> field.getAnnotation(Column.class))
+                .filter(Objects::nonNull)
+                .map(Column::value)
+                .collect(Collectors.toUnmodifiableSet());
+        this.statusColumn = statusColumn;
+        this.finalStatuses = finalStatuses;
+    }
+
+    /**
+     * Get the name of the table.
+     *
+     * @return The table name
+     */
+    public String tableName() {
+        return tableName;
+    }
+
+    /**
+     * Get the columns archived rows can be filtered on when queried.
+     *
+     * @return The filterable column names
+     */
+    public Set<String> filterColumns() {
+        return filterColumns;
+    }
+
+    /**
+     * Check whether an expired row may be archived, such as a payment in a final status.
+     * The status is compared after decryption, as the stored value is ciphertext.
+     *
+     * @param row The row as stored, keyed by column name
+     * @param encryptionService The service decrypting the text columns
+     * @return True if the row may be archived
+     */
+    public boolean isArchivable(Map<String, Object> row, EncryptionService encryptionService) {
+        if (statusColumn == null) {
+            return true;
+        }
+        Object status = row.get(statusColumn);
+        return status != null && finalStatuses.contains(encryptionService.decrypt(status.toString()));
+    }
+
+    /**
+     * Decrypt the text columns of a row read from the table or the archive.
+     *
+     * @param row The row as stored, keyed by column name
+     * @param encryptionService The service decrypting the text columns
+     * @return A copy of the row with its text columns in plain text
+     */
+    public Map<String, Object> decrypt(Map<String, Object> row, EncryptionService encryptionService) {
+        Map<String, Object> decrypted = new LinkedHashMap<>(row);
+        for (String column : encryptedColumns) {
+            if (decrypted.get(column) instanceof String value) {
+                decrypted.put(column, encryptionService.decrypt(value));
+            }
+        }
+        return decrypted;
+    }
+
+    /**
+     * Resolve a table from its name.
+     *
+     * @param tableName The table name
+     * @return The archived table
+     * @throws IllegalArgumentException If the table is not archived
+     */
+    public static ArchivedTable fromTableName(String tableName) {
+        return Arrays.stream(values())
+                .filter(table -> table.tableName.equals(tableName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Table is not archived: " + tableName));
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.retention;
+
+import com.firefly.core.banking.psdx.interfaces.security.EncryptionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background job enforcing the retention period of access logs, payments and funds confirmations.
+ * Rows created before the retention cutoff are read in keyset-paginated batches ordered by
+ * (created_at, id). Rows the table does not archive yet, such as payments still in progress, are
+ * skipped after decrypting their status, as the status is stored encrypted and cannot be matched
+ * in SQL; the others are written to the {@link ArchiveStore} as stored. Only once a segment has been verified
+ * against its checksum and recorded in the manifest are its rows deleted, in small batches with
+ * a pause in between so the deletes never saturate the database or its vacuum.
+ * The archive lives on local disk, so the job should only be enabled on the node owning it.
+ */
+@Component
+@Slf4j
+public class RetentionArchiver {
+
+    static final LocalDateTime START_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final UUID START_ID = new UUID(0L, 0L);
+
+    private final DatabaseClient databaseClient;
+    private final ArchiveStore archiveStore;
+    private final EncryptionService encryptionService;
+    private final boolean enabled;
+    private final int accessLogRetentionDays;
+    private final int paymentRetentionDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int deleteBatchSize;
+    private final Duration deletePause;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructor for RetentionArchiver.
+     *
+     * @param databaseClient The database client
+     * @param archiveStore The store the expired rows are archived to
+     * @param encryptionService The service decrypting the status of the expired rows
+     * @param enabled Whether the scheduled archival runs on this node
+     * @param accessLogRetentionDays The number of days access logs are kept in the database
+     * @param paymentRetentionDays The number of days payments and funds confirmations are kept in the database
+     * @param batchSize The maximum number of rows of a single archive segment
+     * @param maxBatchesPerRun The maximum number of segments written per table by a single run
+     * @param deleteBatchSize The maximum number of rows removed by a single delete
+     * @param deletePauseMs The pause after every delete, in milliseconds
+     */
+    public RetentionArchiver(
+            DatabaseClient databaseClient,
+            ArchiveStore archiveStore,
+            EncryptionService encryptionService,
+            @Value("${psdx.retention.enabled:false}") boolean enabled,
+            @Value("${psdx.logging.retention-days:365}") int accessLogRetentionDays,
+            @Value("${psdx.retention.payments-retention-days:${psdx.logging.retention-days:365}}") int paymentRetentionDays,
+            @Value("${psdx.retention.batch-size:5000}") int batchSize,
+            @Value("${psdx.retention.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${psdx.retention.delete-batch-size:500}") int deleteBatchSize,
+            @Value("${psdx.retention.delete-pause-ms:100}") long deletePauseMs) {
+        this.databaseClient = databaseClient;
+        this.archiveStore = archiveStore;
+        this.encryptionService = encryptionService;
+        this.enabled = enabled;
+        this.accessLogRetentionDays = accessLogRetentionDays;
+        this.paymentRetentionDays = paymentRetentionDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.deleteBatchSize = deleteBatchSize;
+        this.deletePause = Duration.ofMillis(deletePauseMs);
+    }
+
+    /**
+     * Archive and delete the rows past their retention period.
+     * A run is skipped while the previous run of this node is still in progress.
+     */
+    @Scheduled(fixedDelayString = "${psdx.retention.archive-interval-ms:3600000}")
+    public void archive() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        archiveExpired()
+                .doFinally(signal -> running.set(false))
+                .subscribe(
+                        count -> log.info("Archived {} expired rows", count),
+                        e -> log.warn("Failed to archive expired rows: {}", e.getMessage()));
+    }
+
+    /**
+     * Archive and delete the rows past their retention period, one table after the other.
+     * Each table stops at its first partial batch or after the maximum number of batches;
+     * the next run continues with the rows that are left.
+     *
+     * @return A Mono of the number of archived rows
+     */
+    public Mono<Long> archiveExpired() {
+        return Flux.fromArray(ArchivedTable.values())
+                .concatMap(table -> archiveTable(table, LocalDateTime.now().minusDays(retentionDays(table))))
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> archiveTable(ArchivedTable table, LocalDateTime cutoff) {
+        return archiveBatch(table, cutoff, START_CREATED_AT, START_ID)
+                .expand(batch -> batch.scanned() < batchSize
+                        ? Mono.empty()
+                        : archiveBatch(table, cutoff, batch.lastCreatedAt(), batch.lastId()))
+                .take(maxBatchesPerRun)
+                .map(Batch::archived)
+                .reduce(0L, Long::sum)
+                .doOnNext(count -> log.debug("Archived {} rows of {} created before {}", count, table.tableName(), cutoff));
+    }
+
+    private Mono<Batch> archiveBatch(ArchivedTable table, LocalDateTime cutoff,
+                                     LocalDateTime afterCreatedAt, UUID afterId) {
+        String sql = "SELECT * FROM " + table.tableName()
+                + " WHERE created_at < :cutoff AND (created_at, id) > (:afterCreatedAt, :afterId)"
+                + " ORDER BY created_at, id LIMIT :limit";
+        return databaseClient.sql(sql)
+                .bind("cutoff", cutoff)
+                .bind("afterCreatedAt", afterCreatedAt)
+                .bind("afterId", afterId)
+                .bind("limit", batchSize)
+                .fetch()
+                .all()
+                .collectList()
+                .flatMap(rows -> {
+                    if (rows.isEmpty()) {
+                        return Mono.just(new Batch(0, afterCreatedAt, afterId, 0));
+                    }
+                    Map<String, Object> last = rows.getLast();
+                    List<Map<String, Object>> archivable = rows.stream()
+                            .filter(row -> table.isArchivable(row, encryptionService))
+                            .toList();
+                    Batch batch = new Batch(rows.size(), (LocalDateTime) last.get(ArchiveStore.CREATED_AT),
+                            (UUID) last.get("id"), archivable.size());
+                    return archivable.isEmpty()
+                            ? Mono.just(batch)
+                            : Mono.fromCallable(() -> archiveStore.write(table, archivable))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .flatMap(segment -> deleteArchived(table, archivable))
+                            .thenReturn(batch);
+                });
+    }
+
+    private Mono<Long> deleteArchived(ArchivedTable table, List<Map<String, Object>> rows) {
+        List<UUID> ids = rows.stream().map(row -> (UUID) row.get("id")).toList();
+        return Flux.range(0, (ids.size() + deleteBatchSize - 1) / deleteBatchSize)
+                .map(chunk -> ids.subList(chunk * deleteBatchSize, Math.min(ids.size(), (chunk + 1) * deleteBatchSize)))
+                .concatMap(chunk -> databaseClient.sql("DELETE FROM " + table.tableName() + " WHERE id = ANY(:ids)")
+                        .bind("ids", chunk.toArray(UUID[]::new))
+                        .fetch()
+                        .rowsUpdated()
+                        .delayElement(deletePause))
+                .reduce(0L, Long::sum);
+    }
+
+    private int retentionDays(ArchivedTable table) {
+        return table == ArchivedTable.ACCESS_LOGS ? accessLogRetentionDays : paymentRetentionDays;
+    }
+
+    /**
+     * A batch of expired rows: how many were read, the position the next batch continues after,
+     * and how many of them were archived.
+     */
+    private record Batch(int scanned, LocalDateTime lastCreatedAt, UUID lastId, long archived) {
+    }
+}
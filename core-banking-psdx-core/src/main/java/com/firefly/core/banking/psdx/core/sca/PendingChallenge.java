@@ -0,0 +1,45 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.sca;
+
+import java.util.UUID;
+
+/**
+ * A pending SCA challenge.
+ * Only an HMAC of the authentication code is kept.
+ *
+ * @param challengeId The ID of the challenge
+ * @param partyId The ID of the PSU being authenticated
+ * @param resourceId The ID of the resource the authentication is for
+ * @param method The authentication method
+ * @param codeHash The HMAC-SHA256 of the authentication code
+ * @param failedAttempts The number of failed validation attempts
+ * @param expiresAtMillis The expiry time in epoch milliseconds
+ */
+public record PendingChallenge(String challengeId, UUID partyId, String resourceId, String method,
+                               byte[] codeHash, int failedAttempts, long expiresAtMillis) {
+
+    /**
+     * Copy of this challenge with one more failed attempt.
+     *
+     * @return The updated challenge
+     */
+    public PendingChallenge withFailedAttempt() {
+        return new PendingChallenge(challengeId, partyId, resourceId, method, codeHash, failedAttempts + 1, expiresAtMillis);
+    }
+}
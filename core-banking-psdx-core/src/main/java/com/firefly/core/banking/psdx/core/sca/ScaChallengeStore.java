@@ -0,0 +1,260 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.sca;
+
+import com.firefly.core.banking.psdx.core.ports.ScaChallengePersistencePort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Store of pending SCA challenges.
+ * Challenges are held in a bounded map keyed by challenge ID and expire through a single
+ * {@link TimingWheel} advanced by one scheduled tick, so a burst of challenges creates no timers.
+ * Codes are kept as HMACs keyed by a server secret and compared in constant time. Every challenge is
+ * mirrored to the {@link ScaChallengePersistencePort}. When the port is shared between nodes, each
+ * validation counts its attempt and consumes the challenge in the shared store, so the attempt limit
+ * holds across the whole cluster.
+ */
+@Component
+@Slf4j
+public class ScaChallengeStore {
+
+    private static final int WHEEL_LEVELS = 3;
+    private static final String CODE_MAC_ALGORITHM = "HmacSHA256";
+
+    private final ScaChallengePersistencePort persistencePort;
+    private final ConcurrentMap<String, PendingChallenge> challenges = new ConcurrentHashMap<>();
+    private final TimingWheel<String> expiryWheel;
+    private final long ttlMillis;
+    private final int maxChallenges;
+    private final int maxAttempts;
+    private final SecretKeySpec codeKey;
+
+    /**
+     * Constructor for ScaChallengeStore.
+     *
+     * @param persistencePort The port sharing challenges between nodes
+     * @param ttlSeconds The lifetime of a challenge in seconds
+     * @param maxChallenges The maximum number of pending challenges held by this node
+     * @param maxAttempts The number of failed validations after which a challenge is discarded
+     * @param tickMillis The resolution of challenge expiry in milliseconds
+     * @param codeSecret The secret keying the code hashes, required when challenges are shared between nodes
+     */
+    public ScaChallengeStore(
+            ScaChallengePersistencePort persistencePort,
+            @Value("${psdx.sca.challenges.ttl-seconds:300}") long ttlSeconds,
+            @Value("${psdx.sca.challenges.max-pending:100000}") int maxChallenges,
+            @Value("${psdx.sca.challenges.max-attempts:3}") int maxAttempts,
+            @Value("${psdx.sca.challenges.tick-ms:1000}") long tickMillis,
+            @Value("${psdx.sca.challenges.code-secret:}") String codeSecret) {
+        this.persistencePort = persistencePort;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxChallenges = maxChallenges;
+        this.maxAttempts = maxAttempts;
+        this.expiryWheel = new TimingWheel<>(tickMillis, WHEEL_LEVELS, System.currentTimeMillis());
+        this.codeKey = new SecretKeySpec(codeKey(codeSecret, persistencePort.isShared()), CODE_MAC_ALGORITHM);
+    }
+
+    /**
+     * Create a challenge.
+     *
+     * @param partyId The ID of the PSU being authenticated
+     * @param resourceId The ID of the resource the authentication is for
+     * @param method The authentication method
+     * @param code The authentication code sent to the PSU
+     * @return A Mono of the created challenge
+     */
+    public Mono<PendingChallenge> create(UUID partyId, String resourceId, String method, String code) {
+        if (challenges.size() >= maxChallenges) {
+            return Mono.error(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many pending SCA challenges"));
+        }
+        PendingChallenge challenge = new PendingChallenge("sca-" + UUID.randomUUID(), partyId, resourceId, method,
+                hash(code), 0, System.currentTimeMillis() + ttlMillis);
+        track(challenge);
+        return persistencePort.save(challenge).thenReturn(challenge);
+    }
+
+    /**
+     * Validate an authentication code against a challenge.
+     * A successful validation consumes the challenge.
+     *
+     * @param challengeId The ID of the challenge
+     * @param code The authentication code entered by the PSU
+     * @return A Mono of the outcome
+     */
+    public Mono<Outcome> validate(String challengeId, String code) {
+        if (persistencePort.isShared()) {
+            return validateShared(challengeId, code);
+        }
+        PendingChallenge local = challenges.get(challengeId);
+        Mono<PendingChallenge> challenge = local != null
+                ? Mono.just(local)
+                : persistencePort.findById(challengeId).doOnNext(this::adopt);
+
+        return challenge
+                .filter(pending -> pending.expiresAtMillis() > System.currentTimeMillis())
+                .flatMap(pending -> check(pending, code))
+                .defaultIfEmpty(Outcome.UNKNOWN_CHALLENGE);
+    }
+
+    /**
+     * Get the number of pending challenges held by this node.
+     *
+     * @return The number of pending challenges
+     */
+    public int size() {
+        return challenges.size();
+    }
+
+    /**
+     * Get the lifetime of a challenge.
+     *
+     * @return The lifetime in seconds
+     */
+    public int getTtlSeconds() {
+        return (int) (ttlMillis / 1000);
+    }
+
+    /**
+     * Drop challenges that have expired.
+     */
+    @Scheduled(fixedDelayString = "${psdx.sca.challenges.tick-ms:1000}")
+    public void expireChallenges() {
+        expire(System.currentTimeMillis());
+    }
+
+    void expire(long nowMillis) {
+        List<String> expired = expiryWheel.advance(nowMillis).stream()
+                .filter(challengeId -> {
+                    PendingChallenge challenge = challenges.get(challengeId);
+                    return challenge != null && challenge.expiresAtMillis() <= nowMillis && challenges.remove(challengeId, challenge);
+                })
+                .toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+        log.debug("Expired {} SCA challenges", expired.size());
+        persistencePort.deleteAll(expired)
+                .onErrorResume(e -> {
+                    log.warn("Failed to delete {} expired SCA challenges: {}", expired.size(), e.getMessage());
+                    return Mono.empty();
+                })
+                .subscribe();
+    }
+
+    private Mono<Outcome> validateShared(String challengeId, String code) {
+        // The attempt is counted before the code is compared, so concurrent guesses on different nodes
+        // cannot exceed the limit
+        return persistencePort.recordAttempt(challengeId, maxAttempts)
+                .flatMap(challenge -> {
+                    if (MessageDigest.isEqual(challenge.codeHash(), hash(code))) {
+                        // Only the validation that deletes the challenge succeeds
+                        return persistencePort.consume(challengeId)
+                                .map(consumed -> consumed ? Outcome.AUTHENTICATED : Outcome.UNKNOWN_CHALLENGE);
+                    }
+                    if (challenge.failedAttempts() >= maxAttempts) {
+                        return persistencePort.deleteAll(List.of(challengeId)).thenReturn(Outcome.ATTEMPTS_EXCEEDED);
+                    }
+                    return Mono.just(Outcome.INVALID_CODE);
+                })
+                .defaultIfEmpty(Outcome.UNKNOWN_CHALLENGE)
+                .doOnNext(outcome -> {
+                    if (outcome != Outcome.INVALID_CODE) {
+                        challenges.remove(challengeId);
+                    }
+                });
+    }
+
+    private Mono<Outcome> check(PendingChallenge challenge, String code) {
+        String challengeId = challenge.challengeId();
+        if (MessageDigest.isEqual(challenge.codeHash(), hash(code))) {
+            // Only the validation that removes the challenge succeeds
+            if (challenges.remove(challengeId) == null) {
+                return Mono.just(Outcome.UNKNOWN_CHALLENGE);
+            }
+            return persistencePort.deleteAll(List.of(challengeId)).thenReturn(Outcome.AUTHENTICATED);
+        }
+
+        PendingChallenge updated = challenges.computeIfPresent(challengeId, (id, current) ->
+                current.failedAttempts() + 1 >= maxAttempts ? null : current.withFailedAttempt());
+        if (updated == null) {
+            return persistencePort.deleteAll(List.of(challengeId)).thenReturn(Outcome.ATTEMPTS_EXCEEDED);
+        }
+        return persistencePort.save(updated).thenReturn(Outcome.INVALID_CODE);
+    }
+
+    private void adopt(PendingChallenge challenge) {
+        if (challenges.putIfAbsent(challenge.challengeId(), challenge) == null) {
+            expiryWheel.schedule(challenge.challengeId(), challenge.expiresAtMillis());
+        }
+    }
+
+    private void track(PendingChallenge challenge) {
+        challenges.put(challenge.challengeId(), challenge);
+        expiryWheel.schedule(challenge.challengeId(), challenge.expiresAtMillis());
+    }
+
+    private byte[] hash(String code) {
+        try {
+            Mac mac = Mac.getInstance(CODE_MAC_ALGORITHM);
+            mac.init(codeKey);
+            return mac.doFinal((code != null ? code : "").getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(CODE_MAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static byte[] codeKey(String codeSecret, boolean shared) {
+        if (codeSecret != null && !codeSecret.isBlank()) {
+            return codeSecret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (shared) {
+            throw new IllegalStateException("psdx.sca.challenges.code-secret must be set when SCA challenges are shared between nodes");
+        }
+        // Challenges never leave this node, so a key generated at startup is enough
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    /**
+     * Outcome of a challenge validation.
+     */
+    public enum Outcome {
+        AUTHENTICATED,
+        INVALID_CODE,
+        ATTEMPTS_EXCEEDED,
+        UNKNOWN_CHALLENGE
+    }
+}
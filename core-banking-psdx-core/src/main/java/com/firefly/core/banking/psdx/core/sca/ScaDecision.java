@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.sca;
+
+/**
+ * Outcome of an SCA exemption decision.
+ *
+ * @param scaRequired Whether SCA is required
+ * @param exemption The applied exemption, or null if SCA is required
+ */
+public record ScaDecision(boolean scaRequired, ScaExemptionType exemption) {
+
+    /**
+     * Decision requiring SCA.
+     */
+    public static final ScaDecision REQUIRED = new ScaDecision(true, null);
+
+    /**
+     * Create a decision exempting the payment from SCA.
+     *
+     * @param exemption The applied exemption
+     * @return The decision
+     */
+    public static ScaDecision exempt(ScaExemptionType exemption) {
+        return new ScaDecision(false, exemption);
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.sca;
+
+import com.firefly.core.banking.psdx.models.entities.ScaExemptionState;
+import com.firefly.core.banking.psdx.models.repositories.ScaExemptionStateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory SCA exemption engine.
+ * Rules are evaluated in a fixed order: low value, then transaction risk analysis. Amounts are
+ * converted to EUR with a currency table compiled at startup, and the per-PSU low-value counters
+ * live in lock-striped maps, so a decision never leaves the JVM. The state is checkpointed to the sca_exemption_state table
+ * periodically and restored on startup; until it is restored no low-value exemption is granted,
+ * so counters written before the restore cannot be overwritten by it.
+ */
+@Component
+@Slf4j
+public class ScaExemptionEngine {
+
+    private static final String BASE_CURRENCY = "EUR";
+
+    /**
+     * Transaction risk analysis exemption thresholds in EUR and the fraud rate the ASPSP must stay
+     * below to use them, for remote electronic credit transfers.
+     */
+    private static final BigDecimal[][] TRA_TIERS = {
+            {new BigDecimal("500"), new BigDecimal("0.00005")},
+            {new BigDecimal("250"), new BigDecimal("0.0001")},
+            {new BigDecimal("100"), new BigDecimal("0.00015")}
+    };
+
+    private final ScaExemptionStateRepository repository;
+    private final boolean requiredForAllPayments;
+    private final Map<String, BigDecimal> rates;
+    private final BigDecimal lowValueThreshold;
+    private final int lowValueMaxCount;
+    private final BigDecimal lowValueMaxCumulativeAmount;
+    private final BigDecimal traThreshold;
+    private final Stripe[] stripes;
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean checkpointing = new AtomicBoolean();
+    private volatile boolean restored;
+
+    /**
+     * Constructor for ScaExemptionEngine.
+     *
+     * @param repository The repository holding the checkpoints
+     * @param requiredForAllPayments Whether SCA is required for every payment, disabling all exemptions
+     * @param lowValueThreshold The low-value exemption threshold
+     * @param lowValueCurrency The currency of the low-value exemption threshold
+     * @param lowValueMaxCount The number of low-value payments a PSU can make between two SCAs
+     * @param lowValueMaxCumulativeAmount The cumulative EUR amount of low-value payments between two SCAs
+     * @param traEnabled Whether the transaction risk analysis exemption is applied
+     * @param traFraudRate The ASPSP's current fraud rate for credit transfers, as a fraction
+     * @param fxRates The EUR value of one unit of each supported currency, as CUR=rate pairs
+     * @param stripeCount The number of lock stripes of the per-PSU state
+     */
+    public ScaExemptionEngine(
+            ScaExemptionStateRepository repository,
+            @Value("${psdx.sca.required-for-all-payments:true}") boolean requiredForAllPayments,
+            @Value("${psdx.sca.exemption-threshold-amount:30.00}") BigDecimal lowValueThreshold,
+            @Value("${psdx.sca.exemption-threshold-currency:EUR}") String lowValueCurrency,
+            @Value("${psdx.sca.exemptions.low-value.max-count:5}") int lowValueMaxCount,
+            @Value("${psdx.sca.exemptions.low-value.max-cumulative-amount:100.00}") BigDecimal lowValueMaxCumulativeAmount,
+            @Value("${psdx.sca.exemptions.tra.enabled:false}") boolean traEnabled,
+            @Value("${psdx.sca.exemptions.tra.fraud-rate:1}") BigDecimal traFraudRate,
+            @Value("${psdx.sca.exemptions.fx-rates:}") String fxRates,
+            @Value("${psdx.sca.exemptions.stripes:64}") int stripeCount) {
+        this.repository = repository;
+        this.requiredForAllPayments = requiredForAllPayments;
+        this.rates = compileRates(fxRates);
+        this.lowValueThreshold = toBaseCurrency(lowValueThreshold, lowValueCurrency);
+        if (this.lowValueThreshold == null) {
+            throw new IllegalArgumentException("No exchange rate configured for SCA threshold currency " + lowValueCurrency);
+        }
+        this.lowValueMaxCount = lowValueMaxCount;
+        this.lowValueMaxCumulativeAmount = lowValueMaxCumulativeAmount;
+        this.traThreshold = traEnabled ? traThreshold(traFraudRate) : BigDecimal.ZERO;
+        this.stripes = new Stripe[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        Arrays.setAll(this.stripes, i -> new Stripe());
+    }
+
+    /**
+     * Decide whether a payment requires SCA.
+     * A low-value exemption counts towards the PSU's limits. Without a PSU the limits cannot be
+     * counted, so SCA is required.
+     *
+     * @param request The payment to evaluate
+     * @return The decision
+     */
+    public ScaDecision evaluate(ScaExemptionRequest request) {
+        if (requiredForAllPayments || request.partyId() == null || request.amount() == null
+                || request.currency() == null) {
+            return ScaDecision.REQUIRED;
+        }
+        BigDecimal amount = toBaseCurrency(request.amount(), request.currency());
+        if (amount == null) {
+            return ScaDecision.REQUIRED;
+        }
+
+        if (restored && amount.compareTo(lowValueThreshold) <= 0) {
+            Stripe stripe = stripe(request.partyId());
+            synchronized (stripe) {
+                PsuState state = stripe.states.computeIfAbsent(request.partyId(), id -> new PsuState());
+                BigDecimal cumulative = state.exemptedAmount.add(amount);
+                if (state.exemptedCount < lowValueMaxCount && cumulative.compareTo(lowValueMaxCumulativeAmount) <= 0) {
+                    state.exemptedCount++;
+                    state.exemptedAmount = cumulative;
+                    dirty.add(request.partyId());
+                    return ScaDecision.exempt(ScaExemptionType.LOW_VALUE);
+                }
+            }
+        }
+
+        if (traThreshold.signum() > 0 && amount.compareTo(traThreshold) <= 0) {
+            return ScaDecision.exempt(ScaExemptionType.TRANSACTION_RISK_ANALYSIS);
+        }
+        return ScaDecision.REQUIRED;
+    }
+
+    /**
+     * Reset the low-value counters of a PSU after a successful SCA.
+     *
+     * @param partyId The ID of the PSU
+     */
+    public void recordAuthentication(UUID partyId) {
+        Stripe stripe = stripe(partyId);
+        synchronized (stripe) {
+            PsuState state = stripe.states.get(partyId);
+            if (state == null || state.exemptedCount == 0) {
+                return;
+            }
+            state.exemptedCount = 0;
+            state.exemptedAmount = BigDecimal.ZERO;
+        }
+        dirty.add(partyId);
+    }
+
+    /**
+     * Write the state of every PSU changed since the last checkpoint.
+     * The restore is retried first if it failed on startup.
+     */
+    @Scheduled(fixedDelayString = "${psdx.sca.exemptions.checkpoint-interval-ms:5000}")
+    public void checkpoint() {
+        if (!restored) {
+            restore();
+        }
+        if (dirty.isEmpty() || !checkpointing.compareAndSet(false, true)) {
+            return;
+        }
+        writeCheckpoint()
+                .doFinally(signal -> checkpointing.set(false))
+                .subscribe();
+    }
+
+    /**
+     * Restore the checkpointed state before any low-value exemption is granted.
+     */
+    @PostConstruct
+    void restore() {
+        try {
+            Long count = repository.findAll()
+                    .doOnNext(this::restoreState)
+                    .count()
+                    .block(Duration.ofSeconds(30));
+            restored = true;
+            log.info("Restored SCA exemption state of {} PSUs", count);
+        } catch (RuntimeException e) {
+            log.error("Failed to restore SCA exemption state, low-value exemptions are withheld until it is restored", e);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        writeCheckpoint().block(Duration.ofSeconds(10));
+    }
+
+    private void restoreState(ScaExemptionState checkpoint) {
+        Stripe stripe = stripe(checkpoint.getPartyId());
+        synchronized (stripe) {
+            if (stripe.states.containsKey(checkpoint.getPartyId())) {
+                return;
+            }
+            PsuState state = new PsuState();
+            state.exemptedCount = checkpoint.getExemptedCount() != null ? checkpoint.getExemptedCount() : 0;
+            state.exemptedAmount = checkpoint.getExemptedAmount() != null ? checkpoint.getExemptedAmount() : BigDecimal.ZERO;
+            stripe.states.put(checkpoint.getPartyId(), state);
+        }
+    }
+
+    private Mono<Void> writeCheckpoint() {
+        List<ScaExemptionState> checkpoints = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID partyId : dirty) {
+            dirty.remove(partyId);
+            Stripe stripe = stripe(partyId);
+            synchronized (stripe) {
+                PsuState state = stripe.states.get(partyId);
+                if (state != null) {
+                    checkpoints.add(ScaExemptionState.builder()
+                            .partyId(partyId)
+                            .exemptedCount(state.exemptedCount)
+                            .exemptedAmount(state.exemptedAmount)
+                            .updatedAt(now)
+                            .build());
+                }
+            }
+        }
+        return Flux.fromIterable(checkpoints)
+                .concatMap(checkpoint -> repository.upsert(checkpoint.getPartyId(), checkpoint.getExemptedCount(),
+                                checkpoint.getExemptedAmount(), checkpoint.getUpdatedAt())
+                        .onErrorResume(e -> {
+                            log.error("Failed to checkpoint SCA exemption state of PSU: {}", checkpoint.getPartyId(), e);
+                            dirty.add(checkpoint.getPartyId());
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private Stripe stripe(UUID partyId) {
+        int hash = partyId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private BigDecimal toBaseCurrency(BigDecimal amount, String currency) {
+        BigDecimal rate = rates.get(currency);
+        return rate != null ? amount.multiply(rate) : null;
+    }
+
+    private static Map<String, BigDecimal> compileRates(String fxRates) {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        rates.put(BASE_CURRENCY, BigDecimal.ONE);
+        if (fxRates != null && !fxRates.isBlank()) {
+            rates.putAll(Arrays.stream(fxRates.split(","))
+                    .map(String::trim)
+                    .filter(pair -> !pair.isEmpty())
+                    .map(pair -> pair.split("=", 2))
+                    .collect(Collectors.toMap(pair -> pair[0].trim(), pair -> new BigDecimal(pair[1].trim()))));
+        }
+        return Map.copyOf(rates);
+    }
+
+    private static BigDecimal traThreshold(BigDecimal fraudRate) {
+        for (BigDecimal[] tier : TRA_TIERS) {
+            if (fraudRate.compareTo(tier[1]) <= 0) {
+                return tier[0];
+            }
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private static final class Stripe {
+        private final Map<UUID, PsuState> states = new HashMap<>();
+    }
+
+    private static final class PsuState {
+        private int exemptedCount;
+        private BigDecimal exemptedAmount = BigDecimal.ZERO;
+    }
+}
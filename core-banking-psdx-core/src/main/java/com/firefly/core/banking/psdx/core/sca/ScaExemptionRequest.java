@@ -0,0 +1,31 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.sca;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Input of an SCA exemption decision.
+ *
+ * @param partyId The ID of the PSU, or null if unknown
+ * @param amount The payment amount
+ * @param currency The payment currency
+ */
+public record ScaExemptionRequest(UUID partyId, BigDecimal amount, String currency) {
+}
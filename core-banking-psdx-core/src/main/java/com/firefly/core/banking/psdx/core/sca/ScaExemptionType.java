@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.sca;
+
+/**
+ * SCA exemptions that can be applied to a payment.
+ */
+public enum ScaExemptionType {
+
+    /**
+     * Low-value payment within the per-PSU count and cumulative amount limits.
+     */
+    LOW_VALUE,
+
+    /**
+     * Payment below the transaction risk analysis threshold for the ASPSP's fraud rate.
+     */
+    TRANSACTION_RISK_ANALYSIS
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.sca;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for deadlines at tick resolution.
+ * Each level has 64 slots; a slot of level n spans 64^n ticks. Scheduling is O(1) and advancing
+ * costs one slot per tick plus a cascade of the next level every 64 ticks, regardless of the
+ * number of scheduled keys. Entries are never cancelled; callers check on expiry whether the
+ * key is still relevant.
+ *
+ * @param <K> The type of the scheduled keys
+ */
+final class TimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    private final List<Entry<K>>[][] wheels;
+    private long currentTick;
+
+    /**
+     * Constructor for TimingWheel.
+     *
+     * @param tickMillis The resolution of the wheel in milliseconds
+     * @param levels The number of levels; deadlines beyond 64^levels ticks are re-cascaded until due
+     * @param startMillis The current time in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.wheels = new List[levels][SLOTS];
+        for (List<Entry<K>>[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = new ArrayList<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule a key to expire at a deadline.
+     *
+     * @param key The key
+     * @param deadlineMillis The deadline in milliseconds
+     */
+    synchronized void schedule(K key, long deadlineMillis) {
+        long tick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        place(new Entry<>(key, tick));
+    }
+
+    /**
+     * Advance the wheel up to a point in time.
+     *
+     * @param nowMillis The current time in milliseconds
+     * @return The keys whose deadline has passed
+     */
+    synchronized List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level < levels; level++) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                    break;
+                }
+                drain(level, (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK), expired);
+            }
+            drain(0, (int) (currentTick & SLOT_MASK), expired);
+        }
+        return expired;
+    }
+
+    private void drain(int level, int slot, List<K> expired) {
+        List<Entry<K>> bucket = wheels[level][slot];
+        if (bucket.isEmpty()) {
+            return;
+        }
+        wheels[level][slot] = new ArrayList<>();
+        for (Entry<K> entry : bucket) {
+            if (entry.tick() <= currentTick) {
+                expired.add(entry.key());
+            } else {
+                place(entry);
+            }
+        }
+    }
+
+    private void place(Entry<K> entry) {
+        long delta = entry.tick() - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        wheels[level][(int) ((entry.tick() >>> (SLOT_BITS * level)) & SLOT_MASK)].add(entry);
+    }
+
+    private record Entry<K>(K key, long tick) {
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.services;
+
+import com.firefly.core.banking.psdx.core.integrity.AccessLogHashing;
+import com.firefly.core.banking.psdx.core.retention.ArchiveSegment;
+import com.firefly.core.banking.psdx.core.retention.ArchiveStore;
+import com.firefly.core.banking.psdx.core.retention.ArchivedTable;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccessLogSealVerificationDTO;
+import com.firefly.core.banking.psdx.interfaces.enums.AccessStatus;
+import com.firefly.core.banking.psdx.interfaces.enums.AccessType;
+import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
+import com.firefly.core.banking.psdx.interfaces.security.EncryptionService;
+import com.firefly.core.banking.psdx.interfaces.services.AccessLogIntegrityService;
+import com.firefly.core.banking.psdx.models.entities.AccessLog;
+import com.firefly.core.banking.psdx.models.entities.AccessLogSeal;
+import com.firefly.core.banking.psdx.models.repositories.AccessLogRepository;
+import com.firefly.core.banking.psdx.models.repositories.AccessLogSealRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Implementation of the AccessLogIntegrityService interface.
+ * The chain links of the requested seals are checked in order, which is cheap, while the access
+ * logs of the seals are re-read and re-hashed in parallel. When access logs of a seal are missing,
+ * the ones removed by the retention archiver are restored from the archive and hashed together with
+ * the remaining ones, so a seal is only reported as archived when the archive accounts for every
+ * missing access log and the Merkle root still matches.
+ */
+@Service
+@Slf4j
+public class AccessLogIntegrityServiceImpl implements AccessLogIntegrityService {
+
+    static final String VALID = "VALID";
+    static final String TAMPERED = "TAMPERED";
+    static final String BROKEN_CHAIN = "BROKEN_CHAIN";
+    static final String ARCHIVED = "ARCHIVED";
+
+    /**
+     * The order access logs are sealed in, matching ORDER BY created_at, id in PostgreSQL,
+     * which compares UUIDs as unsigned bytes.
+     */
+    private static final Comparator<AccessLog> SEAL_ORDER = Comparator.comparing(AccessLog::getCreatedAt)
+            .thenComparing(AccessLog::getId, AccessLogIntegrityServiceImpl::compareUnsigned);
+
+    private final AccessLogRepository accessLogRepository;
+    private final AccessLogSealRepository accessLogSealRepository;
+    private final ArchiveStore archiveStore;
+    private final EncryptionService encryptionService;
+    private final int parallelism;
+
+    /**
+     * Constructor for AccessLogIntegrityServiceImpl.
+     *
+     * @param accessLogRepository The access log repository
+     * @param accessLogSealRepository The seal repository
+     * @param archiveStore The store holding the access logs removed by the retention archiver
+     * @param encryptionService The service decrypting the text columns of archived access logs
+     * @param parallelism The number of seals verified concurrently
+     */
+    public AccessLogIntegrityServiceImpl(
+            AccessLogRepository accessLogRepository,
+            AccessLogSealRepository accessLogSealRepository,
+            ArchiveStore archiveStore,
+            EncryptionService encryptionService,
+            @Value("${psdx.logging.sealing.verify-parallelism:4}") int parallelism) {
+        this.accessLogRepository = accessLogRepository;
+        this.accessLogSealRepository = accessLogSealRepository;
+        this.archiveStore = archiveStore;
+        this.encryptionService = encryptionService;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public Flux<PSDAccessLogSealVerificationDTO> verifySeals(LocalDateTime fromDate, LocalDateTime toDate) {
+        log.debug("Verifying access log seals between {} and {}", fromDate, toDate);
+
+        if (fromDate == null || toDate == null || !fromDate.isBefore(toDate)) {
+            return Flux.error(new IllegalArgumentException("fromDate must be before toDate"));
+        }
+
+        return accessLogSealRepository.findOverlapping(fromDate, toDate)
+                .collectList()
+                .filter(seals -> !seals.isEmpty())
+                .flatMapMany(seals -> findPredecessor(seals.getFirst())
+                        .flatMapIterable(predecessor -> linkSeals(predecessor, seals))
+                        .switchIfEmpty(Flux.defer(() -> Flux.fromIterable(linkSeals(null, seals)))))
+                .flatMapSequential(this::verifySeal, parallelism);
+    }
+
+    private Mono<AccessLogSeal> findPredecessor(AccessLogSeal first) {
+        return first.getSequenceNumber() > 1
+                ? accessLogSealRepository.findBySequenceNumber(first.getSequenceNumber() - 1)
+                : Mono.empty();
+    }
+
+    /**
+     * Pair every seal with the previous seal hash it must chain to.
+     *
+     * @param predecessor The seal before the first requested seal, or null if there is none
+     * @param seals The requested seals in chain order
+     * @return The seals with their expected previous seal hash, null when the previous seal is missing
+     */
+    private static List<SealLink> linkSeals(AccessLogSeal predecessor, List<AccessLogSeal> seals) {
+        List<SealLink> links = new ArrayList<>(seals.size());
+        AccessLogSeal previous = predecessor;
+        for (AccessLogSeal seal : seals) {
+            String expectedPreviousHash;
+            if (seal.getSequenceNumber() == 1) {
+                expectedPreviousHash = AccessLogHashing.GENESIS_HASH;
+            } else if (previous != null && previous.getSequenceNumber() == seal.getSequenceNumber() - 1) {
+                expectedPreviousHash = previous.getSealHash();
+            } else {
+                expectedPreviousHash = null;
+            }
+            links.add(new SealLink(seal, expectedPreviousHash));
+            previous = seal;
+        }
+        return links;
+    }
+
+    private Mono<PSDAccessLogSealVerificationDTO> verifySeal(SealLink link) {
+        AccessLogSeal seal = link.seal();
+        return accessLogRepository.findSealedRange(seal.getFirstCreatedAt(), seal.getFirstLogId(),
+                        seal.getLastCreatedAt(), seal.getLastLogId())
+                .collectList()
+                .flatMap(accessLogs -> accessLogs.size() >= seal.getRowCount()
+                        ? Mono.just(new SealedLogs(accessLogs, List.of(), null))
+                        : Mono.fromCallable(() -> new SealedLogs(accessLogs, readArchived(seal), null))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .onErrorResume(IllegalStateException.class,
+                                        e -> Mono.just(new SealedLogs(accessLogs, List.of(), e.getMessage()))))
+                .publishOn(Schedulers.parallel())
+                .map(sealedLogs -> toDto(seal, sealedLogs.live().size(), check(link, sealedLogs)));
+    }
+
+    /**
+     * Read the archived access logs within the sealed range of a seal.
+     * Only the segments whose creation time range overlaps the seal are read.
+     *
+     * @param seal The seal
+     * @return The archived access logs of the seal, in no particular order
+     * @throws IllegalStateException If a segment does not match its manifest entry
+     */
+    private List<AccessLog> readArchived(AccessLogSeal seal) {
+        AccessLog first = AccessLog.builder().createdAt(seal.getFirstCreatedAt()).id(seal.getFirstLogId()).build();
+        AccessLog last = AccessLog.builder().createdAt(seal.getLastCreatedAt()).id(seal.getLastLogId()).build();
+        List<AccessLog> accessLogs = new ArrayList<>();
+        for (ArchiveSegment segment : archiveStore.segments(ArchivedTable.ACCESS_LOGS)) {
+            if (segment.firstCreatedAt().isAfter(seal.getLastCreatedAt())
+                    || segment.lastCreatedAt().isBefore(seal.getFirstCreatedAt())) {
+                continue;
+            }
+            for (Map<String, Object> row : archiveStore.read(segment)) {
+                AccessLog accessLog = fromArchive(row);
+                if (SEAL_ORDER.compare(accessLog, first) >= 0 && SEAL_ORDER.compare(accessLog, last) <= 0) {
+                    accessLogs.add(accessLog);
+                }
+            }
+        }
+        return accessLogs;
+    }
+
+    /**
+     * Rebuild an access log from an archived row.
+     * Archived rows hold the column values as stored, so text columns are decrypted the way the
+     * repository decrypts them when reading, through {@link ArchivedTable#decrypt}, and the hash of the rebuilt access log matches the
+     * hash taken when it was sealed.
+     *
+     * @param row The archived row keyed by column name
+     * @return The access log
+     */
+    private AccessLog fromArchive(Map<String, Object> archived) {
+        Map<String, Object> row = ArchivedTable.ACCESS_LOGS.decrypt(archived, encryptionService);
+        return AccessLog.builder()
+                .id(value(row, "id", UUID::fromString))
+                .consentId(value(row, "consent_id", UUID::fromString))
+                .partyId(value(row, "party_id", UUID::fromString))
+                .thirdPartyId(value(row, "third_party_id", Function.identity()))
+                .accessType(value(row, "access_type", AccessType::valueOf))
+                .resourceType(value(row, "resource_type", ResourceType::valueOf))
+                .resourceId(value(row, "resource_id", Function.identity()))
+                .ipAddress(value(row, "ip_address", Function.identity()))
+                .userAgent(value(row, "user_agent", Function.identity()))
+                .status(value(row, "status", AccessStatus::valueOf))
+                .errorMessage(value(row, "error_message", Function.identity()))
+                .xRequestId(value(row, "x_request_id", Function.identity()))
+                .tppRequestId(value(row, "tpp_request_id", Function.identity()))
+                .psuId(value(row, "psu_id", Function.identity()))
+                .psuIdType(value(row, "psu_id_type", Function.identity()))
+                .psuCorporateId(value(row, "psu_corporate_id", Function.identity()))
+                .psuCorporateIdType(value(row, "psu_corporate_id_type", Function.identity()))
+                .tppRedirectUri(value(row, "tpp_redirect_uri", Function.identity()))
+                .createdAt(value(row, "created_at", LocalDateTime::parse))
+                .timestamp(value(row, "timestamp", LocalDateTime::parse))
+                .build();
+    }
+
+    private static <T> T value(Map<String, Object> row, String column, Function<String, T> parser) {
+        Object value = row.get(column);
+        return value != null ? parser.apply(value.toString()) : null;
+    }
+
+    private static int compareUnsigned(UUID left, UUID right) {
+        int most = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return most != 0 ? most : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    private static Verification check(SealLink link, SealedLogs sealedLogs) {
+        AccessLogSeal seal = link.seal();
+        if (link.expectedPreviousHash() == null) {
+            return new Verification(BROKEN_CHAIN, "Seal " + (seal.getSequenceNumber() - 1) + " is missing");
+        }
+        if (!link.expectedPreviousHash().equals(seal.getPreviousSealHash())) {
+            return new Verification(BROKEN_CHAIN, "Previous seal hash does not match seal " + (seal.getSequenceNumber() - 1));
+        }
+        if (!AccessLogHashing.sealHash(seal).equals(seal.getSealHash())) {
+            return new Verification(TAMPERED, "Seal hash does not match the sealed range and Merkle root");
+        }
+        if (sealedLogs.archiveError() != null) {
+            return new Verification(TAMPERED, sealedLogs.archiveError());
+        }
+
+        // An access log still in the table while its segment was written is only counted once
+        Map<UUID, AccessLog> byId = new LinkedHashMap<>();
+        sealedLogs.live().forEach(accessLog -> byId.put(accessLog.getId(), accessLog));
+        sealedLogs.archived().forEach(accessLog -> byId.putIfAbsent(accessLog.getId(), accessLog));
+        List<AccessLog> accessLogs = new ArrayList<>(byId.values());
+        accessLogs.sort(SEAL_ORDER);
+        int restored = accessLogs.size() - sealedLogs.live().size();
+
+        if (accessLogs.size() != seal.getRowCount()) {
+            return new Verification(TAMPERED, "Sealed range holds " + accessLogs.size() + " access logs instead of " + seal.getRowCount());
+        }
+        if (!AccessLogHashing.merkleRoot(accessLogs).equals(seal.getMerkleRoot())) {
+            return new Verification(TAMPERED, "Merkle root does not match the sealed access logs");
+        }
+        if (restored > 0) {
+            return new Verification(ARCHIVED, restored + " of the sealed access logs were verified from the archive");
+        }
+        return new Verification(VALID, null);
+    }
+
+    private static PSDAccessLogSealVerificationDTO toDto(AccessLogSeal seal, int actualRowCount, Verification verification) {
+        return PSDAccessLogSealVerificationDTO.builder()
+                .sequenceNumber(seal.getSequenceNumber())
+                .firstCreatedAt(seal.getFirstCreatedAt())
+                .lastCreatedAt(seal.getLastCreatedAt())
+                .sealedRowCount(seal.getRowCount())
+                .actualRowCount(actualRowCount)
+                .status(verification.status())
+                .message(verification.message())
+                .build();
+    }
+
+    /**
+     * A seal and the previous seal hash it must chain to.
+     */
+    private record SealLink(AccessLogSeal seal, String expectedPreviousHash) {
+    }
+
+    /**
+     * The access logs of a seal found in the table and in the archive.
+     *
+     * @param live The access logs still in the table, in seal order
+     * @param archived The access logs restored from the archive
+     * @param archiveError The reason the archive could not be read, or null
+     */
+    private record SealedLogs(List<AccessLog> live, List<AccessLog> archived, String archiveError) {
+    }
+
+    /**
+     * Outcome of the verification of a seal.
+     */
+    private record Verification(String status, String message) {
+    }
+}
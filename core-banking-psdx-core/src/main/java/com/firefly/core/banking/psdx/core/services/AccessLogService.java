@@ -18,6 +18,7 @@
 package com.firefly.core.banking.psdx.core.services;
 
 import com.firefly.core.banking.psdx.core.mappers.AccessLogMapper;
+import com.firefly.core.banking.psdx.core.stats.AccessStatsCollector;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccessLogDTO;
 import com.firefly.core.banking.psdx.interfaces.enums.AccessStatus;
 import com.firefly.core.banking.psdx.interfaces.enums.AccessType;
@@ -25,12 +26,15 @@ import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
 import com.firefly.core.banking.psdx.interfaces.services.AccessLogServiceInterface;
 import com.firefly.core.banking.psdx.models.entities.AccessLog;
 import com.firefly.core.banking.psdx.models.repositories.AccessLogRepository;
+import com.firefly.core.banking.psdx.models.routing.Workload;
+import com.firefly.core.banking.psdx.models.routing.WorkloadContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -44,6 +48,7 @@ public class AccessLogService implements AccessLogServiceInterface {
 
     private final AccessLogRepository accessLogRepository;
     private final AccessLogMapper accessLogMapper;
+    private final AccessStatsCollector accessStatsCollector;
 
     /**
      * Log an access to a resource.
@@ -76,6 +81,44 @@ public class AccessLogService implements AccessLogServiceInterface {
             String xRequestId,
             String tppRequestId,
             String psuId) {
+        return logAccess(consentId, partyId, thirdPartyId, accessType, resourceType, resourceId, ipAddress,
+                userAgent, status, xRequestId, tppRequestId, psuId, null);
+    }
+
+    /**
+     * Log an access to a resource together with the time taken to serve it.
+     * The access is also counted in the per-minute access statistics once it is stored.
+     *
+     * @param consentId The ID of the consent
+     * @param partyId The ID of the party (customer)
+     * @param thirdPartyId The ID of the third party provider
+     * @param accessType The type of access
+     * @param resourceType The type of resource being accessed
+     * @param resourceId The ID of the resource being accessed
+     * @param ipAddress The IP address of the client
+     * @param userAgent The user agent of the client
+     * @param status The status of the access
+     * @param xRequestId The X-Request-ID header
+     * @param tppRequestId The TPP-Request-ID header
+     * @param psuId The PSU-ID header
+     * @param latency The time taken to serve the access, or null if unknown
+     * @return A Mono of the created access log
+     */
+    @Override
+    public Mono<PSDAccessLogDTO> logAccess(
+            UUID consentId,
+            UUID partyId,
+            String thirdPartyId,
+            AccessType accessType,
+            ResourceType resourceType,
+            String resourceId,
+            String ipAddress,
+            String userAgent,
+            AccessStatus status,
+            String xRequestId,
+            String tppRequestId,
+            String psuId,
+            Duration latency) {
 
         log.debug("Logging access: consentId={}, partyId={}, thirdPartyId={}, accessType={}, resourceType={}, resourceId={}, status={}",
                 consentId, partyId, thirdPartyId, accessType, resourceType, resourceId, status);
@@ -97,6 +140,8 @@ public class AccessLogService implements AccessLogServiceInterface {
                 .build();
 
         return accessLogRepository.save(accessLog)
+                .contextWrite(WorkloadContext.of(Workload.ACCESS_LOG))
+                .doOnNext(saved -> accessStatsCollector.record(thirdPartyId, resourceType, status, latency))
                 .map(accessLogMapper::toDto)
                 .doOnSuccess(dto -> log.info("Access logged with ID: {}", dto.getId()));
     }
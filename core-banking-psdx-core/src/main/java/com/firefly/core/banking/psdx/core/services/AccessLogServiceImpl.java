@@ -18,6 +18,7 @@
 package com.firefly.core.banking.psdx.core.services;
 
 import com.firefly.core.banking.psdx.core.mappers.AccessLogMapper;
+import com.firefly.core.banking.psdx.core.stats.AccessStatsCollector;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccessLogDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccessLogRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.enums.AccessStatus;
@@ -26,6 +27,8 @@ import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
 import com.firefly.core.banking.psdx.interfaces.services.AccessLogService;
 import com.firefly.core.banking.psdx.models.entities.AccessLog;
 import com.firefly.core.banking.psdx.models.repositories.AccessLogRepository;
+import com.firefly.core.banking.psdx.models.routing.Workload;
+import com.firefly.core.banking.psdx.models.routing.WorkloadContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -45,6 +48,7 @@ public class AccessLogServiceImpl implements AccessLogService {
 
     private final AccessLogRepository accessLogRepository;
     private final AccessLogMapper accessLogMapper;
+    private final AccessStatsCollector accessStatsCollector;
 
     @Override
     public Mono<PSDAccessLogDTO> logAccess(PSDAccessLogRequestDTO accessLogRequest) {
@@ -67,6 +71,8 @@ public class AccessLogServiceImpl implements AccessLogService {
                 .build();
 
         return accessLogRepository.save(accessLog)
+                .contextWrite(WorkloadContext.of(Workload.ACCESS_LOG))
+                .doOnNext(saved -> accessStatsCollector.record(saved.getThirdPartyId(), saved.getResourceType(), saved.getStatus(), null))
                 .map(accessLogMapper::toDto)
                 .doOnSuccess(dto -> log.info("Access logged with ID: {}", dto.getId()));
     }
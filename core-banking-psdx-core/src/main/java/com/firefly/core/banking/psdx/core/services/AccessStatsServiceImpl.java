@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.services;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccessStatsDTO;
+import com.firefly.core.banking.psdx.interfaces.services.AccessStatsService;
+import com.firefly.core.banking.psdx.models.projections.AccessStatsRollup;
+import com.firefly.core.banking.psdx.models.repositories.AccessStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of the AccessStatsService interface.
+ * Statistics are read from the per-minute rollups maintained by the AccessStatsCollector,
+ * never from access_logs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccessStatsServiceImpl implements AccessStatsService {
+
+    private static final Set<String> GRANULARITIES = Set.of("minute", "hour", "day");
+    private static final Duration MAX_MINUTE_RANGE = Duration.ofDays(7);
+
+    private final AccessStatsRepository accessStatsRepository;
+
+    @Override
+    public Flux<PSDAccessStatsDTO> getAccessStats(LocalDateTime fromDate, LocalDateTime toDate, String thirdPartyId,
+                                                  String resourceType, String granularity) {
+        log.debug("Getting access statistics between {} and {} per {}, thirdPartyId={}, resourceType={}",
+                fromDate, toDate, granularity, thirdPartyId, resourceType);
+
+        if (fromDate == null || toDate == null || !fromDate.isBefore(toDate)) {
+            return Flux.error(new IllegalArgumentException("fromDate must be before toDate"));
+        }
+        if (!GRANULARITIES.contains(granularity)) {
+            return Flux.error(new IllegalArgumentException("granularity must be one of minute, hour or day"));
+        }
+        if ("minute".equals(granularity) && Duration.between(fromDate, toDate).compareTo(MAX_MINUTE_RANGE) > 0) {
+            return Flux.error(new IllegalArgumentException("Per-minute statistics are limited to a range of 7 days"));
+        }
+
+        return accessStatsRepository.findRollups(granularity, fromDate, toDate, thirdPartyId, resourceType)
+                .map(rollup -> toDto(rollup, granularity));
+    }
+
+    private static PSDAccessStatsDTO toDto(AccessStatsRollup rollup, String granularity) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        Long[] buckets = rollup.latencyBuckets();
+        for (int i = 0; i < buckets.length; i++) {
+            String bound = i < AccessStatsRepository.LATENCY_BOUNDS_MS.size()
+                    ? String.valueOf(AccessStatsRepository.LATENCY_BOUNDS_MS.get(i))
+                    : "+Inf";
+            histogram.put(bound, buckets[i]);
+        }
+        long latencyCount = rollup.latencyCount() != null ? rollup.latencyCount() : 0;
+        return PSDAccessStatsDTO.builder()
+                .periodStart(rollup.bucketStart())
+                .granularity(granularity)
+                .thirdPartyId(rollup.thirdPartyId())
+                .resourceType(rollup.resourceType())
+                .status(rollup.status())
+                .requestCount(rollup.requestCount())
+                .errorCount(rollup.errorCount())
+                .averageLatencyMs(latencyCount > 0 ? (double) rollup.latencySumMs() / latencyCount : null)
+                .latencyHistogram(histogram)
+                .build();
+    }
+}
@@ -17,6 +17,7 @@
 
 package com.firefly.core.banking.psdx.core.services;
 
+import com.firefly.core.banking.psdx.core.cache.AvailableBalanceCache;
 import com.firefly.core.banking.psdx.core.ports.AccountServicePort;
 import com.firefly.core.banking.psdx.core.ports.TransactionServicePort;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccountDTO;
@@ -26,15 +27,20 @@ import com.firefly.core.banking.psdx.interfaces.services.AccountInformationServi
 import com.firefly.core.banking.psdx.interfaces.services.ConsentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Implementation of the AccountInformationService interface.
+ * Balances of accounts with a known IBAN are read through the {@link AvailableBalanceCache},
+ * which shares them with funds checks for a short time.
  */
 @Service
 @RequiredArgsConstructor
@@ -44,19 +50,37 @@ public class AccountInformationServiceImpl implements AccountInformationService
     private final AccountServicePort accountServicePort;
     private final TransactionServicePort transactionServicePort;
     private final ConsentService consentService;
+    private final AvailableBalanceCache availableBalanceCache;
+
+    @Value("${psdx.accounts.with-balance.concurrency:8}")
+    private int balanceConcurrency = 8;
+
+    @Value("${psdx.accounts.with-balance.timeout-ms:2000}")
+    private long balanceTimeoutMs = 2000;
 
     @Override
     public Flux<PSDAccountDTO> getAccounts(UUID consentId, UUID partyId) {
-        log.debug("Getting accounts for party ID: {} with consent ID: {}", partyId, consentId);
+        return getAccounts(consentId, partyId, false);
+    }
 
+    @Override
+    public Flux<PSDAccountDTO> getAccounts(UUID consentId, UUID partyId, boolean withBalance) {
+        log.debug("Getting accounts for party ID: {} with consent ID: {}, with balance: {}", partyId, consentId, withBalance);
+
+        // Balances are attached per account, so a consent without balance access still lists its accounts
         return consentService.validateConsent(consentId, "ACCOUNT", "READ")
                 .flatMapMany(isValid -> {
                     if (!isValid) {
                         return Flux.error(new IllegalArgumentException("Invalid or expired consent"));
                     }
 
-                    return accountServicePort.getAccountsByPartyId(partyId)
-                            .doOnComplete(() -> log.debug("Retrieved accounts for party ID: {}", partyId));
+                    Flux<PSDAccountDTO> accounts = accountServicePort.getAccountsByPartyId(partyId)
+                            .filterWhen(account -> consentService.validateConsent(consentId, "ACCOUNT", "READ",
+                                    Mono.justOrEmpty(account.getIban())));
+                    if (withBalance) {
+                        accounts = accounts.flatMapSequential(account -> attachPermittedBalances(consentId, account), balanceConcurrency);
+                    }
+                    return accounts.doOnComplete(() -> log.debug("Retrieved accounts for party ID: {}", partyId));
                 });
     }
 
@@ -64,14 +88,15 @@ public class AccountInformationServiceImpl implements AccountInformationService
     public Mono<PSDAccountDTO> getAccount(UUID consentId, UUID accountId) {
         log.debug("Getting account with ID: {} using consent ID: {}", accountId, consentId);
 
-        return consentService.validateConsent(consentId, "ACCOUNT", "READ")
+        Mono<PSDAccountDTO> account = Mono.defer(() -> accountServicePort.getAccountById(accountId)).cache();
+        return consentService.validateConsent(consentId, "ACCOUNT", "READ", account.map(PSDAccountDTO::getIban))
                 .flatMap(isValid -> {
                     if (!isValid) {
                         return Mono.error(new IllegalArgumentException("Invalid or expired consent"));
                     }
 
-                    return accountServicePort.getAccountById(accountId)
-                            .doOnSuccess(account -> log.debug("Retrieved account with ID: {}", accountId));
+                    return account
+                            .doOnSuccess(found -> log.debug("Retrieved account with ID: {}", accountId));
                 });
     }
 
@@ -79,13 +104,17 @@ public class AccountInformationServiceImpl implements AccountInformationService
     public Flux<PSDBalanceDTO> getBalances(UUID consentId, UUID accountId) {
         log.debug("Getting balances for account ID: {} using consent ID: {}", accountId, consentId);
 
-        return consentService.validateConsent(consentId, "BALANCE", "READ")
+        Mono<String> accountReference = accountIdentifier(accountId).cache();
+        return consentService.validateConsent(consentId, "BALANCE", "READ", accountReference)
                 .flatMapMany(isValid -> {
                     if (!isValid) {
                         return Flux.error(new IllegalArgumentException("Invalid or expired consent"));
                     }
 
-                    return accountServicePort.getBalancesByAccountId(accountId)
+                    return accountReference
+                            .map(reference -> availableBalanceCache.getBalances(reference, accountId))
+                            .defaultIfEmpty(Flux.defer(() -> accountServicePort.getBalancesByAccountId(accountId)))
+                            .flatMapMany(Function.identity())
                             .doOnComplete(() -> log.debug("Retrieved balances for account ID: {}", accountId));
                 });
     }
@@ -95,7 +124,7 @@ public class AccountInformationServiceImpl implements AccountInformationService
         log.debug("Getting transactions for account ID: {} between {} and {} using consent ID: {}",
                 accountId, fromDate, toDate, consentId);
 
-        return consentService.validateConsent(consentId, "TRANSACTION", "READ")
+        return consentService.validateConsent(consentId, "TRANSACTION", "READ", accountIdentifier(accountId))
                 .flatMapMany(isValid -> {
                     if (!isValid) {
                         return Flux.error(new IllegalArgumentException("Invalid or expired consent"));
@@ -111,7 +140,7 @@ public class AccountInformationServiceImpl implements AccountInformationService
         log.debug("Getting transaction with ID: {} for account ID: {} using consent ID: {}",
                 transactionId, accountId, consentId);
 
-        return consentService.validateConsent(consentId, "TRANSACTION", "READ")
+        return consentService.validateConsent(consentId, "TRANSACTION", "READ", accountIdentifier(accountId))
                 .flatMap(isValid -> {
                     if (!isValid) {
                         return Mono.error(new IllegalArgumentException("Invalid or expired consent"));
@@ -121,4 +150,41 @@ public class AccountInformationServiceImpl implements AccountInformationService
                             .doOnSuccess(transaction -> log.debug("Retrieved transaction with ID: {}", transactionId));
                 });
     }
+
+    /**
+     * Get the identifier of an account, used when the consent limits access to a list of accounts.
+     */
+    private Mono<String> accountIdentifier(UUID accountId) {
+        return Mono.defer(() -> accountServicePort.getAccountById(accountId)).mapNotNull(PSDAccountDTO::getIban);
+    }
+
+    /**
+     * Attach balances to an account if the consent covers the balances of this account,
+     * leaving the account without balances otherwise.
+     */
+    private Mono<PSDAccountDTO> attachPermittedBalances(UUID consentId, PSDAccountDTO account) {
+        return consentService.validateConsent(consentId, "BALANCE", "READ", Mono.justOrEmpty(account.getIban()))
+                .filter(Boolean::booleanValue)
+                .flatMap(isValid -> attachBalances(account))
+                .defaultIfEmpty(account);
+    }
+
+    /**
+     * Fetch the balances of an account and attach them to it.
+     * A failed or late fetch leaves the account without balances instead of failing the response.
+     */
+    private Mono<PSDAccountDTO> attachBalances(PSDAccountDTO account) {
+        Flux<PSDBalanceDTO> balances = account.getIban() != null
+                ? availableBalanceCache.getBalances(account.getIban(), account.getResourceId())
+                : accountServicePort.getBalancesByAccountId(account.getResourceId());
+        return balances
+                .collectList()
+                .timeout(Duration.ofMillis(balanceTimeoutMs))
+                .doOnNext(account::setBalances)
+                .onErrorResume(e -> {
+                    log.warn("Returning account ID: {} without balances: {}", account.getResourceId(), e.toString());
+                    return Mono.empty();
+                })
+                .thenReturn(account);
+    }
 }
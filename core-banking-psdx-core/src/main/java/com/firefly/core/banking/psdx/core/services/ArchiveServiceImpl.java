@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.services;
+
+import com.firefly.core.banking.psdx.core.retention.ArchiveSegment;
+import com.firefly.core.banking.psdx.core.retention.ArchiveStore;
+import com.firefly.core.banking.psdx.core.retention.ArchivedTable;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDArchivedRecordDTO;
+import com.firefly.core.banking.psdx.interfaces.security.EncryptionService;
+import com.firefly.core.banking.psdx.interfaces.services.ArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Implementation of the ArchiveService interface.
+ * Archived rows are queried straight from the verified archive segments, without loading them
+ * back into the database. Only segments whose creation time range overlaps the requested range
+ * are read, one after the other, and each one is checked against its manifest checksum first.
+ * Segments hold the rows as stored, so their text columns are decrypted before the rows are
+ * filtered and returned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArchiveServiceImpl implements ArchiveService {
+
+    private final ArchiveStore archiveStore;
+    private final EncryptionService encryptionService;
+
+    @Override
+    public Flux<PSDArchivedRecordDTO> queryArchive(String table, LocalDateTime fromDate, LocalDateTime toDate,
+                                                   Map<String, String> filters) {
+        log.debug("Querying archived {} between {} and {} with filters {}", table, fromDate, toDate, filters);
+
+        if (fromDate == null || toDate == null || !fromDate.isBefore(toDate)) {
+            return Flux.error(new IllegalArgumentException("fromDate must be before toDate"));
+        }
+        ArchivedTable archivedTable;
+        try {
+            archivedTable = ArchivedTable.fromTableName(table);
+        } catch (IllegalArgumentException e) {
+            return Flux.error(e);
+        }
+        for (String column : filters.keySet()) {
+            if (!archivedTable.filterColumns().contains(column)) {
+                return Flux.error(new IllegalArgumentException("Archived " + table + " cannot be filtered on " + column));
+            }
+        }
+
+        return Mono.fromCallable(() -> archiveStore.segments(archivedTable))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(segments -> segments)
+                .filter(segment -> segment.overlaps(fromDate, toDate))
+                .concatMap(segment -> Mono.fromCallable(() -> archiveStore.read(segment))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMapIterable(rows -> rows)
+                        .map(row -> archivedTable.decrypt(row, encryptionService))
+                        .filter(row -> matches(row, fromDate, toDate, filters))
+                        .map(row -> toDto(segment, row)));
+    }
+
+    private static boolean matches(Map<String, Object> row, LocalDateTime fromDate, LocalDateTime toDate,
+                                   Map<String, String> filters) {
+        LocalDateTime createdAt = LocalDateTime.parse((String) row.get("created_at"));
+        if (createdAt.isBefore(fromDate) || !createdAt.isBefore(toDate)) {
+            return false;
+        }
+        return filters.entrySet().stream()
+                .allMatch(filter -> filter.getValue().equals(String.valueOf(row.get(filter.getKey()))));
+    }
+
+    private static PSDArchivedRecordDTO toDto(ArchiveSegment segment, Map<String, Object> row) {
+        return PSDArchivedRecordDTO.builder()
+                .table(segment.table())
+                .segment(segment.file())
+                .values(row)
+                .build();
+    }
+}
@@ -17,12 +17,20 @@
 
 package com.firefly.core.banking.psdx.core.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.banking.psdx.core.batching.ConsentBatchLoader;
+import com.firefly.core.banking.psdx.core.consent.ConsentAccessScope;
+import com.firefly.core.banking.psdx.core.consent.ConsentContext;
+import com.firefly.core.banking.psdx.core.consent.ConsentRules;
+import com.firefly.core.banking.psdx.core.consent.ValidatedConsent;
 import com.firefly.core.banking.psdx.core.mappers.ConsentMapper;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentStatusDTO;
 import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
 import com.firefly.core.banking.psdx.interfaces.enums.ConsentType;
+import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
 import com.firefly.core.banking.psdx.interfaces.services.ConsentService;
 import com.firefly.core.banking.psdx.models.entities.Consent;
 import com.firefly.core.banking.psdx.models.repositories.ConsentRepository;
@@ -33,7 +41,13 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Implementation of the ConsentService interface.
@@ -45,11 +59,15 @@ public class ConsentServiceImpl implements ConsentService {
 
     private final ConsentRepository consentRepository;
     private final ConsentMapper consentMapper;
+    private final ConsentBatchLoader consentBatchLoader;
+    private final ConsentValidationService consentValidationService;
+    private final ObjectMapper objectMapper;
 
     @Override
     public Mono<PSDConsentDTO> createConsent(PSDConsentRequestDTO consentRequest) {
         log.debug("Creating consent for party ID: {}", consentRequest.getPartyId());
 
+        ConsentAccessScope.requireKnownTokens(consentRequest.getAccessScope());
         Consent consent = Consent.builder()
                 .partyId(UUID.fromString(consentRequest.getPartyId()))
                 .consentType(ConsentType.valueOf(consentRequest.getConsentType()))
@@ -58,6 +76,7 @@ public class ConsentServiceImpl implements ConsentService {
                 .validUntil(consentRequest.getValidUntil())
                 .accessFrequency(consentRequest.getAccessFrequency())
                 .accessScope(consentRequest.getAccessScope())
+                .access(writeAccess(consentRequest.getAccess()))
                 .build();
 
         return consentRepository.save(consent)
@@ -69,7 +88,7 @@ public class ConsentServiceImpl implements ConsentService {
     public Mono<PSDConsentDTO> getConsent(UUID consentId) {
         log.debug("Getting consent with ID: {}", consentId);
 
-        return consentRepository.findById(consentId)
+        return consentBatchLoader.load(consentId)
                 .map(consentMapper::toDto)
                 .doOnSuccess(dto -> {
                     if (dto != null) {
@@ -122,28 +141,61 @@ public class ConsentServiceImpl implements ConsentService {
         log.debug("Validating consent with ID: {} for resource type: {} and access type: {}",
                 consentId, resourceType, accessType);
 
-        return consentRepository.findById(consentId)
-                .map(consent -> {
-                    // Check if consent is valid
-                    boolean isValid = consent.getStatus() == ConsentStatus.VALID &&
-                            consent.getValidFrom().isBefore(LocalDateTime.now()) &&
-                            consent.getValidUntil().isAfter(LocalDateTime.now()) &&
-                            consent.getAccessScope().contains(resourceType.toLowerCase());
-
-                    log.debug("Consent validation result for ID {}: {}", consentId, isValid);
-                    return isValid;
+        ResourceType resource = ResourceType.valueOf(resourceType.toUpperCase());
+        return checkAccess(consentId, consent -> Mono.just(ConsentRules.grants(consent, resource, LocalDateTime.now())))
+                .doOnNext(isValid -> log.debug("Consent validation result for ID {}: {}", consentId, isValid));
+    }
+
+    @Override
+    public Mono<Boolean> validateConsent(UUID consentId, String resourceType, String accessType, Mono<String> accountIdentifier) {
+        log.debug("Validating consent with ID: {} for resource type: {} and access type: {} on a single account",
+                consentId, resourceType, accessType);
+
+        ResourceType resource = ResourceType.valueOf(resourceType.toUpperCase());
+        return checkAccess(consentId, consent -> {
+                    if (!ConsentRules.grants(consent, resource, LocalDateTime.now())) {
+                        return Mono.just(false);
+                    }
+                    if (consent.accessScope() == null || !consent.accessScope().isRestricted(resource)) {
+                        return Mono.just(true);
+                    }
+                    return accountIdentifier
+                            .map(identifier -> ConsentRules.covers(consent, resource, identifier))
+                            .defaultIfEmpty(false);
                 })
-                .defaultIfEmpty(false);
+                .doOnNext(isValid -> log.debug("Consent validation result for ID {} on account: {}", consentId, isValid));
+    }
+
+    @Override
+    public Mono<Map<UUID, Boolean>> validateConsents(Collection<UUID> consentIds, String resourceType, String accessType) {
+        log.debug("Validating {} consents for resource type: {} and access type: {}",
+                consentIds.size(), resourceType, accessType);
+
+        ResourceType resource = ResourceType.valueOf(resourceType.toUpperCase());
+        LocalDateTime now = LocalDateTime.now();
+        return consentBatchLoader.loadAllValidated(consentIds)
+                .flatMap(consent -> (ConsentRules.grants(consent, resource, now)
+                        ? consentValidationService.recordAccess(consent)
+                        : Mono.just(false))
+                        .map(isValid -> Map.entry(consent.consentId(), isValid)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(found -> {
+                    Map<UUID, Boolean> results = new LinkedHashMap<>();
+                    consentIds.forEach(consentId -> results.put(consentId, found.getOrDefault(consentId, false)));
+                    log.debug("Validated {} consents, {} valid", results.size(),
+                            results.values().stream().filter(Boolean::booleanValue).count());
+                    return results;
+                });
     }
 
     @Override
     public Mono<PSDConsentStatusDTO> getConsentStatus(UUID consentId) {
         log.debug("Getting status for consent with ID: {}", consentId);
 
-        return consentRepository.findById(consentId)
+        return consentBatchLoader.loadValidated(consentId)
                 .map(consent -> {
                     PSDConsentStatusDTO statusDTO = new PSDConsentStatusDTO();
-                    statusDTO.setConsentStatus(consent.getStatus().name());
+                    statusDTO.setConsentStatus(consent.status().name());
                     return statusDTO;
                 })
                 .doOnSuccess(statusDTO -> {
@@ -155,4 +207,45 @@ public class ConsentServiceImpl implements ConsentService {
                 })
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("Consent not found with ID: " + consentId)));
     }
+
+    /**
+     * Check an access under a consent, reusing the consent validated for this exchange if any.
+     * A consent loaded here has not been through the interceptor, so a granted access is recorded
+     * against its access frequency limit.
+     *
+     * @param consentId The ID of the consent
+     * @param rules The checks the consent has to pass
+     * @return A Mono of Boolean indicating if the access is allowed, false if the consent does not exist
+     */
+    private Mono<Boolean> checkAccess(UUID consentId, Function<ValidatedConsent, Mono<Boolean>> rules) {
+        return ConsentContext.current(consentId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(validated -> validated.isPresent()
+                        // The interceptor has already recorded this access
+                        ? rules.apply(validated.get())
+                        : consentBatchLoader.loadValidated(consentId)
+                                .flatMap(consent -> rules.apply(consent)
+                                        .flatMap(granted -> granted
+                                                ? consentValidationService.recordAccess(consent)
+                                                : Mono.just(false))))
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Serialize the access permissions of a consent request, in the Berlin Group access format.
+     *
+     * @param access The access permissions
+     * @return The JSON representation, or null if no permissions are given
+     */
+    private String writeAccess(List<PSDConsentRequestDTO.PSDAccessDTO> access) {
+        if (access == null || access.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(access);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid access permissions", e);
+        }
+    }
 }
@@ -17,11 +17,11 @@
 
 package com.firefly.core.banking.psdx.core.services;
 
-import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
-import com.firefly.core.banking.psdx.interfaces.enums.ConsentType;
+import com.firefly.core.banking.psdx.core.batching.ConsentBatchLoader;
+import com.firefly.core.banking.psdx.core.consent.ConsentRules;
+import com.firefly.core.banking.psdx.core.consent.ValidatedConsent;
 import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
 import com.firefly.core.banking.psdx.interfaces.services.AccessLogService;
-import com.firefly.core.banking.psdx.models.entities.Consent;
 import com.firefly.core.banking.psdx.models.repositories.ConsentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +41,7 @@ public class ConsentValidationService {
 
     private final ConsentRepository consentRepository;
     private final AccessLogService accessLogService;
+    private final ConsentBatchLoader consentBatchLoader;
 
     /**
      * Validate a consent for a specific resource type.
@@ -52,102 +53,93 @@ public class ConsentValidationService {
      * @return A Mono of Boolean indicating if the consent is valid
      */
     public Mono<Boolean> validateConsent(UUID consentId, ResourceType resourceType, UUID partyId, String thirdPartyId) {
+        return validate(consentId, resourceType, partyId, thirdPartyId).hasElement();
+    }
+
+    /**
+     * Validate a consent for a specific resource type and take a snapshot of it.
+     *
+     * @param consentId The ID of the consent
+     * @param resourceType The type of resource being accessed
+     * @param partyId The ID of the party (customer)
+     * @param thirdPartyId The ID of the third party provider
+     * @return A Mono of the validated consent, or an empty Mono if the consent is unknown or not valid
+     */
+    public Mono<ValidatedConsent> validate(UUID consentId, ResourceType resourceType, UUID partyId, String thirdPartyId) {
         log.debug("Validating consent ID: {} for resource type: {}, party ID: {}, third party ID: {}",
                 consentId, resourceType, partyId, thirdPartyId);
 
-        return consentRepository.findById(consentId)
-                .flatMap(consent -> validateConsent(consent, resourceType, partyId, thirdPartyId));
+        return consentBatchLoader.loadValidated(consentId)
+                .filterWhen(consent -> validateConsent(consent, resourceType, partyId, thirdPartyId));
     }
 
     /**
      * Validate a consent for a specific resource type.
      *
-     * @param consent The consent
+     * @param consent The snapshot of the consent
      * @param resourceType The type of resource being accessed
      * @param partyId The ID of the party (customer)
      * @param thirdPartyId The ID of the third party provider
      * @return A Mono of Boolean indicating if the consent is valid
      */
-    private Mono<Boolean> validateConsent(Consent consent, ResourceType resourceType, UUID partyId, String thirdPartyId) {
-        // Check if the consent is valid
-        if (consent.getStatus() != ConsentStatus.VALID) {
-            log.warn("Consent ID: {} has invalid status: {}", consent.getId(), consent.getStatus());
-            return Mono.just(false);
-        }
-        
-        // Check if the consent is expired
-        LocalDateTime now = LocalDateTime.now();
-        if (consent.getValidUntil().isBefore(now)) {
-            log.warn("Consent ID: {} is expired, valid until: {}", consent.getId(), consent.getValidUntil());
+    private Mono<Boolean> validateConsent(ValidatedConsent consent, ResourceType resourceType, UUID partyId, String thirdPartyId) {
+        // Check if the consent is valid and not expired
+        if (!ConsentRules.isActive(consent, LocalDateTime.now())) {
+            log.warn("Consent ID: {} is not active, status: {}, valid until: {}",
+                    consent.consentId(), consent.status(), consent.validUntil());
             return Mono.just(false);
         }
-        
+
         // Check if the consent is for the correct party
-        if (!consent.getPartyId().equals(partyId)) {
+        if (!consent.partyId().equals(partyId)) {
             log.warn("Consent ID: {} is for party ID: {}, but request is for party ID: {}", 
-                    consent.getId(), consent.getPartyId(), partyId);
+                    consent.consentId(), consent.partyId(), partyId);
             return Mono.just(false);
         }
         
         // Check if the consent is for the correct resource type
-        boolean isValidResourceType = isValidResourceTypeForConsent(consent.getConsentType(), resourceType);
-        if (!isValidResourceType) {
+        if (!ConsentRules.covers(consent, resourceType)) {
             log.warn("Consent ID: {} of type: {} is not valid for resource type: {}", 
-                    consent.getId(), consent.getConsentType(), resourceType);
+                    consent.consentId(), consent.consentType(), resourceType);
             return Mono.just(false);
         }
         
+        return recordAccess(consent);
+    }
+
+    /**
+     * Record an access under a consent that has already passed the other checks.
+     * This is the single place where the access frequency limit is enforced and the last action
+     * date is updated, whichever way the consent is used.
+     *
+     * @param consent The snapshot of the consent
+     * @return A Mono of Boolean indicating if the access is allowed
+     */
+    public Mono<Boolean> recordAccess(ValidatedConsent consent) {
         // Check if the consent has been used too many times
-        if (consent.getAccessFrequency() != null && consent.getAccessFrequency() > 0) {
-            return accessLogService.countAccessLogsForConsent(consent.getId())
+        if (consent.accessFrequency() != null && consent.accessFrequency() > 0) {
+            return accessLogService.countAccessLogsForConsent(consent.consentId())
                     .flatMap(count -> {
-                        if (count >= consent.getAccessFrequency()) {
+                        if (count >= consent.accessFrequency()) {
                             log.warn("Consent ID: {} has been used too many times: {}/{}", 
-                                    consent.getId(), count, consent.getAccessFrequency());
+                                    consent.consentId(), count, consent.accessFrequency());
                             return Mono.just(false);
                         }
-                        return updateLastActionDateAndReturnTrue(consent);
+                        return updateLastActionDateAndReturnTrue(consent.consentId());
                     });
         }
         
-        return updateLastActionDateAndReturnTrue(consent);
+        return updateLastActionDateAndReturnTrue(consent.consentId());
     }
 
     /**
-     * Check if a resource type is valid for a consent type.
+     * Update the last action date of a consent, at most once a day, and return true.
      *
-     * @param consentType The consent type
-     * @param resourceType The resource type
-     * @return True if the resource type is valid for the consent type, false otherwise
-     */
-    private boolean isValidResourceTypeForConsent(ConsentType consentType, ResourceType resourceType) {
-        switch (consentType) {
-            case ACCOUNT_INFORMATION:
-                return resourceType == ResourceType.ACCOUNT || 
-                       resourceType == ResourceType.BALANCE || 
-                       resourceType == ResourceType.TRANSACTION;
-            case PAYMENT_INITIATION:
-                return resourceType == ResourceType.PAYMENT;
-            case FUNDS_CONFIRMATION:
-                return resourceType == ResourceType.FUNDS_CONFIRMATION;
-            case CARD_INFORMATION:
-                return resourceType == ResourceType.CARD || 
-                       resourceType == ResourceType.CARD_BALANCE || 
-                       resourceType == ResourceType.CARD_TRANSACTION;
-            default:
-                return false;
-        }
-    }
-
-    /**
-     * Update the last action date of a consent and return true.
-     *
-     * @param consent The consent
+     * @param consentId The ID of the consent
      * @return A Mono of Boolean with value true
      */
-    private Mono<Boolean> updateLastActionDateAndReturnTrue(Consent consent) {
-        consent.setLastActionDate(LocalDateTime.now());
-        return consentRepository.save(consent)
+    private Mono<Boolean> updateLastActionDateAndReturnTrue(UUID consentId) {
+        return consentRepository.updateLastActionDate(consentId, LocalDateTime.now())
                 .thenReturn(true);
     }
 }
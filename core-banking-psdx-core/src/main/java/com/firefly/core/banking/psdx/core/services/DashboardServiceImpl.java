@@ -0,0 +1,228 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.services;
+
+import com.firefly.core.banking.psdx.core.batching.ConsentBatchLoader;
+import com.firefly.core.banking.psdx.core.consent.ConsentRules;
+import com.firefly.core.banking.psdx.core.consent.ValidatedConsent;
+import com.firefly.core.banking.psdx.core.ports.AccountServicePort;
+import com.firefly.core.banking.psdx.core.ports.CardServicePort;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccountDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDCardAccountDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDDashboardItemDTO;
+import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
+import com.firefly.core.banking.psdx.interfaces.services.DashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Implementation of the DashboardService interface.
+ * Each consent is read once and the consent rules decide which downstream services are queried.
+ * Accounts and card accounts of all consents are fetched concurrently and merged into one stream,
+ * which is cut off when the latency budget is spent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final String ACCOUNT = "ACCOUNT";
+    private static final String CARD_ACCOUNT = "CARD_ACCOUNT";
+    private static final String NOTICE = "NOTICE";
+
+    private final AccountServicePort accountServicePort;
+    private final CardServicePort cardServicePort;
+    private final ConsentBatchLoader consentBatchLoader;
+    private final ConsentValidationService consentValidationService;
+
+    @Value("${psdx.dashboard.max-consents:10}")
+    private int maxConsents = 10;
+
+    @Value("${psdx.dashboard.latency-budget-ms:2500}")
+    private long latencyBudgetMs = 2500;
+
+    @Value("${psdx.dashboard.balance-timeout-ms:1500}")
+    private long balanceTimeoutMs = 1500;
+
+    @Value("${psdx.dashboard.balance-concurrency:8}")
+    private int balanceConcurrency = 8;
+
+    @Override
+    public Flux<PSDDashboardItemDTO> getDashboard(List<UUID> consentIds, UUID partyId, String thirdPartyId) {
+        Set<UUID> distinctConsentIds = new LinkedHashSet<>(consentIds);
+        if (distinctConsentIds.isEmpty() || distinctConsentIds.size() > maxConsents) {
+            return Flux.error(new IllegalArgumentException("Between 1 and " + maxConsents + " consents are required"));
+        }
+        if (partyId == null || thirdPartyId == null || thirdPartyId.isBlank()) {
+            return Flux.error(new IllegalArgumentException("A party ID and a third party ID are required"));
+        }
+        log.debug("Getting dashboard for consent IDs: {}, party ID: {}, third party ID: {}",
+                distinctConsentIds, partyId, thirdPartyId);
+
+        return Flux.defer(() -> {
+            // Parts of the dashboard still being retrieved, reported if the budget runs out
+            Set<String> pending = ConcurrentHashMap.newKeySet();
+            return Flux.fromIterable(distinctConsentIds)
+                    .flatMap(consentId -> consentItems(consentId, partyId, pending))
+                    .distinct(DashboardServiceImpl::itemKey)
+                    .take(Duration.ofMillis(latencyBudgetMs))
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(List.copyOf(pending))
+                            .map(part -> notice(null, part + " did not respond within the latency budget"))));
+        });
+    }
+
+    /**
+     * Stream the items of a single consent, reading the consent once.
+     * A consent that does not exist or belongs to another PSU is reported the same way.
+     */
+    private Flux<PSDDashboardItemDTO> consentItems(UUID consentId, UUID partyId, Set<String> pending) {
+        Mono<Flux<PSDDashboardItemDTO>> items = consentBatchLoader.loadValidated(consentId)
+                .filter(consent -> {
+                    if (!consent.partyId().equals(partyId)) {
+                        log.warn("Consent ID: {} is for party ID: {}, but dashboard is for party ID: {}",
+                                consentId, consent.partyId(), partyId);
+                        return false;
+                    }
+                    return true;
+                })
+                .flatMap(consent -> consentItems(consent, pending))
+                .defaultIfEmpty(Flux.just(notice(consentId, "Consent not found")));
+        return tracked("Consent " + consentId, pending, items.flux(), message -> Flux.just(notice(consentId, message)))
+                .flatMap(Function.identity());
+    }
+
+    /**
+     * Decide which items a consent gives access to, recording the access against its frequency limit.
+     */
+    private Mono<Flux<PSDDashboardItemDTO>> consentItems(ValidatedConsent consent, Set<String> pending) {
+        UUID consentId = consent.consentId();
+        if (!ConsentRules.isActive(consent, LocalDateTime.now())) {
+            return Mono.just(Flux.just(notice(consentId, "Invalid or expired consent")));
+        }
+        return consentValidationService.recordAccess(consent)
+                .map(allowed -> allowed
+                        ? resourceItems(consent, pending)
+                        : Flux.just(notice(consentId, "Consent access frequency exceeded")));
+    }
+
+    private Flux<PSDDashboardItemDTO> resourceItems(ValidatedConsent consent, Set<String> pending) {
+        UUID consentId = consent.consentId();
+        List<Flux<PSDDashboardItemDTO>> sources = new ArrayList<>(2);
+        if (ConsentRules.covers(consent, ResourceType.ACCOUNT)) {
+            sources.add(tracked("Account service for consent " + consentId, pending,
+                    accounts(consent, ConsentRules.covers(consent, ResourceType.BALANCE)),
+                    message -> notice(consentId, message)));
+        }
+        if (ConsentRules.covers(consent, ResourceType.CARD)) {
+            sources.add(tracked("Card service for consent " + consentId, pending,
+                    cardAccounts(consent, ConsentRules.covers(consent, ResourceType.CARD_BALANCE)),
+                    message -> notice(consentId, message)));
+        }
+        if (sources.isEmpty()) {
+            return Flux.just(notice(consentId, "Consent covers neither accounts nor cards"));
+        }
+        return Flux.merge(sources);
+    }
+
+    private Flux<PSDDashboardItemDTO> accounts(ValidatedConsent consent, boolean withBalance) {
+        Flux<PSDAccountDTO> accounts = accountServicePort.getAccountsByPartyId(consent.partyId())
+                .filter(account -> ConsentRules.covers(consent, ResourceType.ACCOUNT, account.getIban()));
+        if (withBalance) {
+            accounts = accounts.flatMap(account -> attachBalances(consent, account), balanceConcurrency);
+        }
+        return accounts.map(account -> PSDDashboardItemDTO.builder()
+                .itemType(ACCOUNT)
+                .consentId(consent.consentId())
+                .account(account)
+                .build());
+    }
+
+    private Mono<PSDAccountDTO> attachBalances(ValidatedConsent consent, PSDAccountDTO account) {
+        if (!ConsentRules.covers(consent, ResourceType.BALANCE, account.getIban())) {
+            return Mono.just(account);
+        }
+        return accountServicePort.getBalancesByAccountId(account.getResourceId())
+                .collectList()
+                .timeout(Duration.ofMillis(balanceTimeoutMs))
+                .doOnNext(account::setBalances)
+                .onErrorResume(e -> Mono.empty())
+                .thenReturn(account);
+    }
+
+    private Flux<PSDDashboardItemDTO> cardAccounts(ValidatedConsent consent, boolean withBalance) {
+        Flux<PSDCardAccountDTO> cards = cardServicePort.getCardAccountsByPartyId(consent.partyId());
+        if (withBalance) {
+            cards = cards.flatMap(card -> cardServicePort.getBalancesByCardId(card.getResourceId())
+                    .collectList()
+                    .timeout(Duration.ofMillis(balanceTimeoutMs))
+                    .doOnNext(card::setBalances)
+                    .onErrorResume(e -> Mono.empty())
+                    .thenReturn(card), balanceConcurrency);
+        }
+        return cards.map(card -> PSDDashboardItemDTO.builder()
+                .itemType(CARD_ACCOUNT)
+                .consentId(consent.consentId())
+                .cardAccount(card)
+                .build());
+    }
+
+    /**
+     * Register a part of the dashboard as pending while it is retrieved, and turn its failure
+     * into a notice so that the other parts are still delivered.
+     */
+    private static <T> Flux<T> tracked(String part, Set<String> pending, Flux<T> source, Function<String, T> notice) {
+        return Flux.defer(() -> {
+            pending.add(part);
+            return source.doOnComplete(() -> pending.remove(part));
+        }).onErrorResume(e -> {
+            log.warn("{} failed: {}", part, e.getMessage());
+            pending.remove(part);
+            return Flux.just(notice.apply(part + " failed"));
+        });
+    }
+
+    private static PSDDashboardItemDTO notice(UUID consentId, String message) {
+        return PSDDashboardItemDTO.builder()
+                .itemType(NOTICE)
+                .consentId(consentId)
+                .message(message)
+                .build();
+    }
+
+    private static Object itemKey(PSDDashboardItemDTO item) {
+        return switch (item.getItemType()) {
+            case ACCOUNT -> ACCOUNT + ":" + item.getAccount().getResourceId();
+            case CARD_ACCOUNT -> CARD_ACCOUNT + ":" + item.getCardAccount().getResourceId();
+            default -> item;
+        };
+    }
+}
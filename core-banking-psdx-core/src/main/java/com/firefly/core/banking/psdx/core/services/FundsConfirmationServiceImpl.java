@@ -17,29 +17,82 @@
 
 package com.firefly.core.banking.psdx.core.services;
 
+import com.firefly.core.banking.psdx.core.cache.AvailableBalanceCache;
+import com.firefly.core.banking.psdx.core.mappers.FundsConfirmationMapper;
 import com.firefly.core.banking.psdx.core.ports.AccountServicePort;
+import com.firefly.core.banking.psdx.core.ports.CardServicePort;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccountDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccountReferenceDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAmountDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDCardAccountDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationBatchItemDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationBatchRequestDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationCheckDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationDTO;
+import com.firefly.core.banking.psdx.interfaces.exceptions.PSDResourceUnknownException;
 import com.firefly.core.banking.psdx.interfaces.services.ConsentService;
 import com.firefly.core.banking.psdx.interfaces.services.FundsConfirmationService;
+import com.firefly.core.banking.psdx.models.entities.FundsConfirmation;
+import com.firefly.core.banking.psdx.models.ids.TimeOrderedUuid;
+import com.firefly.core.banking.psdx.models.repositories.FundsConfirmationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 /**
  * Implementation of the FundsConfirmationService interface.
+ * Funds checks are answered from the {@link AvailableBalanceCache}; confirmations are queued and
+ * written to the funds_confirmations table in batches, off the request path.
+ * Card numbers are only stored masked.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FundsConfirmationServiceImpl implements FundsConfirmationService {
 
+    private static final String CARD_PREFIX = "card:";
+
     private final AccountServicePort accountServicePort;
+    private final CardServicePort cardServicePort;
     private final ConsentService consentService;
+    private final AvailableBalanceCache availableBalanceCache;
+    private final FundsConfirmationRepository fundsConfirmationRepository;
+    private final FundsConfirmationMapper fundsConfirmationMapper;
+
+    private final ConcurrentMap<AccountKey, UUID> accountIds = new ConcurrentHashMap<>();
+    private final Queue<FundsConfirmation> pendingConfirmations = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<UUID, FundsConfirmation> unflushedConfirmations = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    @Value("${psdx.funds-confirmation.persist-batch-size:500}")
+    private int persistBatchSize = 500;
+
+    @Value("${psdx.funds-confirmation.snapshot.max-accounts:100000}")
+    private int maxAccounts = 100000;
+
+    @Value("${psdx.funds-confirmation.batch.concurrency:32}")
+    private int batchConcurrency = 32;
 
     @Override
     public Mono<PSDFundsConfirmationDTO> confirmFunds(UUID consentId, PSDFundsConfirmationDTO fundsConfirmationRequest) {
@@ -51,18 +104,48 @@ public class FundsConfirmationServiceImpl implements FundsConfirmationService {
                         return Mono.error(new IllegalArgumentException("Invalid or expired consent"));
                     }
 
-                    // In a real implementation, this would check the account balance
-                    // For now, we'll just return a mock response
-                    fundsConfirmationRequest.setFundsConfirmationId(UUID.randomUUID());
-                    fundsConfirmationRequest.setConsentId(consentId);
-                    fundsConfirmationRequest.setFundsAvailable(true);
-                    fundsConfirmationRequest.setConfirmationDateTime(LocalDateTime.now());
-
-                    return Mono.just(fundsConfirmationRequest)
+                    PSDAmountDTO amount = fundsConfirmationRequest.getInstructedAmount();
+                    return evaluate(psuResources(consentId), accountReference(fundsConfirmationRequest.getAccount()),
+                                    fundsConfirmationRequest.getCardNumber(), amount)
+                            .map(fundsAvailable -> {
+                                fundsConfirmationRequest.setFundsConfirmationId(TimeOrderedUuid.generate());
+                                fundsConfirmationRequest.setConsentId(consentId);
+                                fundsConfirmationRequest.setFundsAvailable(fundsAvailable);
+                                fundsConfirmationRequest.setConfirmationDateTime(LocalDateTime.now());
+                                record(fundsConfirmationRequest);
+                                return fundsConfirmationRequest;
+                            })
                             .doOnSuccess(confirmation -> log.info("Funds confirmation created with ID: {}", confirmation.getFundsConfirmationId()));
                 });
     }
 
+    @Override
+    public Flux<PSDFundsConfirmationBatchItemDTO> confirmFundsBatch(UUID consentId, PSDFundsConfirmationBatchRequestDTO batchRequest) {
+        log.debug("Confirming batch of {} funds checks using consent ID: {}", batchRequest.getChecks().size(), consentId);
+
+        return consentService.validateConsent(consentId, "FUNDS_CONFIRMATION", "READ")
+                .flatMapMany(isValid -> {
+                    if (!isValid) {
+                        return Flux.error(new IllegalArgumentException("Invalid or expired consent"));
+                    }
+
+                    PsuResources psu = psuResources(consentId);
+                    List<PSDFundsConfirmationCheckDTO> checks = batchRequest.getChecks();
+                    List<FundsConfirmation> confirmations = Collections.synchronizedList(new ArrayList<>(checks.size()));
+
+                    return Flux.range(0, checks.size())
+                            .flatMapSequential(index -> evaluateCheck(consentId, psu, index, checks.get(index)), batchConcurrency)
+                            .map(result -> {
+                                if (result.entity() != null) {
+                                    unflushedConfirmations.put(result.entity().getId(), result.entity());
+                                    confirmations.add(result.entity());
+                                }
+                                return result.item();
+                            })
+                            .doFinally(signal -> persistBatch(confirmations));
+                });
+    }
+
     @Override
     public Mono<PSDFundsConfirmationDTO> getFundsConfirmation(UUID consentId, UUID fundsConfirmationId) {
         log.debug("Getting funds confirmation with ID: {} using consent ID: {}", fundsConfirmationId, consentId);
@@ -73,16 +156,247 @@ public class FundsConfirmationServiceImpl implements FundsConfirmationService {
                         return Mono.error(new IllegalArgumentException("Invalid or expired consent"));
                     }
 
-                    // In a real implementation, this would retrieve the funds confirmation from a repository
-                    // For now, we'll just return a mock response
-                    PSDFundsConfirmationDTO confirmation = new PSDFundsConfirmationDTO();
-                    confirmation.setFundsConfirmationId(fundsConfirmationId);
-                    confirmation.setConsentId(consentId);
-                    confirmation.setFundsAvailable(true);
-                    confirmation.setConfirmationDateTime(LocalDateTime.now().minusHours(1));
+                    FundsConfirmation unflushed = unflushedConfirmations.get(fundsConfirmationId);
+                    Mono<FundsConfirmation> confirmation = unflushed != null
+                            ? Mono.just(unflushed)
+                            : fundsConfirmationRepository.findById(fundsConfirmationId);
 
-                    return Mono.just(confirmation)
+                    return confirmation
+                            .filter(result -> consentId.equals(result.getConsentId()))
+                            .map(fundsConfirmationMapper::toDto)
+                            .switchIfEmpty(Mono.error(new PSDResourceUnknownException(
+                                    "Funds confirmation not found: " + fundsConfirmationId)))
                             .doOnSuccess(result -> log.debug("Retrieved funds confirmation with ID: {}", fundsConfirmationId));
                 });
     }
+
+    /**
+     * Write queued confirmations to the repository in batches.
+     * Confirmations stay readable from memory until their batch has been written.
+     */
+    @Scheduled(fixedDelayString = "${psdx.funds-confirmation.flush-interval-ms:200}")
+    public void flushConfirmations() {
+        if (pendingConfirmations.isEmpty() || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+        List<FundsConfirmation> batch = new ArrayList<>(Math.min(persistBatchSize, pendingConfirmations.size()));
+        FundsConfirmation next;
+        while (batch.size() < persistBatchSize && (next = pendingConfirmations.poll()) != null) {
+            batch.add(next);
+        }
+        fundsConfirmationRepository.saveAll(batch)
+                .then()
+                .onErrorResume(e -> {
+                    log.error("Failed to persist {} funds confirmations", batch.size(), e);
+                    return Mono.empty();
+                })
+                .doFinally(signal -> {
+                    batch.forEach(saved -> unflushedConfirmations.remove(saved.getId()));
+                    flushing.set(false);
+                    if (!pendingConfirmations.isEmpty()) {
+                        flushConfirmations();
+                    }
+                })
+                .subscribe();
+    }
+
+    /**
+     * Evaluate a single check of a batch. A check that cannot be evaluated becomes an item with
+     * an error message and no confirmation record.
+     */
+    private Mono<BatchResult> evaluateCheck(UUID consentId, PsuResources psu, int index, PSDFundsConfirmationCheckDTO check) {
+        PSDAmountDTO amount = check.getInstructedAmount();
+        return evaluate(psu, accountReference(check.getAccount()), check.getCardNumber(), amount)
+                .map(fundsAvailable -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    FundsConfirmation entity = FundsConfirmation.builder()
+                            .id(TimeOrderedUuid.generate())
+                            .consentId(consentId)
+                            .accountReference(accountReference(check.getAccount()))
+                            .cardNumber(maskCardNumber(check.getCardNumber()))
+                            .amount(amount.getAmount())
+                            .currency(amount.getCurrency())
+                            .fundsAvailable(fundsAvailable)
+                            .confirmationDateTime(now)
+                            .createdAt(now)
+                            .newConfirmation(true)
+                            .build();
+                    PSDFundsConfirmationBatchItemDTO item = PSDFundsConfirmationBatchItemDTO.builder()
+                            .index(index)
+                            .fundsConfirmationId(entity.getId())
+                            .fundsAvailable(fundsAvailable)
+                            .confirmationDateTime(now)
+                            .build();
+                    return new BatchResult(item, entity);
+                })
+                .onErrorResume(e -> {
+                    log.debug("Funds check {} of batch could not be evaluated: {}", index, e.getMessage());
+                    return Mono.just(new BatchResult(PSDFundsConfirmationBatchItemDTO.builder()
+                            .index(index)
+                            .errorMessage(e.getMessage())
+                            .build(), null));
+                });
+    }
+
+    /**
+     * Check whether an amount is covered by the available balance of an account or card.
+     *
+     * @return A Mono of true if the funds are available
+     */
+    private Mono<Boolean> evaluate(PsuResources psu, String accountReference, String cardNumber, PSDAmountDTO amount) {
+        if (amount == null || amount.getAmount() == null || amount.getCurrency() == null) {
+            return Mono.error(new IllegalArgumentException("Instructed amount and currency are required"));
+        }
+
+        Mono<AvailableBalanceCache.Snapshot> snapshot;
+        if (accountReference != null) {
+            snapshot = resolveAccountId(psu, accountReference)
+                    .flatMap(accountId -> availableBalanceCache.getSnapshot(accountReference, accountId));
+        } else if (cardNumber != null && !cardNumber.isBlank()) {
+            snapshot = resolveCardId(psu, cardNumber).flatMap(availableBalanceCache::getCardSnapshot);
+        } else {
+            return Mono.error(new IllegalArgumentException("Account reference or card number is required"));
+        }
+
+        return snapshot.flatMap(balance -> {
+            if (!amount.getCurrency().equals(balance.currency())) {
+                return Mono.error(new IllegalArgumentException(
+                        "Instructed currency does not match the account currency"));
+            }
+            return Mono.just(balance.available().compareTo(amount.getAmount()) >= 0);
+        });
+    }
+
+    /**
+     * Resolve the account service ID of an account reference among the accounts of the consent's PSU.
+     * Resolutions are remembered per consent, so only the first check of an account pays for the lookup.
+     */
+    private Mono<UUID> resolveAccountId(PsuResources psu, String accountReference) {
+        AccountKey key = new AccountKey(psu.consentId(), accountReference);
+        UUID accountId = accountIds.get(key);
+        if (accountId != null) {
+            return Mono.just(accountId);
+        }
+        return psu.accounts()
+                .flatMapIterable(accounts -> accounts)
+                .filter(account -> accountReference.equals(account.getIban()) || accountReference.equals(account.getBban()))
+                .next()
+                .map(PSDAccountDTO::getResourceId)
+                .doOnNext(resolved -> remember(key, resolved))
+                .switchIfEmpty(Mono.error(new PSDResourceUnknownException(
+                        "Account not found for consent: " + accountReference)));
+    }
+
+    /**
+     * Resolve the card service ID of a card number among the cards of the consent's PSU,
+     * by matching it against the masked PAN of each card.
+     */
+    private Mono<UUID> resolveCardId(PsuResources psu, String cardNumber) {
+        AccountKey key = new AccountKey(psu.consentId(), CARD_PREFIX + sha256(cardNumber));
+        UUID cardId = accountIds.get(key);
+        if (cardId != null) {
+            return Mono.just(cardId);
+        }
+        return psu.cards()
+                .flatMapIterable(cards -> cards)
+                .filter(card -> matchesMaskedPan(card.getMaskedPan(), cardNumber))
+                .next()
+                .map(PSDCardAccountDTO::getResourceId)
+                .doOnNext(resolved -> remember(key, resolved))
+                .switchIfEmpty(Mono.error(new PSDResourceUnknownException(
+                        "Card not found for consent: " + maskCardNumber(cardNumber))));
+    }
+
+    private void remember(AccountKey key, UUID resolved) {
+        if (accountIds.size() >= maxAccounts) {
+            accountIds.clear();
+        }
+        accountIds.put(key, resolved);
+    }
+
+    /**
+     * Load the PSU of a consent and its accounts and cards at most once per request.
+     */
+    private PsuResources psuResources(UUID consentId) {
+        Mono<UUID> partyId = consentService.getConsent(consentId)
+                .map(PSDConsentDTO::getPartyId)
+                .cache();
+        return new PsuResources(consentId,
+                partyId.flatMap(id -> accountServicePort.getAccountsByPartyId(id).collectList()).cache(),
+                partyId.flatMap(id -> cardServicePort.getCardAccountsByPartyId(id).collectList()).cache());
+    }
+
+    private void record(PSDFundsConfirmationDTO confirmation) {
+        FundsConfirmation entity = fundsConfirmationMapper.toEntity(confirmation);
+        entity.setCardNumber(maskCardNumber(confirmation.getCardNumber()));
+        entity.setCreatedAt(confirmation.getConfirmationDateTime());
+        entity.setNewConfirmation(true);
+        unflushedConfirmations.put(entity.getId(), entity);
+        pendingConfirmations.offer(entity);
+    }
+
+    /**
+     * Write the confirmations of a batch with a single repository call.
+     */
+    private void persistBatch(List<FundsConfirmation> confirmations) {
+        if (confirmations.isEmpty()) {
+            return;
+        }
+        List<FundsConfirmation> batch = List.copyOf(confirmations);
+        fundsConfirmationRepository.saveAll(batch)
+                .then()
+                .onErrorResume(e -> {
+                    log.error("Failed to persist {} funds confirmations of batch", batch.size(), e);
+                    return Mono.empty();
+                })
+                .doFinally(signal -> batch.forEach(saved -> unflushedConfirmations.remove(saved.getId())))
+                .subscribe();
+    }
+
+    private static String accountReference(PSDAccountReferenceDTO account) {
+        if (account == null) {
+            return null;
+        }
+        return account.getIban() != null ? account.getIban() : account.getBban();
+    }
+
+    private static boolean matchesMaskedPan(String maskedPan, String cardNumber) {
+        if (maskedPan == null || maskedPan.length() != cardNumber.length()) {
+            return false;
+        }
+        for (int i = 0; i < maskedPan.length(); i++) {
+            char masked = maskedPan.charAt(i);
+            if (masked != '*' && masked != 'X' && masked != cardNumber.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String maskCardNumber(String cardNumber) {
+        if (cardNumber == null) {
+            return null;
+        }
+        if (cardNumber.length() < 12) {
+            return "*".repeat(cardNumber.length());
+        }
+        return cardNumber.substring(0, 6) + "*".repeat(cardNumber.length() - 10) + cardNumber.substring(cardNumber.length() - 4);
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record AccountKey(UUID consentId, String accountReference) {
+    }
+
+    private record PsuResources(UUID consentId, Mono<List<PSDAccountDTO>> accounts, Mono<List<PSDCardAccountDTO>> cards) {
+    }
+
+    private record BatchResult(PSDFundsConfirmationBatchItemDTO item, FundsConfirmation entity) {
+    }
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.banking.psdx.interfaces.services.IdempotencyService;
+import com.firefly.core.banking.psdx.models.entities.IdempotencyKey;
+import com.firefly.core.banking.psdx.models.repositories.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the IdempotencyService interface.
+ * Results are kept in an in-memory front for constant-time replay and for joining in-flight
+ * duplicates, and in the idempotency_keys table so that retries are recognized across
+ * instances and restarts. Keys are scoped to the TPP, and the fingerprint covers the TPP, the
+ * consent and the request body, so a request ID cannot replay a result across TPPs or consents.
+ * A key being executed is only held for a short lease, so a key left pending by a crashed
+ * instance or a response that could not be stored is taken over by a retry after the lease.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final String COMPLETED = "COMPLETED";
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration pendingLease;
+    private final int maxCachedEntries;
+    private final ConcurrentMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for IdempotencyServiceImpl.
+     *
+     * @param idempotencyKeyRepository The idempotency key repository
+     * @param objectMapper The object mapper used to fingerprint requests and store responses
+     * @param ttlHours How long a request ID is remembered
+     * @param pendingLeaseSeconds How long a request ID being executed is held before a retry may take it over
+     * @param maxCachedEntries The maximum number of results kept in memory
+     */
+    public IdempotencyServiceImpl(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            ObjectMapper objectMapper,
+            @Value("${psdx.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${psdx.idempotency.pending-lease-seconds:60}") long pendingLeaseSeconds,
+            @Value("${psdx.idempotency.max-cached-entries:100000}") int maxCachedEntries) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.pendingLease = Duration.ofSeconds(pendingLeaseSeconds);
+        this.maxCachedEntries = maxCachedEntries;
+    }
+
+    @Override
+    public <T> Mono<T> execute(String thirdPartyId, UUID consentId, String requestId, Object requestBody,
+                               Class<T> responseType, Supplier<Mono<T>> operation) {
+        if (requestId == null || requestId.isBlank()) {
+            return Mono.defer(operation);
+        }
+
+        String tppIdHash = sha256(thirdPartyId != null ? thirdPartyId.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+        UUID id = UUID.nameUUIDFromBytes((tppIdHash + ":" + requestId).getBytes(StandardCharsets.UTF_8));
+        String fingerprint;
+        try {
+            fingerprint = sha256((tppIdHash + ":" + consentId + ":").getBytes(StandardCharsets.UTF_8),
+                    objectMapper.writeValueAsBytes(requestBody));
+        } catch (JsonProcessingException e) {
+            return Mono.error(new IllegalArgumentException("Request body cannot be fingerprinted", e));
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(id);
+        if (entry != null && entry.expiresAt < now) {
+            entries.remove(id, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            Entry created = new Entry(id, fingerprint, now + ttl.toMillis(),
+                    () -> executeOnce(id, tppIdHash, requestId, fingerprint, responseType, operation).cast(Object.class));
+            entry = entries.putIfAbsent(id, created);
+            if (entry == null) {
+                entry = created;
+            } else {
+                log.debug("Joining in-flight request with X-Request-ID: {}", requestId);
+            }
+        } else {
+            log.debug("Replaying result for X-Request-ID: {}", requestId);
+        }
+
+        if (!entry.fingerprint.equals(fingerprint)) {
+            return Mono.error(new IllegalStateException("X-Request-ID has already been used for a different request"));
+        }
+        return entry.result.cast(responseType);
+    }
+
+    /**
+     * Remove expired keys from memory and from the database.
+     */
+    @Scheduled(fixedDelayString = "${psdx.idempotency.cleanup-interval-ms:300000}")
+    public void cleanupExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt < now);
+        idempotencyKeyRepository.deleteExpired(LocalDateTime.now())
+                .subscribe(
+                        deleted -> log.debug("Deleted {} expired idempotency keys", deleted),
+                        e -> log.error("Failed to delete expired idempotency keys", e));
+    }
+
+    /**
+     * Resolve a key that is not in memory, executing the operation only if no other
+     * instance holds the key. The key is released if the operation fails, completes empty
+     * or is cancelled.
+     */
+    private <T> Mono<T> executeOnce(UUID id, String tppIdHash, String requestId, String fingerprint,
+                                    Class<T> responseType, Supplier<Mono<T>> operation) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseCutoff = now.minus(pendingLease);
+        return idempotencyKeyRepository.findById(id)
+                .filter(stored -> stored.getExpiresAt().isAfter(now) && !isLeaseExpired(stored, leaseCutoff))
+                .flatMap(stored -> replayStored(stored, fingerprint, responseType))
+                .switchIfEmpty(Mono.defer(() -> idempotencyKeyRepository
+                        .claim(id, tppIdHash, requestId, fingerprint, now, now.plus(ttl), leaseCutoff)
+                        .flatMap(claimed -> {
+                            if (claimed == 0) {
+                                return Mono.error(new IllegalStateException(
+                                        "A request with this X-Request-ID is already being processed"));
+                            }
+                            return operation.get()
+                                    .doOnCancel(() -> release(id).subscribe())
+                                    .onErrorResume(e -> release(id).then(Mono.error(e)))
+                                    .switchIfEmpty(Mono.defer(() -> release(id).then(Mono.empty())))
+                                    .flatMap(result -> store(id, result).thenReturn(result));
+                        })));
+    }
+
+    private static boolean isLeaseExpired(IdempotencyKey stored, LocalDateTime leaseCutoff) {
+        return !COMPLETED.equals(stored.getStatus())
+                && stored.getCreatedAt() != null && stored.getCreatedAt().isBefore(leaseCutoff);
+    }
+
+    private <T> Mono<T> replayStored(IdempotencyKey stored, String fingerprint, Class<T> responseType) {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            return Mono.error(new IllegalStateException("X-Request-ID has already been used for a different request"));
+        }
+        if (!COMPLETED.equals(stored.getStatus())) {
+            return Mono.error(new IllegalStateException("A request with this X-Request-ID is already being processed"));
+        }
+        try {
+            return Mono.just(objectMapper.readValue(stored.getResponseBody(), responseType));
+        } catch (JsonProcessingException e) {
+            return Mono.error(new IllegalStateException("Stored response cannot be replayed", e));
+        }
+    }
+
+    private Mono<Void> store(UUID id, Object result) {
+        try {
+            return idempotencyKeyRepository.complete(id, objectMapper.writeValueAsString(result))
+                    .then()
+                    .onErrorResume(e -> {
+                        log.error("Failed to store idempotent response for key: {}", id, e);
+                        return Mono.empty();
+                    });
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize idempotent response for key: {}", id, e);
+            return Mono.empty();
+        }
+    }
+
+    private Mono<Void> release(UUID id) {
+        return idempotencyKeyRepository.deleteById(id)
+                .onErrorResume(e -> {
+                    log.error("Failed to release idempotency key: {}", id, e);
+                    return Mono.empty();
+                });
+    }
+
+    private static String sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * In-memory state of a key: the shared result of the original execution.
+     * Failed executions are forgotten so that a retry can execute again.
+     */
+    private final class Entry {
+        private final String fingerprint;
+        private final long expiresAt;
+        private final Mono<Object> result;
+
+        private Entry(UUID id, String fingerprint, long expiresAt, Supplier<Mono<Object>> execution) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+            this.result = Mono.defer(execution)
+                    .doOnError(e -> entries.remove(id, this))
+                    .doOnSuccess(value -> {
+                        if (value == null || entries.size() > maxCachedEntries) {
+                            entries.remove(id, this);
+                        }
+                    })
+                    .cache();
+        }
+    }
+}
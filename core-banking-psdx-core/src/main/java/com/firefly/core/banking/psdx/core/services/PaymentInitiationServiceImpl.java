@@ -17,17 +17,37 @@
 
 package com.firefly.core.banking.psdx.core.services;
 
+import com.firefly.core.banking.psdx.core.cache.AvailableBalanceCache;
+import com.firefly.core.banking.psdx.core.events.PaymentStatusEventBus;
+import com.firefly.core.banking.psdx.core.mappers.PaymentMapper;
 import com.firefly.core.banking.psdx.core.ports.PaymentServicePort;
+import com.firefly.core.banking.psdx.core.ports.SCAServicePort;
+import com.firefly.core.banking.psdx.core.sca.ScaDecision;
+import com.firefly.core.banking.psdx.core.sca.ScaExemptionRequest;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBulkPaymentInitiationRequestDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBulkPaymentItemStatusDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentInitiationRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentStatusDTO;
 import com.firefly.core.banking.psdx.interfaces.services.ConsentService;
 import com.firefly.core.banking.psdx.interfaces.services.PaymentInitiationService;
+import com.firefly.core.banking.psdx.models.entities.Payment;
+import com.firefly.core.banking.psdx.models.repositories.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -38,8 +58,32 @@ import java.util.UUID;
 @Slf4j
 public class PaymentInitiationServiceImpl implements PaymentInitiationService {
 
+    private static final String REJECTED = "RJCT";
+    private static final String CANCELLED = "CANC";
+    private static final Set<String> FINAL_STATUSES = Set.of("ACSC", REJECTED, CANCELLED);
+
     private final PaymentServicePort paymentServicePort;
     private final ConsentService consentService;
+    private final SCAServicePort scaServicePort;
+    private final PaymentRepository paymentRepository;
+    private final PaymentMapper paymentMapper;
+    private final PaymentStatusEventBus paymentStatusEventBus;
+    private final AvailableBalanceCache availableBalanceCache;
+
+    @Value("${psdx.payments.bulk.concurrency:16}")
+    private int bulkConcurrency = 16;
+
+    @Value("${psdx.payments.bulk.persist-batch-size:100}")
+    private int bulkPersistBatchSize = 100;
+
+    @Value("${psdx.payments.status.max-staleness-seconds:5}")
+    private long statusMaxStalenessSeconds = 5;
+
+    @Value("${psdx.payments.status.push.stream-timeout-seconds:300}")
+    private long statusStreamTimeoutSeconds = 300;
+
+    @Value("${psdx.payments.status.push.max-wait-seconds:30}")
+    private long statusMaxWaitSeconds = 30;
 
     @Override
     public Mono<PSDPaymentDTO> initiatePayment(UUID consentId, PSDPaymentInitiationRequestDTO paymentRequest) {
@@ -51,11 +95,51 @@ public class PaymentInitiationServiceImpl implements PaymentInitiationService {
                         return Mono.error(new IllegalArgumentException("Invalid or expired consent"));
                     }
 
-                    return paymentServicePort.initiatePayment(paymentRequest)
+                    Mono<UUID> partyId = consentService.getConsent(consentId).mapNotNull(PSDConsentDTO::getPartyId);
+                    return evaluateExemption(partyId, paymentRequest)
+                            .flatMap(decision -> paymentServicePort.initiatePayment(paymentRequest)
+                                    .doOnNext(payment -> payment.setScaRequired(decision.scaRequired())))
+                            .doOnNext(payment -> availableBalanceCache.invalidate(accountIdentifier(paymentRequest.getDebtorAccount())))
+                            .flatMap(payment -> paymentRepository.save(toNewEntity(payment, consentId, null))
+                                    .doOnError(e -> log.error("Failed to store payment with ID: {}", payment.getPaymentId(), e))
+                                    .onErrorResume(e -> Mono.empty())
+                                    .thenReturn(payment))
                             .doOnSuccess(payment -> log.info("Payment initiated with ID: {}", payment.getPaymentId()));
                 });
     }
 
+    @Override
+    public Flux<PSDBulkPaymentItemStatusDTO> initiateBulkPayment(UUID consentId, PSDBulkPaymentInitiationRequestDTO bulkRequest) {
+        log.debug("Initiating bulk of {} payments using consent ID: {}", bulkRequest.getPayments().size(), consentId);
+
+        return consentService.validateConsent(consentId, "PAYMENT", "WRITE")
+                .flatMapMany(isValid -> {
+                    if (!isValid) {
+                        return Flux.error(new IllegalArgumentException("Invalid or expired consent"));
+                    }
+
+                    UUID bulkId = UUID.randomUUID();
+                    Mono<UUID> partyId = consentService.getConsent(consentId)
+                            .mapNotNull(PSDConsentDTO::getPartyId)
+                            .cache();
+                    List<PSDPaymentInitiationRequestDTO> payments = bulkRequest.getPayments();
+                    String bulkDebtorAccount = accountIdentifier(payments.getFirst().getDebtorAccount());
+                    Set<String> endToEndIds = new HashSet<>();
+
+                    return Flux.range(0, payments.size())
+                            .map(index -> {
+                                PSDPaymentInitiationRequestDTO payment = payments.get(index);
+                                String error = validateBulkItem(payment, bulkDebtorAccount, endToEndIds);
+                                return new BulkItem(index, payment, error);
+                            })
+                            .flatMap(item -> processBulkItem(consentId, bulkId, partyId, item), bulkConcurrency)
+                            .bufferTimeout(bulkPersistBatchSize, Duration.ofMillis(50))
+                            .concatMap(results -> persistBulkResults(bulkId, results))
+                            .doOnComplete(() -> availableBalanceCache.invalidate(bulkDebtorAccount))
+                            .doOnComplete(() -> log.info("Bulk {} of {} payments processed", bulkId, payments.size()));
+                });
+    }
+
     @Override
     public Mono<PSDPaymentStatusDTO> getPaymentStatus(UUID consentId, UUID paymentId) {
         log.debug("Getting status for payment ID: {} using consent ID: {}", paymentId, consentId);
@@ -66,9 +150,48 @@ public class PaymentInitiationServiceImpl implements PaymentInitiationService {
                         return Mono.error(new IllegalArgumentException("Invalid or expired consent"));
                     }
 
-                    return paymentServicePort.getPaymentStatus(paymentId)
+                    return readPaymentStatus(consentId, paymentId)
                             .doOnSuccess(status -> log.debug("Retrieved status for payment ID: {}: {}",
-                                    paymentId, status.getStatus()));
+                                    paymentId, status != null ? status.getStatus() : null));
+                });
+    }
+
+    @Override
+    public Flux<PSDPaymentStatusDTO> streamPaymentStatus(UUID consentId, UUID paymentId, String thirdPartyId) {
+        log.debug("Streaming status for payment ID: {} using consent ID: {}", paymentId, consentId);
+
+        return consentService.validateConsent(consentId, "PAYMENT", "READ")
+                .flatMapMany(isValid -> {
+                    if (!isValid) {
+                        return Flux.error(new IllegalArgumentException("Invalid or expired consent"));
+                    }
+
+                    return watchPaymentStatus(consentId, paymentId, thirdPartyId)
+                            .take(Duration.ofSeconds(statusStreamTimeoutSeconds));
+                });
+    }
+
+    @Override
+    public Mono<PSDPaymentStatusDTO> awaitPaymentStatus(UUID consentId, UUID paymentId, String lastKnownStatus,
+                                                       Duration timeout, String thirdPartyId) {
+        log.debug("Waiting for status change of payment ID: {} from {} using consent ID: {}",
+                paymentId, lastKnownStatus, consentId);
+        Duration maxWait = Duration.ofSeconds(statusMaxWaitSeconds);
+        Duration wait = timeout == null || timeout.compareTo(maxWait) > 0 ? maxWait : timeout;
+
+        return consentService.validateConsent(consentId, "PAYMENT", "READ")
+                .flatMap(isValid -> {
+                    if (!isValid) {
+                        return Mono.error(new IllegalArgumentException("Invalid or expired consent"));
+                    }
+
+                    // On timeout the unchanged current status is returned and the TPP polls again.
+                    // A status that is already final ends the watch without a change, so it is returned at once.
+                    return watchPaymentStatus(consentId, paymentId, thirdPartyId)
+                            .filter(status -> !Objects.equals(lastKnownStatus, status.getTransactionStatus()))
+                            .next()
+                            .timeout(wait, Mono.defer(() -> readPaymentStatus(consentId, paymentId)))
+                            .switchIfEmpty(Mono.defer(() -> readPaymentStatus(consentId, paymentId)));
                 });
     }
 
@@ -82,7 +205,12 @@ public class PaymentInitiationServiceImpl implements PaymentInitiationService {
                         return Mono.error(new IllegalArgumentException("Invalid or expired consent"));
                     }
 
-                    return paymentServicePort.getPayment(paymentId)
+                    return paymentRepository.findById(paymentId)
+                            .filter(payment -> isFresh(payment, consentId))
+                            .map(paymentMapper::toDto)
+                            .switchIfEmpty(Mono.defer(() -> paymentServicePort.getPayment(paymentId)
+                                    .flatMap(payment -> refreshStatus(paymentId, payment.getTransactionStatus())
+                                            .thenReturn(payment))))
                             .doOnSuccess(payment -> log.debug("Retrieved payment with ID: {}", paymentId));
                 });
     }
@@ -101,13 +229,16 @@ public class PaymentInitiationServiceImpl implements PaymentInitiationService {
                             .flatMap(result -> {
                                 if (result) {
                                     log.info("Payment with ID: {} cancelled successfully", paymentId);
-                                    // Get the updated payment after cancellation
-                                    return paymentServicePort.getPayment(paymentId)
-                                            .map(payment -> {
-                                                // Update the status to CANC
-                                                payment.setTransactionStatus("CANC");
-                                                return payment;
-                                            });
+                                    // The cancellation is confirmed, so the stored payment only needs its status updated
+                                    return refreshStatus(paymentId, CANCELLED)
+                                            .then(paymentRepository.findById(paymentId))
+                                            .doOnNext(payment -> availableBalanceCache.invalidate(payment.getDebtorAccount()))
+                                            .map(paymentMapper::toDto)
+                                            .defaultIfEmpty(PSDPaymentDTO.builder()
+                                                    .paymentId(paymentId)
+                                                    .consentId(consentId)
+                                                    .transactionStatus(CANCELLED)
+                                                    .build());
                                 } else {
                                     log.warn("Failed to cancel payment with ID: {}", paymentId);
                                     return Mono.error(new IllegalStateException("Failed to cancel payment"));
@@ -127,7 +258,258 @@ public class PaymentInitiationServiceImpl implements PaymentInitiationService {
                     }
 
                     return paymentServicePort.authorizePayment(paymentId, authorizationCode)
+                            .doOnNext(payment -> availableBalanceCache.invalidate(debtorAccount(payment)))
+                            .flatMap(payment -> refreshStatus(paymentId, payment.getTransactionStatus())
+                                    .then(recordAuthentication(consentId))
+                                    .thenReturn(payment))
                             .doOnSuccess(payment -> log.info("Payment with ID: {} authorized successfully", paymentId));
                 });
     }
+
+    /**
+     * Reset the SCA exemption limits of the consent's PSU after it authenticated a payment.
+     * A failure only delays the reset, so it does not fail the authorization.
+     */
+    private Mono<Void> recordAuthentication(UUID consentId) {
+        return consentService.getConsent(consentId)
+                .mapNotNull(PSDConsentDTO::getPartyId)
+                .flatMap(scaServicePort::recordAuthentication)
+                .onErrorResume(e -> {
+                    log.warn("Failed to record SCA for consent ID: {}: {}", consentId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Read the current status of a payment, from the read model if it is fresh enough.
+     */
+    private Mono<PSDPaymentStatusDTO> readPaymentStatus(UUID consentId, UUID paymentId) {
+        return paymentRepository.findById(paymentId)
+                .filter(payment -> isFresh(payment, consentId))
+                .map(this::toStatus)
+                .switchIfEmpty(Mono.defer(() -> paymentServicePort.getPaymentStatus(paymentId)
+                        .flatMap(status -> refreshStatus(paymentId, status.getTransactionStatus())
+                                .thenReturn(status))));
+    }
+
+    /**
+     * Follow the status of a payment: the current status first, then every change published on the
+     * event bus, until a final status is reached.
+     * The bus subscription is made before the current status is read, so no change is missed in between.
+     */
+    private Flux<PSDPaymentStatusDTO> watchPaymentStatus(UUID consentId, UUID paymentId, String thirdPartyId) {
+        Mono<PSDPaymentStatusDTO> poll = Mono.defer(() -> paymentServicePort.getPaymentStatus(paymentId))
+                .flatMap(status -> refreshStatus(paymentId, status.getTransactionStatus()).thenReturn(status));
+        return Flux.merge(
+                        paymentStatusEventBus.subscribe(thirdPartyId, paymentId, poll),
+                        readPaymentStatus(consentId, paymentId))
+                .distinctUntilChanged(PSDPaymentStatusDTO::getTransactionStatus)
+                .takeUntil(status -> FINAL_STATUSES.contains(status.getTransactionStatus()));
+    }
+
+    /**
+     * Run a single bulk item through SCA exemption evaluation and downstream initiation.
+     * Failures are reported as a rejected item instead of failing the whole bulk.
+     */
+    private Mono<BulkItemResult> processBulkItem(UUID consentId, UUID bulkId, Mono<UUID> partyId, BulkItem item) {
+        if (item.error() != null) {
+            return Mono.just(new BulkItemResult(rejected(bulkId, item, item.error()), null));
+        }
+
+        return evaluateExemption(partyId, item.request())
+                .flatMap(decision -> paymentServicePort.initiatePayment(item.request())
+                        .map(payment -> {
+                            Payment entity = toNewEntity(payment, consentId, bulkId);
+                            PSDBulkPaymentItemStatusDTO status = PSDBulkPaymentItemStatusDTO.builder()
+                                    .bulkId(bulkId)
+                                    .index(item.index())
+                                    .paymentId(payment.getPaymentId())
+                                    .endToEndIdentification(payment.getEndToEndIdentification())
+                                    .transactionStatus(payment.getTransactionStatus())
+                                    .scaRequired(decision.scaRequired())
+                                    .build();
+                            return new BulkItemResult(status, entity);
+                        }))
+                .onErrorResume(e -> {
+                    log.warn("Failed to initiate payment {} of bulk {}: {}", item.index(), bulkId, e.getMessage());
+                    return Mono.just(new BulkItemResult(rejected(bulkId, item, e.getMessage()), null));
+                });
+    }
+
+    /**
+     * Decide whether a payment requires SCA, counting an applied low-value exemption towards the
+     * limits of the consent's PSU. Without a PSU the limits cannot be counted, so SCA is required.
+     */
+    private Mono<ScaDecision> evaluateExemption(Mono<UUID> partyId, PSDPaymentInitiationRequestDTO payment) {
+        PSDPaymentInitiationRequestDTO.PSDAmountDTO amount = payment.getInstructedAmount();
+        BigDecimal value = amount != null ? amount.getAmount() : null;
+        String currency = amount != null ? amount.getCurrency() : null;
+        return partyId
+                .flatMap(id -> scaServicePort.evaluateExemption(new ScaExemptionRequest(id, value, currency)))
+                .defaultIfEmpty(ScaDecision.REQUIRED);
+    }
+
+    /**
+     * Persist the initiated payments of a chunk of results with a single repository call.
+     * If the batch fails, the payments are stored one by one so that only the items that
+     * still cannot be stored report the failure.
+     */
+    private Flux<PSDBulkPaymentItemStatusDTO> persistBulkResults(UUID bulkId, List<BulkItemResult> results) {
+        List<Payment> entities = results.stream()
+                .map(BulkItemResult::entity)
+                .filter(Objects::nonNull)
+                .toList();
+        Flux<PSDBulkPaymentItemStatusDTO> statuses = Flux.fromIterable(results).map(BulkItemResult::status);
+        if (entities.isEmpty()) {
+            return statuses;
+        }
+        return paymentRepository.saveAll(entities)
+                .thenMany(statuses)
+                .onErrorResume(e -> {
+                    log.error("Failed to persist {} payments of bulk {}, storing them one by one", entities.size(), bulkId, e);
+                    return Flux.fromIterable(results).concatMap(result -> persistBulkItem(bulkId, result));
+                });
+    }
+
+    /**
+     * Store a single initiated payment of a bulk after the batch insert failed.
+     * Rows the batch already inserted are skipped. The payment was accepted by the payment service,
+     * so an item that cannot be stored keeps its status and reports the failure in its error message.
+     */
+    private Mono<PSDBulkPaymentItemStatusDTO> persistBulkItem(UUID bulkId, BulkItemResult result) {
+        Payment entity = result.entity();
+        if (entity == null) {
+            return Mono.just(result.status());
+        }
+        return paymentRepository.existsById(entity.getId())
+                .flatMap(exists -> exists ? Mono.just(entity) : paymentRepository.save(entity))
+                .thenReturn(result.status())
+                .onErrorResume(e -> {
+                    log.error("Failed to store payment with ID: {} of bulk {}", entity.getId(), bulkId, e);
+                    result.status().setErrorMessage("Payment initiated but could not be stored: " + e.getMessage());
+                    return Mono.just(result.status());
+                });
+    }
+
+    /**
+     * Convert a payment returned by the payment service into a read model row to insert.
+     */
+    private Payment toNewEntity(PSDPaymentDTO payment, UUID consentId, UUID bulkId) {
+        LocalDateTime now = LocalDateTime.now();
+        Payment entity = paymentMapper.toEntity(payment);
+        entity.setConsentId(consentId);
+        entity.setBulkId(bulkId);
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        entity.setNewPayment(true);
+        return entity;
+    }
+
+    /**
+     * Check whether a stored payment can answer a request without asking the payment service.
+     * Final statuses never change; other statuses are trusted for the configured staleness bound.
+     */
+    private boolean isFresh(Payment payment, UUID consentId) {
+        if (!consentId.equals(payment.getConsentId()) || payment.getTransactionStatus() == null) {
+            return false;
+        }
+        if (FINAL_STATUSES.contains(payment.getTransactionStatus())) {
+            return true;
+        }
+        return payment.getUpdatedAt() != null
+                && payment.getUpdatedAt().isAfter(LocalDateTime.now().minusSeconds(statusMaxStalenessSeconds));
+    }
+
+    private PSDPaymentStatusDTO toStatus(Payment payment) {
+        return PSDPaymentStatusDTO.builder()
+                .paymentId(payment.getId())
+                .transactionStatus(payment.getTransactionStatus())
+                .status(payment.getTransactionStatus())
+                .statusUpdateDateTime(payment.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Record a status reported by the payment service in the read model.
+     * Payments that were not initiated through this service are not stored, so the update is a no-op for them.
+     */
+    private Mono<Void> refreshStatus(UUID paymentId, String transactionStatus) {
+        if (transactionStatus == null) {
+            return Mono.empty();
+        }
+        return paymentRepository.updateTransactionStatus(paymentId, transactionStatus, LocalDateTime.now())
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Failed to refresh stored status for payment ID: {}", paymentId, e);
+                    return Mono.empty();
+                })
+                .doOnSuccess(done -> publishStatus(paymentId, transactionStatus));
+    }
+
+    /**
+     * Notify the subscribers of a payment about a status reported by the payment service.
+     */
+    private void publishStatus(UUID paymentId, String transactionStatus) {
+        paymentStatusEventBus.publish(PSDPaymentStatusDTO.builder()
+                .paymentId(paymentId)
+                .transactionStatus(transactionStatus)
+                .status(transactionStatus)
+                .statusUpdateDateTime(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Check a bulk item against the rules that span the whole bulk.
+     *
+     * @return The reason the item is rejected, or null if it is valid
+     */
+    private static String validateBulkItem(PSDPaymentInitiationRequestDTO payment, String bulkDebtorAccount,
+                                           Set<String> endToEndIds) {
+        PSDPaymentInitiationRequestDTO.PSDAmountDTO amount = payment.getInstructedAmount();
+        if (amount == null || amount.getAmount() == null || amount.getAmount().compareTo(BigDecimal.ZERO) <= 0
+                || amount.getCurrency() == null) {
+            return "Instructed amount must be a positive amount with a currency";
+        }
+        if (!Objects.equals(bulkDebtorAccount, accountIdentifier(payment.getDebtorAccount()))) {
+            return "Debtor account differs from the bulk debtor account";
+        }
+        if (accountIdentifier(payment.getCreditorAccount()) == null) {
+            return "Creditor account is required";
+        }
+        if (payment.getEndToEndIdentification() != null && !endToEndIds.add(payment.getEndToEndIdentification())) {
+            return "Duplicate end-to-end identification in bulk";
+        }
+        return null;
+    }
+
+    private static String debtorAccount(PSDPaymentDTO payment) {
+        PSDPaymentDTO.PSDAccountReferenceDTO account = payment.getDebtorAccount();
+        if (account == null) {
+            return null;
+        }
+        return account.getIban() != null ? account.getIban() : account.getBban();
+    }
+
+    private static String accountIdentifier(PSDPaymentInitiationRequestDTO.PSDAccountReferenceDTO account) {
+        if (account == null) {
+            return null;
+        }
+        return account.getIban() != null ? account.getIban() : account.getBban();
+    }
+
+    private static PSDBulkPaymentItemStatusDTO rejected(UUID bulkId, BulkItem item, String errorMessage) {
+        return PSDBulkPaymentItemStatusDTO.builder()
+                .bulkId(bulkId)
+                .index(item.index())
+                .endToEndIdentification(item.request().getEndToEndIdentification())
+                .transactionStatus(REJECTED)
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    private record BulkItem(int index, PSDPaymentInitiationRequestDTO request, String error) {
+    }
+
+    private record BulkItemResult(PSDBulkPaymentItemStatusDTO status, Payment entity) {
+    }
 }
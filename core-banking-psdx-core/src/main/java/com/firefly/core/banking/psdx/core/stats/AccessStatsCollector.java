@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.stats;
+
+import com.firefly.core.banking.psdx.interfaces.enums.AccessStatus;
+import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
+import com.firefly.core.banking.psdx.models.repositories.AccessStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collector maintaining the per-minute access statistics.
+ * Every logged access is counted in memory in the bucket of its minute, TPP, resource type and
+ * status. The counts are added to the access_stats_minute rollups on a fixed delay, so the
+ * statistics cost one upsert per bucket and flush instead of a query over access_logs.
+ * Counts that fail to be written are kept and retried with the next flush.
+ */
+@Component
+@Slf4j
+public class AccessStatsCollector {
+
+    private static final long[] LATENCY_BOUNDS_MS = AccessStatsRepository.LATENCY_BOUNDS_MS.stream()
+            .mapToLong(Long::longValue)
+            .toArray();
+
+    private final AccessStatsRepository accessStatsRepository;
+    private final ConcurrentMap<BucketKey, Counts> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    /**
+     * Constructor for AccessStatsCollector.
+     *
+     * @param accessStatsRepository The repository of the rollups
+     */
+    public AccessStatsCollector(AccessStatsRepository accessStatsRepository) {
+        this.accessStatsRepository = accessStatsRepository;
+    }
+
+    /**
+     * Count a logged access.
+     *
+     * @param thirdPartyId The ID of the third party provider
+     * @param resourceType The type of resource accessed
+     * @param status The status of the access
+     * @param latency The time taken to serve the access, or null if unknown
+     */
+    public void record(String thirdPartyId, ResourceType resourceType, AccessStatus status, Duration latency) {
+        BucketKey key = new BucketKey(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES),
+                thirdPartyId, resourceType.name(), status.name());
+        boolean error = status != AccessStatus.SUCCESS;
+        pending.compute(key, (k, counts) -> {
+            Counts updated = counts != null ? counts : new Counts();
+            updated.add(error, latency);
+            return updated;
+        });
+    }
+
+    /**
+     * Add the pending counts to the rollups.
+     * A run is skipped while the previous flush of this node is still in progress.
+     */
+    @Scheduled(fixedDelayString = "${psdx.access-stats.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty() || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+        flushPending()
+                .doFinally(signal -> flushing.set(false))
+                .subscribe(
+                        count -> log.debug("Flushed {} access statistics buckets", count),
+                        e -> log.warn("Failed to flush access statistics: {}", e.getMessage()));
+    }
+
+    /**
+     * Add the pending counts to the rollups, one upsert per bucket.
+     * Each bucket is removed from memory before it is written and merged back if the write fails.
+     *
+     * @return A Mono of the number of buckets written
+     */
+    public Mono<Long> flushPending() {
+        return Mono.defer(() -> {
+            List<Map.Entry<BucketKey, Counts>> drained = new ArrayList<>(pending.size());
+            for (BucketKey key : pending.keySet()) {
+                Counts counts = pending.remove(key);
+                if (counts != null) {
+                    drained.add(Map.entry(key, counts));
+                }
+            }
+            return Flux.fromIterable(drained)
+                    .concatMap(entry -> write(entry.getKey(), entry.getValue()))
+                    .count();
+        });
+    }
+
+    private Mono<Integer> write(BucketKey key, Counts counts) {
+        return accessStatsRepository.addToBucket(key.bucketStart(), key.thirdPartyId(), key.resourceType(), key.status(),
+                        counts.requests, counts.errors, counts.latencyCount, counts.latencySumMs, counts.histogram())
+                .onErrorResume(e -> {
+                    log.warn("Failed to write access statistics for {}, retrying with the next flush: {}", key, e.getMessage());
+                    pending.merge(key, counts, Counts::merge);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Identity of a minute bucket.
+     */
+    record BucketKey(LocalDateTime bucketStart, String thirdPartyId, String resourceType, String status) {
+    }
+
+    /**
+     * Counts of a bucket since the last flush, only mutated while owned by the pending map.
+     */
+    static final class Counts {
+        private long requests;
+        private long errors;
+        private long latencyCount;
+        private long latencySumMs;
+        private final long[] buckets = new long[LATENCY_BOUNDS_MS.length + 1];
+
+        private void add(boolean error, Duration latency) {
+            requests++;
+            if (error) {
+                errors++;
+            }
+            if (latency != null) {
+                long millis = latency.toMillis();
+                latencyCount++;
+                latencySumMs += millis;
+                int bucket = 0;
+                while (bucket < LATENCY_BOUNDS_MS.length && millis > LATENCY_BOUNDS_MS[bucket]) {
+                    bucket++;
+                }
+                buckets[bucket]++;
+            }
+        }
+
+        private static Counts merge(Counts left, Counts right) {
+            left.requests += right.requests;
+            left.errors += right.errors;
+            left.latencyCount += right.latencyCount;
+            left.latencySumMs += right.latencySumMs;
+            for (int i = 0; i < left.buckets.length; i++) {
+                left.buckets[i] += right.buckets[i];
+            }
+            return left;
+        }
+
+        private Long[] histogram() {
+            Long[] histogram = new Long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                histogram[i] = buckets[i];
+            }
+            return histogram;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.adapters;
+
+import com.firefly.core.banking.psdx.core.cache.TransactionHistoryCache;
+import com.firefly.core.banking.psdx.core.ports.TransactionServicePort;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDTransactionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingTransactionServiceAdapterTest {
+
+    @Mock
+    private TransactionServicePort delegate;
+
+    private TransactionHistoryCache cache;
+    private CachingTransactionServiceAdapter adapter;
+
+    private final UUID ACCOUNT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @BeforeEach
+    void setUp() {
+        cache = new TransactionHistoryCache(1024 * 1024, false, null, 0);
+        Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        adapter = new CachingTransactionServiceAdapter(delegate, cache, clock);
+    }
+
+    @Test
+    void getTransactionsByAccountId_shouldServeHistoryFromCache_whenRequestedTwice() {
+        // Given
+        LocalDate from = TODAY.minusDays(5);
+        LocalDate to = TODAY.minusDays(1);
+        PSDTransactionDTO booked = transaction("booked", TODAY.minusDays(3), "12.34");
+        when(delegate.getTransactionsByAccountId(ACCOUNT_ID, from, to)).thenReturn(Flux.just(booked));
+        when(delegate.getNonBookedTransactionsByAccountId(ACCOUNT_ID, from, to)).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(adapter.getTransactionsByAccountId(ACCOUNT_ID, from, to))
+                .expectNext(booked)
+                .verifyComplete();
+
+        StepVerifier.create(adapter.getTransactionsByAccountId(ACCOUNT_ID, from, to))
+                .expectNextMatches(transaction -> transaction.getTransactionId().equals(booked.getTransactionId())
+                        && transaction.getTransactionAmount().getAmount().compareTo(new BigDecimal("12.34")) == 0)
+                .verifyComplete();
+
+        verify(delegate, times(1)).getTransactionsByAccountId(ACCOUNT_ID, from, to);
+    }
+
+    @Test
+    void getTransactionsByAccountId_shouldFetchOnlyTodayDownstream_whenHistoryIsCached() {
+        // Given
+        LocalDate from = TODAY.minusDays(2);
+        PSDTransactionDTO booked = transaction("booked", TODAY.minusDays(1), "50.00");
+        PSDTransactionDTO pending = transaction("pending", null, "7.50");
+        cache.putDay(ACCOUNT_ID, TODAY.minusDays(2), List.of());
+        cache.putDay(ACCOUNT_ID, TODAY.minusDays(1), List.of(booked));
+        when(delegate.getTransactionsByAccountId(ACCOUNT_ID, TODAY, TODAY)).thenReturn(Flux.just(pending));
+        when(delegate.getNonBookedTransactionsByAccountId(ACCOUNT_ID, from, TODAY.minusDays(1))).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(adapter.getTransactionsByAccountId(ACCOUNT_ID, from, TODAY))
+                .expectNextMatches(transaction -> transaction.getTransactionId().equals(booked.getTransactionId()))
+                .expectNext(pending)
+                .verifyComplete();
+
+        verify(delegate, never()).getTransactionsByAccountId(ACCOUNT_ID, from, TODAY.minusDays(1));
+    }
+
+    @Test
+    void getTransactionsByAccountId_shouldNotCachePending_whenFetchedWithHistory() {
+        // Given
+        LocalDate from = TODAY.minusDays(1);
+        LocalDate to = TODAY.minusDays(1);
+        PSDTransactionDTO pending = transaction("pending", null, "3.00");
+        when(delegate.getTransactionsByAccountId(ACCOUNT_ID, from, to)).thenReturn(Flux.just(pending));
+        when(delegate.getNonBookedTransactionsByAccountId(ACCOUNT_ID, from, to)).thenReturn(Flux.just(pending));
+
+        // When & Then
+        StepVerifier.create(adapter.getTransactionsByAccountId(ACCOUNT_ID, from, to))
+                .expectNext(pending)
+                .verifyComplete();
+
+        assertTrue(cache.getDays(ACCOUNT_ID, from, to).get(from).isEmpty());
+
+        StepVerifier.create(adapter.getTransactionsByAccountId(ACCOUNT_ID, from, to))
+                .expectNext(pending)
+                .verifyComplete();
+
+        verify(delegate, times(1)).getTransactionsByAccountId(ACCOUNT_ID, from, to);
+    }
+
+    private PSDTransactionDTO transaction(String status, LocalDate bookingDate, String amount) {
+        return PSDTransactionDTO.builder()
+                .transactionId(UUID.randomUUID())
+                .transactionStatus(status)
+                .bookingDate(bookingDate)
+                .valueDate(bookingDate)
+                .transactionAmount(PSDTransactionDTO.PSDAmountDTO.builder()
+                        .currency("EUR")
+                        .amount(new BigDecimal(amount))
+                        .build())
+                .creditorName("John Doe")
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.batching;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the MicroBatchLoader.
+ */
+class MicroBatchLoaderTest {
+
+    private static final Map<String, String> VALUES = Map.of("a", "a:1", "b", "b:2", "c", "c:3");
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void load_shouldResolveConcurrentLookupsWithOneBatch() {
+        // Given
+        MicroBatchLoader<String, String> loader = loader(Duration.ofMillis(20), 100);
+
+        // When & Then
+        StepVerifier.create(Mono.zip(loader.load("a"), loader.load("b"), loader.load("a"),
+                        loader.load("missing").defaultIfEmpty("none")))
+                .assertNext(results -> {
+                    assertEquals("a:1", results.getT1());
+                    assertEquals("b:2", results.getT2());
+                    assertEquals("a:1", results.getT3());
+                    assertEquals("none", results.getT4());
+                })
+                .verifyComplete();
+        assertEquals(List.of(List.of("a", "b", "missing")), batches);
+    }
+
+    @Test
+    void load_shouldDispatchImmediately_whenBatchIsFull() {
+        // Given
+        MicroBatchLoader<String, String> loader = loader(Duration.ofHours(1), 2);
+
+        // When & Then
+        StepVerifier.create(Mono.zip(loader.load("a"), loader.load("b")))
+                .assertNext(results -> assertEquals("b:2", results.getT2()))
+                .verifyComplete();
+        assertEquals(1, batches.size());
+    }
+
+    private MicroBatchLoader<String, String> loader(Duration window, int maxBatchSize) {
+        return new MicroBatchLoader<>(this::loadBatch, value -> value.substring(0, value.indexOf(':')), window, maxBatchSize);
+    }
+
+    private Flux<String> loadBatch(Collection<String> keys) {
+        batches.add(new ArrayList<>(keys));
+        return Flux.fromIterable(keys).filter(VALUES::containsKey).map(VALUES::get);
+    }
+}
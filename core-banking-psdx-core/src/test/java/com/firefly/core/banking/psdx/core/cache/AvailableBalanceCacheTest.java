@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.cache;
+
+import com.firefly.core.banking.psdx.core.ports.AccountServicePort;
+import com.firefly.core.banking.psdx.core.ports.CardServicePort;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBalanceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the AvailableBalanceCache.
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailableBalanceCacheTest {
+
+    private static final UUID ACCOUNT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+    private static final String IBAN = "DE89370400440532013000";
+
+    @Mock
+    private AccountServicePort accountServicePort;
+
+    @Mock
+    private CardServicePort cardServicePort;
+
+    private AvailableBalanceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AvailableBalanceCache(accountServicePort, cardServicePort, 60000, 1000);
+    }
+
+    @Test
+    void getSnapshot_shouldLoadOnce_untilInvalidated() {
+        // Given
+        when(accountServicePort.getBalancesByAccountId(ACCOUNT_ID)).thenReturn(Flux.just(
+                balance("closingBooked", "900.00", "CRDT"),
+                balance("interimAvailable", "750.00", "CRDT")));
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(cache.getSnapshot(IBAN, ACCOUNT_ID))
+                    .expectNextMatches(snapshot -> snapshot.available().compareTo(new BigDecimal("750.00")) == 0
+                            && "EUR".equals(snapshot.currency()))
+                    .verifyComplete();
+        }
+        verify(accountServicePort, times(1)).getBalancesByAccountId(ACCOUNT_ID);
+
+        cache.invalidate(IBAN);
+        StepVerifier.create(cache.getSnapshot(IBAN, ACCOUNT_ID))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(accountServicePort, times(2)).getBalancesByAccountId(ACCOUNT_ID);
+    }
+
+    @Test
+    void getSnapshot_shouldReturnNegativeBalance_whenAccountIsOverdrawn() {
+        // Given
+        when(accountServicePort.getBalancesByAccountId(ACCOUNT_ID)).thenReturn(Flux.just(
+                balance("expected", "120.00", "DBIT")));
+
+        // When & Then
+        StepVerifier.create(cache.getSnapshot(IBAN, ACCOUNT_ID))
+                .expectNextMatches(snapshot -> snapshot.available().compareTo(new BigDecimal("-120.00")) == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    void getBalances_shouldServeDecodedBalances_fromSnapshotLoad() {
+        // Given
+        when(accountServicePort.getBalancesByAccountId(ACCOUNT_ID)).thenReturn(Flux.just(
+                balance("closingBooked", "900.00", "CRDT"),
+                balance("interimAvailable", "750.00", "CRDT")));
+        cache.getSnapshot(IBAN, ACCOUNT_ID).block();
+
+        // When & Then
+        StepVerifier.create(cache.getBalances(IBAN, ACCOUNT_ID))
+                .expectNextMatches(balance -> "closingBooked".equals(balance.getBalanceType())
+                        && balance.getBalanceAmount().getAmount().compareTo(new BigDecimal("900.00")) == 0
+                        && "EUR".equals(balance.getBalanceAmount().getCurrency()))
+                .expectNextMatches(balance -> "interimAvailable".equals(balance.getBalanceType()))
+                .verifyComplete();
+        verify(accountServicePort, times(1)).getBalancesByAccountId(ACCOUNT_ID);
+    }
+
+    private static PSDBalanceDTO balance(String balanceType, String amount, String creditDebitIndicator) {
+        PSDBalanceDTO.PSDAmountDTO balanceAmount = new PSDBalanceDTO.PSDAmountDTO();
+        balanceAmount.setCurrency("EUR");
+        balanceAmount.setAmount(new BigDecimal(amount));
+        PSDBalanceDTO balance = new PSDBalanceDTO();
+        balance.setBalanceType(balanceType);
+        balance.setBalanceAmount(balanceAmount);
+        balance.setCreditDebitIndicator(creditDebitIndicator);
+        return balance;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.firefly.core.banking.psdx.core.cache;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBalanceDTO;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BalanceRecordCodecTest {
+
+    @Test
+    void decode_shouldReturnOriginalBalances_whenEncoded() {
+        // Given
+        PSDBalanceDTO full = PSDBalanceDTO.builder()
+                .balanceType("interimAvailable")
+                .balanceAmount(PSDBalanceDTO.PSDAmountDTO.builder()
+                        .currency("EUR")
+                        .amount(new BigDecimal("1234.56"))
+                        .build())
+                .creditDebitIndicator("CRDT")
+                .referenceDate(LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_000_000))
+                .lastCommittedTransaction("TX-42")
+                .build();
+        PSDBalanceDTO huge = PSDBalanceDTO.builder()
+                .balanceType("closingBooked")
+                .balanceAmount(PSDBalanceDTO.PSDAmountDTO.builder()
+                        .currency("EUR")
+                        .amount(new BigDecimal("123456789012345678901234567890.12"))
+                        .build())
+                .build();
+        PSDBalanceDTO empty = PSDBalanceDTO.builder().balanceType("expected").build();
+
+        // When
+        List<PSDBalanceDTO> decoded = BalanceRecordCodec.decode(
+                BalanceRecordCodec.encode(List.of(full, huge, empty), Arena.ofAuto()));
+
+        // Then
+        assertEquals(List.of(full, huge, empty), decoded);
+        assertNull(decoded.get(2).getBalanceAmount());
+    }
+
+    @Test
+    void decode_shouldRejectTransactionBlock() {
+        // Given
+        MemorySegment transactions = TransactionRecordCodec.encode(List.of(), Arena.ofAuto());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> BalanceRecordCodec.decode(transactions));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.cache;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDLinksDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDTransactionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransactionRecordCodecTest {
+
+    @Test
+    void decode_shouldReturnOriginalTransactions_whenEncoded() {
+        // Given
+        PSDTransactionDTO full = PSDTransactionDTO.builder()
+                .transactionId(UUID.fromString("550e8400-e29b-41d4-a716-446655440010"))
+                .endToEndId("E2E-1")
+                .transactionStatus("booked")
+                .bookingDate(LocalDate.of(2025, 3, 1))
+                .valueDate(LocalDate.of(2025, 3, 2))
+                .transactionAmount(PSDTransactionDTO.PSDAmountDTO.builder()
+                        .currency("EUR")
+                        .amount(new BigDecimal("-1234.50"))
+                        .build())
+                .creditorName("Jöhn Doe")
+                .creditorAccount(PSDTransactionDTO.PSDAccountReferenceDTO.builder()
+                        .iban("FR1420041010050500013M02606")
+                        .currency("EUR")
+                        .build())
+                .creditorAgent("BNPAFRPPXXX")
+                .remittanceInformationStructured(PSDTransactionDTO.PSDRemittanceDTO.builder()
+                        .reference("RF18539007547034")
+                        .referenceDate(LocalDate.of(2025, 2, 28))
+                        .build())
+                .bankTransactionCode("PMNT-RCDT-ESCT")
+                ._links(PSDLinksDTO.builder()
+                        .self(PSDLinksDTO.PSDLinkDTO.builder()
+                                .href("https://api.bank.com/v1/transactions/550e8400-e29b-41d4-a716-446655440010")
+                                .build())
+                        .account(PSDLinksDTO.PSDLinkDTO.builder()
+                                .href("https://api.bank.com/v1/accounts/12345")
+                                .build())
+                        .additionalLinks(Map.of("receipt", PSDLinksDTO.PSDLinkDTO.builder()
+                                .href("https://api.bank.com/v1/receipts/1")
+                                .build()))
+                        .build())
+                .build();
+        PSDTransactionDTO sparse = PSDTransactionDTO.builder()
+                .transactionStatus("booked")
+                .transactionAmount(PSDTransactionDTO.PSDAmountDTO.builder()
+                        .currency("EUR")
+                        .amount(new BigDecimal("123456789012345678901234567890.12"))
+                        .build())
+                .build();
+
+        // When
+        MemorySegment segment = TransactionRecordCodec.encode(List.of(full, sparse), Arena.ofAuto());
+
+        // Then
+        assertEquals(List.of(full, sparse), TransactionRecordCodec.decode(segment));
+    }
+
+    @Test
+    void views_shouldDecodeSingleFields_withoutBuildingDto() {
+        // Given
+        PSDTransactionDTO transaction = PSDTransactionDTO.builder()
+                .transactionStatus("booked")
+                .bookingDate(LocalDate.of(2025, 3, 1))
+                .transactionAmount(PSDTransactionDTO.PSDAmountDTO.builder()
+                        .currency("EUR")
+                        .amount(new BigDecimal("10.00"))
+                        .build())
+                .debtorAccount(PSDTransactionDTO.PSDAccountReferenceDTO.builder()
+                        .iban("DE89370400440532013000")
+                        .build())
+                .build();
+
+        // When
+        TransactionView view = TransactionRecordCodec.views(
+                TransactionRecordCodec.encode(List.of(transaction), Arena.ofAuto())).getFirst();
+
+        // Then
+        assertEquals(new BigDecimal("10.00"), view.getAmount());
+        assertEquals("EUR", view.getCurrency());
+        assertEquals("DE89370400440532013000", view.getDebtorIban());
+        assertEquals(LocalDate.of(2025, 3, 1), view.getBookingDate());
+        assertNull(view.getCreditorIban());
+        assertNull(view.getTransactionId());
+    }
+
+    @Test
+    void decode_shouldFail_whenSchemaVersionIsUnknown() {
+        // Given
+        MemorySegment segment = TransactionRecordCodec.encode(List.of(), Arena.ofAuto());
+        segment.set(ValueLayout.JAVA_BYTE, 0, (byte) 99);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> TransactionRecordCodec.decode(segment));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.consent;
+
+import com.firefly.core.banking.psdx.core.events.ConsentInvalidationEventBus;
+import com.firefly.core.banking.psdx.core.events.ConsentInvalidationEventBus.ConsentInvalidation;
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
+import com.firefly.core.banking.psdx.models.entities.Consent;
+import com.firefly.core.banking.psdx.models.repositories.ConsentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the ConsentExpirySweeper.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConsentExpirySweeperTest {
+
+    private static final long LOCK_KEY = 42L;
+    private static final LocalDateTime EXPIRED_AT = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private ConsentRepository consentRepository;
+
+    private final ConsentInvalidationEventBus eventBus = new ConsentInvalidationEventBus();
+    private ConsentExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new ConsentExpirySweeper(consentRepository, eventBus, true, 2, 10, LOCK_KEY);
+    }
+
+    @Test
+    void sweepExpired_shouldContinueAfterLastConsentOfFullBatch() {
+        // Given
+        Consent first = expired(EXPIRED_AT);
+        Consent second = expired(EXPIRED_AT.plusMinutes(1));
+        Consent third = expired(EXPIRED_AT.plusMinutes(2));
+        when(consentRepository.expireBatch(eq(LOCK_KEY), any(), eq(ConsentExpirySweeper.START_VALID_UNTIL),
+                eq(ConsentExpirySweeper.START_ID), eq(2)))
+                .thenReturn(Flux.just(first, second));
+        when(consentRepository.expireBatch(eq(LOCK_KEY), any(), eq(second.getValidUntil()), eq(second.getId()), eq(2)))
+                .thenReturn(Flux.just(third));
+
+        List<ConsentInvalidation> invalidations = new CopyOnWriteArrayList<>();
+        Disposable subscription = eventBus.events().subscribe(invalidations::add);
+
+        // When & Then
+        StepVerifier.create(sweeper.sweepExpired())
+                .expectNext(3L)
+                .verifyComplete();
+        subscription.dispose();
+
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()),
+                invalidations.stream().map(ConsentInvalidation::consentId).toList());
+        assertEquals(ConsentStatus.EXPIRED, invalidations.getFirst().status());
+    }
+
+    @Test
+    void sweepExpired_shouldStop_whenLockIsHeldByAnotherNode() {
+        // Given
+        when(consentRepository.expireBatch(eq(LOCK_KEY), any(), any(), any(), eq(2)))
+                .thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(sweeper.sweepExpired())
+                .expectNext(0L)
+                .verifyComplete();
+        verify(consentRepository, times(1)).expireBatch(eq(LOCK_KEY), any(), any(), any(), eq(2));
+    }
+
+    private static Consent expired(LocalDateTime validUntil) {
+        return Consent.builder()
+                .id(UUID.randomUUID())
+                .partyId(UUID.randomUUID())
+                .status(ConsentStatus.EXPIRED)
+                .validUntil(validUntil)
+                .build();
+    }
+}
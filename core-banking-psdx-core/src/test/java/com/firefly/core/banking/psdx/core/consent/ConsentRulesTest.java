@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.consent;
+
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentType;
+import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the ConsentRules, the ConsentAccessScope and the ConsentContext.
+ */
+class ConsentRulesTest {
+
+    private static final UUID CONSENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID PARTY_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Test
+    void grants_shouldRequireActiveConsentOfMatchingTypeAndScope() {
+        // Given
+        ValidatedConsent consent = consent(ConsentStatus.VALID, NOW.plusDays(1), "account,balance");
+
+        // When & Then
+        assertTrue(ConsentRules.grants(consent, ResourceType.ACCOUNT, NOW));
+        assertTrue(ConsentRules.grants(consent, ResourceType.BALANCE, NOW));
+        assertFalse(ConsentRules.grants(consent, ResourceType.TRANSACTION, NOW));
+        assertFalse(ConsentRules.grants(consent, ResourceType.CARD, NOW));
+        assertFalse(ConsentRules.grants(consent(ConsentStatus.REVOKED, NOW.plusDays(1), "account"), ResourceType.ACCOUNT, NOW));
+        assertFalse(ConsentRules.grants(consent(ConsentStatus.VALID, NOW.minusSeconds(1), "account"), ResourceType.ACCOUNT, NOW));
+    }
+
+    @Test
+    void accessScope_shouldMatchWholeResourceTypesOnly() {
+        // Given
+        ConsentAccessScope scope = ConsentAccessScope.of("card-accounts, card_balance", null);
+
+        // When & Then
+        assertTrue(scope.permits(ResourceType.CARD));
+        assertTrue(scope.permits(ResourceType.CARD_BALANCE));
+        assertFalse(scope.permits(ResourceType.CARD_TRANSACTION));
+        assertFalse(scope.permits(ResourceType.ACCOUNT));
+        assertFalse(scope.permits(ResourceType.BALANCE));
+    }
+
+    @Test
+    void accessScope_shouldMapCardTokensToCardResourceTypes() {
+        // Given
+        ConsentAccessScope scope = ConsentAccessScope.of("card-accounts card-balances card-transactions", null);
+
+        // When & Then
+        assertTrue(scope.permits(ResourceType.CARD));
+        assertTrue(scope.permits(ResourceType.CARD_BALANCE));
+        assertTrue(scope.permits(ResourceType.CARD_TRANSACTION));
+        assertFalse(scope.permits(ResourceType.TRANSACTION));
+    }
+
+    @Test
+    void requireKnownTokens_shouldRejectUnknownToken() {
+        ConsentAccessScope.requireKnownTokens("accounts, card-accounts, all-psd2");
+        assertThrows(IllegalArgumentException.class, () -> ConsentAccessScope.requireKnownTokens("accounts, loans"));
+    }
+
+    @Test
+    void accessScope_shouldLimitAccountsToBerlinGroupAccessLists() {
+        // Given
+        ConsentAccessScope scope = ConsentAccessScope.of("all-accounts",
+                "[{\"type\":\"account\",\"balances\":[{\"iban\":\"DE89 3704 0044 0532 0130 00\"}]}]");
+
+        // When & Then
+        assertFalse(scope.isRestricted(ResourceType.ACCOUNT));
+        assertTrue(scope.permits(ResourceType.ACCOUNT, "FR1420041010050500013M02606"));
+        assertTrue(scope.isRestricted(ResourceType.BALANCE));
+        assertTrue(scope.permits(ResourceType.BALANCE, "DE89370400440532013000"));
+        assertFalse(scope.permits(ResourceType.BALANCE, "FR1420041010050500013M02606"));
+        assertFalse(scope.permits(ResourceType.TRANSACTION, "DE89370400440532013000"));
+    }
+
+    @Test
+    void current_shouldOnlyReturnConsentWithExpectedId() {
+        // Given
+        ValidatedConsent consent = consent(ConsentStatus.VALID, NOW.plusDays(1), "account");
+
+        // When & Then
+        StepVerifier.create(ConsentContext.current(CONSENT_ID).contextWrite(ConsentContext.of(consent)))
+                .expectNext(consent)
+                .verifyComplete();
+        StepVerifier.create(ConsentContext.current(PARTY_ID).contextWrite(ConsentContext.of(consent)))
+                .verifyComplete();
+        StepVerifier.create(ConsentContext.current(CONSENT_ID))
+                .verifyComplete();
+    }
+
+    private static ValidatedConsent consent(ConsentStatus status, LocalDateTime validUntil, String accessScope) {
+        return new ValidatedConsent(CONSENT_ID, PARTY_ID, ConsentType.ACCOUNT_INFORMATION, status,
+                NOW.minusDays(1), validUntil, ConsentAccessScope.of(accessScope, null), null);
+    }
+}
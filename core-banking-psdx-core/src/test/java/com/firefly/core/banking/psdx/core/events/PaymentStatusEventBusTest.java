@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.events;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentStatusDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the PaymentStatusEventBus.
+ */
+class PaymentStatusEventBusTest {
+
+    private static final UUID PAYMENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440005");
+
+    private PaymentStatusEventBus eventBus;
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new PaymentStatusEventBus(2, 60000);
+    }
+
+    @Test
+    void publish_shouldFanOutChangesToAllSubscribers() {
+        // Given
+        List<PSDPaymentStatusDTO> first = new CopyOnWriteArrayList<>();
+        List<PSDPaymentStatusDTO> second = new CopyOnWriteArrayList<>();
+        Disposable firstSubscription = eventBus.subscribe("tpp-1", PAYMENT_ID, Mono.empty()).subscribe(first::add);
+        Disposable secondSubscription = eventBus.subscribe("tpp-2", PAYMENT_ID, Mono.empty()).subscribe(second::add);
+
+        // When
+        eventBus.publish(status("ACCP"));
+        eventBus.publish(status("ACCP"));
+        eventBus.publish(status("ACSC"));
+        firstSubscription.dispose();
+        secondSubscription.dispose();
+
+        // Then
+        assertEquals(List.of("ACCP", "ACSC"), first.stream().map(PSDPaymentStatusDTO::getTransactionStatus).toList());
+        assertEquals(List.of("ACCP", "ACSC"), second.stream().map(PSDPaymentStatusDTO::getTransactionStatus).toList());
+        assertEquals(0, eventBus.getWatchedPayments());
+    }
+
+    @Test
+    void subscribe_shouldReject_whenTppSubscriptionLimitIsReached() {
+        // Given
+        eventBus.subscribe("tpp-1", PAYMENT_ID, Mono.empty()).subscribe();
+        eventBus.subscribe("tpp-1", UUID.randomUUID(), Mono.empty()).subscribe();
+
+        // When & Then
+        StepVerifier.create(eventBus.subscribe("tpp-1", PAYMENT_ID, Mono.empty()))
+                .expectError(ResponseStatusException.class)
+                .verify();
+        StepVerifier.create(eventBus.subscribe("tpp-2", PAYMENT_ID, Mono.empty()).take(1))
+                .then(() -> eventBus.publish(status("ACSC")))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    private static PSDPaymentStatusDTO status(String transactionStatus) {
+        return PSDPaymentStatusDTO.builder()
+                .paymentId(PAYMENT_ID)
+                .transactionStatus(transactionStatus)
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.integrity;
+
+import com.firefly.core.banking.psdx.interfaces.enums.AccessStatus;
+import com.firefly.core.banking.psdx.interfaces.enums.AccessType;
+import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
+import com.firefly.core.banking.psdx.models.entities.AccessLog;
+import com.firefly.core.banking.psdx.models.entities.AccessLogSeal;
+import com.firefly.core.banking.psdx.models.repositories.AccessLogRepository;
+import com.firefly.core.banking.psdx.models.repositories.AccessLogSealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the AccessLogSealer.
+ */
+@ExtendWith(MockitoExtension.class)
+class AccessLogSealerTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private AccessLogRepository accessLogRepository;
+
+    @Mock
+    private AccessLogSealRepository accessLogSealRepository;
+
+    private AccessLogSealer sealer;
+
+    @BeforeEach
+    void setUp() {
+        sealer = new AccessLogSealer(accessLogRepository, accessLogSealRepository, true, 2, 10, 60000);
+    }
+
+    @Test
+    void sealPending_shouldChainSealsOfConsecutiveBatches() {
+        // Given
+        AccessLog first = accessLog(CREATED_AT);
+        AccessLog second = accessLog(CREATED_AT.plusSeconds(1));
+        AccessLog third = accessLog(CREATED_AT.plusSeconds(2));
+        when(accessLogSealRepository.findLatest()).thenReturn(Mono.empty());
+        when(accessLogRepository.findUnsealed(eq(AccessLogSealer.START_CREATED_AT), eq(AccessLogSealer.START_ID), any(), eq(2)))
+                .thenReturn(Flux.just(first, second));
+        when(accessLogRepository.findUnsealed(eq(second.getCreatedAt()), eq(second.getId()), any(), eq(2)))
+                .thenReturn(Flux.just(third));
+        when(accessLogSealRepository.save(any(AccessLogSeal.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // When & Then
+        StepVerifier.create(sealer.sealPending())
+                .expectNext(3L)
+                .verifyComplete();
+
+        ArgumentCaptor<AccessLogSeal> seals = ArgumentCaptor.forClass(AccessLogSeal.class);
+        verify(accessLogSealRepository, times(2)).save(seals.capture());
+        AccessLogSeal genesis = seals.getAllValues().get(0);
+        AccessLogSeal next = seals.getAllValues().get(1);
+
+        assertEquals(1L, genesis.getSequenceNumber());
+        assertEquals(AccessLogHashing.GENESIS_HASH, genesis.getPreviousSealHash());
+        assertEquals(AccessLogHashing.merkleRoot(List.of(first, second)), genesis.getMerkleRoot());
+        assertEquals(AccessLogHashing.sealHash(genesis), genesis.getSealHash());
+
+        assertEquals(2L, next.getSequenceNumber());
+        assertEquals(genesis.getSealHash(), next.getPreviousSealHash());
+        assertEquals(third.getId(), next.getFirstLogId());
+        assertEquals(1, next.getRowCount());
+    }
+
+    @Test
+    void merkleRoot_shouldChangeWhenSealedAccessLogIsModified() {
+        // Given
+        AccessLog first = accessLog(CREATED_AT);
+        AccessLog second = accessLog(CREATED_AT.plusSeconds(1));
+        AccessLog third = accessLog(CREATED_AT.plusSeconds(2));
+        String root = AccessLogHashing.merkleRoot(List.of(first, second, third));
+
+        // When
+        second.setStatus(AccessStatus.ERROR);
+
+        // Then
+        assertNotEquals(root, AccessLogHashing.merkleRoot(List.of(first, second, third)));
+        assertNotEquals(root, AccessLogHashing.merkleRoot(List.of(first, third)));
+    }
+
+    private static AccessLog accessLog(LocalDateTime createdAt) {
+        return AccessLog.builder()
+                .id(UUID.randomUUID())
+                .consentId(UUID.randomUUID())
+                .partyId(UUID.randomUUID())
+                .thirdPartyId("tpp-1")
+                .accessType(AccessType.READ)
+                .resourceType(ResourceType.ACCOUNT)
+                .resourceId("account-1")
+                .ipAddress("127.0.0.1")
+                .status(AccessStatus.SUCCESS)
+                .createdAt(createdAt)
+                .build();
+    }
+}
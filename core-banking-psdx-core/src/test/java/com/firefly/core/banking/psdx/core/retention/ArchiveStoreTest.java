@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.retention;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the ArchiveStore.
+ */
+class ArchiveStoreTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 9, 30, 15);
+
+    @TempDir
+    Path archivePath;
+
+    private ArchiveStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ArchiveStore(archivePath.toString(), new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void write_shouldRoundTripRowsThroughVerifiedSegment() {
+        // Given
+        UUID firstId = UUID.randomUUID();
+        List<Map<String, Object>> rows = List.of(
+                payment(firstId, CREATED_AT, new BigDecimal("1234567890123.45")),
+                payment(UUID.randomUUID(), CREATED_AT.plusMinutes(5), new BigDecimal("0.10")));
+
+        // When
+        ArchiveSegment segment = store.write(ArchivedTable.PAYMENTS, rows);
+
+        // Then
+        assertEquals(List.of(segment), store.segments(ArchivedTable.PAYMENTS));
+        assertEquals(2, segment.rowCount());
+        assertEquals(CREATED_AT, segment.firstCreatedAt());
+        assertEquals(CREATED_AT.plusMinutes(5), segment.lastCreatedAt());
+
+        List<Map<String, Object>> restored = store.read(segment);
+        assertEquals(2, restored.size());
+        assertEquals(firstId.toString(), restored.getFirst().get("id"));
+        assertEquals("2024-03-01T09:30:15", restored.getFirst().get("created_at"));
+        assertEquals("1234567890123.45", restored.getFirst().get("amount"));
+        assertEquals(true, restored.getFirst().get("funds_available"));
+        assertNull(restored.getFirst().get("creditor_address"));
+    }
+
+    @Test
+    void read_shouldRejectTamperedSegment() throws IOException {
+        // Given
+        ArchiveSegment segment = store.write(ArchivedTable.PAYMENTS,
+                List.of(payment(UUID.randomUUID(), CREATED_AT, BigDecimal.TEN)));
+        Path file = archivePath.resolve("payments").resolve(segment.file());
+        Files.write(file, new byte[]{0}, StandardOpenOption.APPEND);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> store.read(segment));
+    }
+
+    @Test
+    void write_shouldKeepOneManifestEntry_whenSegmentIsWrittenAgain() {
+        // Given
+        UUID firstId = UUID.randomUUID();
+        List<Map<String, Object>> rows = List.of(payment(firstId, CREATED_AT, BigDecimal.TEN));
+        store.write(ArchivedTable.PAYMENTS, rows);
+
+        // When
+        store.write(ArchivedTable.PAYMENTS, rows);
+        ArchiveSegment rewritten = store.write(ArchivedTable.PAYMENTS,
+                List.of(payment(firstId, CREATED_AT, BigDecimal.TEN), payment(UUID.randomUUID(), CREATED_AT, BigDecimal.ONE)));
+
+        // Then
+        List<ArchiveSegment> segments = store.segments(ArchivedTable.PAYMENTS);
+        assertEquals(1, segments.size());
+        assertEquals(rewritten, segments.getFirst());
+        assertEquals(2, store.read(segments.getFirst()).size());
+    }
+
+    @Test
+    void segments_shouldBeEmptyWithoutManifest() {
+        assertEquals(List.of(), store.segments(ArchivedTable.ACCESS_LOGS));
+    }
+
+    private static Map<String, Object> payment(UUID id, LocalDateTime createdAt, BigDecimal amount) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("amount", amount);
+        row.put("funds_available", true);
+        row.put("creditor_address", null);
+        row.put("created_at", createdAt);
+        return row;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.firefly.core.banking.psdx.core.retention;
+
+import com.firefly.core.banking.psdx.interfaces.security.EncryptionService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the ArchivedTable.
+ */
+class ArchivedTableTest {
+
+    private final EncryptionService encryptionService = new EncryptionService(true, "AES/GCM/NoPadding", "0123456789abcdef");
+
+    @Test
+    void isArchivable_shouldMatchTheDecryptedPaymentStatus() {
+        assertTrue(ArchivedTable.PAYMENTS.isArchivable(
+                Map.of("transaction_status", encryptionService.encrypt("ACSC")), encryptionService));
+        assertFalse(ArchivedTable.PAYMENTS.isArchivable(
+                Map.of("transaction_status", encryptionService.encrypt("PDNG")), encryptionService));
+        assertTrue(ArchivedTable.FUNDS_CONFIRMATIONS.isArchivable(Map.of(), encryptionService));
+    }
+
+    @Test
+    void decrypt_shouldOnlyDecryptTheTextColumns() {
+        // Given
+        Map<String, Object> row = Map.of(
+                "transaction_status", encryptionService.encrypt("RJCT"),
+                "amount", new BigDecimal("12.50"),
+                "funds_available", true);
+
+        // When
+        Map<String, Object> decrypted = ArchivedTable.PAYMENTS.decrypt(row, encryptionService);
+
+        // Then
+        assertEquals("RJCT", decrypted.get("transaction_status"));
+        assertEquals(new BigDecimal("12.50"), decrypted.get("amount"));
+        assertEquals(true, decrypted.get("funds_available"));
+    }
+}
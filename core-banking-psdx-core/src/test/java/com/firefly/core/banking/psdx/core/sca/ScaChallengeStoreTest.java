@@ -0,0 +1,200 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.sca;
+
+import com.firefly.core.banking.psdx.core.adapters.LocalScaChallengePersistenceAdapter;
+import com.firefly.core.banking.psdx.core.ports.ScaChallengePersistencePort;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the ScaChallengeStore.
+ */
+class ScaChallengeStoreTest {
+
+    private static final UUID PARTY_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final String CODE = "123456";
+    private static final String CODE_SECRET = "test-code-secret";
+
+    @Test
+    void validate_shouldAuthenticateOnce_whenCodeMatches() {
+        // Given
+        ScaChallengeStore store = store(new LocalScaChallengePersistenceAdapter(), 10);
+        PendingChallenge challenge = store.create(PARTY_ID, "payment-1", "SMS", CODE).block();
+
+        // When & Then
+        StepVerifier.create(store.validate(challenge.challengeId(), CODE))
+                .expectNext(ScaChallengeStore.Outcome.AUTHENTICATED)
+                .verifyComplete();
+        StepVerifier.create(store.validate(challenge.challengeId(), CODE))
+                .expectNext(ScaChallengeStore.Outcome.UNKNOWN_CHALLENGE)
+                .verifyComplete();
+    }
+
+    @Test
+    void validate_shouldDiscardChallenge_afterMaxFailedAttempts() {
+        // Given
+        ScaChallengeStore store = store(new LocalScaChallengePersistenceAdapter(), 10);
+        PendingChallenge challenge = store.create(PARTY_ID, "payment-1", "SMS", CODE).block();
+
+        // When & Then
+        StepVerifier.create(Flux.concat(
+                        store.validate(challenge.challengeId(), "000000"),
+                        store.validate(challenge.challengeId(), "000000"),
+                        store.validate(challenge.challengeId(), "000000"),
+                        store.validate(challenge.challengeId(), CODE)))
+                .expectNext(ScaChallengeStore.Outcome.INVALID_CODE,
+                        ScaChallengeStore.Outcome.INVALID_CODE,
+                        ScaChallengeStore.Outcome.ATTEMPTS_EXCEEDED,
+                        ScaChallengeStore.Outcome.UNKNOWN_CHALLENGE)
+                .verifyComplete();
+    }
+
+    @Test
+    void expire_shouldDropBurstOfChallenges_withoutTimers() {
+        // Given
+        ScaChallengeStore store = store(new LocalScaChallengePersistenceAdapter(), 20000);
+        Flux.range(0, 10000)
+                .flatMap(i -> store.create(PARTY_ID, "payment-" + i, "SMS", CODE))
+                .blockLast();
+        assertEquals(10000, store.size());
+
+        // When
+        store.expire(System.currentTimeMillis() + 30_000);
+        int pendingBeforeExpiry = store.size();
+        store.expire(System.currentTimeMillis() + 62_000);
+
+        // Then
+        assertEquals(10000, pendingBeforeExpiry);
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void create_shouldFail_whenStoreIsFull() {
+        // Given
+        ScaChallengeStore store = store(new LocalScaChallengePersistenceAdapter(), 1);
+        store.create(PARTY_ID, "payment-1", "SMS", CODE).block();
+
+        // When & Then
+        StepVerifier.create(store.create(PARTY_ID, "payment-2", "SMS", CODE))
+                .expectError(ResponseStatusException.class)
+                .verify();
+    }
+
+    @Test
+    void validate_shouldAuthenticateChallenge_createdOnAnotherNode() throws Exception {
+        // Given
+        ScaChallengePersistencePort persistencePort = sharedPort();
+        ScaChallengeStore store = store(persistencePort, 10);
+        when(persistencePort.recordAttempt("sca-remote", 3)).thenReturn(Mono.just(remote(1)));
+        when(persistencePort.consume("sca-remote")).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(store.validate("sca-remote", CODE))
+                .expectNext(ScaChallengeStore.Outcome.AUTHENTICATED)
+                .verifyComplete();
+    }
+
+    @Test
+    void validate_shouldNotAuthenticate_whenAnotherNodeConsumedChallenge() throws Exception {
+        // Given
+        ScaChallengePersistencePort persistencePort = sharedPort();
+        ScaChallengeStore store = store(persistencePort, 10);
+        when(persistencePort.recordAttempt("sca-remote", 3)).thenReturn(Mono.just(remote(1)));
+        when(persistencePort.consume("sca-remote")).thenReturn(Mono.just(false));
+
+        // When & Then
+        StepVerifier.create(store.validate("sca-remote", CODE))
+                .expectNext(ScaChallengeStore.Outcome.UNKNOWN_CHALLENGE)
+                .verifyComplete();
+    }
+
+    @Test
+    void validate_shouldCountAttemptsInSharedStore_evenWhenChallengeIsHeldLocally() {
+        // Given
+        ScaChallengePersistencePort persistencePort = sharedPort();
+        when(persistencePort.save(any())).thenReturn(Mono.empty());
+        ScaChallengeStore store = store(persistencePort, 10);
+        PendingChallenge challenge = store.create(PARTY_ID, "payment-1", "SMS", CODE).block();
+        when(persistencePort.recordAttempt(challenge.challengeId(), 3))
+                .thenReturn(Mono.just(new PendingChallenge(challenge.challengeId(), PARTY_ID, "payment-1", "SMS",
+                        challenge.codeHash(), 3, challenge.expiresAtMillis())));
+
+        // When & Then
+        StepVerifier.create(store.validate(challenge.challengeId(), "000000"))
+                .expectNext(ScaChallengeStore.Outcome.ATTEMPTS_EXCEEDED)
+                .verifyComplete();
+        verify(persistencePort).deleteAll(any());
+        verify(persistencePort, never()).consume(any());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void validate_shouldRejectCode_whenSharedStoreHasNoOpenChallenge() {
+        // Given
+        ScaChallengePersistencePort persistencePort = sharedPort();
+        ScaChallengeStore store = store(persistencePort, 10);
+        when(persistencePort.recordAttempt("sca-remote", 3)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(store.validate("sca-remote", CODE))
+                .expectNext(ScaChallengeStore.Outcome.UNKNOWN_CHALLENGE)
+                .verifyComplete();
+        verify(persistencePort, never()).consume(any());
+    }
+
+    @Test
+    void constructor_shouldRequireCodeSecret_whenChallengesAreShared() {
+        assertThrows(IllegalStateException.class,
+                () -> new ScaChallengeStore(sharedPort(), 60, 10, 3, 1000, ""));
+    }
+
+    private static ScaChallengePersistencePort sharedPort() {
+        ScaChallengePersistencePort persistencePort = mock(ScaChallengePersistencePort.class);
+        when(persistencePort.isShared()).thenReturn(true);
+        when(persistencePort.deleteAll(any())).thenReturn(Mono.empty());
+        return persistencePort;
+    }
+
+    private static PendingChallenge remote(int attempts) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(CODE_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return new PendingChallenge("sca-remote", PARTY_ID, "payment-1", "SMS",
+                mac.doFinal(CODE.getBytes(StandardCharsets.UTF_8)), attempts, System.currentTimeMillis() + 60_000);
+    }
+
+    private static ScaChallengeStore store(ScaChallengePersistencePort persistencePort, int maxChallenges) {
+        return new ScaChallengeStore(persistencePort, 60, maxChallenges, 3, 1000, CODE_SECRET);
+    }
+}
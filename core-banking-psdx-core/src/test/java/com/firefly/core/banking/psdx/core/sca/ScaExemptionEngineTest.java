@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.sca;
+
+import com.firefly.core.banking.psdx.models.entities.ScaExemptionState;
+import com.firefly.core.banking.psdx.models.repositories.ScaExemptionStateRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the ScaExemptionEngine.
+ */
+@ExtendWith(MockitoExtension.class)
+class ScaExemptionEngineTest {
+
+    private static final UUID PARTY_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    @Mock
+    private ScaExemptionStateRepository repository;
+
+    @Test
+    void evaluate_shouldRequireSca_whenRequiredForAllPayments() {
+        // Given
+        ScaExemptionEngine engine = engine(true, false);
+
+        // When & Then
+        assertTrue(engine.evaluate(request("10.00", "EUR")).scaRequired());
+    }
+
+    @Test
+    void evaluate_shouldLimitLowValueExemptions_untilAuthentication() {
+        // Given
+        ScaExemptionEngine engine = engine(false, false);
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            assertEquals(ScaExemptionType.LOW_VALUE, engine.evaluate(request("30.00", "EUR")).exemption());
+        }
+        // A fourth payment would take the cumulative amount to EUR 120
+        assertTrue(engine.evaluate(request("30.00", "EUR")).scaRequired());
+
+        engine.recordAuthentication(PARTY_ID);
+        assertFalse(engine.evaluate(request("30.00", "EUR")).scaRequired());
+    }
+
+    @Test
+    void evaluate_shouldRequireSca_withoutParty() {
+        // Given
+        ScaExemptionEngine engine = engine(false, true);
+
+        // When & Then
+        assertTrue(engine.evaluate(new ScaExemptionRequest(null, new BigDecimal("10.00"), "EUR")).scaRequired());
+    }
+
+    @Test
+    void evaluate_shouldConvertAmounts_withRateTable() {
+        // Given
+        ScaExemptionEngine engine = engine(false, false);
+
+        // When & Then
+        assertFalse(engine.evaluate(request("25.00", "USD")).scaRequired());
+        assertTrue(engine.evaluate(request("30.00", "GBP")).scaRequired());
+        assertTrue(engine.evaluate(request("1.00", "JPY")).scaRequired());
+    }
+
+    @Test
+    void evaluate_shouldApplyTransactionRiskAnalysis_aboveLowValueThreshold() {
+        // Given
+        ScaExemptionEngine engine = engine(false, true);
+
+        // When & Then
+        assertEquals(ScaExemptionType.TRANSACTION_RISK_ANALYSIS, engine.evaluate(request("240.00", "EUR")).exemption());
+        assertTrue(engine.evaluate(request("260.00", "EUR")).scaRequired());
+    }
+
+    @Test
+    void checkpoint_shouldWriteChangedState() {
+        // Given
+        ScaExemptionEngine engine = engine(false, false);
+        when(repository.upsert(eq(PARTY_ID), anyInt(), any(BigDecimal.class), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(1));
+        engine.evaluate(request("10.00", "EUR"));
+
+        // When
+        engine.checkpoint();
+
+        // Then
+        verify(repository).upsert(eq(PARTY_ID), eq(1), eq(new BigDecimal("10.00")), any(LocalDateTime.class));
+    }
+
+    @Test
+    void restore_shouldLoadCheckpoints() {
+        // Given
+        ScaExemptionEngine engine = engine(false, false);
+        when(repository.findAll()).thenReturn(Flux.just(ScaExemptionState.builder()
+                .partyId(PARTY_ID)
+                .exemptedCount(5)
+                .exemptedAmount(new BigDecimal("50.00"))
+                .build()));
+
+        // When
+        engine.restore();
+
+        // Then
+        assertTrue(engine.evaluate(request("10.00", "EUR")).scaRequired());
+    }
+
+    @Test
+    void evaluate_shouldWithholdLowValueExemption_untilStateIsRestored() {
+        // Given
+        when(repository.findAll()).thenReturn(Flux.error(new IllegalStateException("database unavailable")));
+        ScaExemptionEngine engine = newEngine(false, false);
+        engine.restore();
+
+        // When & Then
+        assertTrue(engine.evaluate(request("10.00", "EUR")).scaRequired());
+
+        when(repository.findAll()).thenReturn(Flux.empty());
+        engine.checkpoint();
+        assertEquals(ScaExemptionType.LOW_VALUE, engine.evaluate(request("10.00", "EUR")).exemption());
+    }
+
+    private ScaExemptionEngine engine(boolean requiredForAllPayments, boolean traEnabled) {
+        when(repository.findAll()).thenReturn(Flux.empty());
+        ScaExemptionEngine engine = newEngine(requiredForAllPayments, traEnabled);
+        engine.restore();
+        return engine;
+    }
+
+    private ScaExemptionEngine newEngine(boolean requiredForAllPayments, boolean traEnabled) {
+        return new ScaExemptionEngine(repository, requiredForAllPayments, new BigDecimal("30.00"), "EUR",
+                5, new BigDecimal("100.00"), traEnabled, new BigDecimal("0.0001"), "USD=0.92, GBP=1.17", 16);
+    }
+
+    private static ScaExemptionRequest request(String amount, String currency) {
+        return new ScaExemptionRequest(PARTY_ID, new BigDecimal(amount), currency);
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.services;
+
+import com.firefly.core.banking.psdx.core.integrity.AccessLogHashing;
+import com.firefly.core.banking.psdx.core.retention.ArchiveSegment;
+import com.firefly.core.banking.psdx.core.retention.ArchiveStore;
+import com.firefly.core.banking.psdx.core.retention.ArchivedTable;
+import com.firefly.core.banking.psdx.interfaces.enums.AccessStatus;
+import com.firefly.core.banking.psdx.interfaces.enums.AccessType;
+import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
+import com.firefly.core.banking.psdx.interfaces.security.EncryptionService;
+import com.firefly.core.banking.psdx.models.entities.AccessLog;
+import com.firefly.core.banking.psdx.models.entities.AccessLogSeal;
+import com.firefly.core.banking.psdx.models.repositories.AccessLogRepository;
+import com.firefly.core.banking.psdx.models.repositories.AccessLogSealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the AccessLogIntegrityServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class AccessLogIntegrityServiceImplTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.now().minusDays(1);
+    private static final LocalDateTime TO = LocalDateTime.now();
+
+    @Mock
+    private AccessLogRepository accessLogRepository;
+
+    @Mock
+    private AccessLogSealRepository accessLogSealRepository;
+
+    @Mock
+    private ArchiveStore archiveStore;
+
+    private AccessLogIntegrityServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AccessLogIntegrityServiceImpl(accessLogRepository, accessLogSealRepository, archiveStore,
+                new EncryptionService(false, "AES/GCM/NoPadding", "0123456789abcdef"), 2);
+    }
+
+    @Test
+    void verifySeals_shouldReportValidChain() {
+        // Given
+        List<AccessLog> firstBatch = List.of(accessLog(FROM.plusHours(1)), accessLog(FROM.plusHours(2)));
+        List<AccessLog> secondBatch = List.of(accessLog(FROM.plusHours(3)));
+        AccessLogSeal genesis = seal(null, firstBatch);
+        AccessLogSeal next = seal(genesis, secondBatch);
+        when(accessLogSealRepository.findOverlapping(FROM, TO)).thenReturn(Flux.just(genesis, next));
+        stubSealedRange(genesis, firstBatch);
+        stubSealedRange(next, secondBatch);
+
+        // When & Then
+        StepVerifier.create(service.verifySeals(FROM, TO))
+                .assertNext(result -> assertEquals(AccessLogIntegrityServiceImpl.VALID, result.getStatus()))
+                .assertNext(result -> assertEquals(AccessLogIntegrityServiceImpl.VALID, result.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    void verifySeals_shouldReportModifiedAccessLog() {
+        // Given
+        AccessLog modified = accessLog(FROM.plusHours(1));
+        List<AccessLog> batch = List.of(modified, accessLog(FROM.plusHours(2)));
+        AccessLogSeal genesis = seal(null, batch);
+        modified.setIpAddress("10.0.0.1");
+        when(accessLogSealRepository.findOverlapping(FROM, TO)).thenReturn(Flux.just(genesis));
+        stubSealedRange(genesis, batch);
+
+        // When & Then
+        StepVerifier.create(service.verifySeals(FROM, TO))
+                .assertNext(result -> {
+                    assertEquals(AccessLogIntegrityServiceImpl.TAMPERED, result.getStatus());
+                    assertEquals("Merkle root does not match the sealed access logs", result.getMessage());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void verifySeals_shouldReportRewrittenPredecessor() {
+        // Given
+        List<AccessLog> firstBatch = List.of(accessLog(FROM.minusHours(2)));
+        List<AccessLog> secondBatch = List.of(accessLog(FROM.plusHours(1)));
+        AccessLogSeal genesis = seal(null, firstBatch);
+        AccessLogSeal next = seal(genesis, secondBatch);
+        genesis.setSealHash(AccessLogHashing.GENESIS_HASH);
+        when(accessLogSealRepository.findOverlapping(FROM, TO)).thenReturn(Flux.just(next));
+        when(accessLogSealRepository.findBySequenceNumber(1L)).thenReturn(Mono.just(genesis));
+        stubSealedRange(next, secondBatch);
+
+        // When & Then
+        StepVerifier.create(service.verifySeals(FROM, TO))
+                .assertNext(result -> assertEquals(AccessLogIntegrityServiceImpl.BROKEN_CHAIN, result.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    void verifySeals_shouldReportArchivedWhenArchiveHoldsMissingAccessLogs() {
+        // Given
+        List<AccessLog> batch = List.of(accessLog(FROM.plusHours(1)), accessLog(FROM.plusHours(2)), accessLog(FROM.plusHours(3)));
+        AccessLogSeal genesis = seal(null, batch);
+        ArchiveSegment segment = new ArchiveSegment("access_logs", "access_logs-1.ndjson.gz", 2, 100, "checksum",
+                batch.get(0).getCreatedAt(), batch.get(1).getCreatedAt(), TO);
+        when(accessLogSealRepository.findOverlapping(FROM, TO)).thenReturn(Flux.just(genesis));
+        stubSealedRange(genesis, batch.subList(2, 3));
+        when(archiveStore.segments(ArchivedTable.ACCESS_LOGS)).thenReturn(List.of(segment));
+        when(archiveStore.read(segment)).thenReturn(List.of(archivedRow(batch.get(0)), archivedRow(batch.get(1))));
+
+        // When & Then
+        StepVerifier.create(service.verifySeals(FROM, TO))
+                .assertNext(result -> {
+                    assertEquals(AccessLogIntegrityServiceImpl.ARCHIVED, result.getStatus());
+                    assertEquals(1, result.getActualRowCount());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void verifySeals_shouldReportTamperedWhenArchiveMissesAccessLogs() {
+        // Given
+        List<AccessLog> batch = List.of(accessLog(FROM.plusHours(1)), accessLog(FROM.plusHours(2)));
+        AccessLogSeal genesis = seal(null, batch);
+        when(accessLogSealRepository.findOverlapping(FROM, TO)).thenReturn(Flux.just(genesis));
+        stubSealedRange(genesis, batch.subList(1, 2));
+        when(archiveStore.segments(ArchivedTable.ACCESS_LOGS)).thenReturn(List.of());
+
+        // When & Then
+        StepVerifier.create(service.verifySeals(FROM, TO))
+                .assertNext(result -> {
+                    assertEquals(AccessLogIntegrityServiceImpl.TAMPERED, result.getStatus());
+                    assertEquals("Sealed range holds 1 access logs instead of 2", result.getMessage());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void verifySeals_shouldReportTamperedWhenArchivedAccessLogWasModified() {
+        // Given
+        List<AccessLog> batch = List.of(accessLog(FROM.plusHours(1)), accessLog(FROM.plusHours(2)));
+        AccessLogSeal genesis = seal(null, batch);
+        ArchiveSegment segment = new ArchiveSegment("access_logs", "access_logs-1.ndjson.gz", 1, 100, "checksum",
+                batch.get(0).getCreatedAt(), batch.get(0).getCreatedAt(), TO);
+        Map<String, Object> modified = archivedRow(batch.get(0));
+        modified.put("ip_address", "10.0.0.1");
+        when(accessLogSealRepository.findOverlapping(FROM, TO)).thenReturn(Flux.just(genesis));
+        stubSealedRange(genesis, batch.subList(1, 2));
+        when(archiveStore.segments(ArchivedTable.ACCESS_LOGS)).thenReturn(List.of(segment));
+        when(archiveStore.read(segment)).thenReturn(List.of(modified));
+
+        // When & Then
+        StepVerifier.create(service.verifySeals(FROM, TO))
+                .assertNext(result -> {
+                    assertEquals(AccessLogIntegrityServiceImpl.TAMPERED, result.getStatus());
+                    assertEquals("Merkle root does not match the sealed access logs", result.getMessage());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void verifySeals_shouldRejectInvalidRange() {
+        StepVerifier.create(service.verifySeals(TO, FROM))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    private void stubSealedRange(AccessLogSeal seal, List<AccessLog> accessLogs) {
+        when(accessLogRepository.findSealedRange(seal.getFirstCreatedAt(), seal.getFirstLogId(),
+                seal.getLastCreatedAt(), seal.getLastLogId()))
+                .thenReturn(Flux.fromIterable(accessLogs));
+    }
+
+    private static AccessLogSeal seal(AccessLogSeal previous, List<AccessLog> batch) {
+        AccessLogSeal seal = AccessLogSeal.builder()
+                .sequenceNumber(previous != null ? previous.getSequenceNumber() + 1 : 1L)
+                .firstCreatedAt(batch.getFirst().getCreatedAt())
+                .firstLogId(batch.getFirst().getId())
+                .lastCreatedAt(batch.getLast().getCreatedAt())
+                .lastLogId(batch.getLast().getId())
+                .rowCount(batch.size())
+                .merkleRoot(AccessLogHashing.merkleRoot(batch))
+                .previousSealHash(previous != null ? previous.getSealHash() : AccessLogHashing.GENESIS_HASH)
+                .build();
+        seal.setSealHash(AccessLogHashing.sealHash(seal));
+        return seal;
+    }
+
+    private static Map<String, Object> archivedRow(AccessLog accessLog) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", accessLog.getId().toString());
+        row.put("consent_id", accessLog.getConsentId().toString());
+        row.put("party_id", accessLog.getPartyId().toString());
+        row.put("third_party_id", accessLog.getThirdPartyId());
+        row.put("access_type", accessLog.getAccessType().name());
+        row.put("resource_type", accessLog.getResourceType().name());
+        row.put("resource_id", accessLog.getResourceId());
+        row.put("ip_address", accessLog.getIpAddress());
+        row.put("status", accessLog.getStatus().name());
+        row.put("created_at", accessLog.getCreatedAt().toString());
+        return row;
+    }
+
+    private static AccessLog accessLog(LocalDateTime createdAt) {
+        return AccessLog.builder()
+                .id(UUID.randomUUID())
+                .consentId(UUID.randomUUID())
+                .partyId(UUID.randomUUID())
+                .thirdPartyId("tpp-1")
+                .accessType(AccessType.READ)
+                .resourceType(ResourceType.ACCOUNT)
+                .resourceId("account-1")
+                .ipAddress("127.0.0.1")
+                .status(AccessStatus.SUCCESS)
+                .createdAt(createdAt)
+                .build();
+    }
+}
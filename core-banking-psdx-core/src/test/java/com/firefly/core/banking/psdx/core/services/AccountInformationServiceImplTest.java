@@ -17,6 +17,7 @@
 
 package com.firefly.core.banking.psdx.core.services;
 
+import com.firefly.core.banking.psdx.core.cache.AvailableBalanceCache;
 import com.firefly.core.banking.psdx.core.ports.AccountServicePort;
 import com.firefly.core.banking.psdx.core.ports.TransactionServicePort;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccountDTO;
@@ -37,6 +38,10 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,6 +56,9 @@ class AccountInformationServiceImplTest {
     @Mock
     private ConsentService consentService;
 
+    @Mock
+    private AvailableBalanceCache availableBalanceCache;
+
     @InjectMocks
     private AccountInformationServiceImpl accountInformationService;
 
@@ -102,6 +110,7 @@ class AccountInformationServiceImplTest {
     void getAccounts_shouldReturnAccounts_whenConsentIsValid() {
         // Given
         when(consentService.validateConsent(CONSENT_ID, "ACCOUNT", "READ")).thenReturn(Mono.just(true));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("ACCOUNT"), eq("READ"), any())).thenReturn(Mono.just(true));
         when(accountServicePort.getAccountsByPartyId(PARTY_ID)).thenReturn(Flux.fromIterable(Arrays.asList(account1, account2)));
 
         // When & Then
@@ -111,6 +120,41 @@ class AccountInformationServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getAccounts_shouldAttachBalances_andKeepAccountsWhoseBalancesFail() {
+        // Given
+        when(consentService.validateConsent(CONSENT_ID, "ACCOUNT", "READ")).thenReturn(Mono.just(true));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("ACCOUNT"), eq("READ"), any())).thenReturn(Mono.just(true));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("BALANCE"), eq("READ"), any())).thenReturn(Mono.just(true));
+        when(accountServicePort.getAccountsByPartyId(PARTY_ID)).thenReturn(Flux.fromIterable(Arrays.asList(account1, account2)));
+        when(availableBalanceCache.getBalances(account1.getIban(), account1.getResourceId())).thenReturn(Flux.just(balance1, balance2));
+        when(availableBalanceCache.getBalances(account2.getIban(), account2.getResourceId()))
+                .thenReturn(Flux.error(new IllegalStateException("Balance service unavailable")));
+
+        // When & Then
+        StepVerifier.create(accountInformationService.getAccounts(CONSENT_ID, PARTY_ID, true))
+                .expectNextMatches(account -> account == account1 && account.getBalances().size() == 2)
+                .expectNextMatches(account -> account == account2 && account.getBalances() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void getAccounts_shouldReturnAccountsWithoutBalances_whenConsentDoesNotCoverBalances() {
+        // Given
+        when(consentService.validateConsent(CONSENT_ID, "ACCOUNT", "READ")).thenReturn(Mono.just(true));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("ACCOUNT"), eq("READ"), any())).thenReturn(Mono.just(true));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("BALANCE"), eq("READ"), any())).thenReturn(Mono.just(false));
+        when(accountServicePort.getAccountsByPartyId(PARTY_ID)).thenReturn(Flux.fromIterable(Arrays.asList(account1, account2)));
+
+        // When & Then
+        StepVerifier.create(accountInformationService.getAccounts(CONSENT_ID, PARTY_ID, true))
+                .expectNextMatches(account -> account == account1 && account.getBalances() == null)
+                .expectNextMatches(account -> account == account2 && account.getBalances() == null)
+                .verifyComplete();
+        verify(availableBalanceCache, never()).getBalances(any(), any());
+        verify(accountServicePort, never()).getBalancesByAccountId(any());
+    }
+
     @Test
     void getAccounts_shouldReturnError_whenConsentIsInvalid() {
         // Given
@@ -125,7 +169,7 @@ class AccountInformationServiceImplTest {
     @Test
     void getAccount_shouldReturnAccount_whenConsentIsValid() {
         // Given
-        when(consentService.validateConsent(CONSENT_ID, "ACCOUNT", "READ")).thenReturn(Mono.just(true));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("ACCOUNT"), eq("READ"), any())).thenReturn(Mono.just(true));
         when(accountServicePort.getAccountById(ACCOUNT_ID)).thenReturn(Mono.just(account1));
 
         // When & Then
@@ -137,7 +181,7 @@ class AccountInformationServiceImplTest {
     @Test
     void getAccount_shouldReturnError_whenConsentIsInvalid() {
         // Given
-        when(consentService.validateConsent(CONSENT_ID, "ACCOUNT", "READ")).thenReturn(Mono.just(false));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("ACCOUNT"), eq("READ"), any())).thenReturn(Mono.just(false));
 
         // When & Then
         StepVerifier.create(accountInformationService.getAccount(CONSENT_ID, ACCOUNT_ID))
@@ -148,8 +192,9 @@ class AccountInformationServiceImplTest {
     @Test
     void getBalances_shouldReturnBalances_whenConsentIsValid() {
         // Given
-        when(consentService.validateConsent(CONSENT_ID, "BALANCE", "READ")).thenReturn(Mono.just(true));
-        when(accountServicePort.getBalancesByAccountId(ACCOUNT_ID)).thenReturn(Flux.fromIterable(Arrays.asList(balance1, balance2)));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("BALANCE"), eq("READ"), any())).thenReturn(Mono.just(true));
+        when(accountServicePort.getAccountById(ACCOUNT_ID)).thenReturn(Mono.just(account1));
+        when(availableBalanceCache.getBalances(account1.getIban(), ACCOUNT_ID)).thenReturn(Flux.fromIterable(Arrays.asList(balance1, balance2)));
 
         // When & Then
         StepVerifier.create(accountInformationService.getBalances(CONSENT_ID, ACCOUNT_ID))
@@ -161,7 +206,7 @@ class AccountInformationServiceImplTest {
     @Test
     void getBalances_shouldReturnError_whenConsentIsInvalid() {
         // Given
-        when(consentService.validateConsent(CONSENT_ID, "BALANCE", "READ")).thenReturn(Mono.just(false));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("BALANCE"), eq("READ"), any())).thenReturn(Mono.just(false));
 
         // When & Then
         StepVerifier.create(accountInformationService.getBalances(CONSENT_ID, ACCOUNT_ID))
@@ -174,7 +219,7 @@ class AccountInformationServiceImplTest {
         // Given
         LocalDate fromDate = LocalDate.now().minusDays(7);
         LocalDate toDate = LocalDate.now();
-        when(consentService.validateConsent(CONSENT_ID, "TRANSACTION", "READ")).thenReturn(Mono.just(true));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("TRANSACTION"), eq("READ"), any())).thenReturn(Mono.just(true));
         when(transactionServicePort.getTransactionsByAccountId(ACCOUNT_ID, fromDate, toDate))
                 .thenReturn(Flux.fromIterable(Arrays.asList(transaction1, transaction2)));
 
@@ -190,7 +235,7 @@ class AccountInformationServiceImplTest {
         // Given
         LocalDate fromDate = LocalDate.now().minusDays(7);
         LocalDate toDate = LocalDate.now();
-        when(consentService.validateConsent(CONSENT_ID, "TRANSACTION", "READ")).thenReturn(Mono.just(false));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("TRANSACTION"), eq("READ"), any())).thenReturn(Mono.just(false));
 
         // When & Then
         StepVerifier.create(accountInformationService.getTransactions(CONSENT_ID, ACCOUNT_ID, fromDate, toDate))
@@ -201,7 +246,7 @@ class AccountInformationServiceImplTest {
     @Test
     void getTransaction_shouldReturnTransaction_whenConsentIsValid() {
         // Given
-        when(consentService.validateConsent(CONSENT_ID, "TRANSACTION", "READ")).thenReturn(Mono.just(true));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("TRANSACTION"), eq("READ"), any())).thenReturn(Mono.just(true));
         when(transactionServicePort.getTransactionById(TRANSACTION_ID)).thenReturn(Mono.just(transaction1));
 
         // When & Then
@@ -213,7 +258,7 @@ class AccountInformationServiceImplTest {
     @Test
     void getTransaction_shouldReturnError_whenConsentIsInvalid() {
         // Given
-        when(consentService.validateConsent(CONSENT_ID, "TRANSACTION", "READ")).thenReturn(Mono.just(false));
+        when(consentService.validateConsent(eq(CONSENT_ID), eq("TRANSACTION"), eq("READ"), any())).thenReturn(Mono.just(false));
 
         // When & Then
         StepVerifier.create(accountInformationService.getTransaction(CONSENT_ID, ACCOUNT_ID, TRANSACTION_ID))
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.firefly.core.banking.psdx.core.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.banking.psdx.core.retention.ArchiveStore;
+import com.firefly.core.banking.psdx.core.retention.ArchivedTable;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDArchivedRecordDTO;
+import com.firefly.core.banking.psdx.interfaces.security.EncryptionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the ArchiveServiceImpl with string encryption enabled.
+ */
+class ArchiveServiceImplTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 9, 30, 15);
+
+    @TempDir
+    Path archivePath;
+
+    private EncryptionService encryptionService;
+    private ArchiveStore archiveStore;
+    private ArchiveServiceImpl archiveService;
+
+    @BeforeEach
+    void setUp() {
+        encryptionService = new EncryptionService(true, "AES/GCM/NoPadding", "0123456789abcdef");
+        archiveStore = new ArchiveStore(archivePath.toString(), new ObjectMapper().findAndRegisterModules());
+        archiveService = new ArchiveServiceImpl(archiveStore, encryptionService);
+    }
+
+    @Test
+    void queryArchive_shouldFilterOnAndReturnDecryptedThirdPartyId() {
+        // Given
+        UUID consentId = UUID.randomUUID();
+        archiveStore.write(ArchivedTable.ACCESS_LOGS, List.of(
+                accessLog(consentId, "TPP-1", CREATED_AT),
+                accessLog(consentId, "TPP-2", CREATED_AT.plusMinutes(1))));
+
+        // When & Then
+        StepVerifier.create(archiveService.queryArchive("access_logs", CREATED_AT.minusDays(1), CREATED_AT.plusDays(1),
+                        Map.of("third_party_id", "TPP-2")))
+                .assertNext(record -> {
+                    assertEquals("TPP-2", record.getValues().get("third_party_id"));
+                    assertEquals("/accounts", record.getValues().get("resource_id"));
+                    assertEquals(consentId.toString(), record.getValues().get("consent_id"));
+                    assertEquals("ACCOUNT", record.getValues().get("resource_type"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void queryArchive_shouldReturnNothing_whenFilterMatchesNoDecryptedValue() {
+        // Given
+        archiveStore.write(ArchivedTable.ACCESS_LOGS, List.of(accessLog(UUID.randomUUID(), "TPP-1", CREATED_AT)));
+
+        // When
+        List<PSDArchivedRecordDTO> records = archiveService.queryArchive("access_logs", CREATED_AT.minusDays(1),
+                CREATED_AT.plusDays(1), Map.of("third_party_id", "TPP-3")).collectList().block();
+
+        // Then
+        assertEquals(List.of(), records);
+    }
+
+    private Map<String, Object> accessLog(UUID consentId, String thirdPartyId, LocalDateTime createdAt) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", UUID.randomUUID());
+        row.put("consent_id", consentId);
+        row.put("third_party_id", encryptionService.encrypt(thirdPartyId));
+        row.put("resource_type", "ACCOUNT");
+        row.put("resource_id", encryptionService.encrypt("/accounts"));
+        row.put("created_at", createdAt);
+        return row;
+    }
+}
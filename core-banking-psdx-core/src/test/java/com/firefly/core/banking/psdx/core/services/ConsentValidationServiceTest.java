@@ -17,6 +17,8 @@
 
 package com.firefly.core.banking.psdx.core.services;
 
+import com.firefly.core.banking.psdx.core.batching.ConsentBatchLoader;
+import com.firefly.core.banking.psdx.core.consent.ValidatedConsent;
 import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
 import com.firefly.core.banking.psdx.interfaces.enums.ConsentType;
 import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
@@ -25,7 +27,6 @@ import com.firefly.core.banking.psdx.models.repositories.ConsentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
@@ -34,8 +35,8 @@ import reactor.test.StepVerifier;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -50,6 +51,9 @@ class ConsentValidationServiceTest {
     @Mock
     private com.firefly.core.banking.psdx.interfaces.services.AccessLogService accessLogService;
 
+    @Mock
+    private ConsentBatchLoader consentBatchLoader;
+
     private ConsentValidationService consentValidationService;
 
     // Test constants
@@ -64,7 +68,7 @@ class ConsentValidationServiceTest {
 
     @BeforeEach
     void setUp() {
-        consentValidationService = new ConsentValidationService(consentRepository, accessLogService);
+        consentValidationService = new ConsentValidationService(consentRepository, accessLogService, consentBatchLoader);
 
         LocalDateTime now = LocalDateTime.now();
 
@@ -106,8 +110,8 @@ class ConsentValidationServiceTest {
     @Test
     void validateConsent_withValidConsent_shouldReturnTrue() {
         // Given
-        when(consentRepository.findById(any(UUID.class))).thenReturn(Mono.just(validConsent));
-        when(consentRepository.save(any(Consent.class))).thenReturn(Mono.just(validConsent));
+        when(consentBatchLoader.loadValidated(any(UUID.class))).thenReturn(Mono.just(ValidatedConsent.of(validConsent)));
+        when(consentRepository.updateLastActionDate(eq(CONSENT_ID), any(LocalDateTime.class))).thenReturn(Mono.just(1));
 
         // When
         Mono<Boolean> result = consentValidationService.validateConsent(CONSENT_ID, ResourceType.ACCOUNT, PARTY_ID, "tpp1");
@@ -117,15 +121,13 @@ class ConsentValidationServiceTest {
                 .expectNext(true)
                 .verifyComplete();
 
-        ArgumentCaptor<Consent> consentCaptor = ArgumentCaptor.forClass(Consent.class);
-        verify(consentRepository).save(consentCaptor.capture());
-        assertNotNull(consentCaptor.getValue().getLastActionDate());
+        verify(consentRepository).updateLastActionDate(eq(CONSENT_ID), any(LocalDateTime.class));
     }
 
     @Test
     void validateConsent_withExpiredConsent_shouldReturnFalse() {
         // Given
-        when(consentRepository.findById(any(UUID.class))).thenReturn(Mono.just(expiredConsent));
+        when(consentBatchLoader.loadValidated(any(UUID.class))).thenReturn(Mono.just(ValidatedConsent.of(expiredConsent)));
 
         // When
         Mono<Boolean> result = consentValidationService.validateConsent(CONSENT_ID, ResourceType.ACCOUNT, PARTY_ID, "tpp1");
@@ -135,13 +137,13 @@ class ConsentValidationServiceTest {
                 .expectNext(false)
                 .verifyComplete();
 
-        verify(consentRepository, never()).save(any(Consent.class));
+        verify(consentRepository, never()).updateLastActionDate(any(UUID.class), any(LocalDateTime.class));
     }
 
     @Test
     void validateConsent_withInvalidStatusConsent_shouldReturnFalse() {
         // Given
-        when(consentRepository.findById(any(UUID.class))).thenReturn(Mono.just(invalidStatusConsent));
+        when(consentBatchLoader.loadValidated(any(UUID.class))).thenReturn(Mono.just(ValidatedConsent.of(invalidStatusConsent)));
 
         // When
         Mono<Boolean> result = consentValidationService.validateConsent(CONSENT_ID, ResourceType.ACCOUNT, PARTY_ID, "tpp1");
@@ -151,13 +153,13 @@ class ConsentValidationServiceTest {
                 .expectNext(false)
                 .verifyComplete();
 
-        verify(consentRepository, never()).save(any(Consent.class));
+        verify(consentRepository, never()).updateLastActionDate(any(UUID.class), any(LocalDateTime.class));
     }
 
     @Test
     void validateConsent_withWrongPartyId_shouldReturnFalse() {
         // Given
-        when(consentRepository.findById(any(UUID.class))).thenReturn(Mono.just(validConsent));
+        when(consentBatchLoader.loadValidated(any(UUID.class))).thenReturn(Mono.just(ValidatedConsent.of(validConsent)));
 
         // When
         Mono<Boolean> result = consentValidationService.validateConsent(CONSENT_ID, ResourceType.ACCOUNT, ACCOUNT_ID, "tpp1");
@@ -167,13 +169,13 @@ class ConsentValidationServiceTest {
                 .expectNext(false)
                 .verifyComplete();
 
-        verify(consentRepository, never()).save(any(Consent.class));
+        verify(consentRepository, never()).updateLastActionDate(any(UUID.class), any(LocalDateTime.class));
     }
 
     @Test
     void validateConsent_withWrongResourceType_shouldReturnFalse() {
         // Given
-        when(consentRepository.findById(any(UUID.class))).thenReturn(Mono.just(validConsent));
+        when(consentBatchLoader.loadValidated(any(UUID.class))).thenReturn(Mono.just(ValidatedConsent.of(validConsent)));
 
         // When
         Mono<Boolean> result = consentValidationService.validateConsent(CONSENT_ID, ResourceType.PAYMENT, PARTY_ID, "tpp1");
@@ -183,15 +185,15 @@ class ConsentValidationServiceTest {
                 .expectNext(false)
                 .verifyComplete();
 
-        verify(consentRepository, never()).save(any(Consent.class));
+        verify(consentRepository, never()).updateLastActionDate(any(UUID.class), any(LocalDateTime.class));
     }
 
     @Test
     void validateConsent_withLimitedFrequencyNotExceeded_shouldReturnTrue() {
         // Given
-        when(consentRepository.findById(any(UUID.class))).thenReturn(Mono.just(limitedFrequencyConsent));
+        when(consentBatchLoader.loadValidated(any(UUID.class))).thenReturn(Mono.just(ValidatedConsent.of(limitedFrequencyConsent)));
         when(accessLogService.countAccessLogsForConsent(CONSENT_ID)).thenReturn(Mono.just(3L));
-        when(consentRepository.save(any(Consent.class))).thenReturn(Mono.just(limitedFrequencyConsent));
+        when(consentRepository.updateLastActionDate(eq(CONSENT_ID), any(LocalDateTime.class))).thenReturn(Mono.just(1));
 
         // When
         Mono<Boolean> result = consentValidationService.validateConsent(CONSENT_ID, ResourceType.ACCOUNT, PARTY_ID, "tpp1");
@@ -201,15 +203,13 @@ class ConsentValidationServiceTest {
                 .expectNext(true)
                 .verifyComplete();
 
-        ArgumentCaptor<Consent> consentCaptor = ArgumentCaptor.forClass(Consent.class);
-        verify(consentRepository).save(consentCaptor.capture());
-        assertNotNull(consentCaptor.getValue().getLastActionDate());
+        verify(consentRepository).updateLastActionDate(eq(CONSENT_ID), any(LocalDateTime.class));
     }
 
     @Test
     void validateConsent_withLimitedFrequencyExceeded_shouldReturnFalse() {
         // Given
-        when(consentRepository.findById(any(UUID.class))).thenReturn(Mono.just(limitedFrequencyConsent));
+        when(consentBatchLoader.loadValidated(any(UUID.class))).thenReturn(Mono.just(ValidatedConsent.of(limitedFrequencyConsent)));
         when(accessLogService.countAccessLogsForConsent(CONSENT_ID)).thenReturn(Mono.just(5L));
 
         // When
@@ -220,6 +220,6 @@ class ConsentValidationServiceTest {
                 .expectNext(false)
                 .verifyComplete();
 
-        verify(consentRepository, never()).save(any(Consent.class));
+        verify(consentRepository, never()).updateLastActionDate(any(UUID.class), any(LocalDateTime.class));
     }
 }
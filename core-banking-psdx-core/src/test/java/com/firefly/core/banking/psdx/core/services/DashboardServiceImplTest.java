@@ -0,0 +1,231 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.services;
+
+import com.firefly.core.banking.psdx.core.batching.ConsentBatchLoader;
+import com.firefly.core.banking.psdx.core.consent.ValidatedConsent;
+import com.firefly.core.banking.psdx.core.ports.AccountServicePort;
+import com.firefly.core.banking.psdx.core.ports.CardServicePort;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccountDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBalanceDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDCardAccountDTO;
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentType;
+import com.firefly.core.banking.psdx.models.entities.Consent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    @Mock
+    private AccountServicePort accountServicePort;
+
+    @Mock
+    private CardServicePort cardServicePort;
+
+    @Mock
+    private ConsentBatchLoader consentBatchLoader;
+
+    @Mock
+    private ConsentValidationService consentValidationService;
+
+    @InjectMocks
+    private DashboardServiceImpl dashboardService;
+
+    private final UUID CONSENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private final UUID PARTY_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private final UUID CARD_CONSENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440007");
+    private final UUID ACCOUNT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+    private final UUID OTHER_PARTY_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440009");
+    private final String THIRD_PARTY_ID = "tpp-1";
+
+    private Consent consent;
+    private Consent cardConsent;
+    private PSDAccountDTO account;
+    private PSDBalanceDTO balance;
+
+    @BeforeEach
+    void setUp() {
+        // Setup test data
+        consent = new Consent();
+        consent.setId(CONSENT_ID);
+        consent.setPartyId(PARTY_ID);
+        consent.setConsentType(ConsentType.ACCOUNT_INFORMATION);
+        consent.setStatus(ConsentStatus.VALID);
+        consent.setValidFrom(LocalDateTime.now().minusDays(1));
+        consent.setValidUntil(LocalDateTime.now().plusDays(90));
+        consent.setAccessScope("account,balance");
+
+        cardConsent = new Consent();
+        cardConsent.setId(CARD_CONSENT_ID);
+        cardConsent.setPartyId(PARTY_ID);
+        cardConsent.setConsentType(ConsentType.CARD_INFORMATION);
+        cardConsent.setStatus(ConsentStatus.VALID);
+        cardConsent.setValidFrom(LocalDateTime.now().minusDays(1));
+        cardConsent.setValidUntil(LocalDateTime.now().plusDays(90));
+        cardConsent.setAccessScope("card");
+
+        account = new PSDAccountDTO();
+        account.setResourceId(ACCOUNT_ID);
+        account.setIban("DE89370400440532013000");
+        account.setCurrency("EUR");
+
+        balance = new PSDBalanceDTO();
+        balance.setBalanceType("closingBooked");
+        balance.setBalanceAmount(new PSDBalanceDTO.PSDAmountDTO("EUR", BigDecimal.valueOf(1000.00)));
+    }
+
+    @Test
+    void getDashboard_shouldStreamAccounts_andReportSlowCardServiceAfterBudget() {
+        // Given
+        when(consentBatchLoader.loadValidated(CONSENT_ID)).thenReturn(Mono.just(ValidatedConsent.of(consent)));
+        when(consentBatchLoader.loadValidated(CARD_CONSENT_ID)).thenReturn(Mono.just(ValidatedConsent.of(cardConsent)));
+        when(consentValidationService.recordAccess(any())).thenReturn(Mono.just(true));
+        when(accountServicePort.getAccountsByPartyId(PARTY_ID)).thenReturn(Flux.just(account));
+        when(accountServicePort.getBalancesByAccountId(ACCOUNT_ID)).thenReturn(Flux.just(balance));
+        when(cardServicePort.getCardAccountsByPartyId(PARTY_ID)).thenReturn(Flux.never());
+
+        // When & Then
+        StepVerifier.withVirtualTime(() -> dashboardService.getDashboard(List.of(CONSENT_ID, CARD_CONSENT_ID, CONSENT_ID), PARTY_ID, THIRD_PARTY_ID))
+                .expectNextMatches(item -> "ACCOUNT".equals(item.getItemType())
+                        && item.getAccount().getResourceId().equals(ACCOUNT_ID)
+                        && item.getAccount().getBalances().size() == 1)
+                .thenAwait(Duration.ofMillis(2500))
+                .expectNextMatches(item -> "NOTICE".equals(item.getItemType())
+                        && item.getMessage().startsWith("Card service"))
+                .verifyComplete();
+
+        verify(consentBatchLoader).loadValidated(CONSENT_ID);
+    }
+
+    @Test
+    void getDashboard_shouldReportInvalidConsent_withoutQueryingDownstream() {
+        // Given
+        consent.setStatus(ConsentStatus.REVOKED);
+        when(consentBatchLoader.loadValidated(CONSENT_ID)).thenReturn(Mono.just(ValidatedConsent.of(consent)));
+
+        // When & Then
+        StepVerifier.create(dashboardService.getDashboard(List.of(CONSENT_ID), PARTY_ID, THIRD_PARTY_ID))
+                .expectNextMatches(item -> "NOTICE".equals(item.getItemType())
+                        && CONSENT_ID.equals(item.getConsentId())
+                        && "Invalid or expired consent".equals(item.getMessage()))
+                .verifyComplete();
+
+        verify(accountServicePort, never()).getAccountsByPartyId(PARTY_ID);
+        verify(cardServicePort, never()).getCardAccountsByPartyId(PARTY_ID);
+        verify(consentValidationService, never()).recordAccess(any());
+    }
+
+    @Test
+    void getDashboard_shouldReportConsent_whenAccessFrequencyIsExceeded() {
+        // Given
+        when(consentBatchLoader.loadValidated(CONSENT_ID)).thenReturn(Mono.just(ValidatedConsent.of(consent)));
+        when(consentValidationService.recordAccess(any())).thenReturn(Mono.just(false));
+
+        // When & Then
+        StepVerifier.create(dashboardService.getDashboard(List.of(CONSENT_ID), PARTY_ID, THIRD_PARTY_ID))
+                .expectNextMatches(item -> "NOTICE".equals(item.getItemType())
+                        && "Consent access frequency exceeded".equals(item.getMessage()))
+                .verifyComplete();
+
+        verify(accountServicePort, never()).getAccountsByPartyId(PARTY_ID);
+    }
+
+    @Test
+    void getDashboard_shouldReportConsentOfAnotherParty_asNotFound() {
+        // Given
+        when(consentBatchLoader.loadValidated(CONSENT_ID)).thenReturn(Mono.just(ValidatedConsent.of(consent)));
+
+        // When & Then
+        StepVerifier.create(dashboardService.getDashboard(List.of(CONSENT_ID), OTHER_PARTY_ID, THIRD_PARTY_ID))
+                .expectNextMatches(item -> "NOTICE".equals(item.getItemType())
+                        && "Consent not found".equals(item.getMessage()))
+                .verifyComplete();
+
+        verify(accountServicePort, never()).getAccountsByPartyId(PARTY_ID);
+    }
+
+    @Test
+    void getDashboard_shouldReportFailedAccountService_andStillDeliverCards() {
+        // Given
+        when(consentBatchLoader.loadValidated(CONSENT_ID)).thenReturn(Mono.just(ValidatedConsent.of(consent)));
+        when(consentBatchLoader.loadValidated(CARD_CONSENT_ID)).thenReturn(Mono.just(ValidatedConsent.of(cardConsent)));
+        when(consentValidationService.recordAccess(any())).thenReturn(Mono.just(true));
+        when(accountServicePort.getAccountsByPartyId(PARTY_ID)).thenReturn(Flux.error(new IllegalStateException("unavailable")));
+        PSDCardAccountDTO card = new PSDCardAccountDTO();
+        card.setResourceId(ACCOUNT_ID);
+        when(cardServicePort.getCardAccountsByPartyId(PARTY_ID)).thenReturn(Flux.just(card));
+
+        // When & Then
+        StepVerifier.create(dashboardService.getDashboard(List.of(CONSENT_ID, CARD_CONSENT_ID), PARTY_ID, THIRD_PARTY_ID))
+                .recordWith(ArrayList::new)
+                .expectNextCount(2)
+                .consumeRecordedWith(items -> {
+                    assertTrue(items.stream().anyMatch(item -> "CARD_ACCOUNT".equals(item.getItemType())));
+                    assertTrue(items.stream().anyMatch(item -> "NOTICE".equals(item.getItemType())
+                            && CONSENT_ID.equals(item.getConsentId())
+                            && ("Account service for consent " + CONSENT_ID + " failed").equals(item.getMessage())));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getDashboard_shouldReportFailedConsentLookup() {
+        // Given
+        when(consentBatchLoader.loadValidated(CONSENT_ID)).thenReturn(Mono.error(new IllegalStateException("unavailable")));
+
+        // When & Then
+        StepVerifier.create(dashboardService.getDashboard(List.of(CONSENT_ID), PARTY_ID, THIRD_PARTY_ID))
+                .expectNextMatches(item -> "NOTICE".equals(item.getItemType())
+                        && ("Consent " + CONSENT_ID + " failed").equals(item.getMessage()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getDashboard_shouldNotReportConsentAsMissing_whenItHasNoResources() {
+        // Given
+        when(consentBatchLoader.loadValidated(CONSENT_ID)).thenReturn(Mono.just(ValidatedConsent.of(consent)));
+        when(consentValidationService.recordAccess(any())).thenReturn(Mono.just(true));
+        when(accountServicePort.getAccountsByPartyId(PARTY_ID)).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(dashboardService.getDashboard(List.of(CONSENT_ID), PARTY_ID, THIRD_PARTY_ID))
+                .verifyComplete();
+    }
+}
@@ -17,23 +17,40 @@
 
 package com.firefly.core.banking.psdx.core.services;
 
+import com.firefly.core.banking.psdx.core.cache.AvailableBalanceCache;
+import com.firefly.core.banking.psdx.core.mappers.FundsConfirmationMapper;
 import com.firefly.core.banking.psdx.core.ports.AccountServicePort;
+import com.firefly.core.banking.psdx.core.ports.CardServicePort;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccountDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccountReferenceDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDAmountDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationBatchRequestDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationCheckDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationDTO;
+import com.firefly.core.banking.psdx.interfaces.exceptions.PSDResourceUnknownException;
 import com.firefly.core.banking.psdx.interfaces.services.ConsentService;
+import com.firefly.core.banking.psdx.models.entities.FundsConfirmation;
+import com.firefly.core.banking.psdx.models.repositories.FundsConfirmationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,14 +59,29 @@ class FundsConfirmationServiceImplTest {
     @Mock
     private AccountServicePort accountServicePort;
 
+    @Mock
+    private CardServicePort cardServicePort;
+
     @Mock
     private ConsentService consentService;
 
+    @Mock
+    private AvailableBalanceCache availableBalanceCache;
+
+    @Mock
+    private FundsConfirmationRepository fundsConfirmationRepository;
+
+    @Mock
+    private FundsConfirmationMapper fundsConfirmationMapper;
+
     @InjectMocks
     private FundsConfirmationServiceImpl fundsConfirmationService;
 
     private final UUID CONSENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
     private final UUID FUNDS_CONFIRMATION_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440007");
+    private final UUID PARTY_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private final UUID ACCOUNT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+    private final String IBAN = "DE89370400440532013000";
 
     private PSDFundsConfirmationDTO fundsConfirmationRequest;
 
@@ -71,7 +103,9 @@ class FundsConfirmationServiceImplTest {
     @Test
     void confirmFunds_shouldReturnConfirmation_whenConsentIsValid() {
         // Given
-        when(consentService.validateConsent(CONSENT_ID, "FUNDS_CONFIRMATION", "READ")).thenReturn(Mono.just(true));
+        givenAvailableBalance(BigDecimal.valueOf(500.00));
+        when(fundsConfirmationMapper.toEntity(any(PSDFundsConfirmationDTO.class)))
+                .thenReturn(FundsConfirmation.builder().id(FUNDS_CONFIRMATION_ID).build());
 
         // When & Then
         StepVerifier.create(fundsConfirmationService.confirmFunds(CONSENT_ID, fundsConfirmationRequest))
@@ -84,6 +118,23 @@ class FundsConfirmationServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    void confirmFunds_shouldReportUnavailableFunds_whenAmountExceedsAvailableBalance() {
+        // Given
+        givenAvailableBalance(BigDecimal.valueOf(99.99));
+        when(fundsConfirmationMapper.toEntity(any(PSDFundsConfirmationDTO.class)))
+                .thenReturn(FundsConfirmation.builder().id(FUNDS_CONFIRMATION_ID).build());
+        when(fundsConfirmationRepository.saveAll(anyList())).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(fundsConfirmationService.confirmFunds(CONSENT_ID, fundsConfirmationRequest))
+                .expectNextMatches(confirmation -> Boolean.FALSE.equals(confirmation.getFundsAvailable()))
+                .verifyComplete();
+
+        fundsConfirmationService.flushConfirmations();
+        verify(fundsConfirmationRepository).saveAll(anyList());
+    }
+
     @Test
     void confirmFunds_shouldReturnError_whenConsentIsInvalid() {
         // Given
@@ -95,10 +146,55 @@ class FundsConfirmationServiceImplTest {
                 .verify();
     }
 
+    @Test
+    void confirmFundsBatch_shouldStreamResultsInOrder_andPersistOnce() {
+        // Given
+        givenAvailableBalance(BigDecimal.valueOf(500.00));
+        when(cardServicePort.getCardAccountsByPartyId(PARTY_ID)).thenReturn(Flux.empty());
+        when(fundsConfirmationRepository.saveAll(anyList())).thenReturn(Flux.empty());
+        PSDFundsConfirmationBatchRequestDTO batchRequest = PSDFundsConfirmationBatchRequestDTO.builder()
+                .checks(List.of(
+                        PSDFundsConfirmationCheckDTO.builder()
+                                .account(fundsConfirmationRequest.getAccount())
+                                .instructedAmount(fundsConfirmationRequest.getInstructedAmount())
+                                .build(),
+                        PSDFundsConfirmationCheckDTO.builder()
+                                .cardNumber("5409050000000000")
+                                .instructedAmount(fundsConfirmationRequest.getInstructedAmount())
+                                .build(),
+                        PSDFundsConfirmationCheckDTO.builder()
+                                .account(fundsConfirmationRequest.getAccount())
+                                .instructedAmount(PSDAmountDTO.builder().currency("EUR").amount(BigDecimal.valueOf(600.00)).build())
+                                .build()))
+                .build();
+
+        // When & Then
+        StepVerifier.create(fundsConfirmationService.confirmFundsBatch(CONSENT_ID, batchRequest))
+                .expectNextMatches(item -> item.getIndex() == 0 && Boolean.TRUE.equals(item.getFundsAvailable()))
+                .expectNextMatches(item -> item.getIndex() == 1 && item.getFundsAvailable() == null && item.getErrorMessage() != null)
+                .expectNextMatches(item -> item.getIndex() == 2 && Boolean.FALSE.equals(item.getFundsAvailable()))
+                .verifyComplete();
+
+        verify(consentService, times(1)).validateConsent(CONSENT_ID, "FUNDS_CONFIRMATION", "READ");
+        verify(consentService, times(1)).getConsent(CONSENT_ID);
+        verify(fundsConfirmationRepository, times(1)).saveAll(anyList());
+    }
+
     @Test
     void getFundsConfirmation_shouldReturnConfirmation_whenConsentIsValid() {
         // Given
+        FundsConfirmation stored = FundsConfirmation.builder()
+                .id(FUNDS_CONFIRMATION_ID)
+                .consentId(CONSENT_ID)
+                .build();
         when(consentService.validateConsent(CONSENT_ID, "FUNDS_CONFIRMATION", "READ")).thenReturn(Mono.just(true));
+        when(fundsConfirmationRepository.findById(FUNDS_CONFIRMATION_ID)).thenReturn(Mono.just(stored));
+        when(fundsConfirmationMapper.toDto(stored)).thenReturn(PSDFundsConfirmationDTO.builder()
+                .fundsConfirmationId(FUNDS_CONFIRMATION_ID)
+                .consentId(CONSENT_ID)
+                .fundsAvailable(true)
+                .confirmationDateTime(LocalDateTime.now())
+                .build());
 
         // When & Then
         StepVerifier.create(fundsConfirmationService.getFundsConfirmation(CONSENT_ID, FUNDS_CONFIRMATION_ID))
@@ -111,6 +207,21 @@ class FundsConfirmationServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getFundsConfirmation_shouldReturnNotFound_whenConfirmationBelongsToOtherConsent() {
+        // Given
+        when(consentService.validateConsent(CONSENT_ID, "FUNDS_CONFIRMATION", "READ")).thenReturn(Mono.just(true));
+        when(fundsConfirmationRepository.findById(FUNDS_CONFIRMATION_ID)).thenReturn(Mono.just(FundsConfirmation.builder()
+                .id(FUNDS_CONFIRMATION_ID)
+                .consentId(UUID.randomUUID())
+                .build()));
+
+        // When & Then
+        StepVerifier.create(fundsConfirmationService.getFundsConfirmation(CONSENT_ID, FUNDS_CONFIRMATION_ID))
+                .expectError(PSDResourceUnknownException.class)
+                .verify();
+    }
+
     @Test
     void getFundsConfirmation_shouldReturnError_whenConsentIsInvalid() {
         // Given
@@ -121,4 +232,19 @@ class FundsConfirmationServiceImplTest {
                 .expectError(IllegalArgumentException.class)
                 .verify();
     }
+
+    private void givenAvailableBalance(BigDecimal available) {
+        PSDAccountDTO account = new PSDAccountDTO();
+        account.setResourceId(ACCOUNT_ID);
+        account.setIban(IBAN);
+        PSDConsentDTO consent = new PSDConsentDTO();
+        consent.setId(CONSENT_ID);
+        consent.setPartyId(PARTY_ID);
+
+        when(consentService.validateConsent(CONSENT_ID, "FUNDS_CONFIRMATION", "READ")).thenReturn(Mono.just(true));
+        when(consentService.getConsent(CONSENT_ID)).thenReturn(Mono.just(consent));
+        when(accountServicePort.getAccountsByPartyId(PARTY_ID)).thenReturn(Flux.just(account));
+        when(availableBalanceCache.getSnapshot(IBAN, ACCOUNT_ID))
+                .thenReturn(Mono.just(new AvailableBalanceCache.Snapshot(ACCOUNT_ID, available, "EUR")));
+    }
 }
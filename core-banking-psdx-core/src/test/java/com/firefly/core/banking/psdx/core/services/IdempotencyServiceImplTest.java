@@ -0,0 +1,257 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.banking.psdx.models.entities.IdempotencyKey;
+import com.firefly.core.banking.psdx.models.repositories.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the IdempotencyServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    // Test constants
+    private static final String TPP_ID = "test-api-key";
+    private static final UUID CONSENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final String REQUEST_ID = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721";
+    private static final Map<String, String> REQUEST_BODY = Map.of("amount", "100.00");
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepository, objectMapper, 24, 60, 1000);
+    }
+
+    @Test
+    void execute_shouldReplayResultWithoutExecutingAgain_whenRequestIdIsRepeated() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        stubFirstExecution();
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(idempotencyService.execute(TPP_ID, CONSENT_ID, REQUEST_ID, REQUEST_BODY, String.class,
+                            () -> Mono.just("payment-" + executions.incrementAndGet())))
+                    .expectNext("payment-1")
+                    .verifyComplete();
+        }
+        assertEquals(1, executions.get());
+        verify(idempotencyKeyRepository, times(1)).claim(any(), anyString(), anyString(), anyString(), any(), any(), any());
+        verify(idempotencyKeyRepository).complete(any(), eq("\"payment-1\""));
+    }
+
+    @Test
+    void execute_shouldShareResult_whenDuplicateArrivesWhileOriginalIsInFlight() {
+        // Given
+        Sinks.One<String> downstream = Sinks.one();
+        AtomicInteger executions = new AtomicInteger();
+        stubFirstExecution();
+
+        Mono<String> original = idempotencyService.execute(TPP_ID, CONSENT_ID, REQUEST_ID, REQUEST_BODY, String.class,
+                () -> {
+                    executions.incrementAndGet();
+                    return downstream.asMono();
+                });
+        Mono<String> duplicate = idempotencyService.execute(TPP_ID, CONSENT_ID, REQUEST_ID, REQUEST_BODY, String.class,
+                () -> {
+                    executions.incrementAndGet();
+                    return Mono.just("payment-2");
+                });
+
+        // When & Then
+        StepVerifier.create(original.zipWith(duplicate))
+                .then(() -> downstream.tryEmitValue("payment-1"))
+                .assertNext(results -> {
+                    assertEquals("payment-1", results.getT1());
+                    assertEquals("payment-1", results.getT2());
+                })
+                .verifyComplete();
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_shouldReturnConflict_whenRequestIdIsReusedWithDifferentBody() {
+        // Given
+        stubFirstExecution();
+        StepVerifier.create(idempotencyService.execute(TPP_ID, CONSENT_ID, REQUEST_ID, REQUEST_BODY, String.class,
+                        () -> Mono.just("payment-1")))
+                .expectNext("payment-1")
+                .verifyComplete();
+
+        // When & Then
+        StepVerifier.create(idempotencyService.execute(TPP_ID, CONSENT_ID, REQUEST_ID, Map.of("amount", "200.00"), String.class,
+                        () -> Mono.just("payment-2")))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void execute_shouldReturnConflict_whenRequestIdIsReusedForDifferentConsent() {
+        // Given
+        stubFirstExecution();
+        StepVerifier.create(idempotencyService.execute(TPP_ID, CONSENT_ID, REQUEST_ID, REQUEST_BODY, String.class,
+                        () -> Mono.just("payment-1")))
+                .expectNext("payment-1")
+                .verifyComplete();
+
+        // When & Then
+        StepVerifier.create(idempotencyService.execute(TPP_ID, UUID.randomUUID(), REQUEST_ID, REQUEST_BODY, String.class,
+                        () -> Mono.just("payment-2")))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void execute_shouldReplayStoredResponse_whenKeyIsOnlyInDatabase() throws Exception {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        String tppIdHash = HexFormat.of().formatHex(digest.digest(TPP_ID.getBytes(StandardCharsets.UTF_8)));
+        digest.update((tppIdHash + ":" + CONSENT_ID + ":").getBytes(StandardCharsets.UTF_8));
+        IdempotencyKey stored = IdempotencyKey.builder()
+                .fingerprint(HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(REQUEST_BODY))))
+                .status("COMPLETED")
+                .responseBody("\"payment-1\"")
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+        when(idempotencyKeyRepository.findById(any(UUID.class))).thenReturn(Mono.just(stored));
+
+        // When & Then
+        StepVerifier.create(idempotencyService.execute(TPP_ID, CONSENT_ID, REQUEST_ID, REQUEST_BODY, String.class,
+                        () -> Mono.just("payment-" + executions.incrementAndGet())))
+                .expectNext("payment-1")
+                .verifyComplete();
+        assertEquals(0, executions.get());
+        verify(idempotencyKeyRepository, never()).claim(any(), anyString(), anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void execute_shouldReleaseKey_whenOperationFails() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        when(idempotencyKeyRepository.findById(any(UUID.class))).thenReturn(Mono.empty());
+        when(idempotencyKeyRepository.claim(any(), anyString(), anyString(), anyString(), any(), any(), any()))
+                .thenReturn(Mono.just(1));
+        when(idempotencyKeyRepository.deleteById(any(UUID.class))).thenReturn(Mono.empty());
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(idempotencyService.execute(TPP_ID, CONSENT_ID, REQUEST_ID, REQUEST_BODY, String.class,
+                            () -> {
+                                executions.incrementAndGet();
+                                return Mono.<String>error(new IllegalArgumentException("Invalid or expired consent"));
+                            }))
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+        }
+        assertEquals(2, executions.get());
+        verify(idempotencyKeyRepository, times(2)).deleteById(any(UUID.class));
+    }
+
+    @Test
+    void execute_shouldTakeOverPendingKey_whenLeaseHasExpired() throws Exception {
+        // Given
+        IdempotencyKey stored = IdempotencyKey.builder()
+                .fingerprint(fingerprint())
+                .status("PENDING")
+                .createdAt(LocalDateTime.now().minusMinutes(5))
+                .expiresAt(LocalDateTime.now().plusHours(23))
+                .build();
+        when(idempotencyKeyRepository.findById(any(UUID.class))).thenReturn(Mono.just(stored));
+        when(idempotencyKeyRepository.claim(any(), anyString(), anyString(), anyString(), any(), any(), any()))
+                .thenReturn(Mono.just(1));
+        when(idempotencyKeyRepository.complete(any(), anyString())).thenReturn(Mono.just(1));
+
+        // When & Then
+        StepVerifier.create(idempotencyService.execute(TPP_ID, CONSENT_ID, REQUEST_ID, REQUEST_BODY, String.class,
+                        () -> Mono.just("payment-1")))
+                .expectNext("payment-1")
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_shouldReturnConflict_whilePendingKeyIsLeased() throws Exception {
+        // Given
+        IdempotencyKey stored = IdempotencyKey.builder()
+                .fingerprint(fingerprint())
+                .status("PENDING")
+                .createdAt(LocalDateTime.now().minusSeconds(5))
+                .expiresAt(LocalDateTime.now().plusHours(23))
+                .build();
+        when(idempotencyKeyRepository.findById(any(UUID.class))).thenReturn(Mono.just(stored));
+
+        // When & Then
+        StepVerifier.create(idempotencyService.execute(TPP_ID, CONSENT_ID, REQUEST_ID, REQUEST_BODY, String.class,
+                        () -> Mono.just("payment-1")))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void execute_shouldExecuteDirectly_whenRequestIdIsMissing() {
+        // When & Then
+        StepVerifier.create(idempotencyService.execute(TPP_ID, CONSENT_ID, null, REQUEST_BODY, String.class,
+                        () -> Mono.just("payment-1")))
+                .expectNext("payment-1")
+                .verifyComplete();
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    private String fingerprint() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        String tppIdHash = HexFormat.of().formatHex(digest.digest(TPP_ID.getBytes(StandardCharsets.UTF_8)));
+        digest.update((tppIdHash + ":" + CONSENT_ID + ":").getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(REQUEST_BODY)));
+    }
+
+        private void stubFirstExecution() {
+        when(idempotencyKeyRepository.findById(any(UUID.class))).thenReturn(Mono.empty());
+        when(idempotencyKeyRepository.claim(any(), anyString(), anyString(), anyString(), any(), any(), any()))
+                .thenReturn(Mono.just(1));
+        when(idempotencyKeyRepository.complete(any(), anyString())).thenReturn(Mono.just(1));
+    }
+}
@@ -17,23 +17,49 @@
 
 package com.firefly.core.banking.psdx.core.services;
 
+import com.firefly.core.banking.psdx.core.cache.AvailableBalanceCache;
+import com.firefly.core.banking.psdx.core.events.PaymentStatusEventBus;
+import com.firefly.core.banking.psdx.core.mappers.PaymentMapper;
 import com.firefly.core.banking.psdx.core.ports.PaymentServicePort;
+import com.firefly.core.banking.psdx.core.ports.SCAServicePort;
+import com.firefly.core.banking.psdx.core.sca.ScaDecision;
+import com.firefly.core.banking.psdx.core.sca.ScaExemptionRequest;
+import com.firefly.core.banking.psdx.core.sca.ScaExemptionType;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBulkPaymentInitiationRequestDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBulkPaymentItemStatusDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentInitiationRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentStatusDTO;
 import com.firefly.core.banking.psdx.interfaces.services.ConsentService;
+import com.firefly.core.banking.psdx.models.entities.Payment;
+import com.firefly.core.banking.psdx.models.repositories.PaymentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,16 +71,33 @@ class PaymentInitiationServiceImplTest {
     @Mock
     private ConsentService consentService;
 
+    @Mock
+    private SCAServicePort scaServicePort;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    @Mock
+    private PaymentStatusEventBus paymentStatusEventBus;
+
+    @Mock
+    private AvailableBalanceCache availableBalanceCache;
+
     @InjectMocks
     private PaymentInitiationServiceImpl paymentInitiationService;
 
     private final UUID CONSENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
     private final UUID PAYMENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440005");
+    private final UUID PARTY_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
     private final String AUTHORIZATION_CODE = "123456";
 
     private PSDPaymentInitiationRequestDTO paymentRequest;
     private PSDPaymentDTO payment;
     private PSDPaymentStatusDTO paymentStatus;
+    private PSDConsentDTO consent;
 
     @BeforeEach
     void setUp() {
@@ -85,18 +128,32 @@ class PaymentInitiationServiceImplTest {
         paymentStatus = new PSDPaymentStatusDTO();
         paymentStatus.setPaymentId(PAYMENT_ID);
         paymentStatus.setTransactionStatus("ACCP");
+
+        consent = new PSDConsentDTO();
+        consent.setId(CONSENT_ID);
+        consent.setPartyId(PARTY_ID);
     }
 
     @Test
     void initiatePayment_shouldReturnPayment_whenConsentIsValid() {
         // Given
         when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "WRITE")).thenReturn(Mono.just(true));
+        when(consentService.getConsent(CONSENT_ID)).thenReturn(Mono.just(consent));
+        when(scaServicePort.evaluateExemption(any(ScaExemptionRequest.class))).thenReturn(Mono.just(ScaDecision.REQUIRED));
         when(paymentServicePort.initiatePayment(paymentRequest)).thenReturn(Mono.just(payment));
+        Payment entity = new Payment();
+        when(paymentMapper.toEntity(payment)).thenReturn(entity);
+        when(paymentRepository.save(entity)).thenReturn(Mono.just(entity));
 
         // When & Then
         StepVerifier.create(paymentInitiationService.initiatePayment(CONSENT_ID, paymentRequest))
                 .expectNext(payment)
                 .verifyComplete();
+
+        assertEquals(CONSENT_ID, entity.getConsentId());
+        assertTrue(entity.isNewPayment());
+        assertEquals(Boolean.TRUE, payment.getScaRequired());
+        verify(scaServicePort).evaluateExemption(new ScaExemptionRequest(PARTY_ID, BigDecimal.valueOf(100.00), "EUR"));
     }
 
     @Test
@@ -114,7 +171,41 @@ class PaymentInitiationServiceImplTest {
     void getPaymentStatus_shouldReturnStatus_whenConsentIsValid() {
         // Given
         when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "READ")).thenReturn(Mono.just(true));
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Mono.empty());
         when(paymentServicePort.getPaymentStatus(PAYMENT_ID)).thenReturn(Mono.just(paymentStatus));
+        when(paymentRepository.updateTransactionStatus(eq(PAYMENT_ID), eq("ACCP"), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(0));
+
+        // When & Then
+        StepVerifier.create(paymentInitiationService.getPaymentStatus(CONSENT_ID, PAYMENT_ID))
+                .expectNext(paymentStatus)
+                .verifyComplete();
+    }
+
+    @Test
+    void getPaymentStatus_shouldServeFromReadModel_whenStoredStatusIsFresh() {
+        // Given
+        when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "READ")).thenReturn(Mono.just(true));
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Mono.just(storedPayment("ACCP", LocalDateTime.now())));
+
+        // When & Then
+        StepVerifier.create(paymentInitiationService.getPaymentStatus(CONSENT_ID, PAYMENT_ID))
+                .expectNextMatches(status -> PAYMENT_ID.equals(status.getPaymentId())
+                        && "ACCP".equals(status.getTransactionStatus()))
+                .verifyComplete();
+
+        verify(paymentServicePort, never()).getPaymentStatus(PAYMENT_ID);
+    }
+
+    @Test
+    void getPaymentStatus_shouldRefreshFromPaymentService_whenStoredStatusIsStale() {
+        // Given
+        when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "READ")).thenReturn(Mono.just(true));
+        when(paymentRepository.findById(PAYMENT_ID))
+                .thenReturn(Mono.just(storedPayment("PDNG", LocalDateTime.now().minusMinutes(5))));
+        when(paymentServicePort.getPaymentStatus(PAYMENT_ID)).thenReturn(Mono.just(paymentStatus));
+        when(paymentRepository.updateTransactionStatus(eq(PAYMENT_ID), eq("ACCP"), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(1));
 
         // When & Then
         StepVerifier.create(paymentInitiationService.getPaymentStatus(CONSENT_ID, PAYMENT_ID))
@@ -133,11 +224,62 @@ class PaymentInitiationServiceImplTest {
                 .verify();
     }
 
+    @Test
+    void streamPaymentStatus_shouldEmitChangesUntilFinalStatus() {
+        // Given
+        Sinks.Many<PSDPaymentStatusDTO> changes = Sinks.many().multicast().onBackpressureBuffer();
+        when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "READ")).thenReturn(Mono.just(true));
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Mono.just(storedPayment("ACCP", LocalDateTime.now())));
+        when(paymentStatusEventBus.subscribe(eq("test-api-key"), eq(PAYMENT_ID), any())).thenReturn(changes.asFlux());
+
+        // When & Then
+        StepVerifier.create(paymentInitiationService.streamPaymentStatus(CONSENT_ID, PAYMENT_ID, "test-api-key"))
+                .expectNextMatches(status -> "ACCP".equals(status.getTransactionStatus()))
+                .then(() -> {
+                    changes.tryEmitNext(PSDPaymentStatusDTO.builder().paymentId(PAYMENT_ID).transactionStatus("ACCP").build());
+                    changes.tryEmitNext(PSDPaymentStatusDTO.builder().paymentId(PAYMENT_ID).transactionStatus("ACSC").build());
+                })
+                .expectNextMatches(status -> "ACSC".equals(status.getTransactionStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    void awaitPaymentStatus_shouldReturnCurrentStatus_whenStatusDoesNotChangeWithinTimeout() {
+        // Given
+        when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "READ")).thenReturn(Mono.just(true));
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Mono.just(storedPayment("ACCP", LocalDateTime.now())));
+        when(paymentStatusEventBus.subscribe(eq("test-api-key"), eq(PAYMENT_ID), any())).thenReturn(Flux.never());
+
+        // When & Then
+        StepVerifier.create(paymentInitiationService.awaitPaymentStatus(
+                        CONSENT_ID, PAYMENT_ID, "ACCP", Duration.ofMillis(100), "test-api-key"))
+                .expectNextMatches(status -> "ACCP".equals(status.getTransactionStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    void awaitPaymentStatus_shouldReturnFinalStatusImmediately_whenItIsTheLastKnownStatus() {
+        // Given
+        when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "READ")).thenReturn(Mono.just(true));
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Mono.just(storedPayment("ACSC", LocalDateTime.now())));
+        when(paymentStatusEventBus.subscribe(eq("test-api-key"), eq(PAYMENT_ID), any())).thenReturn(Flux.never());
+
+        // When & Then
+        StepVerifier.create(paymentInitiationService.awaitPaymentStatus(
+                        CONSENT_ID, PAYMENT_ID, "ACSC", Duration.ofSeconds(30), "test-api-key"))
+                .expectNextMatches(status -> "ACSC".equals(status.getTransactionStatus()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     void getPayment_shouldReturnPayment_whenConsentIsValid() {
         // Given
         when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "READ")).thenReturn(Mono.just(true));
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Mono.empty());
         when(paymentServicePort.getPayment(PAYMENT_ID)).thenReturn(Mono.just(payment));
+        when(paymentRepository.updateTransactionStatus(eq(PAYMENT_ID), eq("ACCP"), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(0));
 
         // When & Then
         StepVerifier.create(paymentInitiationService.getPayment(CONSENT_ID, PAYMENT_ID))
@@ -165,12 +307,19 @@ class PaymentInitiationServiceImplTest {
 
         when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "WRITE")).thenReturn(Mono.just(true));
         when(paymentServicePort.cancelPayment(PAYMENT_ID)).thenReturn(Mono.just(true));
-        when(paymentServicePort.getPayment(PAYMENT_ID)).thenReturn(Mono.just(cancelledPayment));
+        Payment stored = storedPayment("CANC", LocalDateTime.now());
+        when(paymentRepository.updateTransactionStatus(eq(PAYMENT_ID), eq("CANC"), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(1));
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Mono.just(stored));
+        when(paymentMapper.toDto(stored)).thenReturn(cancelledPayment);
 
         // When & Then
         StepVerifier.create(paymentInitiationService.cancelPayment(CONSENT_ID, PAYMENT_ID))
                 .expectNext(cancelledPayment)
                 .verifyComplete();
+
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(paymentServicePort, never()).getPayment(PAYMENT_ID);
     }
 
     @Test
@@ -189,11 +338,17 @@ class PaymentInitiationServiceImplTest {
         // Given
         when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "WRITE")).thenReturn(Mono.just(true));
         when(paymentServicePort.authorizePayment(PAYMENT_ID, AUTHORIZATION_CODE)).thenReturn(Mono.just(payment));
+        when(paymentRepository.updateTransactionStatus(eq(PAYMENT_ID), eq("ACCP"), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(1));
+        when(consentService.getConsent(CONSENT_ID)).thenReturn(Mono.just(consent));
+        when(scaServicePort.recordAuthentication(PARTY_ID)).thenReturn(Mono.empty());
 
         // When & Then
         StepVerifier.create(paymentInitiationService.authorizePayment(CONSENT_ID, PAYMENT_ID, AUTHORIZATION_CODE))
                 .expectNext(payment)
                 .verifyComplete();
+
+        verify(scaServicePort).recordAuthentication(PARTY_ID);
     }
 
     @Test
@@ -206,4 +361,101 @@ class PaymentInitiationServiceImplTest {
                 .expectError(IllegalArgumentException.class)
                 .verify();
     }
+
+    @Test
+    void initiateBulkPayment_shouldStreamItemStatuses_whenConsentIsValid() {
+        // Given
+        PSDPaymentInitiationRequestDTO.PSDAccountReferenceDTO otherDebtor = new PSDPaymentInitiationRequestDTO.PSDAccountReferenceDTO();
+        otherDebtor.setIban("GB29NWBK60161331926819");
+        PSDPaymentInitiationRequestDTO foreignDebtorRequest = PSDPaymentInitiationRequestDTO.builder()
+                .paymentType("sepa-credit-transfers")
+                .debtorAccount(otherDebtor)
+                .creditorName("Jane Doe")
+                .creditorAccount(paymentRequest.getCreditorAccount())
+                .instructedAmount(paymentRequest.getInstructedAmount())
+                .build();
+        PSDBulkPaymentInitiationRequestDTO bulkRequest = PSDBulkPaymentInitiationRequestDTO.builder()
+                .payments(List.of(paymentRequest, foreignDebtorRequest))
+                .build();
+        Payment entity = new Payment();
+
+        when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "WRITE")).thenReturn(Mono.just(true));
+        when(consentService.getConsent(CONSENT_ID)).thenReturn(Mono.just(consent));
+        when(scaServicePort.evaluateExemption(any(ScaExemptionRequest.class)))
+                .thenReturn(Mono.just(ScaDecision.exempt(ScaExemptionType.LOW_VALUE)));
+        when(paymentServicePort.initiatePayment(paymentRequest)).thenReturn(Mono.just(payment));
+        when(paymentMapper.toEntity(payment)).thenReturn(entity);
+        when(paymentRepository.saveAll(ArgumentMatchers.<Payment>anyList())).thenReturn(Flux.just(entity));
+
+        // When
+        List<PSDBulkPaymentItemStatusDTO> statuses = paymentInitiationService.initiateBulkPayment(CONSENT_ID, bulkRequest)
+                .collectSortedList(Comparator.comparing(PSDBulkPaymentItemStatusDTO::getIndex))
+                .block();
+
+        // Then
+        assertNotNull(statuses);
+        assertEquals(2, statuses.size());
+        assertEquals(PAYMENT_ID, statuses.get(0).getPaymentId());
+        assertEquals("ACCP", statuses.get(0).getTransactionStatus());
+        assertEquals(Boolean.FALSE, statuses.get(0).getScaRequired());
+        assertEquals("RJCT", statuses.get(1).getTransactionStatus());
+        assertNotNull(statuses.get(1).getErrorMessage());
+        assertEquals(statuses.get(0).getBulkId(), entity.getBulkId());
+        assertEquals(CONSENT_ID, entity.getConsentId());
+        assertTrue(entity.isNew());
+        verify(paymentRepository).saveAll(List.of(entity));
+        verify(scaServicePort).evaluateExemption(new ScaExemptionRequest(PARTY_ID, BigDecimal.valueOf(100.00), "EUR"));
+    }
+
+    @Test
+    void initiateBulkPayment_shouldReportItemFailure_whenPaymentCannotBeStored() {
+        // Given
+        PSDBulkPaymentInitiationRequestDTO bulkRequest = PSDBulkPaymentInitiationRequestDTO.builder()
+                .payments(List.of(paymentRequest))
+                .build();
+        Payment entity = Payment.builder().id(PAYMENT_ID).build();
+
+        when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "WRITE")).thenReturn(Mono.just(true));
+        when(consentService.getConsent(CONSENT_ID)).thenReturn(Mono.just(consent));
+        when(scaServicePort.evaluateExemption(any(ScaExemptionRequest.class)))
+                .thenReturn(Mono.just(ScaDecision.exempt(ScaExemptionType.LOW_VALUE)));
+        when(paymentServicePort.initiatePayment(paymentRequest)).thenReturn(Mono.just(payment));
+        when(paymentMapper.toEntity(payment)).thenReturn(entity);
+        when(paymentRepository.saveAll(ArgumentMatchers.<Payment>anyList()))
+                .thenReturn(Flux.error(new RuntimeException("Connection reset")));
+        when(paymentRepository.existsById(PAYMENT_ID)).thenReturn(Mono.just(false));
+        when(paymentRepository.save(entity)).thenReturn(Mono.error(new RuntimeException("Connection reset")));
+
+        // When & Then
+        StepVerifier.create(paymentInitiationService.initiateBulkPayment(CONSENT_ID, bulkRequest))
+                .assertNext(status -> {
+                    assertEquals(PAYMENT_ID, status.getPaymentId());
+                    assertEquals("ACCP", status.getTransactionStatus());
+                    assertTrue(status.getErrorMessage().contains("could not be stored"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void initiateBulkPayment_shouldReturnError_whenConsentIsInvalid() {
+        // Given
+        PSDBulkPaymentInitiationRequestDTO bulkRequest = PSDBulkPaymentInitiationRequestDTO.builder()
+                .payments(List.of(paymentRequest))
+                .build();
+        when(consentService.validateConsent(CONSENT_ID, "PAYMENT", "WRITE")).thenReturn(Mono.just(false));
+
+        // When & Then
+        StepVerifier.create(paymentInitiationService.initiateBulkPayment(CONSENT_ID, bulkRequest))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    private Payment storedPayment(String transactionStatus, LocalDateTime updatedAt) {
+        return Payment.builder()
+                .id(PAYMENT_ID)
+                .consentId(CONSENT_ID)
+                .transactionStatus(transactionStatus)
+                .updatedAt(updatedAt)
+                .build();
+    }
 }
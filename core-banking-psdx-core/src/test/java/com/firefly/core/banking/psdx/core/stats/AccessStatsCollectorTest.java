@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.core.stats;
+
+import com.firefly.core.banking.psdx.interfaces.enums.AccessStatus;
+import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
+import com.firefly.core.banking.psdx.models.repositories.AccessStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the AccessStatsCollector.
+ */
+@ExtendWith(MockitoExtension.class)
+class AccessStatsCollectorTest {
+
+    private static final String TPP = "tpp-1";
+
+    @Mock
+    private AccessStatsRepository accessStatsRepository;
+
+    private AccessStatsCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        collector = new AccessStatsCollector(accessStatsRepository);
+    }
+
+    @Test
+    void flushPending_shouldWriteOneUpsertPerBucket() {
+        // Given
+        collector.record(TPP, ResourceType.ACCOUNT, AccessStatus.SUCCESS, Duration.ofMillis(5));
+        collector.record(TPP, ResourceType.ACCOUNT, AccessStatus.SUCCESS, Duration.ofMillis(300));
+        collector.record(TPP, ResourceType.ACCOUNT, AccessStatus.SUCCESS, null);
+        collector.record(TPP, ResourceType.PAYMENT, AccessStatus.ERROR, Duration.ofMillis(2000));
+        when(accessStatsRepository.addToBucket(any(), any(), any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(Mono.just(1));
+
+        // When & Then
+        StepVerifier.create(collector.flushPending())
+                .expectNext(2L)
+                .verifyComplete();
+        verify(accessStatsRepository).addToBucket(any(), eq(TPP), eq("ACCOUNT"), eq("SUCCESS"),
+                eq(3L), eq(0L), eq(2L), eq(305L), aryEq(new Long[]{1L, 0L, 0L, 0L, 1L, 0L, 0L}));
+        verify(accessStatsRepository).addToBucket(any(), eq(TPP), eq("PAYMENT"), eq("ERROR"),
+                eq(1L), eq(1L), eq(1L), eq(2000L), aryEq(new Long[]{0L, 0L, 0L, 0L, 0L, 0L, 1L}));
+
+        StepVerifier.create(collector.flushPending())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void flushPending_shouldKeepCountsWhenWriteFails() {
+        // Given
+        collector.record(TPP, ResourceType.BALANCE, AccessStatus.SUCCESS, Duration.ofMillis(20));
+        when(accessStatsRepository.addToBucket(any(), any(), any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(Mono.error(new RuntimeException("connection refused")))
+                .thenReturn(Mono.just(1));
+
+        // When & Then
+        StepVerifier.create(collector.flushPending())
+                .expectNext(0L)
+                .verifyComplete();
+        StepVerifier.create(collector.flushPending())
+                .expectNext(1L)
+                .verifyComplete();
+        verify(accessStatsRepository, times(2)).addToBucket(any(), eq(TPP), eq("BALANCE"), eq("SUCCESS"),
+                eq(1L), eq(0L), eq(1L), eq(20L), aryEq(new Long[]{0L, 1L, 0L, 0L, 0L, 0L, 0L}));
+    }
+
+    @Test
+    void flush_shouldSkipWhenNothingIsPending() {
+        // When
+        collector.flush();
+
+        // Then
+        verifyNoInteractions(accessStatsRepository);
+    }
+}
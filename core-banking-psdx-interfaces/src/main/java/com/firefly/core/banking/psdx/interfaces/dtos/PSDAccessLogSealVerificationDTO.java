@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.banking.psdx.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO representing the verification result of one access log seal.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "PSD Access log seal verification")
+public class PSDAccessLogSealVerificationDTO {
+
+    @Schema(description = "Position of the seal in the chain", example = "42")
+    private Long sequenceNumber;
+
+    @Schema(description = "Creation time of the first sealed access log")
+    private LocalDateTime firstCreatedAt;
+
+    @Schema(description = "Creation time of the last sealed access log")
+    private LocalDateTime lastCreatedAt;
+
+    @Schema(description = "Number of access logs recorded in the seal", example = "1000")
+    private Integer sealedRowCount;
+
+    @Schema(description = "Number of access logs currently in the sealed range", example = "1000")
+    private Integer actualRowCount;
+
+    @Schema(description = "Verification status", example = "VALID",
+            allowableValues = {"VALID", "TAMPERED", "BROKEN_CHAIN", "ARCHIVED"})
+    private String status;
+
+    @Schema(description = "Reason the seal did not verify")
+    private String message;
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.banking.psdx.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO representing the access statistics of one period for a TPP, resource type and status.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "PSD Access statistics")
+public class PSDAccessStatsDTO {
+
+    @Schema(description = "Start of the period", example = "2025-01-01T10:00:00")
+    private LocalDateTime periodStart;
+
+    @Schema(description = "Length of the period", example = "hour", allowableValues = {"minute", "hour", "day"})
+    private String granularity;
+
+    @Schema(description = "ID of the third party provider")
+    private String thirdPartyId;
+
+    @Schema(description = "Type of the resource accessed", example = "ACCOUNT")
+    private String resourceType;
+
+    @Schema(description = "Status of the accesses", example = "SUCCESS")
+    private String status;
+
+    @Schema(description = "Number of accesses", example = "1250")
+    private Long requestCount;
+
+    @Schema(description = "Number of accesses with a status other than SUCCESS", example = "0")
+    private Long errorCount;
+
+    @Schema(description = "Average latency of the accesses with a recorded latency, in milliseconds", example = "42.5")
+    private Double averageLatencyMs;
+
+    @Schema(description = "Number of accesses per latency bucket, keyed by the upper bound in milliseconds or +Inf",
+            example = "{\"10\": 300, \"50\": 900, \"100\": 40, \"250\": 10, \"500\": 0, \"1000\": 0, \"+Inf\": 0}")
+    private Map<String, Long> latencyHistogram;
+}
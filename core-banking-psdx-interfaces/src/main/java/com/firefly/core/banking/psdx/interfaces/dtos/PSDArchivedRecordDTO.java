@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.banking.psdx.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO representing a row restored from the retention archive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "PSD Archived record")
+public class PSDArchivedRecordDTO {
+
+    @Schema(description = "Table the row was archived from", example = "access_logs",
+            allowableValues = {"access_logs", "payments", "funds_confirmations"})
+    private String table;
+
+    @Schema(description = "Archive segment holding the row")
+    private String segment;
+
+    @Schema(description = "Values of the row keyed by column name, with decimals and timestamps as text")
+    private Map<String, Object> values;
+}
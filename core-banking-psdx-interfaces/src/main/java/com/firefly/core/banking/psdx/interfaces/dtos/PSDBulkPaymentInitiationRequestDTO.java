@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO representing a request to initiate a bulk of payments according to PSD2/PSD3 standards.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "PSD Bulk payment initiation request")
+public class PSDBulkPaymentInitiationRequestDTO {
+
+    @Schema(description = "Whether the payments should be booked as a single batch entry", example = "true")
+    private Boolean batchBookingPreferred;
+
+    @NotEmpty(message = "At least one payment is required")
+    @Size(max = 10000, message = "A bulk must not contain more than 10000 payments")
+    @Valid
+    @Schema(description = "Payments of the bulk, all debiting the same account", required = true)
+    private List<PSDPaymentInitiationRequestDTO> payments;
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO representing the outcome of a single payment within a bulk payment initiation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "PSD Bulk payment item status")
+public class PSDBulkPaymentItemStatusDTO {
+
+    @Schema(description = "Identifier of the bulk the payment belongs to")
+    private UUID bulkId;
+
+    @Schema(description = "Position of the payment in the bulk request", example = "0")
+    private Integer index;
+
+    @Schema(description = "Unique identifier of the payment, if it was initiated")
+    private UUID paymentId;
+
+    @Schema(description = "End-to-end identifier", example = "E2E-ID-123")
+    private String endToEndIdentification;
+
+    @Schema(description = "Status of the payment", example = "RCVD")
+    private String transactionStatus;
+
+    @Schema(description = "Whether Strong Customer Authentication is required for the payment", example = "false")
+    private Boolean scaRequired;
+
+    @Schema(description = "Reason the payment was rejected", example = "Debtor account differs from the bulk debtor account")
+    private String errorMessage;
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.banking.psdx.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO representing a single element of the consolidated PSU dashboard stream.
+ * Exactly one of account, cardAccount or message is set, depending on the item type.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "PSD Dashboard item")
+public class PSDDashboardItemDTO {
+
+    @Schema(description = "Type of the item", example = "ACCOUNT", allowableValues = {"ACCOUNT", "CARD_ACCOUNT", "NOTICE"})
+    private String itemType;
+
+    @Schema(description = "ID of the consent the item was retrieved under")
+    private UUID consentId;
+
+    @Schema(description = "Account, with balances if the consent covers them")
+    private PSDAccountDTO account;
+
+    @Schema(description = "Card account, with balances if the consent covers them")
+    private PSDCardAccountDTO cardAccount;
+
+    @Schema(description = "Reason part of the dashboard is missing", example = "Card service did not respond within the latency budget")
+    private String message;
+}
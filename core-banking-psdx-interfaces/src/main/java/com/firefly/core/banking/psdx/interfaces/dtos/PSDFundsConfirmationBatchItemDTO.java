@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.banking.psdx.interfaces.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO representing the outcome of a single check within a batch funds confirmation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "PSD Batch funds confirmation item")
+public class PSDFundsConfirmationBatchItemDTO {
+
+    @Schema(description = "Position of the check in the batch request", example = "0")
+    private Integer index;
+
+    @Schema(description = "Unique identifier of the funds confirmation, if the check could be evaluated")
+    private UUID fundsConfirmationId;
+
+    @Schema(description = "Result of the funds confirmation", example = "true")
+    private Boolean fundsAvailable;
+
+    @Schema(description = "Date and time of the funds confirmation")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime confirmationDateTime;
+
+    @Schema(description = "Reason the check could not be evaluated", example = "Account not found for consent")
+    private String errorMessage;
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.banking.psdx.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO representing a single check within a batch funds confirmation request.
+ * Either an account reference or a card number identifies the funds to check.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "PSD Funds confirmation check")
+public class PSDFundsConfirmationCheckDTO {
+
+    @Valid
+    @Schema(description = "Account reference, required if no card number is given")
+    private PSDAccountReferenceDTO account;
+
+    @Schema(description = "Card number, required if no account reference is given", example = "5409050000000000")
+    private String cardNumber;
+
+    @NotNull(message = "Amount is required")
+    @Valid
+    @Schema(description = "Amount to check", required = true)
+    private PSDAmountDTO instructedAmount;
+}
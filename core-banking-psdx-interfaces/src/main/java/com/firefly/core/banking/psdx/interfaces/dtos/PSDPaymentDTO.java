@@ -99,6 +99,9 @@ public class PSDPaymentDTO {
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate requestedExecutionDate;
 
+    @Schema(description = "Whether Strong Customer Authentication is required for the payment", example = "false")
+    private Boolean scaRequired;
+
     @Schema(description = "Links to related resources")
     private PSDLinksDTO _links;
 
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.interfaces.services;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccessLogSealVerificationDTO;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for verifying the integrity of sealed access logs according to PSD2/PSD3 regulations.
+ */
+public interface AccessLogIntegrityService {
+
+    /**
+     * Re-validate the seals covering access logs created within a time range.
+     * Each seal is checked against the access logs it covers and against the seal before it.
+     *
+     * @param fromDate The start of the range, inclusive
+     * @param toDate The end of the range, exclusive
+     * @return A Flux of verification results, in chain order
+     */
+    Flux<PSDAccessLogSealVerificationDTO> verifySeals(LocalDateTime fromDate, LocalDateTime toDate);
+}
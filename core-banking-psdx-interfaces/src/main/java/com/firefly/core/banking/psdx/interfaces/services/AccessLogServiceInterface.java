@@ -24,6 +24,7 @@ import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.UUID;
 
 /**
@@ -62,6 +63,39 @@ public interface AccessLogServiceInterface {
             String tppRequestId,
             String psuId);
 
+    /**
+     * Log an access to a resource together with the time taken to serve it.
+     *
+     * @param consentId The ID of the consent
+     * @param partyId The ID of the party (customer)
+     * @param thirdPartyId The ID of the third party provider
+     * @param accessType The type of access
+     * @param resourceType The type of resource being accessed
+     * @param resourceId The ID of the resource being accessed
+     * @param ipAddress The IP address of the client
+     * @param userAgent The user agent of the client
+     * @param status The status of the access
+     * @param xRequestId The X-Request-ID header
+     * @param tppRequestId The TPP-Request-ID header
+     * @param psuId The PSU-ID header
+     * @param latency The time taken to serve the access, or null if unknown
+     * @return A Mono of the created access log
+     */
+    Mono<PSDAccessLogDTO> logAccess(
+            UUID consentId,
+            UUID partyId,
+            String thirdPartyId,
+            AccessType accessType,
+            ResourceType resourceType,
+            String resourceId,
+            String ipAddress,
+            String userAgent,
+            AccessStatus status,
+            String xRequestId,
+            String tppRequestId,
+            String psuId,
+            Duration latency);
+
     /**
      * Get access logs for a party.
      *
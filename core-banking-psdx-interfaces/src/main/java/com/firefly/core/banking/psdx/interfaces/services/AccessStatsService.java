@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.interfaces.services;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccessStatsDTO;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for the aggregated access statistics according to PSD2/PSD3 regulations.
+ */
+public interface AccessStatsService {
+
+    /**
+     * Get the access statistics of a time range, summed per period.
+     *
+     * @param fromDate The start of the range, inclusive
+     * @param toDate The end of the range, exclusive
+     * @param thirdPartyId The ID of the third party provider to restrict to, or null for every provider
+     * @param resourceType The resource type to restrict to, or null for every type
+     * @param granularity The length of the periods: minute, hour or day
+     * @return A Flux of statistics per period, provider, resource type and status
+     */
+    Flux<PSDAccessStatsDTO> getAccessStats(LocalDateTime fromDate, LocalDateTime toDate, String thirdPartyId,
+                                           String resourceType, String granularity);
+}
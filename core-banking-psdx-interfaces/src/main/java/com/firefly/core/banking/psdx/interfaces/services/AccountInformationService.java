@@ -40,6 +40,18 @@ public interface AccountInformationService {
      */
     Flux<PSDAccountDTO> getAccounts(UUID consentId, UUID partyId);
 
+    /**
+     * Get all accounts for a customer, optionally with their balances.
+     * Balances are fetched for all accounts in parallel; an account whose balances cannot be
+     * fetched in time is returned without balances.
+     *
+     * @param consentId The ID of the consent
+     * @param partyId The ID of the customer
+     * @param withBalance Whether the balances are included in each account
+     * @return A Flux of accounts
+     */
+    Flux<PSDAccountDTO> getAccounts(UUID consentId, UUID partyId, boolean withBalance);
+
     /**
      * Get a specific account for a customer.
      *
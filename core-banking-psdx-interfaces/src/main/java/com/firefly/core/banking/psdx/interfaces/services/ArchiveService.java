@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.interfaces.services;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDArchivedRecordDTO;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Service interface for querying rows moved to the retention archive, for instance to answer regulatory requests.
+ */
+public interface ArchiveService {
+
+    /**
+     * Query the archived rows of a table created within a time range.
+     *
+     * @param table The name of the archived table
+     * @param fromDate The start of the range, inclusive
+     * @param toDate The end of the range, exclusive
+     * @param filters The values archived rows must hold, keyed by column name
+     * @return A Flux of the matching rows, in archive order
+     */
+    Flux<PSDArchivedRecordDTO> queryArchive(String table, LocalDateTime fromDate, LocalDateTime toDate,
+                                            Map<String, String> filters);
+}
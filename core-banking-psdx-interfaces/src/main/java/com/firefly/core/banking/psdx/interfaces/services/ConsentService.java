@@ -23,6 +23,8 @@ import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentStatusDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -81,6 +83,28 @@ public interface ConsentService {
      */
     Mono<Boolean> validateConsent(UUID consentId, String resourceType, String accessType);
 
+    /**
+     * Validate a consent for a specific operation on a single account.
+     * The account identifier is only resolved if the consent limits the resource type to a list of accounts.
+     *
+     * @param consentId The ID of the consent
+     * @param resourceType The type of resource being accessed
+     * @param accessType The type of access
+     * @param accountIdentifier A Mono of the IBAN or BBAN of the account
+     * @return A Mono of Boolean indicating if the consent is valid for the account
+     */
+    Mono<Boolean> validateConsent(UUID consentId, String resourceType, String accessType, Mono<String> accountIdentifier);
+
+    /**
+     * Validate many consents for the same operation with a single lookup.
+     *
+     * @param consentIds The IDs of the consents
+     * @param resourceType The type of resource being accessed
+     * @param accessType The type of access
+     * @return A Mono of the validation result per consent ID, in the order of the given IDs
+     */
+    Mono<Map<UUID, Boolean>> validateConsents(Collection<UUID> consentIds, String resourceType, String accessType);
+
     /**
      * Get the status of a consent.
      *
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.interfaces.services;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDDashboardItemDTO;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for the consolidated PSU dashboard according to PSD2/PSD3 regulations.
+ */
+public interface DashboardService {
+
+    /**
+     * Stream the accounts and card accounts accessible through one or more consents.
+     * Items are emitted as soon as they are retrieved. Parts of the dashboard that fail or that are
+     * not retrieved within the latency budget are reported as notice items. Consents granted by
+     * another PSU are reported as not found.
+     *
+     * @param consentIds The IDs of the consents
+     * @param partyId The ID of the PSU whose dashboard is requested
+     * @param thirdPartyId The ID of the third party provider
+     * @return A Flux of dashboard items
+     */
+    Flux<PSDDashboardItemDTO> getDashboard(List<UUID> consentIds, UUID partyId, String thirdPartyId);
+}
@@ -17,7 +17,10 @@
 
 package com.firefly.core.banking.psdx.interfaces.services;
 
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationBatchItemDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationBatchRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationDTO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.UUID;
@@ -36,6 +39,17 @@ public interface FundsConfirmationService {
      */
     Mono<PSDFundsConfirmationDTO> confirmFunds(UUID consentId, PSDFundsConfirmationDTO fundsConfirmationRequest);
 
+    /**
+     * Confirm the availability of funds for a batch of checks under a single consent.
+     * The result of every check is emitted in the order of the request; a check that cannot
+     * be evaluated is reported with an error message instead of failing the batch.
+     *
+     * @param consentId The ID of the consent
+     * @param batchRequest The batch funds confirmation request
+     * @return A Flux of per-check results
+     */
+    Flux<PSDFundsConfirmationBatchItemDTO> confirmFundsBatch(UUID consentId, PSDFundsConfirmationBatchRequestDTO batchRequest);
+
     /**
      * Get a funds confirmation by its ID.
      *
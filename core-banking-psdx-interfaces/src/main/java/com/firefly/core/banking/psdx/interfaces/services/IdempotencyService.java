@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.interfaces.services;
+
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Service interface for executing non-idempotent operations at most once per request ID.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Execute an operation at most once for a TPP and request ID.
+     * A retry with the same request body replays the stored result without executing the operation again,
+     * and a retry that arrives while the original is still running waits for its result.
+     * Reusing a request ID for a different request body or consent fails with an IllegalStateException.
+     *
+     * @param thirdPartyId The identifier of the TPP
+     * @param consentId The consent the request is made under, or null if it does not use one
+     * @param requestId The X-Request-ID of the request, or null to execute without idempotency
+     * @param requestBody The request body, used to fingerprint the request
+     * @param responseType The type of the result
+     * @param operation The operation to execute
+     * @param <T> The type of the result
+     * @return A Mono of the result
+     */
+    <T> Mono<T> execute(String thirdPartyId, UUID consentId, String requestId, Object requestBody, Class<T> responseType,
+                        Supplier<Mono<T>> operation);
+}
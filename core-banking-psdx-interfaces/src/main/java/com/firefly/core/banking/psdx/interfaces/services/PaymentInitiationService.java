@@ -17,11 +17,15 @@
 
 package com.firefly.core.banking.psdx.interfaces.services;
 
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBulkPaymentInitiationRequestDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBulkPaymentItemStatusDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentInitiationRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentStatusDTO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.UUID;
 
 /**
@@ -38,6 +42,17 @@ public interface PaymentInitiationService {
      */
     Mono<PSDPaymentDTO> initiatePayment(UUID consentId, PSDPaymentInitiationRequestDTO paymentRequest);
 
+    /**
+     * Initiate a bulk of payments under a single consent.
+     * The status of every payment is emitted as soon as it has been processed,
+     * so the order of the results may differ from the order of the request.
+     *
+     * @param consentId The ID of the consent
+     * @param bulkRequest The bulk payment initiation request
+     * @return A Flux of per-payment statuses
+     */
+    Flux<PSDBulkPaymentItemStatusDTO> initiateBulkPayment(UUID consentId, PSDBulkPaymentInitiationRequestDTO bulkRequest);
+
     /**
      * Get the status of a payment.
      *
@@ -47,6 +62,32 @@ public interface PaymentInitiationService {
      */
     Mono<PSDPaymentStatusDTO> getPaymentStatus(UUID consentId, UUID paymentId);
 
+    /**
+     * Stream the status of a payment.
+     * The current status is emitted first, followed by every change until the payment
+     * reaches a final status or the stream times out.
+     *
+     * @param consentId The ID of the consent
+     * @param paymentId The ID of the payment
+     * @param thirdPartyId The identifier of the TPP, used for subscription limits
+     * @return A Flux of payment statuses
+     */
+    Flux<PSDPaymentStatusDTO> streamPaymentStatus(UUID consentId, UUID paymentId, String thirdPartyId);
+
+    /**
+     * Wait until the status of a payment differs from the status the TPP already knows.
+     * If it does not change within the timeout, the current status is returned.
+     *
+     * @param consentId The ID of the consent
+     * @param paymentId The ID of the payment
+     * @param lastKnownStatus The last status known to the TPP, or null to return the current status immediately
+     * @param timeout The maximum time to wait, capped by the server
+     * @param thirdPartyId The identifier of the TPP, used for subscription limits
+     * @return A Mono of the payment status
+     */
+    Mono<PSDPaymentStatusDTO> awaitPaymentStatus(UUID consentId, UUID paymentId, String lastKnownStatus,
+                                                 Duration timeout, String thirdPartyId);
+
     /**
      * Get the details of a payment.
      *
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.config;
+
+import com.firefly.core.banking.psdx.models.routing.ConnectionAcquisitionListener;
+import com.firefly.core.banking.psdx.models.routing.Workload;
+import com.firefly.core.banking.psdx.models.routing.WorkloadRoutingConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.ValidationDepth;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration of the workload connection pools.
+ * Replaces the single pool configured by {@code spring.r2dbc.pool} with one pool per profile in
+ * {@link ConnectionPoolProperties}, all opened against {@code spring.r2dbc.url}, behind a
+ * {@link WorkloadRoutingConnectionFactory} used by every repository.
+ */
+@Configuration
+@EnableConfigurationProperties(ConnectionPoolProperties.class)
+@Slf4j
+public class ConnectionPoolConfig {
+
+    /**
+     * Create the connection factory routing to the workload pools.
+     *
+     * @param r2dbcProperties The connection URL and credentials
+     * @param poolProperties The pool profiles
+     * @param listener The listener notified of connection acquisitions, if any
+     * @return The routing connection factory
+     */
+    @Bean(destroyMethod = "dispose")
+    public WorkloadRoutingConnectionFactory connectionFactory(
+            R2dbcProperties r2dbcProperties,
+            ConnectionPoolProperties poolProperties,
+            ObjectProvider<ConnectionAcquisitionListener> listener) {
+        ConnectionFactory connectionFactory = createConnectionFactory(r2dbcProperties.getUrl(),
+                r2dbcProperties.getUsername(), r2dbcProperties.getPassword(), poolProperties.getStatements());
+
+        Map<Workload, ConnectionPoolProperties.PoolProfile> profiles = new EnumMap<>(Workload.class);
+        profiles.putAll(poolProperties.getPools());
+        profiles.putIfAbsent(Workload.DEFAULT, new ConnectionPoolProperties.PoolProfile());
+
+        Map<Workload, ConnectionPool> pools = new EnumMap<>(Workload.class);
+        profiles.forEach((workload, profile) -> pools.put(workload, createPool(connectionFactory, workload.poolName(), profile)));
+        return new WorkloadRoutingConnectionFactory(pools, listener.getIfAvailable(() -> ConnectionAcquisitionListener.NOOP));
+    }
+
+    /**
+     * Create an unpooled connection factory with TCP keepalive and the statement settings applied.
+     *
+     * @param url The R2DBC URL
+     * @param username The user, or null to use the one in the URL
+     * @param password The password, or null to use the one in the URL
+     * @param statements The prepared statement cache and extended query protocol settings
+     * @return The connection factory
+     */
+    static ConnectionFactory createConnectionFactory(String url, String username, String password,
+                                                     ConnectionPoolProperties.Statements statements) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(PostgresqlConnectionFactoryProvider.TCP_KEEPALIVE, true)
+                .option(PostgresqlConnectionFactoryProvider.PREPARED_STATEMENT_CACHE_QUERIES, statements.getCacheSize())
+                .option(PostgresqlConnectionFactoryProvider.FETCH_SIZE, statements.getFetchSize())
+                .option(PostgresqlConnectionFactoryProvider.FORCE_BINARY, statements.isForceBinary())
+                .option(PostgresqlConnectionFactoryProvider.OPTIONS, Map.of("plan_cache_mode", statements.getPlanCacheMode()));
+        if (username != null) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (password != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        return ConnectionFactories.get(options.build());
+    }
+
+    /**
+     * Create a pool validating connections locally instead of with a query on checkout.
+     *
+     * @param connectionFactory The connection factory opening the connections
+     * @param poolName The name of the pool
+     * @param profile The sizing and lifecycle of the pool
+     * @return The connection pool
+     */
+    static ConnectionPool createPool(ConnectionFactory connectionFactory, String poolName,
+                                     ConnectionPoolProperties.PoolProfile profile) {
+        log.info("Creating {} connection pool with {} to {} connections", poolName, profile.getInitialSize(), profile.getMaxSize());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("psdx-" + poolName)
+                .initialSize(profile.getInitialSize())
+                .maxSize(profile.getMaxSize())
+                .maxIdleTime(profile.getMaxIdleTime())
+                .maxLifeTime(profile.getMaxLifeTime())
+                .maxAcquireTime(profile.getMaxAcquireTime())
+                .backgroundEvictionInterval(profile.getEvictionInterval())
+                .validationDepth(ValidationDepth.LOCAL)
+                .build());
+    }
+}
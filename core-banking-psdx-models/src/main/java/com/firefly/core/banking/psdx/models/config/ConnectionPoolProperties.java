@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.config;
+
+import com.firefly.core.banking.psdx.models.routing.Workload;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Connection pool profiles, one per {@link Workload}, bound from {@code psdx.r2dbc.pools}.
+ * Workloads without a profile share the DEFAULT pool.
+ */
+@Data
+@ConfigurationProperties(prefix = "psdx.r2dbc")
+public class ConnectionPoolProperties {
+
+    /**
+     * The pool profile of each workload.
+     */
+    private Map<Workload, PoolProfile> pools = new EnumMap<>(Workload.class);
+
+    /**
+     * The statement settings of every connection, primary and replica.
+     */
+    private Statements statements = new Statements();
+
+    /**
+     * The read replica serving read-only repository queries.
+     */
+    private Replica replica = new Replica();
+
+    /**
+     * Sizing and lifecycle of a single pool.
+     * Connections are not validated with a query on checkout; the pool only runs a local state
+     * check, evicts idle connections in the background and relies on TCP keepalive to notice
+     * connections that died while idle.
+     */
+    @Data
+    public static class PoolProfile {
+
+        /**
+         * The number of connections opened on startup.
+         */
+        private int initialSize = 2;
+
+        /**
+         * The maximum number of connections.
+         */
+        private int maxSize = 10;
+
+        /**
+         * How long a connection may stay idle before it is evicted.
+         */
+        private Duration maxIdleTime = Duration.ofMinutes(10);
+
+        /**
+         * How long a connection may live before it is replaced.
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(30);
+
+        /**
+         * How long an acquisition may wait for a connection before it fails.
+         */
+        private Duration maxAcquireTime = Duration.ofSeconds(5);
+
+        /**
+         * The interval of the background eviction of idle and expired connections.
+         */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Extended query protocol settings.
+     * Repository queries are sent as parameterized statements; caching their prepared form on
+     * each connection skips the parse and plan of every repeated lookup.
+     */
+    @Data
+    public static class Statements {
+
+        /**
+         * The number of prepared statements cached per connection, 0 to disable, -1 for no limit.
+         */
+        private int cacheSize = 256;
+
+        /**
+         * The number of rows fetched per round trip when streaming results, 0 to fetch all at once.
+         */
+        private int fetchSize = 0;
+
+        /**
+         * Whether parameters and results are transferred in binary format.
+         */
+        private boolean forceBinary = true;
+
+        /**
+         * The plan_cache_mode of the sessions: auto, force_generic_plan or force_custom_plan.
+         */
+        private String planCacheMode = "auto";
+    }
+
+    /**
+     * Connection and routing settings of the read replica.
+     */
+    @Data
+    public static class Replica {
+
+        /**
+         * Whether read-only queries may be sent to the replica.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The R2DBC URL of the replica.
+         */
+        private String url;
+
+        /**
+         * The user of the replica, the primary user if not set.
+         */
+        private String username;
+
+        /**
+         * The password of the replica, the primary password if not set.
+         */
+        private String password;
+
+        /**
+         * The replication lag above which reads fall back to the primary.
+         */
+        private Duration maxLag = Duration.ofSeconds(2);
+
+        /**
+         * The interval between replication lag measurements.
+         */
+        private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+        /**
+         * How long after a write reads of the same record go to the primary.
+         */
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        /**
+         * The pool of replica connections.
+         */
+        private PoolProfile pool = new PoolProfile();
+    }
+}
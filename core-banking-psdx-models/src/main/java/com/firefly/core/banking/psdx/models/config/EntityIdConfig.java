@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.firefly.core.banking.psdx.models.config;
+
+import com.firefly.core.banking.psdx.models.ids.HasTimeOrderedId;
+import com.firefly.core.banking.psdx.models.ids.TimeOrderedUuid;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import reactor.core.publisher.Mono;
+
+/**
+ * Configuration assigning time-ordered primary keys to new entities.
+ * The callback runs on insert only, after the repository has decided from the missing ID that
+ * the entity is new, so an entity saved without an ID gets a {@link TimeOrderedUuid} instead of
+ * the database default. Entities saved with an ID, such as payments whose ID is assigned by the
+ * payment service, keep it.
+ */
+@Configuration
+public class EntityIdConfig {
+
+    /**
+     * Assign time-ordered IDs to new entities implementing {@link HasTimeOrderedId}.
+     *
+     * @return The callback
+     */
+    @Bean
+    public BeforeConvertCallback<HasTimeOrderedId> timeOrderedIdCallback() {
+        return (entity, table) -> {
+            if (entity.getId() == null) {
+                entity.setId(TimeOrderedUuid.generate());
+            }
+            return Mono.just(entity);
+        };
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.config;
+
+import com.firefly.core.banking.psdx.models.routing.ConnectionAcquisitionListener;
+import com.firefly.core.banking.psdx.models.routing.ReadReplicaRoutingConnectionFactory;
+import com.firefly.core.banking.psdx.models.routing.RecentWriteTracker;
+import com.firefly.core.banking.psdx.models.routing.ReplicaLagMonitor;
+import com.firefly.core.banking.psdx.models.routing.WorkloadRoutingConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Configuration of the read replica, active when {@code psdx.r2dbc.replica.enabled} is true.
+ * The replica routing factory becomes the primary connection factory used by the repositories
+ * and delegates everything that is not a read-only query to the workload pools.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "psdx.r2dbc.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Create the tracker of recently written records.
+     *
+     * @param poolProperties The replica settings
+     * @return The recent write tracker
+     */
+    @Bean
+    public RecentWriteTracker recentWriteTracker(ConnectionPoolProperties poolProperties) {
+        return new RecentWriteTracker(poolProperties.getReplica().getReadYourWritesWindow());
+    }
+
+    /**
+     * Create the connection factory routing read-only queries to the replica.
+     *
+     * @param primary The workload routing connection factory of the primary
+     * @param r2dbcProperties The primary credentials, used when the replica has none
+     * @param poolProperties The replica settings
+     * @param recentWriteTracker The tracker of recently written records
+     * @param listener The listener notified of connection acquisitions, if any
+     * @return The replica routing connection factory
+     */
+    @Bean(destroyMethod = "dispose")
+    @Primary
+    public ReadReplicaRoutingConnectionFactory readReplicaRoutingConnectionFactory(
+            WorkloadRoutingConnectionFactory primary,
+            R2dbcProperties r2dbcProperties,
+            ConnectionPoolProperties poolProperties,
+            RecentWriteTracker recentWriteTracker,
+            ObjectProvider<ConnectionAcquisitionListener> listener) {
+        ConnectionPoolProperties.Replica replica = poolProperties.getReplica();
+        if (replica.getUrl() == null) {
+            throw new IllegalStateException("psdx.r2dbc.replica.url is required when the read replica is enabled");
+        }
+        ConnectionPool replicaPool = ConnectionPoolConfig.createPool(
+                ConnectionPoolConfig.createConnectionFactory(
+                        replica.getUrl(),
+                        replica.getUsername() != null ? replica.getUsername() : r2dbcProperties.getUsername(),
+                        replica.getPassword() != null ? replica.getPassword() : r2dbcProperties.getPassword(),
+                        poolProperties.getStatements()),
+                ReadReplicaRoutingConnectionFactory.REPLICA_POOL,
+                replica.getPool());
+
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(primary, replicaPool, replica.getMaxLag());
+        lagMonitor.start(replica.getLagCheckInterval());
+        return new ReadReplicaRoutingConnectionFactory(primary, replicaPool, lagMonitor, recentWriteTracker,
+                listener.getIfAvailable(() -> ConnectionAcquisitionListener.NOOP));
+    }
+}
@@ -20,6 +20,7 @@ package com.firefly.core.banking.psdx.models.entities;
 import com.firefly.core.banking.psdx.interfaces.enums.AccessStatus;
 import com.firefly.core.banking.psdx.interfaces.enums.AccessType;
 import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
+import com.firefly.core.banking.psdx.models.ids.HasTimeOrderedId;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -41,7 +42,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table("access_logs")
-public class AccessLog {
+public class AccessLog implements HasTimeOrderedId {
 
     @Id
     private UUID id;
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing the seal of a batch of access logs.
+ * A seal covers every access log between its first and last (created_at, id) inclusive and
+ * chains to the seal before it through the previous seal hash.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("access_log_seals")
+public class AccessLogSeal {
+
+    @Id
+    private UUID id;
+
+    @Column("sequence_number")
+    private Long sequenceNumber;
+
+    @Column("first_created_at")
+    private LocalDateTime firstCreatedAt;
+
+    @Column("first_log_id")
+    private UUID firstLogId;
+
+    @Column("last_created_at")
+    private LocalDateTime lastCreatedAt;
+
+    @Column("last_log_id")
+    private UUID lastLogId;
+
+    @Column("row_count")
+    private Integer rowCount;
+
+    @Column("merkle_root")
+    private String merkleRoot;
+
+    @Column("previous_seal_hash")
+    private String previousSealHash;
+
+    @Column("seal_hash")
+    private String sealHash;
+
+    @Column("sealed_at")
+    private LocalDateTime sealedAt;
+}
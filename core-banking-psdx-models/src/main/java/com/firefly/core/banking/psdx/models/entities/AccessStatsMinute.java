@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing the access statistics of one minute for a TPP, resource type and status.
+ * Rows are only written through {@code AccessStatsRepository.addToBucket}, which adds to the
+ * counts of an existing bucket.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("access_stats_minute")
+public class AccessStatsMinute {
+
+    @Id
+    private UUID id;
+
+    @Column("bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Column("third_party_id")
+    private String thirdPartyId;
+
+    @Column("resource_type")
+    private String resourceType;
+
+    @Column("status")
+    private String status;
+
+    @Column("request_count")
+    private Long requestCount;
+
+    @Column("error_count")
+    private Long errorCount;
+
+    @Column("latency_count")
+    private Long latencyCount;
+
+    @Column("latency_sum_ms")
+    private Long latencySumMs;
+
+    @Column("latency_le_10")
+    private Long latencyLe10;
+
+    @Column("latency_le_50")
+    private Long latencyLe50;
+
+    @Column("latency_le_100")
+    private Long latencyLe100;
+
+    @Column("latency_le_250")
+    private Long latencyLe250;
+
+    @Column("latency_le_500")
+    private Long latencyLe500;
+
+    @Column("latency_le_1000")
+    private Long latencyLe1000;
+
+    @Column("latency_gt_1000")
+    private Long latencyGt1000;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+}
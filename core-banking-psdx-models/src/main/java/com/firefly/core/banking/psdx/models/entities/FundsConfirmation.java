@@ -17,12 +17,15 @@
 
 package com.firefly.core.banking.psdx.models.entities;
 
+import com.firefly.core.banking.psdx.models.ids.HasTimeOrderedId;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -38,7 +41,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table("funds_confirmations")
-public class FundsConfirmation {
+public class FundsConfirmation implements Persistable<UUID>, HasTimeOrderedId {
 
     @Id
     private UUID id;
@@ -76,4 +79,13 @@ public class FundsConfirmation {
     @Column("created_at")
     @CreatedDate
     private LocalDateTime createdAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newConfirmation = false;
+
+    @Override
+    public boolean isNew() {
+        return newConfirmation || id == null;
+    }
 }
\ No newline at end of file
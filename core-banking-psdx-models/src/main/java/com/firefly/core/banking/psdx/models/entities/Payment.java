@@ -17,6 +17,7 @@
 
 package com.firefly.core.banking.psdx.models.entities;
 
+import com.firefly.core.banking.psdx.models.ids.HasTimeOrderedId;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,6 +25,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -34,13 +37,15 @@ import java.util.UUID;
 
 /**
  * Entity representing a payment according to PSD2/PSD3 standards.
+ * Payment IDs are assigned by the payment service, so new payments must be
+ * flagged explicitly to be inserted rather than updated.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Table("payments")
-public class Payment {
+public class Payment implements Persistable<UUID>, HasTimeOrderedId {
 
     @Id
     private UUID id;
@@ -51,6 +56,9 @@ public class Payment {
     @Column("consent_id")
     private UUID consentId;
 
+    @Column("bulk_id")
+    private UUID bulkId;
+
     @Column("payment_type")
     private String paymentType;
 
@@ -60,15 +68,42 @@ public class Payment {
     @Column("debtor_account")
     private String debtorAccount;
 
+    @Column("debtor_account_type")
+    private String debtorAccountType;
+
+    @Column("debtor_account_currency")
+    private String debtorAccountCurrency;
+
     @Column("creditor_name")
     private String creditorName;
 
     @Column("creditor_account")
     private String creditorAccount;
 
+    @Column("creditor_account_type")
+    private String creditorAccountType;
+
+    @Column("creditor_account_currency")
+    private String creditorAccountCurrency;
+
     @Column("creditor_address")
     private String creditorAddress;
 
+    @Column("creditor_address_street")
+    private String creditorAddressStreet;
+
+    @Column("creditor_address_building_number")
+    private String creditorAddressBuildingNumber;
+
+    @Column("creditor_address_city")
+    private String creditorAddressCity;
+
+    @Column("creditor_address_postal_code")
+    private String creditorAddressPostalCode;
+
+    @Column("creditor_address_country")
+    private String creditorAddressCountry;
+
     @Column("amount")
     private BigDecimal amount;
 
@@ -81,6 +116,12 @@ public class Payment {
     @Column("remittance_information_structured")
     private String remittanceInformationStructured;
 
+    @Column("remittance_reference_issuer")
+    private String remittanceReferenceIssuer;
+
+    @Column("remittance_reference_date")
+    private LocalDate remittanceReferenceDate;
+
     @Column("requested_execution_date")
     private LocalDate requestedExecutionDate;
 
@@ -91,4 +132,13 @@ public class Payment {
     @Column("updated_at")
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newPayment = false;
+
+    @Override
+    public boolean isNew() {
+        return newPayment || id == null;
+    }
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ package com.firefly.core.banking.psdx.models.entities;
 
 import com.firefly.core.banking.psdx.interfaces.enums.ProviderStatus;
 import com.firefly.core.banking.psdx.interfaces.enums.ProviderType;
+import com.firefly.core.banking.psdx.models.ids.HasTimeOrderedId;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -41,7 +42,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table("third_party_providers")
-public class ThirdPartyProvider {
+public class ThirdPartyProvider implements HasTimeOrderedId {
 
     @Id
     private UUID id;
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.firefly.core.banking.psdx.models.ids;
+
+import java.util.UUID;
+
+/**
+ * An entity whose primary key is assigned a {@link TimeOrderedUuid} when it is inserted without one.
+ */
+public interface HasTimeOrderedId {
+
+    /**
+     * Get the ID of the entity.
+     *
+     * @return The ID, or null if it has not been assigned yet
+     */
+    UUID getId();
+
+    /**
+     * Set the ID of the entity.
+     *
+     * @param id The ID
+     */
+    void setId(UUID id);
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Access statistics summed over the minute buckets of a larger period.
+ *
+ * @param bucketStart The start of the period
+ * @param thirdPartyId The ID of the TPP
+ * @param resourceType The type of resource accessed
+ * @param status The status of the accesses
+ * @param requestCount The number of accesses
+ * @param errorCount The number of accesses with a status other than SUCCESS
+ * @param latencyCount The number of accesses with a recorded latency
+ * @param latencySumMs The sum of the recorded latencies in milliseconds
+ * @param latencyBuckets The latency histogram, one count per bound of {@code AccessStatsRepository.LATENCY_BOUNDS_MS}
+ *                       followed by the count above the last bound
+ */
+public record AccessStatsRollup(LocalDateTime bucketStart, String thirdPartyId, String resourceType, String status,
+                                Long requestCount, Long errorCount, Long latencyCount, Long latencySumMs,
+                                Long[] latencyBuckets) {
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.projections;
+
+import java.util.UUID;
+
+/**
+ * The access permissions of a consent, which never change after it is created.
+ *
+ * @param id The ID of the consent
+ * @param accessScope The access scope of the consent
+ * @param access The access permissions of the consent, in the Berlin Group JSON format
+ */
+public record ConsentAccess(UUID id, String accessScope, String access) {
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.projections;
+
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns of a consent needed to decide whether it is usable.
+ * They are all included in idx_consents_validation, so the projection is read with an
+ * index-only scan, and none of them is a string, so nothing goes through decryption.
+ *
+ * @param id The ID of the consent
+ * @param partyId The ID of the PSU who granted the consent
+ * @param consentType The type of the consent
+ * @param status The status of the consent
+ * @param validFrom The start of the validity period
+ * @param validUntil The end of the validity period
+ * @param accessFrequency The maximum number of accesses, or null if unlimited
+ */
+public record ConsentSummary(UUID id, UUID partyId, ConsentType consentType, ConsentStatus status,
+                             LocalDateTime validFrom, LocalDateTime validUntil, Integer accessFrequency) {
+}
@@ -102,6 +102,32 @@ public interface AccessLogRepository extends ReactiveCrudRepository<AccessLog, U
      */
     Flux<AccessLog> findByThirdPartyIdOrderByTimestampDesc(String thirdPartyId);
 
+    /**
+     * Find the next access logs to seal, in seal order.
+     * Only logs created before the settle time are returned, so rows still being inserted are
+     * never skipped by a seal covering a later position.
+     *
+     * @param afterCreatedAt The creation time of the last sealed access log
+     * @param afterId The ID of the last sealed access log
+     * @param settledBefore The creation time before which access logs can be sealed
+     * @param limit The maximum number of access logs
+     * @return A Flux of access logs ordered by creation time and ID
+     */
+    @Query("SELECT * FROM access_logs WHERE (created_at, id) > (:afterCreatedAt, :afterId) AND created_at < :settledBefore ORDER BY created_at, id LIMIT :limit")
+    Flux<AccessLog> findUnsealed(LocalDateTime afterCreatedAt, UUID afterId, LocalDateTime settledBefore, int limit);
+
+    /**
+     * Find the access logs covered by a seal, in seal order.
+     *
+     * @param firstCreatedAt The creation time of the first sealed access log
+     * @param firstId The ID of the first sealed access log
+     * @param lastCreatedAt The creation time of the last sealed access log
+     * @param lastId The ID of the last sealed access log
+     * @return A Flux of access logs ordered by creation time and ID
+     */
+    @Query("SELECT * FROM access_logs WHERE (created_at, id) >= (:firstCreatedAt, :firstId) AND (created_at, id) <= (:lastCreatedAt, :lastId) ORDER BY created_at, id")
+    Flux<AccessLog> findSealedRange(LocalDateTime firstCreatedAt, UUID firstId, LocalDateTime lastCreatedAt, UUID lastId);
+
     /**
      * Count access logs for a specific consent.
      *
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.repositories;
+
+import com.firefly.core.banking.psdx.models.entities.AccessLogSeal;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository for managing AccessLogSeal entities.
+ */
+@Repository
+public interface AccessLogSealRepository extends ReactiveCrudRepository<AccessLogSeal, UUID> {
+
+    /**
+     * Find the most recent seal of the chain.
+     *
+     * @return A Mono of the last seal, empty if nothing has been sealed yet
+     */
+    @Query("SELECT * FROM access_log_seals ORDER BY sequence_number DESC LIMIT 1")
+    Mono<AccessLogSeal> findLatest();
+
+    /**
+     * Find a seal by its position in the chain.
+     *
+     * @param sequenceNumber The sequence number
+     * @return A Mono of the seal
+     */
+    Mono<AccessLogSeal> findBySequenceNumber(Long sequenceNumber);
+
+    /**
+     * Find the seals covering access logs created within a time range, in chain order.
+     *
+     * @param fromDate The start of the range, inclusive
+     * @param toDate The end of the range, exclusive
+     * @return A Flux of seals
+     */
+    @Query("SELECT * FROM access_log_seals WHERE last_created_at >= :fromDate AND first_created_at < :toDate ORDER BY sequence_number")
+    Flux<AccessLogSeal> findOverlapping(LocalDateTime fromDate, LocalDateTime toDate);
+}
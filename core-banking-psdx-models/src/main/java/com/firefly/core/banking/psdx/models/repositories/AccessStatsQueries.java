@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.repositories;
+
+import com.firefly.core.banking.psdx.models.projections.AccessStatsRollup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Statistics queries of the AccessStatsRepository.
+ * The TPP, resource type and status identify a rollup and are grouped and filtered on, so they
+ * are stored in plain text rather than through the encrypting string converter.
+ */
+public interface AccessStatsQueries {
+
+    /**
+     * Add counts to a minute bucket, creating it if needed.
+     *
+     * @param bucketStart The start of the minute
+     * @param thirdPartyId The ID of the TPP
+     * @param resourceType The type of resource accessed
+     * @param status The status of the accesses
+     * @param requestCount The number of accesses to add
+     * @param errorCount The number of failed accesses to add
+     * @param latencyCount The number of accesses with a recorded latency to add
+     * @param latencySumMs The sum of the recorded latencies to add
+     * @param latencyBuckets The histogram counts to add, in the order of the latency columns
+     * @return A Mono of the number of affected rows
+     */
+    Mono<Integer> addToBucket(LocalDateTime bucketStart, String thirdPartyId, String resourceType, String status,
+                              long requestCount, long errorCount, long latencyCount, long latencySumMs,
+                              Long[] latencyBuckets);
+
+    /**
+     * Sum the minute buckets of a time range into periods of the given granularity.
+     *
+     * @param granularity The period length: minute, hour or day
+     * @param from The start of the range, inclusive
+     * @param to The end of the range, exclusive
+     * @param thirdPartyId The ID of the TPP to restrict to, or null for every TPP
+     * @param resourceType The resource type to restrict to, or null for every type
+     * @return A Flux of the statistics per period, TPP, resource type and status, ordered by period
+     * @throws IllegalArgumentException If the granularity is not supported
+     */
+    Flux<AccessStatsRollup> findRollups(String granularity, LocalDateTime from, LocalDateTime to,
+                                        String thirdPartyId, String resourceType);
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.repositories;
+
+import com.firefly.core.banking.psdx.models.projections.AccessStatsRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Implementation of the AccessStatsQueries fragment.
+ * The queries go through the DatabaseClient, whose binds and rows are not passed through the
+ * custom conversions, so TPP IDs, resource types and statuses are neither encrypted nor decrypted.
+ */
+@RequiredArgsConstructor
+public class AccessStatsQueriesImpl implements AccessStatsQueries {
+
+    private static final String ADD_TO_BUCKET = "INSERT INTO access_stats_minute (bucket_start, third_party_id, resource_type, status, " +
+            "request_count, error_count, latency_count, latency_sum_ms, latency_le_10, latency_le_50, " +
+            "latency_le_100, latency_le_250, latency_le_500, latency_le_1000, latency_gt_1000) " +
+            "SELECT :bucketStart, :thirdPartyId, :resourceType, :status, :requestCount, :errorCount, " +
+            ":latencyCount, :latencySumMs, h[1], h[2], h[3], h[4], h[5], h[6], h[7] " +
+            "FROM (SELECT CAST(:latencyBuckets AS BIGINT[]) AS h) histogram " +
+            "ON CONFLICT (bucket_start, third_party_id, resource_type, status) DO UPDATE SET " +
+            "request_count = access_stats_minute.request_count + EXCLUDED.request_count, " +
+            "error_count = access_stats_minute.error_count + EXCLUDED.error_count, " +
+            "latency_count = access_stats_minute.latency_count + EXCLUDED.latency_count, " +
+            "latency_sum_ms = access_stats_minute.latency_sum_ms + EXCLUDED.latency_sum_ms, " +
+            "latency_le_10 = access_stats_minute.latency_le_10 + EXCLUDED.latency_le_10, " +
+            "latency_le_50 = access_stats_minute.latency_le_50 + EXCLUDED.latency_le_50, " +
+            "latency_le_100 = access_stats_minute.latency_le_100 + EXCLUDED.latency_le_100, " +
+            "latency_le_250 = access_stats_minute.latency_le_250 + EXCLUDED.latency_le_250, " +
+            "latency_le_500 = access_stats_minute.latency_le_500 + EXCLUDED.latency_le_500, " +
+            "latency_le_1000 = access_stats_minute.latency_le_1000 + EXCLUDED.latency_le_1000, " +
+            "latency_gt_1000 = access_stats_minute.latency_gt_1000 + EXCLUDED.latency_gt_1000, " +
+            "updated_at = NOW()";
+
+    /**
+     * One rollup query per granularity, so the date_trunc unit is a literal rather than a bind.
+     */
+    private static final Map<String, String> FIND_ROLLUPS = Map.of(
+            "minute", findRollups("minute"),
+            "hour", findRollups("hour"),
+            "day", findRollups("day"));
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Integer> addToBucket(LocalDateTime bucketStart, String thirdPartyId, String resourceType, String status,
+                                     long requestCount, long errorCount, long latencyCount, long latencySumMs,
+                                     Long[] latencyBuckets) {
+        return databaseClient.sql(ADD_TO_BUCKET)
+                .bind("bucketStart", bucketStart)
+                .bind("thirdPartyId", thirdPartyId)
+                .bind("resourceType", resourceType)
+                .bind("status", status)
+                .bind("requestCount", requestCount)
+                .bind("errorCount", errorCount)
+                .bind("latencyCount", latencyCount)
+                .bind("latencySumMs", latencySumMs)
+                .bind("latencyBuckets", latencyBuckets)
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+
+    @Override
+    public Flux<AccessStatsRollup> findRollups(String granularity, LocalDateTime from, LocalDateTime to,
+                                               String thirdPartyId, String resourceType) {
+        String sql = FIND_ROLLUPS.get(granularity);
+        if (sql == null) {
+            return Flux.error(new IllegalArgumentException("Unsupported granularity: " + granularity));
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("from", from)
+                .bind("to", to);
+        spec = thirdPartyId != null ? spec.bind("thirdPartyId", thirdPartyId) : spec.bindNull("thirdPartyId", String.class);
+        spec = resourceType != null ? spec.bind("resourceType", resourceType) : spec.bindNull("resourceType", String.class);
+        return spec.map((row, metadata) -> new AccessStatsRollup(
+                        row.get("bucket_start", LocalDateTime.class),
+                        row.get("third_party_id", String.class),
+                        row.get("resource_type", String.class),
+                        row.get("status", String.class),
+                        row.get("request_count", Long.class),
+                        row.get("error_count", Long.class),
+                        row.get("latency_count", Long.class),
+                        row.get("latency_sum_ms", Long.class),
+                        row.get("latency_buckets", Long[].class)))
+                .all();
+    }
+
+    private static String findRollups(String unit) {
+        return "SELECT date_trunc('" + unit + "', bucket_start) AS bucket_start, third_party_id, resource_type, status, " +
+                "SUM(request_count)::BIGINT AS request_count, SUM(error_count)::BIGINT AS error_count, " +
+                "SUM(latency_count)::BIGINT AS latency_count, SUM(latency_sum_ms)::BIGINT AS latency_sum_ms, " +
+                "ARRAY[SUM(latency_le_10), SUM(latency_le_50), SUM(latency_le_100), SUM(latency_le_250), " +
+                "SUM(latency_le_500), SUM(latency_le_1000), SUM(latency_gt_1000)]::BIGINT[] AS latency_buckets " +
+                "FROM access_stats_minute " +
+                "WHERE bucket_start >= :from AND bucket_start < :to " +
+                "AND (CAST(:thirdPartyId AS VARCHAR) IS NULL OR third_party_id = :thirdPartyId) " +
+                "AND (CAST(:resourceType AS VARCHAR) IS NULL OR resource_type = :resourceType) " +
+                "GROUP BY 1, 2, 3, 4 ORDER BY 1, 2, 3, 4";
+    }
+}
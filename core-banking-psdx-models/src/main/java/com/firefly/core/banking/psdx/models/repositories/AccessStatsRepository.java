@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.repositories;
+
+import com.firefly.core.banking.psdx.models.entities.AccessStatsMinute;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the per-minute access statistics.
+ * The statistics queries are implemented in {@link AccessStatsQueriesImpl}.
+ */
+@Repository
+public interface AccessStatsRepository extends ReactiveCrudRepository<AccessStatsMinute, UUID>, AccessStatsQueries {
+
+    /**
+     * The upper bounds in milliseconds of the latency histogram buckets; a last bucket counts
+     * the latencies above the highest bound.
+     */
+    List<Long> LATENCY_BOUNDS_MS = List.of(10L, 50L, 100L, 250L, 500L, 1000L);
+}
@@ -20,6 +20,9 @@ package com.firefly.core.banking.psdx.models.repositories;
 import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
 import com.firefly.core.banking.psdx.interfaces.enums.ConsentType;
 import com.firefly.core.banking.psdx.models.entities.Consent;
+import com.firefly.core.banking.psdx.models.projections.ConsentAccess;
+import com.firefly.core.banking.psdx.models.projections.ConsentSummary;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -74,4 +77,70 @@ public interface ConsentRepository extends ReactiveCrudRepository<Consent, UUID>
      */
     @Query("SELECT * FROM consents WHERE id = :id AND party_id = :partyId AND status = :status AND valid_until > :now")
     Mono<Consent> findValidConsentByIdAndPartyId(Long id, Long partyId, ConsentStatus status, LocalDateTime now);
+
+    /**
+     * Find all consents with one of the given IDs in a single query.
+     *
+     * @param ids The IDs of the consents
+     * @return A Flux of the consents that exist
+     */
+    @Query("SELECT * FROM consents WHERE id = ANY(:ids)")
+    Flux<Consent> findAllByIds(UUID[] ids);
+
+    /**
+     * Find the validation columns of the consents with one of the given IDs.
+     * The query only reads columns of idx_consents_validation.
+     *
+     * @param ids The IDs of the consents
+     * @return A Flux of the summaries of the consents that exist
+     */
+    @Query("SELECT id, party_id, consent_type, status, valid_from, valid_until, access_frequency FROM consents WHERE id = ANY(:ids)")
+    Flux<ConsentSummary> findSummariesByIds(UUID[] ids);
+
+    /**
+     * Find the access permissions of the consents with one of the given IDs.
+     *
+     * @param ids The IDs of the consents
+     * @return A Flux of the access permissions of the consents that exist
+     */
+    @Query("SELECT id, access_scope, access FROM consents WHERE id = ANY(:ids)")
+    Flux<ConsentAccess> findAccessByIds(UUID[] ids);
+
+    /**
+     * Record the last use of a consent without loading it.
+     * The last action date is a day, so the row is only written by the first use of each day and
+     * later uses leave it, and the visibility of its page, untouched.
+     *
+     * @param id The ID of the consent
+     * @param lastActionDate The date and time of the use
+     * @return A Mono of the number of updated rows, 0 if the use was already recorded that day
+     */
+    @Modifying
+    @Query("UPDATE consents SET last_action_date = :lastActionDate WHERE id = :id " +
+            "AND (last_action_date IS NULL OR last_action_date < date_trunc('day', CAST(:lastActionDate AS TIMESTAMP)))")
+    Mono<Integer> updateLastActionDate(UUID id, LocalDateTime lastActionDate);
+
+    /**
+     * Expire the next batch of valid consents whose validity has ended.
+     * The batch is selected after the keyset cursor, in (valid_until, id) order, and rows locked
+     * by a concurrent sweep are skipped. The statement only runs while the transaction-scoped
+     * advisory lock can be taken, so at most one node expires a batch at any time and the lock
+     * is released when the statement commits.
+     *
+     * @param lockKey The advisory lock key shared by every node
+     * @param now The current date and time
+     * @param afterValidUntil The valid_until of the last consent of the previous batch
+     * @param afterId The ID of the last consent of the previous batch
+     * @param batchSize The maximum number of consents to expire
+     * @return A Flux of the expired consents in keyset order, empty if the batch was empty or the lock was held
+     */
+    @Query("WITH sweep_lock AS (SELECT pg_try_advisory_xact_lock(:lockKey) AS acquired), " +
+            "batch AS (SELECT c.id FROM consents c, sweep_lock WHERE sweep_lock.acquired " +
+            "AND c.status = 'VALID' AND c.valid_until <= :now " +
+            "AND (c.valid_until, c.id) > (:afterValidUntil, :afterId) " +
+            "ORDER BY c.valid_until, c.id LIMIT :batchSize FOR UPDATE OF c SKIP LOCKED), " +
+            "expired AS (UPDATE consents SET status = 'EXPIRED', updated_at = :now FROM batch " +
+            "WHERE consents.id = batch.id RETURNING consents.*) " +
+            "SELECT * FROM expired ORDER BY valid_until, id")
+    Flux<Consent> expireBatch(long lockKey, LocalDateTime now, LocalDateTime afterValidUntil, UUID afterId, int batchSize);
 }
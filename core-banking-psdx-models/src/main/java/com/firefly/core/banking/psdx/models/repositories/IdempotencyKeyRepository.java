@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.repositories;
+
+import com.firefly.core.banking.psdx.models.entities.IdempotencyKey;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository for managing IdempotencyKey entities.
+ */
+@Repository
+public interface IdempotencyKeyRepository extends ReactiveCrudRepository<IdempotencyKey, UUID> {
+
+    /**
+     * Claim a key for a request that is about to be executed.
+     * An expired key is reclaimed, and so is a pending key whose lease has run out because the
+     * instance executing it crashed or failed to store the response; a live key is left untouched.
+     *
+     * @param id The ID of the key
+     * @param tppIdHash The hash of the TPP identifier
+     * @param requestId The X-Request-ID of the request
+     * @param fingerprint The fingerprint of the request body
+     * @param createdAt The creation time
+     * @param expiresAt The expiry time
+     * @param leaseCutoff The creation time before which a pending key can be taken over
+     * @return A Mono of the number of claimed rows, 0 if the key is already in use
+     */
+    @Modifying
+    @Query("INSERT INTO idempotency_keys (id, tpp_id_hash, request_id, fingerprint, status, created_at, expires_at) " +
+            "VALUES (:id, :tppIdHash, :requestId, :fingerprint, 'PENDING', :createdAt, :expiresAt) " +
+            "ON CONFLICT (id) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, status = 'PENDING', " +
+            "response_body = NULL, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_keys.expires_at < EXCLUDED.created_at " +
+            "OR (idempotency_keys.status = 'PENDING' AND idempotency_keys.created_at < :leaseCutoff)")
+    Mono<Integer> claim(UUID id, String tppIdHash, String requestId, String fingerprint,
+                        LocalDateTime createdAt, LocalDateTime expiresAt, LocalDateTime leaseCutoff);
+
+    /**
+     * Store the response of a completed request.
+     *
+     * @param id The ID of the key
+     * @param responseBody The serialized response
+     * @return A Mono of the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE idempotency_keys SET status = 'COMPLETED', response_body = :responseBody WHERE id = :id")
+    Mono<Integer> complete(UUID id, String responseBody);
+
+    /**
+     * Delete all keys that have expired.
+     *
+     * @param now The current time
+     * @return A Mono of the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM idempotency_keys WHERE expires_at < :now")
+    Mono<Integer> deleteExpired(LocalDateTime now);
+}
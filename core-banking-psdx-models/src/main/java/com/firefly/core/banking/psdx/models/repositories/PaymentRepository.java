@@ -18,6 +18,7 @@
 package com.firefly.core.banking.psdx.models.repositories;
 
 import com.firefly.core.banking.psdx.models.entities.Payment;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -42,6 +43,26 @@ public interface PaymentRepository extends ReactiveCrudRepository<Payment, UUID>
      */
     Flux<Payment> findByConsentId(UUID consentId);
 
+    /**
+     * Find all payments initiated in a specific bulk.
+     *
+     * @param bulkId The ID of the bulk
+     * @return A Flux of payments
+     */
+    Flux<Payment> findByBulkId(UUID bulkId);
+
+    /**
+     * Update the transaction status of a payment.
+     *
+     * @param id The ID of the payment
+     * @param transactionStatus The new transaction status
+     * @param updatedAt The time the status was confirmed by the payment service
+     * @return A Mono of the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE payments SET transaction_status = :transactionStatus, updated_at = :updatedAt WHERE id = :id")
+    Mono<Integer> updateTransactionStatus(UUID id, String transactionStatus, LocalDateTime updatedAt);
+
     /**
      * Find a payment by its end-to-end identification.
      *
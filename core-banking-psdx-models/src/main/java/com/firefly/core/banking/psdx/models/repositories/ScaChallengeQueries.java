@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.repositories;
+
+import com.firefly.core.banking.psdx.models.entities.ScaChallenge;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Challenge queries of the ScaChallengeRepository.
+ * A challenge is looked up by its ID, and the encrypting string converter gives every encryption
+ * of the same ID a different ciphertext, so the challenges are stored in plain text. The code is
+ * only stored as a keyed hash.
+ */
+public interface ScaChallengeQueries {
+
+    /**
+     * Insert or overwrite a challenge.
+     *
+     * @param id The ID of the challenge
+     * @param partyId The ID of the PSU
+     * @param resourceId The ID of the resource
+     * @param method The authentication method
+     * @param codeHash The hash of the authentication code
+     * @param failedAttempts The number of failed validation attempts
+     * @param expiresAt The expiry time
+     * @return A Mono of the number of written rows
+     */
+    Mono<Integer> upsert(String id, UUID partyId, String resourceId, String method, String codeHash,
+                         int failedAttempts, LocalDateTime expiresAt);
+
+    /**
+     * Find a challenge.
+     *
+     * @param id The ID of the challenge
+     * @return A Mono of the challenge, or empty if it is unknown
+     */
+    Mono<ScaChallenge> findChallenge(String id);
+
+    /**
+     * Count a validation attempt against a challenge that is still open.
+     *
+     * @param id The ID of the challenge
+     * @param now The current time
+     * @param maxAttempts The number of attempts after which the challenge no longer accepts validations
+     * @return A Mono of the updated challenge, or empty if it is unknown, expired or exhausted
+     */
+    Mono<ScaChallenge> recordAttempt(String id, LocalDateTime now, int maxAttempts);
+
+    /**
+     * Delete a challenge that was validated successfully.
+     *
+     * @param id The ID of the challenge
+     * @return A Mono of the number of deleted rows
+     */
+    Mono<Integer> consume(String id);
+
+    /**
+     * Delete challenges.
+     *
+     * @param ids The IDs of the challenges
+     * @return A Mono of the number of deleted rows
+     */
+    Mono<Integer> deleteChallenges(Collection<String> ids);
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.repositories;
+
+import com.firefly.core.banking.psdx.models.entities.ScaChallenge;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Implementation of the ScaChallengeQueries fragment.
+ * The queries go through the DatabaseClient, whose binds and rows are not passed through the
+ * custom conversions, so challenge IDs, methods and code hashes are neither encrypted nor decrypted.
+ */
+@RequiredArgsConstructor
+public class ScaChallengeQueriesImpl implements ScaChallengeQueries {
+
+    private static final String COLUMNS = "id, party_id, resource_id, method, code_hash, failed_attempts, expires_at";
+
+    private static final String UPSERT = "INSERT INTO sca_challenges (" + COLUMNS + ") " +
+            "VALUES (:id, :partyId, :resourceId, :method, :codeHash, :failedAttempts, :expiresAt) " +
+            "ON CONFLICT (id) DO UPDATE SET failed_attempts = EXCLUDED.failed_attempts";
+
+    private static final String FIND = "SELECT " + COLUMNS + " FROM sca_challenges WHERE id = :id";
+
+    private static final String RECORD_ATTEMPT = "UPDATE sca_challenges SET failed_attempts = failed_attempts + 1 " +
+            "WHERE id = :id AND expires_at > :now AND failed_attempts < :maxAttempts RETURNING " + COLUMNS;
+
+    private static final String CONSUME = "DELETE FROM sca_challenges WHERE id = :id";
+
+    private static final String DELETE = "DELETE FROM sca_challenges WHERE id IN (:ids)";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Integer> upsert(String id, UUID partyId, String resourceId, String method, String codeHash,
+                                int failedAttempts, LocalDateTime expiresAt) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(UPSERT)
+                .bind("id", id);
+        spec = partyId != null ? spec.bind("partyId", partyId) : spec.bindNull("partyId", UUID.class);
+        spec = resourceId != null ? spec.bind("resourceId", resourceId) : spec.bindNull("resourceId", String.class);
+        return spec.bind("method", method)
+                .bind("codeHash", codeHash)
+                .bind("failedAttempts", failedAttempts)
+                .bind("expiresAt", expiresAt)
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+
+    @Override
+    public Mono<ScaChallenge> findChallenge(String id) {
+        return databaseClient.sql(FIND)
+                .bind("id", id)
+                .map(ScaChallengeQueriesImpl::toChallenge)
+                .one();
+    }
+
+    @Override
+    public Mono<ScaChallenge> recordAttempt(String id, LocalDateTime now, int maxAttempts) {
+        return databaseClient.sql(RECORD_ATTEMPT)
+                .bind("id", id)
+                .bind("now", now)
+                .bind("maxAttempts", maxAttempts)
+                .map(ScaChallengeQueriesImpl::toChallenge)
+                .one();
+    }
+
+    @Override
+    public Mono<Integer> consume(String id) {
+        return databaseClient.sql(CONSUME)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+
+    @Override
+    public Mono<Integer> deleteChallenges(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(0);
+        }
+        return databaseClient.sql(DELETE)
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+
+    private static ScaChallenge toChallenge(Readable row) {
+        return ScaChallenge.builder()
+                .id(row.get("id", String.class))
+                .partyId(row.get("party_id", UUID.class))
+                .resourceId(row.get("resource_id", String.class))
+                .method(row.get("method", String.class))
+                .codeHash(row.get("code_hash", String.class))
+                .failedAttempts(row.get("failed_attempts", Integer.class))
+                .expiresAt(row.get("expires_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.repositories;
+
+import com.firefly.core.banking.psdx.models.entities.ScaChallenge;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for managing ScaChallenge entities.
+ * The challenge queries are implemented in {@link ScaChallengeQueriesImpl}. The repository does not
+ * offer the CRUD methods, which would encrypt the challenge ID of every lookup differently.
+ */
+@Repository
+public interface ScaChallengeRepository
+        extends org.springframework.data.repository.Repository<ScaChallenge, String>, ScaChallengeQueries {
+
+    /**
+     * Delete all challenges that have expired.
+     *
+     * @param now The current time
+     * @return A Mono of the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM sca_challenges WHERE expires_at < :now")
+    Mono<Integer> deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.repositories;
+
+import com.firefly.core.banking.psdx.models.entities.ScaExemptionState;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository for managing ScaExemptionState entities.
+ */
+@Repository
+public interface ScaExemptionStateRepository extends ReactiveCrudRepository<ScaExemptionState, UUID> {
+
+    /**
+     * Insert or overwrite the checkpoint of a PSU.
+     *
+     * @param partyId The ID of the PSU
+     * @param exemptedCount The number of low-value payments exempted since the last SCA
+     * @param exemptedAmount The cumulative amount of those payments
+     * @param updatedAt The time of the checkpoint
+     * @return A Mono of the number of written rows
+     */
+    @Modifying
+    @Query("INSERT INTO sca_exemption_state (party_id, exempted_count, exempted_amount, updated_at) " +
+            "VALUES (:partyId, :exemptedCount, :exemptedAmount, :updatedAt) " +
+            "ON CONFLICT (party_id) DO UPDATE SET exempted_count = EXCLUDED.exempted_count, " +
+            "exempted_amount = EXCLUDED.exempted_amount, updated_at = EXCLUDED.updated_at")
+    Mono<Integer> upsert(UUID partyId, int exemptedCount, BigDecimal exemptedAmount, LocalDateTime updatedAt);
+}
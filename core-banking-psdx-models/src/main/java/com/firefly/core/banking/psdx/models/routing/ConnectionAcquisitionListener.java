@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.routing;
+
+import java.time.Duration;
+
+/**
+ * Listener notified of every connection acquisition from a workload or replica pool.
+ */
+public interface ConnectionAcquisitionListener {
+
+    /**
+     * A listener that ignores every acquisition.
+     */
+    ConnectionAcquisitionListener NOOP = (pool, duration, success) -> {
+    };
+
+    /**
+     * Record a connection acquisition.
+     *
+     * @param pool The name of the pool that served the acquisition
+     * @param duration The time spent waiting for the connection
+     * @param success Whether a connection was obtained
+     */
+    void onAcquisition(String pool, Duration duration, boolean success);
+}
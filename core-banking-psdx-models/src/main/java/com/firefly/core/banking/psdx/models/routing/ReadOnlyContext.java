@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.routing;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Access to the read-only marker of the current subscription.
+ * A read-only subscription may be served by the replica pool of the
+ * {@link ReadReplicaRoutingConnectionFactory}. It carries the IDs of the records it reads, so
+ * that a read of a record written moments ago still goes to the primary.
+ */
+public final class ReadOnlyContext {
+
+    private static final Class<ReadOnlyContext> KEY = ReadOnlyContext.class;
+
+    private ReadOnlyContext() {
+    }
+
+    /**
+     * Create a context marking a subscription as read-only.
+     *
+     * @param keys The IDs of the records read, checked against recent writes
+     * @return A Context to write into the subscriber context
+     */
+    public static Context of(Set<UUID> keys) {
+        return Context.of(KEY, Set.copyOf(keys));
+    }
+
+    /**
+     * Get the record IDs of the current read-only subscription.
+     *
+     * @return A Mono of the record IDs, or an empty Mono if the subscription is not read-only
+     */
+    public static Mono<Set<UUID>> current() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.<Set<UUID>>getOrEmpty(KEY)));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.routing;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Connection factory sending read-only subscriptions to a replica pool.
+ * A subscription marked through {@link ReadOnlyContext} is served by the replica while its
+ * replication lag is within the maximum and none of the records it reads was written within
+ * the read-your-writes window. Every other subscription, and every transaction, is served by
+ * the primary connection factory, which also serves reads the replica fails to accept.
+ */
+public class ReadReplicaRoutingConnectionFactory implements ConnectionFactory {
+
+    /**
+     * The name of the replica pool in acquisition metrics.
+     */
+    public static final String REPLICA_POOL = "replica";
+
+    private final ConnectionFactory primary;
+    private final ConnectionPool replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final RecentWriteTracker recentWrites;
+    private final ConnectionAcquisitionListener listener;
+
+    /**
+     * Constructor for ReadReplicaRoutingConnectionFactory.
+     *
+     * @param primary The connection factory of the primary
+     * @param replica The connection pool of the replica
+     * @param lagMonitor The monitor of the replica lag
+     * @param recentWrites The tracker of recently written records
+     * @param listener The listener notified of every replica acquisition
+     */
+    public ReadReplicaRoutingConnectionFactory(ConnectionFactory primary, ConnectionPool replica,
+                                               ReplicaLagMonitor lagMonitor, RecentWriteTracker recentWrites,
+                                               ConnectionAcquisitionListener listener) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.recentWrites = recentWrites;
+        this.listener = listener;
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return ReadOnlyContext.current()
+                .filter(keys -> lagMonitor.isWithinMaxLag() && !recentWrites.isRecent(keys))
+                .flatMap(keys -> {
+                    long start = System.nanoTime();
+                    return Mono.from(replica.create())
+                            .doOnSuccess(connection -> listener.onAcquisition(REPLICA_POOL, Duration.ofNanos(System.nanoTime() - start), true))
+                            .doOnError(e -> listener.onAcquisition(REPLICA_POOL, Duration.ofNanos(System.nanoTime() - start), false))
+                            .onErrorResume(e -> Mono.from(primary.create()));
+                })
+                .switchIfEmpty(Mono.defer(() -> Mono.from(primary.create())));
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    /**
+     * Get the connection pool of the replica, for instance to publish its metrics.
+     *
+     * @return The replica pool
+     */
+    public ConnectionPool getReplica() {
+        return replica;
+    }
+
+    /**
+     * Get the monitor of the replica lag.
+     *
+     * @return The lag monitor
+     */
+    public ReplicaLagMonitor getLagMonitor() {
+        return lagMonitor;
+    }
+
+    /**
+     * Stop monitoring the replica and close its pool. The primary is closed by its own bean.
+     */
+    public void dispose() {
+        lagMonitor.stop();
+        replica.dispose();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.routing;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracker of recently written records, giving read-your-writes over an asynchronous replica.
+ * Reads of a record written within the window are sent to the primary, since the replica
+ * may not have replayed the write yet. Writes are only known to this instance.
+ */
+public class RecentWriteTracker {
+
+    private static final int MAX_ENTRIES = 100_000;
+
+    private final ConcurrentMap<UUID, Long> writtenUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final LongSupplier nanoTime;
+
+    /**
+     * Constructor for RecentWriteTracker.
+     *
+     * @param window How long after a write reads of the record go to the primary
+     */
+    public RecentWriteTracker(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    RecentWriteTracker(Duration window, LongSupplier nanoTime) {
+        this.windowNanos = window.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Record a write of a record.
+     *
+     * @param id The ID of the written record
+     */
+    public void record(UUID id) {
+        long now = nanoTime.getAsLong();
+        writtenUntil.put(id, now + windowNanos);
+        if (writtenUntil.size() > MAX_ENTRIES) {
+            writtenUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    /**
+     * Check whether any of the records was written within the window.
+     *
+     * @param ids The IDs of the records
+     * @return True if at least one record was written recently
+     */
+    public boolean isRecent(Collection<UUID> ids) {
+        long now = nanoTime.getAsLong();
+        for (UUID id : ids) {
+            Long until = writtenUntil.get(id);
+            if (until == null) {
+                continue;
+            }
+            if (until - now > 0) {
+                return true;
+            }
+            writtenUntil.remove(id, until);
+        }
+        return false;
+    }
+}
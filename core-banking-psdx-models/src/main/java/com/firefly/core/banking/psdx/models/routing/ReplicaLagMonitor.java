@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.routing;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Monitor of the replication lag of the read replica.
+ * The lag is measured periodically against the primary: the current WAL position is read on the
+ * primary first, and the lag is zero if the replica has replayed up to it, or else the age of the
+ * last replayed transaction. A replica whose WAL receiver is not streaming, or that is not in
+ * recovery at all, has an unknown lag, because it may silently stop receiving changes. Until the
+ * first measurement, and after a failed one, the lag is unknown and the replica is considered behind.
+ * Reading pg_stat_wal_receiver requires the replica user to have the pg_read_all_stats role.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() "
+            + "OR NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL "
+            + "WHEN pg_last_wal_replay_lsn() >= $1::pg_lsn THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END::bigint";
+
+    private final ConnectionFactory primary;
+    private final ConnectionFactory replica;
+    private final Duration maxLag;
+    private volatile Duration lag;
+    private Disposable subscription;
+
+    /**
+     * Constructor for ReplicaLagMonitor.
+     *
+     * @param primary The connection factory of the primary
+     * @param replica The connection factory of the replica
+     * @param maxLag The lag above which reads fall back to the primary
+     */
+    public ReplicaLagMonitor(ConnectionFactory primary, ConnectionFactory replica, Duration maxLag) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * Start measuring the lag periodically.
+     *
+     * @param interval The interval between measurements
+     */
+    public synchronized void start(Duration interval) {
+        if (subscription == null) {
+            subscription = Flux.interval(Duration.ZERO, interval)
+                    .concatMap(tick -> measure())
+                    .subscribe();
+        }
+    }
+
+    /**
+     * Stop measuring the lag.
+     */
+    public synchronized void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    /**
+     * Measure the lag once and keep the result.
+     *
+     * @return A Mono of the measured lag, or an empty Mono if the lag is unknown
+     */
+    public Mono<Duration> measure() {
+        return Mono.usingWhen(
+                        Mono.from(primary.create()),
+                        ReplicaLagMonitor::queryPrimaryLsn,
+                        Connection::close)
+                .flatMap(primaryLsn -> Mono.usingWhen(
+                        Mono.from(replica.create()),
+                        connection -> queryLag(connection, primaryLsn),
+                        Connection::close))
+                .switchIfEmpty(Mono.defer(() -> {
+                    if (lag != null) {
+                        log.warn("Replica is not streaming from the primary, reading from primary");
+                    }
+                    lag = null;
+                    return Mono.empty();
+                }))
+                .doOnNext(measured -> {
+                    if (lag == null || measured.compareTo(maxLag) > 0 != lag.compareTo(maxLag) > 0) {
+                        log.info("Replica lag is {}ms, maximum is {}ms", measured.toMillis(), maxLag.toMillis());
+                    }
+                    lag = measured;
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to measure replica lag, reading from primary: {}", e.getMessage());
+                    lag = null;
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Check whether the replica is close enough to the primary to serve reads.
+     *
+     * @return True if the last measured lag is known and within the maximum
+     */
+    public boolean isWithinMaxLag() {
+        Duration current = lag;
+        return current != null && current.compareTo(maxLag) <= 0;
+    }
+
+    /**
+     * Get the last measured lag.
+     *
+     * @return The lag, or null if it is unknown
+     */
+    public Duration getLag() {
+        return lag;
+    }
+
+    private static Mono<String> queryPrimaryLsn(Connection connection) {
+        return Mono.from(connection.createStatement(PRIMARY_LSN_QUERY).execute())
+                .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, String.class))));
+    }
+
+    private static Mono<Duration> queryLag(Connection connection, String primaryLsn) {
+        return Mono.from(connection.createStatement(LAG_QUERY).bind("$1", primaryLsn).execute())
+                .flatMap(result -> Mono.from(result.map((row, metadata) -> Optional.ofNullable(row.get(0, Long.class)))))
+                .flatMap(Mono::justOrEmpty)
+                .map(Duration::ofMillis);
+    }
+}
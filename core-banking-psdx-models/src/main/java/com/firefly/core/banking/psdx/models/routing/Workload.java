@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.routing;
+
+import java.util.Locale;
+
+/**
+ * Database workloads with a connection pool of their own.
+ * Each workload is served by a separate pool, so that a burst of one kind of work, such as
+ * access log ingestion, cannot take every connection away from the others.
+ */
+public enum Workload {
+
+    /**
+     * Everything not assigned to a specific workload: consent management, TPPs, SCA.
+     */
+    DEFAULT,
+
+    /**
+     * Read-heavy account information requests.
+     */
+    AIS_READ,
+
+    /**
+     * Payment initiation, which writes payments and their status.
+     */
+    PIS_WRITE,
+
+    /**
+     * Insertion of access log records.
+     */
+    ACCESS_LOG;
+
+    /**
+     * Get the name of the pool serving this workload, as used in configuration and metrics.
+     *
+     * @return The pool name, for instance ais-read
+     */
+    public String poolName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
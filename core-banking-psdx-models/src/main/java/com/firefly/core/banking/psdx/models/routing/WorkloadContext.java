@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.routing;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Access to the database workload of the current subscription.
+ * The workload is written into the Reactor Context, by a web filter for whole requests or by a
+ * service around a single repository call, and read by the {@link WorkloadRoutingConnectionFactory}
+ * when a connection is acquired.
+ */
+public final class WorkloadContext {
+
+    private static final Class<Workload> KEY = Workload.class;
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * Create a context assigning a workload.
+     * A workload written closer to the repository call overrides one written for the whole request.
+     *
+     * @param workload The workload
+     * @return A Context to write into the subscriber context
+     */
+    public static Context of(Workload workload) {
+        return Context.of(KEY, workload);
+    }
+
+    /**
+     * Get the workload of the current subscription.
+     *
+     * @return A Mono of the workload, or an empty Mono if none was assigned
+     */
+    public static Mono<Workload> current() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.<Workload>getOrEmpty(KEY)));
+    }
+}
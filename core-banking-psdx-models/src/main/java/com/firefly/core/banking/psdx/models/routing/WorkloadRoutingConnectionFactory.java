@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.routing;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection factory routing every acquisition to the pool of the current {@link Workload}.
+ * Subscriptions without a workload, and workloads without a pool of their own, use the
+ * {@link Workload#DEFAULT} pool. The time spent waiting for each connection is reported to
+ * a {@link ConnectionAcquisitionListener}.
+ */
+public class WorkloadRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+
+    private final Map<Workload, ConnectionPool> pools;
+    private final ConnectionAcquisitionListener listener;
+
+    /**
+     * Constructor for WorkloadRoutingConnectionFactory.
+     *
+     * @param pools The connection pool of each workload; the DEFAULT pool is required
+     * @param listener The listener notified of every acquisition
+     */
+    public WorkloadRoutingConnectionFactory(Map<Workload, ConnectionPool> pools, ConnectionAcquisitionListener listener) {
+        if (!pools.containsKey(Workload.DEFAULT)) {
+            throw new IllegalArgumentException("A connection pool for the DEFAULT workload is required");
+        }
+        this.pools = Collections.unmodifiableMap(new EnumMap<>(pools));
+        this.listener = listener;
+        setTargetConnectionFactories(new HashMap<>(pools));
+        setDefaultTargetConnectionFactory(pools.get(Workload.DEFAULT));
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return WorkloadContext.current()
+                .filter(pools::containsKey)
+                .defaultIfEmpty(Workload.DEFAULT)
+                .flatMap(workload -> {
+                    long start = System.nanoTime();
+                    return Mono.from(pools.get(workload).create())
+                            .doOnSuccess(connection -> listener.onAcquisition(workload.poolName(), Duration.ofNanos(System.nanoTime() - start), true))
+                            .doOnError(e -> listener.onAcquisition(workload.poolName(), Duration.ofNanos(System.nanoTime() - start), false));
+                });
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return WorkloadContext.current().cast(Object.class);
+    }
+
+    /**
+     * Get the pool of each workload, for instance to publish their metrics.
+     *
+     * @return The pools by workload
+     */
+    public Map<Workload, ConnectionPool> getPools() {
+        return pools;
+    }
+
+    /**
+     * Close every pool, releasing their connections.
+     */
+    public void dispose() {
+        pools.values().forEach(ConnectionPool::dispose);
+    }
+}
@@ -0,0 +1,18 @@
+-- Pending SCA challenges shared between nodes
+-- Each node keeps its own challenges in memory; this table lets another node validate them
+
+CREATE TABLE IF NOT EXISTS sca_challenges (
+    id VARCHAR(50) PRIMARY KEY,
+    party_id UUID,
+    resource_id VARCHAR(100),
+    method VARCHAR(20) NOT NULL,
+    code_hash VARCHAR(64) NOT NULL,
+    failed_attempts INTEGER NOT NULL DEFAULT 0,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Supports the cleanup of challenges that expired on a node that went away
+CREATE INDEX IF NOT EXISTS idx_sca_challenges_expires_at ON sca_challenges(expires_at);
+
+COMMENT ON TABLE sca_challenges IS 'Pending SCA challenges, mirrored from the in-memory challenge store';
+COMMENT ON COLUMN sca_challenges.code_hash IS 'HMAC-SHA256 of the authentication code keyed with psdx.sca.challenges.code-secret, the code itself is never stored';
@@ -0,0 +1,7 @@
+-- Supports the background consent expiry sweep
+-- The sweep walks valid consents in (valid_until, id) order; rows leave this partial index
+-- as soon as they are expired, so it only ever holds the consents that are still valid
+
+CREATE INDEX IF NOT EXISTS idx_consents_expiry_sweep ON consents(valid_until, id) WHERE status = 'VALID';
+
+COMMENT ON INDEX idx_consents_expiry_sweep IS 'Keyset index for the consent expiry sweeper';
@@ -0,0 +1,28 @@
+-- Time-ordered UUID primary keys
+-- V5 introduced generate_time_ordered_uuid() but it returned random version 4 UUIDs, which spread
+-- inserts over the whole primary key index. It now returns version 7 UUIDs (RFC 9562): the first
+-- 48 bits hold the Unix time in milliseconds, so new rows are appended to the end of the index.
+-- The application assigns the same kind of IDs before insert; the defaults cover rows inserted
+-- outside of it.
+
+CREATE OR REPLACE FUNCTION generate_time_ordered_uuid() RETURNS UUID AS $$
+DECLARE
+    unix_ms BIGINT := FLOOR(EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::BIGINT;
+    bytes BYTEA := uuid_send(gen_random_uuid());
+BEGIN
+    -- Overwrite the first 6 bytes with the timestamp and set the version nibble to 7;
+    -- the variant bits of the random UUID are already the RFC 9562 ones
+    bytes := overlay(bytes PLACING substring(int8send(unix_ms) FROM 3) FROM 1 FOR 6);
+    bytes := set_byte(bytes, 6, (get_byte(bytes, 6) & 15) | 112);
+    RETURN encode(bytes, 'hex')::UUID;
+END;
+$$ LANGUAGE plpgsql VOLATILE;
+
+ALTER TABLE consents ALTER COLUMN id SET DEFAULT generate_time_ordered_uuid();
+ALTER TABLE access_logs ALTER COLUMN id SET DEFAULT generate_time_ordered_uuid();
+ALTER TABLE payments ALTER COLUMN id SET DEFAULT generate_time_ordered_uuid();
+ALTER TABLE funds_confirmations ALTER COLUMN id SET DEFAULT generate_time_ordered_uuid();
+ALTER TABLE third_party_providers ALTER COLUMN id SET DEFAULT generate_time_ordered_uuid();
+
+COMMENT ON FUNCTION generate_time_ordered_uuid() IS
+'Generates version 7 UUIDs (Unix millisecond timestamp followed by random bits) so that primary key inserts are appended to the end of the index.';
@@ -0,0 +1,182 @@
+-- Index rationalization for the UUID tables
+-- V3, V5 and V6 left several indexes on the same columns: btree copies of the primary keys,
+-- hash indexes next to btree indexes on the same column, and single-column indexes that are a
+-- prefix of a composite one. Every insert maintained all of them. This migration keeps one
+-- index per real repository access path, records the before and after index footprint in
+-- index_rationalization_log, and adds the index_usage_analysis and index_write_amplification
+-- views to find the next candidates from pg_stat_user_indexes.
+
+CREATE TABLE IF NOT EXISTS index_rationalization_log (
+    table_name VARCHAR(100) NOT NULL,
+    migration VARCHAR(20) NOT NULL,
+    indexes_before INTEGER NOT NULL,
+    index_bytes_before BIGINT NOT NULL,
+    indexes_after INTEGER,
+    index_bytes_after BIGINT,
+    rationalized_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (table_name, migration)
+);
+
+INSERT INTO index_rationalization_log (table_name, migration, indexes_before, index_bytes_before)
+SELECT c.relname, 'V13', COUNT(*), COALESCE(SUM(pg_relation_size(i.indexrelid)), 0)
+FROM pg_index i
+JOIN pg_class c ON c.oid = i.indrelid
+WHERE c.relname IN ('consents', 'access_logs', 'third_party_providers', 'payments', 'funds_confirmations')
+AND c.relnamespace = 'public'::regnamespace
+GROUP BY c.relname
+ON CONFLICT (table_name, migration) DO NOTHING;
+
+-- Copies of the primary keys (findById, findAllByIds and expireBatch use the primary key)
+DROP INDEX IF EXISTS idx_consents_id_btree;
+DROP INDEX IF EXISTS idx_consents_id_hash;
+DROP INDEX IF EXISTS idx_access_logs_id_btree;
+DROP INDEX IF EXISTS idx_access_logs_id_hash;
+DROP INDEX IF EXISTS idx_third_party_providers_id_btree;
+DROP INDEX IF EXISTS idx_third_party_providers_id_hash;
+DROP INDEX IF EXISTS idx_payments_id_btree;
+DROP INDEX IF EXISTS idx_payments_id_hash;
+DROP INDEX IF EXISTS idx_funds_confirmations_id_btree;
+DROP INDEX IF EXISTS idx_funds_confirmations_id_hash;
+
+-- consents: findByPartyId uses idx_consents_party_id, valid consents of a party use
+-- idx_consents_valid_status and the expiry sweep uses idx_consents_expiry_sweep (V11).
+-- No query filters on status alone.
+DROP INDEX IF EXISTS idx_consents_party_id_hash;
+DROP INDEX IF EXISTS idx_consents_party_status;
+DROP INDEX IF EXISTS idx_consents_status;
+DROP INDEX IF EXISTS idx_consents_status_created;
+
+-- access_logs: the most written table. findByConsentId and countByConsentId use
+-- idx_access_logs_consent_created, findByPartyId and findByPartyIdAndDateRange use the new
+-- idx_access_logs_party_created, findByThirdPartyId uses idx_access_logs_third_party_id and
+-- retention uses idx_access_logs_created_desc. No query filters on status or resource type.
+CREATE INDEX IF NOT EXISTS idx_access_logs_party_created ON access_logs(party_id, created_at);
+DROP INDEX IF EXISTS idx_access_logs_consent_id;
+DROP INDEX IF EXISTS idx_access_logs_consent_id_btree;
+DROP INDEX IF EXISTS idx_access_logs_consent_id_hash;
+DROP INDEX IF EXISTS idx_access_logs_party_id;
+DROP INDEX IF EXISTS idx_access_logs_party_id_hash;
+DROP INDEX IF EXISTS idx_access_logs_party_resource;
+DROP INDEX IF EXISTS idx_access_logs_success;
+
+-- payments: findByConsentId uses idx_payments_consent_status, whose first column is consent_id
+DROP INDEX IF EXISTS idx_payments_consent_id;
+DROP INDEX IF EXISTS idx_payments_consent_id_btree;
+DROP INDEX IF EXISTS idx_payments_consent_id_hash;
+
+-- funds_confirmations: findByConsentId uses idx_funds_confirmations_consent_id
+DROP INDEX IF EXISTS idx_funds_confirmations_consent_id_btree;
+DROP INDEX IF EXISTS idx_funds_confirmations_consent_id_hash;
+
+-- third_party_providers: api_key and registration_number are UNIQUE since V1, so their plain
+-- indexes duplicate the constraint indexes. They are only dropped when the constraint exists.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_indexes WHERE schemaname = 'public' AND indexname = 'third_party_providers_api_key_key') THEN
+        DROP INDEX IF EXISTS idx_third_party_providers_api_key;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_indexes WHERE schemaname = 'public' AND indexname = 'third_party_providers_registration_number_key') THEN
+        DROP INDEX IF EXISTS idx_third_party_providers_registration_number;
+    END IF;
+END $$;
+
+UPDATE index_rationalization_log l
+SET indexes_after = a.index_count,
+    index_bytes_after = a.index_bytes
+FROM (
+    SELECT c.relname, COUNT(*) AS index_count, COALESCE(SUM(pg_relation_size(i.indexrelid)), 0) AS index_bytes
+    FROM pg_index i
+    JOIN pg_class c ON c.oid = i.indrelid
+    WHERE c.relnamespace = 'public'::regnamespace
+    GROUP BY c.relname
+) a
+WHERE l.table_name = a.relname AND l.migration = 'V13';
+
+-- Usage metrics of the UUID table indexes, extended with scan counts and sizes
+CREATE OR REPLACE VIEW uuid_performance_metrics AS
+SELECT
+    schemaname,
+    relname as tablename,
+    indexrelname as indexname,
+    idx_tup_read,
+    idx_tup_fetch,
+    CASE
+        WHEN idx_tup_read > 0 THEN
+            ROUND((idx_tup_fetch::numeric / idx_tup_read::numeric) * 100, 2)
+        ELSE 0
+    END as index_efficiency_percent,
+    idx_scan,
+    pg_relation_size(indexrelid) as index_bytes
+FROM pg_stat_user_indexes
+WHERE schemaname = 'public'
+AND relname IN ('consents', 'access_logs', 'third_party_providers', 'payments', 'funds_confirmations')
+ORDER BY relname, indexrelname;
+
+-- Every index of the UUID tables with its usage and the index that makes it redundant, if any.
+-- An index is redundant when another btree index without predicate starts with the same key
+-- columns: a longer one, or an equal unique one, or for equal plain indexes the older one.
+CREATE OR REPLACE VIEW index_usage_analysis AS
+SELECT
+    m.tablename,
+    m.indexname,
+    am.amname AS access_method,
+    i.indisprimary AS is_primary,
+    i.indisunique AS is_unique,
+    m.idx_scan,
+    m.index_efficiency_percent,
+    m.index_bytes,
+    pg_size_pretty(m.index_bytes) AS index_size,
+    covering.indexname AS redundant_with,
+    CASE
+        WHEN i.indisprimary OR i.indisunique THEN 'KEEP'
+        WHEN covering.indexname IS NOT NULL THEN 'DROP_REDUNDANT'
+        WHEN m.idx_scan = 0 THEN 'REVIEW_UNUSED'
+        ELSE 'KEEP'
+    END AS recommendation,
+    pg_get_indexdef(i.indexrelid) AS definition
+FROM uuid_performance_metrics m
+JOIN pg_class ic ON ic.relname = m.indexname AND ic.relnamespace = 'public'::regnamespace
+JOIN pg_index i ON i.indexrelid = ic.oid
+JOIN pg_am am ON am.oid = ic.relam
+LEFT JOIN LATERAL (
+    SELECT oc.relname AS indexname
+    FROM pg_index o
+    JOIN pg_class oc ON oc.oid = o.indexrelid
+    JOIN pg_am oam ON oam.oid = oc.relam
+    WHERE o.indrelid = i.indrelid
+    AND o.indexrelid <> i.indexrelid
+    AND oam.amname = 'btree'
+    AND o.indpred IS NULL
+    AND i.indpred IS NULL
+    AND o.indexprs IS NULL
+    AND i.indexprs IS NULL
+    AND (o.indkey::text || ' ') LIKE (i.indkey::text || ' %')
+    AND (o.indnkeyatts > i.indnkeyatts
+         OR o.indisunique
+         OR am.amname <> 'btree'
+         OR o.indexrelid < i.indexrelid)
+    ORDER BY o.indnkeyatts, o.indexrelid
+    LIMIT 1
+) covering ON TRUE;
+
+-- Index maintenance per UUID table. Every insert, and every update that is not HOT, writes one
+-- entry into each index; the redundant columns show what dropping the redundant indexes saves.
+CREATE OR REPLACE VIEW index_write_amplification AS
+SELECT
+    t.relname AS tablename,
+    t.n_tup_ins + t.n_tup_upd - t.n_tup_hot_upd AS indexed_row_writes,
+    COUNT(a.indexname) AS index_count,
+    COUNT(a.indexname) FILTER (WHERE a.recommendation = 'DROP_REDUNDANT') AS redundant_index_count,
+    (t.n_tup_ins + t.n_tup_upd - t.n_tup_hot_upd) * COUNT(a.indexname) AS index_entries_written,
+    (t.n_tup_ins + t.n_tup_upd - t.n_tup_hot_upd)
+        * COUNT(a.indexname) FILTER (WHERE a.recommendation = 'DROP_REDUNDANT') AS redundant_index_entries_written,
+    pg_size_pretty(COALESCE(SUM(a.index_bytes) FILTER (WHERE a.recommendation = 'DROP_REDUNDANT'), 0)) AS redundant_index_size
+FROM pg_stat_user_tables t
+LEFT JOIN index_usage_analysis a ON a.tablename = t.relname
+WHERE t.schemaname = 'public'
+AND t.relname IN ('consents', 'access_logs', 'third_party_providers', 'payments', 'funds_confirmations')
+GROUP BY t.relname, t.n_tup_ins, t.n_tup_upd, t.n_tup_hot_upd;
+
+COMMENT ON TABLE index_rationalization_log IS 'Index count and size of each UUID table before and after an index rationalization migration';
+COMMENT ON VIEW index_usage_analysis IS 'Index usage from pg_stat_user_indexes with redundancy detection; DROP_REDUNDANT indexes are covered by another btree index';
+COMMENT ON VIEW index_write_amplification IS 'Index entries written per UUID table since the last statistics reset, and the share spent on redundant indexes';
@@ -0,0 +1,12 @@
+-- Covering index for consent validation
+-- Validation reads the consent status, validity, party, type and access frequency by ID for
+-- nearly every request. With these columns included in the index the lookup can be an index-only
+-- scan that skips the wide consent row, as long as the row's page is marked all-visible. Every
+-- write to the row clears that mark until the next vacuum. Validation therefore records the last
+-- action date only on the first use of each day (ConsentRepository.updateLastActionDate), so
+-- consent rows are written about once a day rather than once per request.
+
+CREATE INDEX IF NOT EXISTS idx_consents_validation ON consents(id)
+INCLUDE (status, valid_from, valid_until, party_id, consent_type, access_frequency);
+
+COMMENT ON INDEX idx_consents_validation IS 'Covering index for ConsentRepository.findSummariesByIds';
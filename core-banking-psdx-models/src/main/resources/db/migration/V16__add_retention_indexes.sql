@@ -0,0 +1,18 @@
+-- Keyset indexes for retention archival
+-- The retention archiver reads expired rows ordered by (created_at, id), resuming after the last
+-- archived row. These indexes let every batch start with an index range scan instead of sorting
+-- the whole expired part of the table.
+-- They replace the created_at DESC indexes of V6: a B-tree on (created_at, id) is scanned backwards
+-- for newest-first reads, so keeping both would only add write load on every insert.
+
+CREATE INDEX IF NOT EXISTS idx_access_logs_created_id ON access_logs(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_payments_created_id ON payments(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_funds_confirmations_created_id ON funds_confirmations(created_at, id);
+
+COMMENT ON INDEX idx_access_logs_created_id IS 'Keyset index for RetentionArchiver';
+COMMENT ON INDEX idx_payments_created_id IS 'Keyset index for RetentionArchiver';
+COMMENT ON INDEX idx_funds_confirmations_created_id IS 'Keyset index for RetentionArchiver';
+
+DROP INDEX IF EXISTS idx_access_logs_created_desc;
+DROP INDEX IF EXISTS idx_payments_created_desc;
+DROP INDEX IF EXISTS idx_funds_confirmations_created_desc;
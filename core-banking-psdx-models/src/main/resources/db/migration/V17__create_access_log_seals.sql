@@ -0,0 +1,26 @@
+-- Tamper-evident sealing of access logs
+-- Access logs are sealed in batches ordered by (created_at, id), using the keyset index from V16.
+-- Every seal holds the Merkle root of the rows of its batch and the hash of the previous seal,
+-- so modifying, inserting or deleting a sealed row, or rewriting a seal, breaks the chain.
+-- The unique sequence number keeps concurrent sealers from forking the chain.
+
+CREATE TABLE access_log_seals (
+    id UUID PRIMARY KEY DEFAULT generate_time_ordered_uuid(),
+    sequence_number BIGINT NOT NULL,
+    first_created_at TIMESTAMP NOT NULL,
+    first_log_id UUID NOT NULL,
+    last_created_at TIMESTAMP NOT NULL,
+    last_log_id UUID NOT NULL,
+    row_count INTEGER NOT NULL,
+    merkle_root VARCHAR(64) NOT NULL,
+    previous_seal_hash VARCHAR(64) NOT NULL,
+    seal_hash VARCHAR(64) NOT NULL,
+    sealed_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_access_log_seals_sequence UNIQUE (sequence_number)
+);
+
+CREATE INDEX idx_access_log_seals_range ON access_log_seals(last_created_at, first_created_at);
+
+COMMENT ON TABLE access_log_seals IS 'Hash chain of Merkle roots over sealed batches of access_logs';
+COMMENT ON COLUMN access_log_seals.merkle_root IS 'Hex SHA-256 Merkle root of the sealed access logs';
+COMMENT ON COLUMN access_log_seals.seal_hash IS 'Hex SHA-256 over the previous seal hash, the sealed range and the Merkle root';
@@ -0,0 +1,19 @@
+-- Keep the full account references, creditor address and structured remittance of stored payments
+-- The payments table is the read model for getPayment and cancelPayment, so it must return what the
+-- payment service returned. Rows written before this migration have NULL account types and are read
+-- back as IBAN references, as before.
+
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS debtor_account_type VARCHAR(20);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS debtor_account_currency VARCHAR(3);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS creditor_account_type VARCHAR(20);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS creditor_account_currency VARCHAR(3);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS creditor_address_street VARCHAR(70);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS creditor_address_building_number VARCHAR(16);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS creditor_address_city VARCHAR(35);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS creditor_address_postal_code VARCHAR(16);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS creditor_address_country VARCHAR(2);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS remittance_reference_issuer VARCHAR(35);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS remittance_reference_date DATE;
+
+COMMENT ON COLUMN payments.debtor_account_type IS 'Kind of identifier in debtor_account: IBAN, BBAN, PAN, MASKED_PAN or MSISDN';
+COMMENT ON COLUMN payments.creditor_account_type IS 'Kind of identifier in creditor_account: IBAN, BBAN, PAN, MASKED_PAN or MSISDN';
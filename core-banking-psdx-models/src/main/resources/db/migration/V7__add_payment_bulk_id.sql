@@ -0,0 +1,10 @@
+-- Group payments initiated through the bulk payment endpoint
+-- Single payments keep a NULL bulk_id
+
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS bulk_id UUID;
+
+CREATE INDEX IF NOT EXISTS idx_payments_bulk_id
+ON payments(bulk_id)
+WHERE bulk_id IS NOT NULL;
+
+COMMENT ON COLUMN payments.bulk_id IS 'Identifier of the bulk the payment was initiated in, NULL for single payments';
@@ -0,0 +1,20 @@
+-- Idempotency keys for retried POST requests
+-- The id is derived from the TPP and the X-Request-ID, so lookups are primary key hits
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id UUID PRIMARY KEY,
+    tpp_id_hash VARCHAR(64) NOT NULL,
+    request_id VARCHAR(100) NOT NULL,
+    fingerprint VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Supports the periodic TTL cleanup
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+COMMENT ON TABLE idempotency_keys IS 'Results of POST requests keyed by TPP and X-Request-ID, replayed on retries';
+COMMENT ON COLUMN idempotency_keys.tpp_id_hash IS 'SHA-256 of the TPP identifier, the raw API key is never stored';
+COMMENT ON COLUMN idempotency_keys.fingerprint IS 'SHA-256 of the request body, used to reject reuse of a request ID for a different request';
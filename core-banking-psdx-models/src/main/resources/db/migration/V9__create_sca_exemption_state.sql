@@ -0,0 +1,13 @@
+-- Checkpoints of the in-memory SCA exemption state, one row per PSU
+-- Decisions are taken from memory; this table only makes the state survive restarts
+
+CREATE TABLE IF NOT EXISTS sca_exemption_state (
+    party_id UUID PRIMARY KEY,
+    exempted_count INTEGER NOT NULL DEFAULT 0,
+    exempted_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+COMMENT ON TABLE sca_exemption_state IS 'Per-PSU SCA low-value exemption counters, checkpointed from memory';
+COMMENT ON COLUMN sca_exemption_state.exempted_count IS 'Number of low-value payments exempted since the last SCA';
+COMMENT ON COLUMN sca_exemption_state.exempted_amount IS 'Cumulative amount in EUR of low-value payments exempted since the last SCA';
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.firefly.core.banking.psdx.models.config;
+
+import com.firefly.core.banking.psdx.models.entities.Consent;
+import com.firefly.core.banking.psdx.models.entities.Payment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.mapping.callback.ReactiveEntityCallbacks;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests for the EntityIdConfig.
+ */
+class EntityIdConfigTest {
+
+    private AnnotationConfigApplicationContext context;
+    private ReactiveEntityCallbacks callbacks;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(EntityIdConfig.class);
+        callbacks = ReactiveEntityCallbacks.create(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void timeOrderedIdCallback_shouldAssignVersion7Id_whenEntityHasNoId() {
+        // When
+        Consent consent = callbacks.callback(BeforeConvertCallback.class, new Consent(),
+                SqlIdentifier.unquoted("consents")).block();
+
+        // Then
+        assertNotNull(consent.getId());
+        assertEquals(7, consent.getId().version());
+    }
+
+    @Test
+    void timeOrderedIdCallback_shouldKeepAssignedId() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Payment payment = Payment.builder().id(id).build();
+
+        // When
+        Payment converted = callbacks.callback(BeforeConvertCallback.class, payment,
+                SqlIdentifier.unquoted("payments")).block();
+
+        // Then
+        assertEquals(id, converted.getId());
+    }
+}
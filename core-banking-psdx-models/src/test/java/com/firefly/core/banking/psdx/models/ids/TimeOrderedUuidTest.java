@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.ids;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the TimeOrderedUuid.
+ * The generator keeps its last timestamp for the whole JVM, so every test starts from a
+ * time after anything generated before.
+ */
+class TimeOrderedUuidTest {
+
+    @Test
+    void generate_shouldSetVersionAndVariantBits() {
+        // Given
+        long now = freshMillis();
+
+        // When
+        UUID uuid = TimeOrderedUuid.generate(now);
+
+        // Then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void generate_shouldKeepOrder_withinOneMillisecond() {
+        // Given
+        long now = freshMillis();
+        UUID previous = TimeOrderedUuid.generate(now);
+
+        // When & Then
+        for (int i = 0; i < 100; i++) {
+            UUID next = TimeOrderedUuid.generate(now);
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            assertEquals(now, TimeOrderedUuid.epochMillis(next));
+            previous = next;
+        }
+    }
+
+    @Test
+    void generate_shouldAdvanceTimestamp_whenCounterOverflows() {
+        // Given
+        long now = freshMillis();
+        UUID previous = TimeOrderedUuid.generate(now);
+
+        // When
+        for (int i = 1; i < 4096; i++) {
+            UUID next = TimeOrderedUuid.generate(now);
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+        UUID overflow = TimeOrderedUuid.generate(now);
+
+        // Then
+        assertEquals(now, TimeOrderedUuid.epochMillis(previous));
+        assertEquals(now + 1, TimeOrderedUuid.epochMillis(overflow));
+        assertTrue(Long.compareUnsigned(overflow.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+        assertEquals(7, overflow.version());
+    }
+
+    @Test
+    void generate_shouldNotGoBackwards_whenClockMovesBack() {
+        // Given
+        long now = freshMillis();
+        UUID before = TimeOrderedUuid.generate(now);
+
+        // When
+        UUID after = TimeOrderedUuid.generate(now - 5_000);
+
+        // Then
+        assertTrue(Long.compareUnsigned(after.getMostSignificantBits(), before.getMostSignificantBits()) > 0);
+        assertEquals(now, TimeOrderedUuid.epochMillis(after));
+    }
+
+    @Test
+    void epochMillis_shouldReturnGenerationTime() {
+        // Given
+        long now = freshMillis();
+
+        // When
+        UUID uuid = TimeOrderedUuid.generate(now);
+
+        // Then
+        assertEquals(now, TimeOrderedUuid.epochMillis(uuid));
+    }
+
+    @Test
+    void epochMillis_shouldRejectOtherVersions() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuid.epochMillis(UUID.randomUUID()));
+    }
+
+    private static long freshMillis() {
+        return TimeOrderedUuid.epochMillis(TimeOrderedUuid.generate()) + 1_000;
+    }
+}
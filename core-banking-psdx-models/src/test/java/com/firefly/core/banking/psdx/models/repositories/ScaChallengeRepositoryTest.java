@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.models.repositories;
+
+import com.firefly.core.banking.psdx.interfaces.security.EncryptionService;
+import com.firefly.core.banking.psdx.models.config.R2dbcConverterConfig;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the ScaChallengeRepository with string encryption enabled.
+ * The repository is built the way Spring Data builds it, over a connection factory that records
+ * the statements and their binds.
+ */
+class ScaChallengeRepositoryTest {
+
+    private static final String CHALLENGE_ID = "sca-" + UUID.randomUUID();
+    private static final String CODE_HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    private final List<RecordedStatement> statements = new ArrayList<>();
+
+    private ScaChallengeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        EncryptionService encryptionService = new EncryptionService(true, "AES/GCM/NoPadding", "0123456789abcdef");
+        R2dbcCustomConversions conversions = new R2dbcConverterConfig(encryptionService).r2dbcCustomConversions();
+        R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+
+        DatabaseClient databaseClient = DatabaseClient.builder()
+                .connectionFactory(recordingConnectionFactory())
+                .bindMarkers(PostgresDialect.INSTANCE.getBindMarkersFactory())
+                .build();
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(databaseClient, PostgresDialect.INSTANCE,
+                new MappingR2dbcConverter(mappingContext, conversions));
+        repository = new R2dbcRepositoryFactory(template).getRepository(ScaChallengeRepository.class,
+                RepositoryFragments.just(new ScaChallengeQueriesImpl(databaseClient)));
+    }
+
+    @Test
+    void challengeStatements_shouldBindThePlainChallengeId() {
+        // When
+        repository.upsert(CHALLENGE_ID, UUID.randomUUID(), "payment-1", "SMS", CODE_HASH, 0,
+                LocalDateTime.now().plusMinutes(5)).block();
+        repository.findChallenge(CHALLENGE_ID).block();
+        repository.recordAttempt(CHALLENGE_ID, LocalDateTime.now(), 3).block();
+        repository.consume(CHALLENGE_ID).block();
+        repository.deleteChallenges(List.of(CHALLENGE_ID)).block();
+
+        // Then
+        assertEquals(5, statements.size());
+        for (RecordedStatement statement : statements) {
+            assertEquals(CHALLENGE_ID, statement.binds().get(0), statement.sql());
+        }
+    }
+
+    @Test
+    void upsert_shouldStoreTheMethodAndCodeHashInPlainText() {
+        // When
+        repository.upsert(CHALLENGE_ID, UUID.randomUUID(), "payment-1", "SMS", CODE_HASH, 0,
+                LocalDateTime.now().plusMinutes(5)).block();
+
+        // Then
+        Map<Integer, Object> binds = statements.getFirst().binds();
+        assertEquals("payment-1", binds.get(2));
+        assertEquals("SMS", binds.get(3));
+        assertEquals(CODE_HASH, binds.get(4));
+    }
+
+    @Test
+    void deleteExpired_shouldRunThroughTheRepository() {
+        // When
+        repository.deleteExpired(LocalDateTime.now()).block();
+
+        // Then
+        assertEquals(1, statements.size());
+        assertTrue(statements.getFirst().sql().startsWith("DELETE FROM sca_challenges WHERE expires_at <"));
+    }
+
+    private ConnectionFactory recordingConnectionFactory() {
+        Connection connection = mock(Connection.class);
+        lenient().when(connection.createStatement(anyString())).thenAnswer(invocation -> {
+            RecordedStatement recorded = new RecordedStatement(invocation.getArgument(0), new HashMap<>());
+            statements.add(recorded);
+            return recordingStatement(recorded);
+        });
+        lenient().doReturn(Mono.empty()).when(connection).close();
+
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        lenient().doReturn(Mono.just(connection)).when(connectionFactory).create();
+        return connectionFactory;
+    }
+
+    private static Statement recordingStatement(RecordedStatement recorded) {
+        Result result = mock(Result.class);
+        lenient().doReturn(Mono.just(1L)).when(result).getRowsUpdated();
+        lenient().doReturn(Flux.empty()).when(result).map(any(BiFunction.class));
+        lenient().doReturn(Flux.empty()).when(result).map(any(Function.class));
+
+        Statement statement = mock(Statement.class, RETURNS_SELF);
+        lenient().when(statement.bind(anyInt(), any())).thenAnswer(invocation -> {
+            Object value = invocation.getArgument(1);
+            recorded.binds().put(invocation.getArgument(0), value instanceof Parameter parameter ? parameter.getValue() : value);
+            return statement;
+        });
+        lenient().doReturn(Flux.just(result)).when(statement).execute();
+        return statement;
+    }
+
+    /**
+     * A statement created on the connection and the values bound to it by index.
+     */
+    private record RecordedStatement(String sql, Map<Integer, Object> binds) {
+    }
+}
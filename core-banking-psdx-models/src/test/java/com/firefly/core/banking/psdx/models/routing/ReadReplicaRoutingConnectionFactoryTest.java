@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.firefly.core.banking.psdx.models.routing;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the ReadReplicaRoutingConnectionFactory.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingConnectionFactoryTest {
+
+    private static final UUID CONSENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Mock
+    private ConnectionFactory primary;
+
+    @Mock
+    private ConnectionPool replica;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    @Mock
+    private ConnectionAcquisitionListener listener;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private RecentWriteTracker recentWrites;
+    private ReadReplicaRoutingConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void setUp() {
+        recentWrites = new RecentWriteTracker(Duration.ofSeconds(2), nanoTime::get);
+        connectionFactory = new ReadReplicaRoutingConnectionFactory(primary, replica, lagMonitor, recentWrites, listener);
+    }
+
+    @Test
+    void create_shouldUseReplica_forReadOnlySubscriptionWithinMaxLag() {
+        // Given
+        when(lagMonitor.isWithinMaxLag()).thenReturn(true);
+        when(replica.create()).thenReturn(Mono.just(replicaConnection));
+
+        // When & Then
+        StepVerifier.create(readOnly(CONSENT_ID))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+        verify(listener).onAcquisition(eq(ReadReplicaRoutingConnectionFactory.REPLICA_POOL), any(Duration.class), eq(true));
+        verify(primary, never()).create();
+    }
+
+    @Test
+    void create_shouldUsePrimary_whenReplicaLagsBehind() {
+        // Given
+        when(lagMonitor.isWithinMaxLag()).thenReturn(false);
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        // When & Then
+        StepVerifier.create(readOnly(CONSENT_ID))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        verify(replica, never()).create();
+    }
+
+    @Test
+    void create_shouldUsePrimary_withinReadYourWritesWindow() {
+        // Given
+        when(lagMonitor.isWithinMaxLag()).thenReturn(true);
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+        when(replica.create()).thenReturn(Mono.just(replicaConnection));
+        recentWrites.record(CONSENT_ID);
+
+        // When & Then
+        StepVerifier.create(readOnly(CONSENT_ID))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        StepVerifier.create(readOnly(UUID.randomUUID()))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+
+        nanoTime.addAndGet(Duration.ofSeconds(3).toNanos());
+        StepVerifier.create(readOnly(CONSENT_ID))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void create_shouldFallBackToPrimary_whenReplicaFails() {
+        // Given
+        when(lagMonitor.isWithinMaxLag()).thenReturn(true);
+        when(replica.create()).thenReturn(Mono.error(new IllegalStateException("replica unavailable")));
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        // When & Then
+        StepVerifier.create(readOnly(CONSENT_ID))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        verify(listener).onAcquisition(eq(ReadReplicaRoutingConnectionFactory.REPLICA_POOL), any(Duration.class), eq(false));
+    }
+
+    @Test
+    void create_shouldUsePrimary_withoutReadOnlyMarker() {
+        // Given
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        // When & Then
+        StepVerifier.create(connectionFactory.create())
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        verify(replica, never()).create();
+    }
+
+    private Mono<Connection> readOnly(UUID key) {
+        return connectionFactory.create().contextWrite(ReadOnlyContext.of(Set.of(key)));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package com.firefly.core.banking.psdx.models.routing;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the ReplicaLagMonitor.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    private static final String PRIMARY_LSN = "0/3000148";
+
+    @Mock
+    private ConnectionFactory primary;
+
+    @Mock
+    private ConnectionFactory replica;
+
+    private ReplicaLagMonitor lagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        lagMonitor = new ReplicaLagMonitor(primary, replica, Duration.ofMillis(500));
+    }
+
+    @Test
+    void measure_shouldBeWithinMaxLag_whenReplicaHasReplayedPrimary() {
+        // Given
+        doReturn(Mono.just(connection(ReplicaLagMonitor.PRIMARY_LSN_QUERY, PRIMARY_LSN))).when(primary).create();
+        Statement lagStatement = mock(Statement.class);
+        doReturn(Mono.just(connection(ReplicaLagMonitor.LAG_QUERY, lagStatement, 0L))).when(replica).create();
+
+        // When & Then
+        StepVerifier.create(lagMonitor.measure())
+                .expectNext(Duration.ZERO)
+                .verifyComplete();
+        assertTrue(lagMonitor.isWithinMaxLag());
+        verify(lagStatement).bind("$1", PRIMARY_LSN);
+    }
+
+    @Test
+    void measure_shouldNotBeWithinMaxLag_whenReplicaLagsBehind() {
+        // Given
+        doReturn(Mono.just(connection(ReplicaLagMonitor.PRIMARY_LSN_QUERY, PRIMARY_LSN))).when(primary).create();
+        doReturn(Mono.just(connection(ReplicaLagMonitor.LAG_QUERY, 1500L))).when(replica).create();
+
+        // When & Then
+        StepVerifier.create(lagMonitor.measure())
+                .expectNext(Duration.ofMillis(1500))
+                .verifyComplete();
+        assertFalse(lagMonitor.isWithinMaxLag());
+    }
+
+    @Test
+    void measure_shouldForgetLag_whenReplicaIsNotStreaming() {
+        // Given
+        doReturn(Mono.just(connection(ReplicaLagMonitor.PRIMARY_LSN_QUERY, PRIMARY_LSN))).when(primary).create();
+        doReturn(Mono.just(connection(ReplicaLagMonitor.LAG_QUERY, 0L)), Mono.just(connection(ReplicaLagMonitor.LAG_QUERY, null)))
+                .when(replica).create();
+        lagMonitor.measure().block();
+
+        // When & Then
+        StepVerifier.create(lagMonitor.measure())
+                .verifyComplete();
+        assertNull(lagMonitor.getLag());
+        assertFalse(lagMonitor.isWithinMaxLag());
+    }
+
+    @Test
+    void measure_shouldForgetLag_whenReplicaFails() {
+        // Given
+        doReturn(Mono.just(connection(ReplicaLagMonitor.PRIMARY_LSN_QUERY, PRIMARY_LSN))).when(primary).create();
+        doReturn(Mono.just(connection(ReplicaLagMonitor.LAG_QUERY, 0L)), Mono.error(new IllegalStateException("replica unavailable")))
+                .when(replica).create();
+        lagMonitor.measure().block();
+
+        // When & Then
+        StepVerifier.create(lagMonitor.measure())
+                .verifyComplete();
+        assertNull(lagMonitor.getLag());
+        assertFalse(lagMonitor.isWithinMaxLag());
+    }
+
+    private static Connection connection(String sql, Object value) {
+        return connection(sql, mock(Statement.class), value);
+    }
+
+    /**
+     * Create a connection answering the query with a single row holding the value.
+     */
+    @SuppressWarnings("unchecked")
+    private static Connection connection(String sql, Statement statement, Object value) {
+        Row row = mock(Row.class);
+        lenient().when(row.get(0, String.class)).thenReturn((String) (value instanceof String ? value : null));
+        lenient().when(row.get(0, Long.class)).thenReturn(value instanceof Long ? (Long) value : null);
+        Result result = mock(Result.class);
+        when(result.map(any(BiFunction.class))).thenAnswer(invocation -> Flux.just(
+                invocation.<BiFunction<Row, RowMetadata, Object>>getArgument(0).apply(row, mock(RowMetadata.class))));
+        lenient().when(statement.bind(any(String.class), any())).thenReturn(statement);
+        doReturn(Mono.just(result)).when(statement).execute();
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement(sql)).thenReturn(statement);
+        doReturn(Mono.empty()).when(connection).close();
+        return connection;
+    }
+}
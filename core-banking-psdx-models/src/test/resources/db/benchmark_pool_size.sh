@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Benchmark of throughput against connection pool size
+# Runs the statements behind each workload pool with pgbench, once per pool size, and prints
+# transactions per second and average latency, so that the psdx.r2dbc.pools sizes can be chosen
+# at the knee of the curve rather than guessed. Each pgbench client holds one connection for the
+# whole run, like a fully utilized pool of that size.
+#   ais-read    consent validation projection (V14) and the party's consents
+#   pis-write   payment insert
+#   access-log  access log insert
+# Run against a scratch database after migrating it:
+#   PGDATABASE=your_database ./benchmark_pool_size.sh [duration-seconds] [pool sizes...]
+
+set -euo pipefail
+
+DURATION=${1:-30}
+shift || true
+SIZES=${*:-"2 5 10 20 40"}
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+psql -q -v ON_ERROR_STOP=1 <<'SQL'
+INSERT INTO consents (party_id, consent_type, status, valid_from, valid_until, access_frequency, access_scope)
+SELECT gen_random_uuid(), 'ACCOUNT_INFORMATION', 'VALID', NOW() - INTERVAL '1 day', NOW() + INTERVAL '90 days', 4, 'accounts,balances'
+FROM generate_series(1, 10000)
+WHERE NOT EXISTS (SELECT 1 FROM consents);
+SQL
+
+# Each transaction picks a random consent first, as the services do with the consent of the request
+PICK_CONSENT='\set n random(0, 9999)
+SELECT id AS c_id, party_id AS c_party_id FROM consents OFFSET :n LIMIT 1 \gset'
+
+cat > "$WORK_DIR/ais-read.sql" <<SQL
+$PICK_CONSENT
+SELECT id, party_id, consent_type, status, valid_from, valid_until, access_frequency FROM consents WHERE id = :'c_id';
+SELECT id, status, valid_until FROM consents WHERE party_id = :'c_party_id';
+SQL
+
+cat > "$WORK_DIR/pis-write.sql" <<SQL
+$PICK_CONSENT
+INSERT INTO payments (consent_id, payment_type, transaction_status, debtor_account, creditor_name, creditor_account, amount, currency)
+VALUES (:'c_id', 'SINGLE', 'RCVD', 'DE89370400440532013000', 'Pool Benchmark', 'DE02120300000000202051', 10.00, 'EUR');
+SQL
+
+cat > "$WORK_DIR/access-log.sql" <<SQL
+$PICK_CONSENT
+INSERT INTO access_logs (consent_id, party_id, third_party_id, access_type, resource_type, resource_id, ip_address, status)
+VALUES (:'c_id', :'c_party_id', 'pool-benchmark', 'READ', 'ACCOUNT', md5(random()::text), '127.0.0.1', 'SUCCESS');
+SQL
+
+printf '%-12s %6s %12s %12s\n' workload pool tps latency_ms
+for workload in ais-read pis-write access-log; do
+    for size in $SIZES; do
+        result=$(pgbench -n -c "$size" -j "$size" -T "$DURATION" -f "$WORK_DIR/$workload.sql" 2>&1)
+        tps=$(echo "$result" | sed -n 's/^tps = \([0-9.]*\).*/\1/p' | head -1)
+        latency=$(echo "$result" | sed -n 's/^latency average = \([0-9.]*\).*/\1/p')
+        printf '%-12s %6s %12s %12s\n' "$workload" "$size" "$tps" "$latency"
+    done
+done
+
+psql -q -c "DELETE FROM payments WHERE creditor_name = 'Pool Benchmark'" \
+     -c "DELETE FROM access_logs WHERE third_party_id = 'pool-benchmark'"
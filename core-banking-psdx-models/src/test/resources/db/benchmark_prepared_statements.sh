@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Benchmark of parse/plan savings from prepared statements
+# Runs the hot consent and API key lookups with pgbench in each query protocol mode:
+#   simple     query text sent and parsed and planned on every execution
+#   extended   parameterized, but parsed and planned on every execution (no statement cache)
+#   prepared   parsed once per connection and reused, as with psdx.r2dbc.statements.cache-size > 0
+# and prints transactions per second and average latency for each, so that the gain of the
+# prepared statement cache can be read directly from the difference.
+# Run against a scratch database after migrating it:
+#   PGDATABASE=your_database ./benchmark_prepared_statements.sh [duration-seconds] [clients]
+
+set -euo pipefail
+
+DURATION=${1:-30}
+CLIENTS=${2:-8}
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+psql -q -v ON_ERROR_STOP=1 <<'SQL'
+INSERT INTO consents (party_id, consent_type, status, valid_from, valid_until, access_frequency, access_scope)
+SELECT gen_random_uuid(), 'ACCOUNT_INFORMATION', 'VALID', NOW() - INTERVAL '1 day', NOW() + INTERVAL '90 days', 4, 'accounts,balances'
+FROM generate_series(1, 10000)
+WHERE NOT EXISTS (SELECT 1 FROM consents);
+
+INSERT INTO third_party_providers (name, registration_number, api_key, redirect_uri, status, provider_type)
+SELECT 'Benchmark TPP ' || n, 'BENCH-' || n, 'bench-api-key-' || n, 'https://tpp.example/callback', 'ACTIVE', 'AISP'
+FROM generate_series(1, 1000) AS n
+ON CONFLICT DO NOTHING;
+SQL
+
+# Keys are read into a temporary table once, so that each transaction runs only the lookups
+psql -q -v ON_ERROR_STOP=1 -c "DROP TABLE IF EXISTS benchmark_consent_keys" \
+     -c "CREATE TABLE benchmark_consent_keys AS SELECT row_number() OVER () AS n, id FROM consents LIMIT 10000"
+KEYS=$(psql -tA -c "SELECT count(*) FROM benchmark_consent_keys")
+
+cat > "$WORK_DIR/consent-lookup.sql" <<SQL
+\set n random(1, $KEYS)
+SELECT id AS c_id FROM benchmark_consent_keys WHERE n = :n \gset
+SELECT id, party_id, consent_type, status, valid_from, valid_until, access_frequency FROM consents WHERE id = :'c_id';
+SELECT count(*) FROM access_logs WHERE consent_id = :'c_id';
+SELECT * FROM access_logs WHERE consent_id = :'c_id';
+SQL
+
+cat > "$WORK_DIR/api-key-lookup.sql" <<'SQL'
+\set n random(1, 1000)
+SELECT * FROM third_party_providers WHERE api_key = 'bench-api-key-' || :n;
+SQL
+
+printf '%-16s %-10s %12s %12s\n' lookup mode tps latency_ms
+for lookup in consent-lookup api-key-lookup; do
+    for mode in simple extended prepared; do
+        result=$(pgbench -n -M "$mode" -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" -f "$WORK_DIR/$lookup.sql" 2>&1)
+        tps=$(echo "$result" | sed -n 's/^tps = \([0-9.]*\).*/\1/p' | head -1)
+        latency=$(echo "$result" | sed -n 's/^latency average = \([0-9.]*\).*/\1/p')
+        printf '%-16s %-10s %12s %12s\n' "$lookup" "$mode" "$tps" "$latency"
+    done
+done
+
+psql -q -c "DROP TABLE benchmark_consent_keys" \
+     -c "DELETE FROM third_party_providers WHERE registration_number LIKE 'BENCH-%'"
@@ -0,0 +1,74 @@
+-- Benchmark of random (v4) against time-ordered (v7) UUID primary keys
+-- Inserts the same number of rows into two tables shaped like access_logs, one keyed by
+-- gen_random_uuid() and one by generate_time_ordered_uuid() (V12), and reports insert time,
+-- primary key index size, leaf density and WAL written for each.
+-- Run against a scratch database after migrating it:
+--   psql -d your_database -v rows=1000000 -f benchmark_uuid_v7.sql
+
+\if :{?rows}
+\else
+\set rows 1000000
+\endif
+
+DROP TABLE IF EXISTS uuid_benchmark_v4;
+DROP TABLE IF EXISTS uuid_benchmark_v7;
+DROP TABLE IF EXISTS uuid_benchmark_results;
+
+CREATE TABLE uuid_benchmark_v4 (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    consent_id UUID NOT NULL,
+    resource_type VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE uuid_benchmark_v7 (LIKE uuid_benchmark_v4 INCLUDING ALL);
+ALTER TABLE uuid_benchmark_v7 ALTER COLUMN id SET DEFAULT generate_time_ordered_uuid();
+
+CREATE TABLE uuid_benchmark_results (
+    variant VARCHAR(2) PRIMARY KEY,
+    row_count BIGINT NOT NULL,
+    insert_ms NUMERIC NOT NULL,
+    wal_bytes NUMERIC NOT NULL
+);
+
+-- Inserts run as statements of 1000 rows, like the batched access log writer
+CREATE OR REPLACE FUNCTION run_uuid_benchmark(p_variant VARCHAR, p_rows BIGINT) RETURNS VOID AS $$
+DECLARE
+    started TIMESTAMP := clock_timestamp();
+    wal_start pg_lsn := pg_current_wal_insert_lsn();
+    inserted BIGINT := 0;
+BEGIN
+    WHILE inserted < p_rows LOOP
+        EXECUTE format(
+            'INSERT INTO uuid_benchmark_%s (consent_id, resource_type) ' ||
+            'SELECT gen_random_uuid(), ''ACCOUNT'' FROM generate_series(1, LEAST(1000, %s - %s))',
+            p_variant, p_rows, inserted);
+        inserted := inserted + LEAST(1000, p_rows - inserted);
+    END LOOP;
+    INSERT INTO uuid_benchmark_results VALUES (
+        p_variant,
+        p_rows,
+        EXTRACT(EPOCH FROM clock_timestamp() - started) * 1000,
+        pg_wal_lsn_diff(pg_current_wal_insert_lsn(), wal_start));
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT run_uuid_benchmark('v4', :rows);
+SELECT run_uuid_benchmark('v7', :rows);
+
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+
+SELECT r.variant,
+       r.row_count,
+       ROUND(r.insert_ms) AS insert_ms,
+       ROUND(r.row_count / (r.insert_ms / 1000)) AS rows_per_second,
+       pg_size_pretty(r.wal_bytes) AS wal_written,
+       pg_size_pretty(pg_relation_size(('uuid_benchmark_' || r.variant || '_pkey')::regclass)) AS pkey_size,
+       (pgstatindex('uuid_benchmark_' || r.variant || '_pkey')).avg_leaf_density AS pkey_leaf_density
+FROM uuid_benchmark_results r
+ORDER BY r.variant;
+
+DROP FUNCTION run_uuid_benchmark(VARCHAR, BIGINT);
+DROP TABLE uuid_benchmark_v4;
+DROP TABLE uuid_benchmark_v7;
+DROP TABLE uuid_benchmark_results;
@@ -245,11 +245,11 @@ DECLARE
     index_count INTEGER;
     expected_indexes TEXT[] := ARRAY[
         'idx_consents_party_id',
-        'idx_consents_status',
-        'idx_access_logs_consent_id',
-        'idx_access_logs_party_id',
-        'idx_third_party_providers_api_key',
-        'idx_payments_consent_id',
+        'idx_consents_valid_status',
+        'idx_access_logs_consent_created',
+        'idx_access_logs_party_created',
+        'third_party_providers_api_key_key',
+        'idx_payments_consent_status',
         'idx_funds_confirmations_consent_id'
     ];
     missing_indexes INTEGER;
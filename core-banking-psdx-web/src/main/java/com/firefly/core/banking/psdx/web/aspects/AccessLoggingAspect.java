@@ -31,9 +31,14 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Aspect for logging all API accesses.
@@ -59,8 +64,10 @@ public class AccessLoggingAspect {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
         
-        // Skip access logging for access log controller methods to avoid infinite loops
-        if (method.getDeclaringClass().getSimpleName().equals("AccessLogController")) {
+        // Skip access logging for access log, access statistics and seal controller methods to avoid infinite loops
+        String controllerName = method.getDeclaringClass().getSimpleName();
+        if (controllerName.equals("AccessLogController") || controllerName.equals("AccessStatsController")
+                || controllerName.equals("AccessLogSealController")) {
             return joinPoint.proceed();
         }
         
@@ -169,12 +176,40 @@ public class AccessLoggingAspect {
         // Get PSU headers
         String psuId = request.getHeaders().getFirst("PSU-ID");
         
+        boolean loggable = consentId != null && partyId != null && thirdPartyId != null;
+        long startNanos = System.nanoTime();
+        
         try {
             // Proceed with the method call
             Object result = joinPoint.proceed();
             
+            // Reactive responses are logged once they terminate, so the latency covers the whole response
+            if (loggable && (result instanceof Mono<?> || result instanceof Flux<?>)) {
+                UUID loggedConsentId = consentId;
+                UUID loggedPartyId = partyId;
+                AccessType loggedAccessType = accessType;
+                Consumer<SignalType> logOnTermination = signal -> accessLogService.logAccess(
+                        loggedConsentId,
+                        loggedPartyId,
+                        thirdPartyId,
+                        loggedAccessType,
+                        resourceType,
+                        resourceId,
+                        ipAddress,
+                        userAgent,
+                        signal == SignalType.ON_ERROR ? AccessStatus.ERROR : AccessStatus.SUCCESS,
+                        xRequestId,
+                        tppRequestId,
+                        psuId,
+                        Duration.ofNanos(System.nanoTime() - startNanos)
+                ).subscribe();
+                return result instanceof Mono<?> mono
+                        ? mono.doFinally(logOnTermination)
+                        : ((Flux<?>) result).doFinally(logOnTermination);
+            }
+            
             // Log successful access
-            if (consentId != null && partyId != null && thirdPartyId != null) {
+            if (loggable) {
                 accessLogService.logAccess(
                         consentId,
                         partyId,
@@ -194,7 +229,7 @@ public class AccessLoggingAspect {
             return result;
         } catch (Exception e) {
             // Log failed access
-            if (consentId != null && partyId != null && thirdPartyId != null) {
+            if (loggable) {
                 accessLogService.logAccess(
                         consentId,
                         partyId,
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.aspects;
+
+import com.firefly.core.banking.psdx.models.entities.Consent;
+import com.firefly.core.banking.psdx.models.routing.ReadOnlyContext;
+import com.firefly.core.banking.psdx.models.routing.RecentWriteTracker;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Aspect marking read-only repository queries for the read replica.
+ * Finder, count and exists queries of the consent, access log and TPP repositories are
+ * marked read-only together with the record IDs they receive, and every consent write
+ * records the consents it touched, so that reads of a consent written moments ago stay on
+ * the primary. Queries whose result enforces a limit, such as the access count of a consent,
+ * always run on the primary, because a lagging replica would let the limit be exceeded.
+ * The sealing queries of the access logs run on the primary as well: a replica behind the
+ * primary would leave recent access logs out of a seal, or report sealed ones as missing.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "psdx.r2dbc.replica", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReadReplicaRoutingAspect {
+
+    private final RecentWriteTracker recentWriteTracker;
+
+    /**
+     * Around advice marking read-only queries.
+     *
+     * @param joinPoint The join point
+     * @return The result of the query, marked read-only
+     * @throws Throwable If an error occurs
+     */
+    @Around("(target(com.firefly.core.banking.psdx.models.repositories.ConsentRepository)"
+            + " || target(com.firefly.core.banking.psdx.models.repositories.AccessLogRepository)"
+            + " || target(com.firefly.core.banking.psdx.models.repositories.AccessStatsRepository)"
+            + " || target(com.firefly.core.banking.psdx.models.repositories.ThirdPartyProviderRepository))"
+            + " && (execution(* find*(..)) || execution(* count*(..)) || execution(* exists*(..)))"
+            + " && !execution(* com.firefly.core.banking.psdx.models.repositories.AccessLogRepository.countByConsentId(..))"
+            + " && !execution(* com.firefly.core.banking.psdx.models.repositories.AccessLogRepository.findUnsealed(..))"
+            + " && !execution(* com.firefly.core.banking.psdx.models.repositories.AccessLogRepository.findSealedRange(..))")
+    public Object routeRead(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        Set<UUID> keys = idsOf(joinPoint.getArgs());
+        if (result instanceof Mono<?> mono) {
+            return mono.contextWrite(ReadOnlyContext.of(keys));
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux.contextWrite(ReadOnlyContext.of(keys));
+        }
+        return result;
+    }
+
+    /**
+     * Around advice recording the consents touched by a write.
+     *
+     * @param joinPoint The join point
+     * @return The result of the write
+     * @throws Throwable If an error occurs
+     */
+    @Around("target(com.firefly.core.banking.psdx.models.repositories.ConsentRepository)"
+            + " && (execution(* save*(..)) || execution(* update*(..)) || execution(* delete*(..)) || execution(* expire*(..)))")
+    public Object trackWrite(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        Set<UUID> keys = idsOf(joinPoint.getArgs());
+        if (result instanceof Mono<?> mono) {
+            return mono.doOnNext(this::recordConsent)
+                    .doOnSuccess(value -> keys.forEach(recentWriteTracker::record));
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux.doOnNext(this::recordConsent)
+                    .doOnComplete(() -> keys.forEach(recentWriteTracker::record));
+        }
+        return result;
+    }
+
+    private void recordConsent(Object value) {
+        if (value instanceof Consent consent && consent.getId() != null) {
+            recentWriteTracker.record(consent.getId());
+        }
+    }
+
+    /**
+     * Collect the record IDs passed to a repository method.
+     *
+     * @param args The arguments of the method
+     * @return The UUIDs, UUID arrays and collections of UUIDs and consent IDs among the arguments
+     */
+    static Set<UUID> idsOf(Object[] args) {
+        Set<UUID> ids = new HashSet<>();
+        for (Object arg : args) {
+            switch (arg) {
+                case UUID id -> ids.add(id);
+                case UUID[] array -> ids.addAll(Arrays.asList(array));
+                case Consent consent when consent.getId() != null -> ids.add(consent.getId());
+                case Collection<?> collection -> collection.forEach(element -> {
+                    if (element instanceof UUID id) {
+                        ids.add(id);
+                    } else if (element instanceof Consent consent && consent.getId() != null) {
+                        ids.add(consent.getId());
+                    }
+                });
+                case null, default -> {
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.aspects;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect recording the latency of every repository query.
+ * The time from subscription to completion, error or cancellation is published as the
+ * {@code psdx.r2dbc.query} timer, tagged with the repository, the method and the outcome.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private static final String METRIC = "psdx.r2dbc.query";
+    private static final String REPOSITORY_PACKAGE = "com.firefly.core.banking.psdx.models.repositories";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    /**
+     * Around advice timing repository queries.
+     *
+     * @param joinPoint The join point
+     * @return The result of the query, timed on subscription
+     * @throws Throwable If an error occurs
+     */
+    @Around("target(org.springframework.data.repository.reactive.ReactiveCrudRepository)")
+    public Object timeQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getTarget().getClass(), RepositoryMetricsAspect::repositoryName);
+        String method = joinPoint.getSignature().getName();
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return mono.doFinally(signal -> record(repository, method, signal, start));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                return flux.doFinally(signal -> record(repository, method, signal, start));
+            });
+        }
+        return result;
+    }
+
+    private void record(String repository, String method, SignalType signal, long start) {
+        Timer.builder(METRIC)
+                .description("Latency of repository queries")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("outcome", switch (signal) {
+                    case ON_ERROR -> "error";
+                    case CANCEL -> "cancelled";
+                    default -> "success";
+                })
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the name of the repository interface implemented by a repository proxy.
+     *
+     * @param targetClass The class of the repository proxy
+     * @return The simple name of the repository interface
+     */
+    static String repositoryName(Class<?> targetClass) {
+        return Arrays.stream(targetClass.getInterfaces())
+                .filter(type -> type.getPackageName().equals(REPOSITORY_PACKAGE))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(targetClass.getSimpleName());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.config;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccessStatsDTO;
+import com.firefly.core.banking.psdx.interfaces.services.AccessStatsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Configuration of the access statistics metrics.
+ * Publishes the requests, errors and mean latency of the last minutes per TPP, resource type
+ * and status as gauges. The gauges are refreshed from the per-minute rollups on a fixed delay,
+ * so a scrape never queries the database.
+ */
+@Configuration
+@Slf4j
+public class AccessStatsMetricsConfig {
+
+    private static final String PREFIX = "psdx.access.";
+
+    private final AccessStatsService accessStatsService;
+    private final long windowMinutes;
+    private final MultiGauge requests;
+    private final MultiGauge errors;
+    private final MultiGauge meanLatency;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * Constructor for AccessStatsMetricsConfig.
+     *
+     * @param registry The meter registry
+     * @param accessStatsService The access statistics service
+     * @param windowMinutes The number of past minutes summed by the gauges
+     */
+    public AccessStatsMetricsConfig(
+            MeterRegistry registry,
+            AccessStatsService accessStatsService,
+            @Value("${psdx.access-stats.gauge-window-minutes:5}") long windowMinutes) {
+        this.accessStatsService = accessStatsService;
+        this.windowMinutes = windowMinutes;
+        this.requests = MultiGauge.builder(PREFIX + "requests")
+                .description("Requests logged within the statistics window")
+                .register(registry);
+        this.errors = MultiGauge.builder(PREFIX + "errors")
+                .description("Failed requests logged within the statistics window")
+                .register(registry);
+        this.meanLatency = MultiGauge.builder(PREFIX + "latency.mean")
+                .description("Mean latency of the requests within the statistics window")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    /**
+     * Refresh the gauges from the rollups of the statistics window.
+     * The current minute is included, so recent counts appear after the next flush of the collector.
+     */
+    @Scheduled(fixedDelayString = "${psdx.access-stats.gauge-refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        LocalDateTime to = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        accessStatsService.getAccessStats(to.minusMinutes(windowMinutes), to, null, null, "minute")
+                .collect(HashMap<Tags, WindowTotals>::new, (totals, stats) ->
+                        totals.computeIfAbsent(tagsOf(stats), tags -> new WindowTotals()).add(stats))
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(this::publish, e -> log.warn("Failed to refresh access statistics metrics: {}", e.getMessage()));
+    }
+
+    private void publish(Map<Tags, WindowTotals> totals) {
+        List<MultiGauge.Row<?>> requestRows = new ArrayList<>(totals.size());
+        List<MultiGauge.Row<?>> errorRows = new ArrayList<>(totals.size());
+        List<MultiGauge.Row<?>> latencyRows = new ArrayList<>(totals.size());
+        totals.forEach((tags, window) -> {
+            requestRows.add(MultiGauge.Row.of(tags, window.requests));
+            errorRows.add(MultiGauge.Row.of(tags, window.errors));
+            latencyRows.add(MultiGauge.Row.of(tags, window.meanLatency()));
+        });
+        requests.register(requestRows, true);
+        errors.register(errorRows, true);
+        meanLatency.register(latencyRows, true);
+        log.debug("Refreshed access statistics metrics for {} series", totals.size());
+    }
+
+    private static Tags tagsOf(PSDAccessStatsDTO stats) {
+        return Tags.of(
+                "third_party_id", stats.getThirdPartyId(),
+                "resource_type", stats.getResourceType(),
+                "status", stats.getStatus());
+    }
+
+    /**
+     * Totals of a single series over the statistics window.
+     */
+    private static final class WindowTotals {
+        private long requests;
+        private long errors;
+        private double latencySumMs;
+        private long latencyCount;
+
+        private void add(PSDAccessStatsDTO stats) {
+            requests += stats.getRequestCount() != null ? stats.getRequestCount() : 0;
+            errors += stats.getErrorCount() != null ? stats.getErrorCount() : 0;
+            if (stats.getAverageLatencyMs() != null && stats.getLatencyHistogram() != null) {
+                long count = stats.getLatencyHistogram().values().stream().mapToLong(Long::longValue).sum();
+                latencySumMs += stats.getAverageLatencyMs() * count;
+                latencyCount += count;
+            }
+        }
+
+        private double meanLatency() {
+            return latencyCount > 0 ? latencySumMs / latencyCount : Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.config;
+
+import com.firefly.core.banking.psdx.models.routing.ConnectionAcquisitionListener;
+import com.firefly.core.banking.psdx.models.routing.ReadReplicaRoutingConnectionFactory;
+import com.firefly.core.banking.psdx.models.routing.WorkloadRoutingConnectionFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Configuration of the connection pool saturation metrics.
+ * Publishes the acquisition time of every workload pool as a timer, and its acquired, idle,
+ * pending and allocated connections and utilization as gauges, all tagged with the pool name,
+ * along with the replication lag when the read replica is enabled.
+ */
+@Configuration
+public class ConnectionPoolMetricsConfig {
+
+    private static final String PREFIX = "psdx.r2dbc.pool.";
+
+    /**
+     * Create the listener recording the acquisition time of every pool.
+     *
+     * @param registry The meter registry
+     * @return The acquisition listener
+     */
+    @Bean
+    public ConnectionAcquisitionListener connectionAcquisitionListener(MeterRegistry registry) {
+        return (pool, duration, success) -> Timer.builder(PREFIX + "acquire")
+                .description("Time spent waiting for a connection")
+                .tag("pool", pool)
+                .tag("outcome", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(duration);
+    }
+
+    /**
+     * Create the binder publishing the state of every pool.
+     *
+     * @param connectionFactory The routing connection factory holding the pools
+     * @param replicaConnectionFactory The replica routing connection factory, if the replica is enabled
+     * @return The meter binder
+     */
+    @Bean
+    public MeterBinder connectionPoolMetrics(WorkloadRoutingConnectionFactory connectionFactory,
+                                             ObjectProvider<ReadReplicaRoutingConnectionFactory> replicaConnectionFactory) {
+        return registry -> {
+            connectionFactory.getPools().forEach((workload, pool) -> bindPool(registry, workload.poolName(), pool));
+            replicaConnectionFactory.ifAvailable(replica -> {
+                bindPool(registry, ReadReplicaRoutingConnectionFactory.REPLICA_POOL, replica.getReplica());
+                Gauge.builder("psdx.r2dbc.replica.lag", replica.getLagMonitor(),
+                                monitor -> monitor.getLag() != null ? monitor.getLag().toMillis() : Double.NaN)
+                        .description("Replication lag of the read replica, NaN while unknown")
+                        .baseUnit("milliseconds")
+                        .register(registry);
+            });
+        };
+    }
+
+    private static void bindPool(MeterRegistry registry, String tag, ConnectionPool pool) {
+        pool.getMetrics().ifPresent(metrics -> {
+            gauge(registry, "acquired", "Connections in use", tag, metrics, PoolMetrics::acquiredSize);
+            gauge(registry, "idle", "Idle connections", tag, metrics, PoolMetrics::idleSize);
+            gauge(registry, "pending", "Acquisitions waiting for a connection", tag, metrics, PoolMetrics::pendingAcquireSize);
+            gauge(registry, "allocated", "Open connections", tag, metrics, PoolMetrics::allocatedSize);
+            gauge(registry, "max", "Maximum number of connections", tag, metrics, PoolMetrics::getMaxAllocatedSize);
+            gauge(registry, "utilization", "Share of the maximum number of connections in use", tag, metrics,
+                    m -> m.getMaxAllocatedSize() > 0 ? (double) m.acquiredSize() / m.getMaxAllocatedSize() : 0);
+        });
+    }
+
+    private static void gauge(MeterRegistry registry, String name, String description, String pool,
+                              PoolMetrics metrics, ToDoubleFunction<PoolMetrics> value) {
+        Gauge.builder(PREFIX + name, metrics, value)
+                .description(description)
+                .tag("pool", pool)
+                .register(registry);
+    }
+}
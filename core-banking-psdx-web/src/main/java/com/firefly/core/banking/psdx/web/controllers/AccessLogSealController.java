@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.controllers;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccessLogSealVerificationDTO;
+import com.firefly.core.banking.psdx.interfaces.services.AccessLogIntegrityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * REST controller for verifying the integrity of sealed access logs.
+ */
+@RestController
+@RequestMapping("/api/v1/access-log-seals")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Access Log Integrity", description = "APIs for verifying the tamper-evident seals of access logs")
+public class AccessLogSealController {
+
+    private final AccessLogIntegrityService accessLogIntegrityService;
+
+    @GetMapping(value = "/verification", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Verify access log seals",
+            description = "Re-validates the hash chain and Merkle roots of the seals covering access logs created within a time range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Seals verified",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = PSDAccessLogSealVerificationDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Flux<PSDAccessLogSealVerificationDTO> verifySeals(
+            @Parameter(description = "Start of the range, inclusive", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @Parameter(description = "End of the range, exclusive", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate) {
+        log.debug("REST request to verify access log seals between {} and {}", fromDate, toDate);
+        return accessLogIntegrityService.verifySeals(fromDate, toDate);
+    }
+}
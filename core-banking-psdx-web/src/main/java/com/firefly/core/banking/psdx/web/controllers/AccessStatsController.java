@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.controllers;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccessStatsDTO;
+import com.firefly.core.banking.psdx.interfaces.services.AccessStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * REST controller for aggregated access statistics.
+ */
+@RestController
+@RequestMapping("/api/v1/access-stats")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Access Statistics", description = "APIs for aggregated access statistics per third party provider")
+public class AccessStatsController {
+
+    private final AccessStatsService accessStatsService;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get access statistics",
+            description = "Gets request counts, error counts and latency histograms per period from the access statistics rollups")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Access statistics found",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = PSDAccessStatsDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid range or granularity"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Flux<PSDAccessStatsDTO> getAccessStats(
+            @Parameter(description = "Start of the range, inclusive", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @Parameter(description = "End of the range, exclusive", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @Parameter(description = "ID of the third party provider")
+            @RequestParam(required = false) String thirdPartyId,
+            @Parameter(description = "Type of the accessed resource")
+            @RequestParam(required = false) String resourceType,
+            @Parameter(description = "Length of the periods: minute, hour or day")
+            @RequestParam(defaultValue = "hour") String granularity) {
+        log.debug("REST request to get access statistics between {} and {} per {}, thirdPartyId={}, resourceType={}",
+                fromDate, toDate, granularity, thirdPartyId, resourceType);
+        return accessStatsService.getAccessStats(fromDate, toDate, thirdPartyId, resourceType, granularity);
+    }
+}
@@ -78,6 +78,7 @@ public class AccountInformationController {
             3. Verify that the consent is associated with the specified customer (partyId)
             4. Retrieve all accounts that the customer owns and that are covered by the consent
             5. Filter out any accounts that are not included in the consent's scope
+            6. If `withBalance=true`, fetch the balances of all accounts in parallel and attach them
 
             ### Response
             Returns an array of account objects, each containing:
@@ -87,6 +88,8 @@ public class AccountInformationController {
             * Account name/description
             * Status
             * Basic account details
+            * Balances, if `withBalance=true` and the consent covers balances; an account whose
+              balances could not be fetched in time is returned without them
 
             ### Access Control
             * Access is only granted if a valid consent exists
@@ -115,9 +118,11 @@ public class AccountInformationController {
             @Parameter(description = "ID of the consent", required = true)
             @RequestHeader("X-Consent-ID") UUID consentId,
             @Parameter(description = "ID of the customer", required = true)
-            @RequestParam UUID partyId) {
+            @RequestParam UUID partyId,
+            @Parameter(description = "Whether to include the balances of each account")
+            @RequestParam(defaultValue = "false") boolean withBalance) {
         log.debug("REST request to get accounts for party ID: {} with consent ID: {}", partyId, consentId);
-        return accountInformationService.getAccounts(consentId, partyId);
+        return accountInformationService.getAccounts(consentId, partyId, withBalance);
     }
 
     @GetMapping(value = "/{accountId}", produces = MediaType.APPLICATION_JSON_VALUE)
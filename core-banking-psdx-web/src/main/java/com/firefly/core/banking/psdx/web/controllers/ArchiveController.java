@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.controllers;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDArchivedRecordDTO;
+import com.firefly.core.banking.psdx.interfaces.services.ArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * REST controller for querying the retention archive.
+ */
+@RestController
+@RequestMapping("/api/v1/archives")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Archive", description = "APIs for querying access logs, payments and funds confirmations past their retention period")
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+
+    @GetMapping(value = "/{table}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Query archived records",
+            description = "Gets archived rows of a table created within a time range, read from the verified archive segments")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archived records found",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = PSDArchivedRecordDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid table, range or filter"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "409", description = "Archive segment failed verification"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Flux<PSDArchivedRecordDTO> queryArchive(
+            @Parameter(description = "Archived table: access_logs, payments or funds_confirmations", required = true)
+            @PathVariable String table,
+            @Parameter(description = "Start of the range, inclusive", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @Parameter(description = "End of the range, exclusive", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @Parameter(description = "ID of the consent")
+            @RequestParam(required = false) UUID consentId,
+            @Parameter(description = "ID of the customer, access logs only")
+            @RequestParam(required = false) UUID partyId,
+            @Parameter(description = "ID of the third party provider, access logs only")
+            @RequestParam(required = false) String thirdPartyId) {
+        log.debug("REST request to query archived {} between {} and {}: consentId={}, partyId={}, thirdPartyId={}",
+                table, fromDate, toDate, consentId, partyId, thirdPartyId);
+
+        Map<String, String> filters = new LinkedHashMap<>();
+        if (consentId != null) {
+            filters.put("consent_id", consentId.toString());
+        }
+        if (partyId != null) {
+            filters.put("party_id", partyId.toString());
+        }
+        if (thirdPartyId != null) {
+            filters.put("third_party_id", thirdPartyId);
+        }
+        return archiveService.queryArchive(table, fromDate, toDate, filters);
+    }
+}
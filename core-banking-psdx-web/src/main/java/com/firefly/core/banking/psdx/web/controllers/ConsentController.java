@@ -21,6 +21,7 @@ import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentStatusDTO;
 import com.firefly.core.banking.psdx.interfaces.services.ConsentService;
+import com.firefly.core.banking.psdx.interfaces.services.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -53,6 +54,7 @@ import java.util.UUID;
 public class ConsentController {
 
     private final ConsentService consentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
@@ -101,6 +103,7 @@ public class ConsentController {
             * Consent creation should be logged for audit purposes
             * The TPP must be authenticated and authorized to create consents
             * Customer verification will be required in a subsequent step
+            * A retry with the same `X-Request-ID` and body returns the original consent instead of creating a new one
             """
     )
     @ApiResponses(value = {
@@ -108,12 +111,18 @@ public class ConsentController {
                     content = @Content(schema = @Schema(implementation = PSDConsentDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid request"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "409", description = "X-Request-ID already used for a different or in-flight request"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public Mono<PSDConsentDTO> createConsent(
+            @Parameter(description = "ID of the request, used as idempotency key")
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @Parameter(hidden = true)
+            @RequestHeader(value = "X-API-KEY", required = false) String thirdPartyId,
             @Valid @RequestBody PSDConsentRequestDTO consentRequest) {
         log.debug("REST request to create consent: {}", consentRequest);
-        return consentService.createConsent(consentRequest);
+        return idempotencyService.execute(thirdPartyId, null, requestId, consentRequest, PSDConsentDTO.class,
+                () -> consentService.createConsent(consentRequest));
     }
 
     @GetMapping(value = "/{consentId}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.controllers;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDDashboardItemDTO;
+import com.firefly.core.banking.psdx.interfaces.services.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for the consolidated PSU dashboard.
+ */
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Dashboard", description = "APIs for the consolidated PSU dashboard according to PSD2/PSD3 regulations")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(
+        summary = "Get dashboard",
+        description = """
+            ## Retrieve a Consolidated View of Accounts and Cards
+
+            This endpoint streams all payment accounts and card accounts of a PSU in a single response.
+
+            ### Description
+            This operation combines the Account Information Service (AIS) and the card account service
+            under PSD2/PSD3 regulations. It allows Third Party Providers (TPPs) to build an overview screen
+            with one request instead of one request per resource type.
+
+            ### Request Headers
+            * `X-Consent-ID` - One or more consent identifiers, separated by commas
+            * `X-API-KEY` - The API key of the Third Party Provider
+
+            ### Request Parameters
+            * `partyId` - The unique identifier of the customer whose dashboard is being retrieved
+
+            ### Processing
+            The system will:
+            1. Read and validate each consent once, including that it was granted by the specified customer
+            2. Query the account service and the card service concurrently, as covered by each consent's scope
+            3. Attach balances when the consent covers them
+            4. Stream every item as soon as it is retrieved
+
+            ### Response
+            A stream (NDJSON or Server-Sent Events) of items, each containing:
+            * Item type (`ACCOUNT`, `CARD_ACCOUNT` or `NOTICE`)
+            * The consent the item was retrieved under
+            * The account or card account, or a message explaining which part is missing
+
+            ### Important Notes
+            * The response completes within a fixed latency budget
+            * Parts that are slow or failing are reported as `NOTICE` items instead of failing the request
+            * Balances that are not retrieved in time are omitted from their account
+            * Resources covered by several consents are only returned once
+
+            ### Regulatory Compliance
+            * Each consent is checked for validity and scope before any data is returned
+            * Access is logged for regulatory reporting and audit purposes
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dashboard items retrieved",
+                    content = @Content(schema = @Schema(implementation = PSDDashboardItemDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Flux<PSDDashboardItemDTO> getDashboard(
+            @Parameter(description = "IDs of the consents", required = true)
+            @RequestHeader("X-Consent-ID") List<UUID> consentIds,
+            @Parameter(description = "ID of the customer", required = true)
+            @RequestParam UUID partyId,
+            @Parameter(description = "API key of the third party provider", required = true)
+            @RequestHeader("X-API-KEY") String thirdPartyId) {
+        log.debug("REST request to get dashboard for consent IDs: {}, party ID: {}", consentIds, partyId);
+        return dashboardService.getDashboard(consentIds, partyId, thirdPartyId);
+    }
+}
@@ -17,6 +17,8 @@
 
 package com.firefly.core.banking.psdx.web.controllers;
 
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationBatchItemDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationBatchRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDFundsConfirmationDTO;
 import com.firefly.core.banking.psdx.interfaces.services.FundsConfirmationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -32,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.UUID;
@@ -126,6 +129,58 @@ public class FundsConfirmationController {
         return fundsConfirmationService.confirmFunds(consentId, fundsConfirmationRequest);
     }
 
+    @PostMapping(value = "/batch", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Confirm funds in batch",
+        description = """
+            ## Confirm Availability of Funds for Many Checks
+
+            This endpoint evaluates many funds checks under a single consent in one request.
+
+            ### Description
+            Intended for card issuers that need to check many card or account balances at once.
+            Each check references either an account or a card number, together with the amount to check.
+
+            ### Request Headers
+            * `X-Consent-ID` - The unique identifier of the consent that authorizes these funds checks
+
+            ### Request Body
+            * `checks` - Up to 1000 checks, each with an account reference or a card number and an instructed amount
+
+            ### Processing
+            The system will:
+            1. Validate the consent once for the whole batch
+            2. Evaluate the checks in parallel against the available balances
+            3. Stream one result per check, in the order of the request
+            4. Store all funds confirmation records of the batch in a single write
+
+            ### Response
+            A stream (NDJSON or Server-Sent Events) of result items, each containing:
+            * Index of the check in the request
+            * Confirmation identifier and result, if the check could be evaluated
+            * Error message, if the check could not be evaluated
+
+            ### Important Notes
+            * A failing check does not fail the batch; it is reported in its own result item
+            * Card numbers are only stored masked
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Funds checks evaluated",
+                    content = @Content(schema = @Schema(implementation = PSDFundsConfirmationBatchItemDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Flux<PSDFundsConfirmationBatchItemDTO> confirmFundsBatch(
+            @Parameter(description = "ID of the consent", required = true)
+            @RequestHeader("X-Consent-ID") UUID consentId,
+            @Valid @RequestBody PSDFundsConfirmationBatchRequestDTO batchRequest) {
+        log.debug("REST request to confirm {} funds checks for consent ID: {}", batchRequest.getChecks().size(), consentId);
+        return fundsConfirmationService.confirmFundsBatch(consentId, batchRequest);
+    }
+
     @GetMapping(value = "/{fundsConfirmationId}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
         summary = "Get funds confirmation", 
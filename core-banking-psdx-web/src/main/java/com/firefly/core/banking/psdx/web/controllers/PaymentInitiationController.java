@@ -17,9 +17,12 @@
 
 package com.firefly.core.banking.psdx.web.controllers;
 
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBulkPaymentInitiationRequestDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDBulkPaymentItemStatusDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentInitiationRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentStatusDTO;
+import com.firefly.core.banking.psdx.interfaces.services.IdempotencyService;
 import com.firefly.core.banking.psdx.interfaces.services.PaymentInitiationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,8 +37,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.UUID;
 
 
@@ -51,6 +56,7 @@ import java.util.UUID;
 public class PaymentInitiationController {
 
     private final PaymentInitiationService paymentInitiationService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
@@ -68,6 +74,8 @@ public class PaymentInitiationController {
 
             ### Request Headers
             * `X-Consent-ID` - The unique identifier of the consent that authorizes this payment initiation
+            * `X-Request-ID` - Idempotency key; a retry with the same ID and body returns the original payment
+              instead of initiating a second one, a retry with a different body is rejected with 409
 
             ### Request Body
             The request must include payment details:
@@ -122,14 +130,85 @@ public class PaymentInitiationController {
             @ApiResponse(responseCode = "400", description = "Invalid request"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "409", description = "X-Request-ID already used for a different or in-flight request"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public Mono<PSDPaymentDTO> initiatePayment(
             @Parameter(description = "ID of the consent", required = true)
             @RequestHeader("X-Consent-ID") UUID consentId,
+            @Parameter(description = "ID of the request, used as idempotency key")
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @Parameter(hidden = true)
+            @RequestHeader(value = "X-API-KEY", required = false) String thirdPartyId,
             @Valid @RequestBody PSDPaymentInitiationRequestDTO paymentRequest) {
         log.debug("REST request to initiate payment with consent ID: {}", consentId);
-        return paymentInitiationService.initiatePayment(consentId, paymentRequest);
+        return idempotencyService.execute(thirdPartyId, consentId, requestId, paymentRequest, PSDPaymentDTO.class,
+                () -> paymentInitiationService.initiatePayment(consentId, paymentRequest));
+    }
+
+    @PostMapping(value = "/bulk", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(
+        summary = "Initiate bulk payment",
+        description = """
+            ## Initiate a Bulk of Payments
+
+            This endpoint initiates a batch of payments, such as a payroll file, in a single request.
+
+            ### Description
+            This operation is part of the Payment Initiation Service (PIS) under PSD2/PSD3 regulations.
+            It allows corporate Third Party Providers (TPPs) to submit thousands of payments debiting
+            the same account without paying the per-request overhead of the single payment endpoint.
+
+            ### Request Headers
+            * `X-Consent-ID` - The unique identifier of the consent that authorizes the payment initiations
+
+            ### Request Body
+            * `batchBookingPreferred` - Whether the payments should be booked as a single batch entry
+            * `payments` - The payments of the bulk, each with the same structure as a single payment initiation
+
+            ### Processing
+            The system will:
+            1. Validate the consent ID once for the whole bulk
+            2. Validate every payment against the bulk rules (same debtor account, unique end-to-end identifiers)
+            3. Evaluate SCA exemptions for every payment
+            4. Initiate the payments downstream with bounded concurrency
+            5. Persist the initiated payments in chunks, grouped under a common bulk identifier
+
+            ### Response
+            Streams one status object per payment as soon as it has been processed, as newline-delimited
+            JSON or server-sent events depending on the `Accept` header. Each status contains:
+            * Bulk identifier and position of the payment in the request
+            * Payment identifier and transaction status, if the payment was initiated
+            * Whether SCA is required for the payment
+            * The rejection reason, if the payment was rejected (status "RJCT")
+
+            Results are emitted in completion order; use the `index` field to correlate them with the request.
+
+            ### Regulatory Compliance
+            * Each payment is initiated under the same rules as a single payment initiation
+            * Access is logged for regulatory reporting and audit purposes
+
+            ### Security Considerations
+            * All requests must include a valid consent ID
+            * A rejected payment does not stop the processing of the remaining payments
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Bulk accepted, payment statuses are streamed",
+                    content = @Content(schema = @Schema(implementation = PSDBulkPaymentItemStatusDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Flux<PSDBulkPaymentItemStatusDTO> initiateBulkPayment(
+            @Parameter(description = "ID of the consent", required = true)
+            @RequestHeader("X-Consent-ID") UUID consentId,
+            @Valid @RequestBody PSDBulkPaymentInitiationRequestDTO bulkRequest) {
+        log.debug("REST request to initiate bulk of {} payments with consent ID: {}",
+                bulkRequest.getPayments().size(), consentId);
+        return paymentInitiationService.initiateBulkPayment(consentId, bulkRequest);
     }
 
     @GetMapping(value = "/{paymentId}/status", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -206,6 +285,111 @@ public class PaymentInitiationController {
         return paymentInitiationService.getPaymentStatus(consentId, paymentId);
     }
 
+    @GetMapping(value = "/{paymentId}/status/stream",
+            produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+        summary = "Stream payment status",
+        description = """
+            ## Stream Payment Status Changes
+
+            This endpoint pushes the status of a payment to the TPP as it changes, instead of the TPP
+            polling the status endpoint.
+
+            ### Description
+            This operation is part of the Payment Initiation Service (PIS) under PSD2/PSD3 regulations.
+            It is intended for TPPs waiting for a pending payment to be executed or rejected.
+
+            ### Request Headers
+            * `X-Consent-ID` - The unique identifier of the consent that authorizes access to this payment
+
+            ### Path Parameters
+            * `paymentId` - The unique identifier of the payment whose status is being followed
+
+            ### Response
+            Streams payment status objects as server-sent events or newline-delimited JSON, depending on the
+            `Accept` header. The current status is sent first, then every status change. The stream completes
+            when the payment reaches a final status (ACSC, RJCT or CANC) or after the server-side stream timeout.
+
+            ### Security Considerations
+            * All requests must include a valid consent ID
+            * The consent is validated once, when the stream is opened
+            * The number of concurrent status subscriptions per TPP is limited; excess subscriptions are rejected with 429
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment status stream opened",
+                    content = @Content(schema = @Schema(implementation = PSDPaymentStatusDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Payment not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "429", description = "Too many status subscriptions"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Flux<PSDPaymentStatusDTO> streamPaymentStatus(
+            @Parameter(description = "ID of the consent", required = true)
+            @RequestHeader("X-Consent-ID") UUID consentId,
+            @Parameter(hidden = true)
+            @RequestHeader(value = "X-API-KEY", required = false) String thirdPartyId,
+            @Parameter(description = "ID of the payment", required = true)
+            @PathVariable UUID paymentId) {
+        log.debug("REST request to stream status for payment: {} with consent ID: {}", paymentId, consentId);
+        return paymentInitiationService.streamPaymentStatus(consentId, paymentId, thirdPartyId);
+    }
+
+    @GetMapping(value = "/{paymentId}/status/wait", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Wait for payment status change",
+        description = """
+            ## Long-Poll Payment Status
+
+            This endpoint holds the request open until the status of a payment differs from the status
+            the TPP already knows, or until the wait time elapses.
+
+            ### Description
+            This operation is part of the Payment Initiation Service (PIS) under PSD2/PSD3 regulations.
+            It is a long-poll alternative to the status stream for TPPs that cannot consume server-sent events.
+
+            ### Request Headers
+            * `X-Consent-ID` - The unique identifier of the consent that authorizes access to this payment
+
+            ### Query Parameters
+            * `lastKnownStatus` - The status the TPP already knows; if omitted, the current status is returned immediately
+            * `waitSeconds` - How long to wait for a change, capped by the server
+
+            ### Response
+            Returns the payment status as soon as it differs from `lastKnownStatus`. If it does not change
+            in time, the unchanged current status is returned and the TPP can wait again.
+
+            ### Security Considerations
+            * All requests must include a valid consent ID
+            * Waiting requests count against the per-TPP status subscription limit
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment status found",
+                    content = @Content(schema = @Schema(implementation = PSDPaymentStatusDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Payment not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "429", description = "Too many status subscriptions"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Mono<PSDPaymentStatusDTO> awaitPaymentStatus(
+            @Parameter(description = "ID of the consent", required = true)
+            @RequestHeader("X-Consent-ID") UUID consentId,
+            @Parameter(hidden = true)
+            @RequestHeader(value = "X-API-KEY", required = false) String thirdPartyId,
+            @Parameter(description = "ID of the payment", required = true)
+            @PathVariable UUID paymentId,
+            @Parameter(description = "Last status known to the TPP")
+            @RequestParam(required = false) String lastKnownStatus,
+            @Parameter(description = "Maximum wait time in seconds")
+            @RequestParam(defaultValue = "30") long waitSeconds) {
+        log.debug("REST request to wait for status change of payment: {} with consent ID: {}", paymentId, consentId);
+        return paymentInitiationService.awaitPaymentStatus(consentId, paymentId, lastKnownStatus,
+                Duration.ofSeconds(Math.max(0, waitSeconds)), thirdPartyId);
+    }
+
     @GetMapping(value = "/{paymentId}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
         summary = "Get payment", 
@@ -36,6 +36,8 @@ import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+
 /**
  * REST controller for Strong Customer Authentication (SCA).
  */
@@ -108,7 +110,7 @@ public class SCAController {
     })
     public Mono<Boolean> isSCARequired(
             @Parameter(description = "Payment amount", required = true)
-            @RequestParam Double amount,
+            @RequestParam BigDecimal amount,
             @Parameter(description = "Payment currency", required = true)
             @RequestParam String currency) {
         log.debug("REST request to check if SCA is required for amount: {} {}", amount, currency);
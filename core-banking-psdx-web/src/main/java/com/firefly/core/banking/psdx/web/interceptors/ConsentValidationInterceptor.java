@@ -17,6 +17,7 @@
 
 package com.firefly.core.banking.psdx.web.interceptors;
 
+import com.firefly.core.banking.psdx.core.consent.ConsentContext;
 import com.firefly.core.banking.psdx.core.services.ConsentValidationService;
 import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
 import com.firefly.core.banking.psdx.interfaces.exceptions.PSDConsentInvalidException;
@@ -32,6 +33,7 @@ import reactor.core.publisher.Mono;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -108,11 +110,14 @@ public class ConsentValidationInterceptor implements WebFilter {
         // Determine resource type from path
         ResourceType resourceType = getResourceTypeFromPath(path);
 
-        // Validate consent
-        return consentValidationService.validateConsent(consentId, resourceType, partyId, thirdPartyId)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return chain.filter(exchange);
+        // Validate consent and hand the validated snapshot to the handlers of this exchange
+        return consentValidationService.validate(consentId, resourceType, partyId, thirdPartyId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(validated -> {
+                    if (validated.isPresent()) {
+                        return chain.filter(exchange)
+                                .contextWrite(ConsentContext.of(validated.get()));
                     } else {
                         log.warn("Invalid consent ID: {} for resource type: {}, party ID: {}, third party ID: {}",
                                 consentId, resourceType, partyId, thirdPartyId);
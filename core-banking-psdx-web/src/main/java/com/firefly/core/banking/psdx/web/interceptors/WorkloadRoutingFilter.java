@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.interceptors;
+
+import com.firefly.core.banking.psdx.models.routing.Workload;
+import com.firefly.core.banking.psdx.models.routing.WorkloadContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Filter assigning the database workload of a request.
+ * Account information reads are served by the AIS pool and payment initiations by the PIS pool,
+ * so that a burst of one cannot exhaust the connections of the other. Every other request uses
+ * the default pool.
+ */
+@Component
+public class WorkloadRoutingFilter implements WebFilter {
+
+    private static final List<String> AIS_PATHS = List.of(
+            "/api/v1/accounts",
+            "/api/v1/card-accounts",
+            "/api/v1/dashboard",
+            "/api/v1/funds-confirmations");
+
+    private static final String PIS_PATH = "/api/v1/payments";
+
+    /**
+     * Filter method to assign the workload of the request.
+     *
+     * @param exchange The server web exchange
+     * @param chain The web filter chain
+     * @return A Mono of Void
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Workload workload = resolveWorkload(exchange.getRequest().getMethod(), exchange.getRequest().getPath().value());
+        if (workload == Workload.DEFAULT) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).contextWrite(WorkloadContext.of(workload));
+    }
+
+    /**
+     * Resolve the workload of a request.
+     *
+     * @param method The HTTP method
+     * @param path The request path
+     * @return The workload
+     */
+    Workload resolveWorkload(HttpMethod method, String path) {
+        if (path.startsWith(PIS_PATH)) {
+            return HttpMethod.GET.equals(method) ? Workload.DEFAULT : Workload.PIS_WRITE;
+        }
+        if (HttpMethod.GET.equals(method) && AIS_PATHS.stream().anyMatch(path::startsWith)) {
+            return Workload.AIS_READ;
+        }
+        return Workload.DEFAULT;
+    }
+}
@@ -51,6 +51,8 @@ import org.springframework.web.server.ServerWebExchange;
 import static org.mockito.ArgumentMatchers.any;
 import reactor.core.publisher.Mono;
 import static org.mockito.ArgumentMatchers.any;
+import reactor.test.StepVerifier;
+import static org.mockito.ArgumentMatchers.any;
 
 import java.lang.reflect.Method;
 import static org.mockito.ArgumentMatchers.any;
@@ -60,6 +62,8 @@ import java.net.InetSocketAddress;
 import static org.mockito.ArgumentMatchers.any;
 import java.net.UnknownHostException;
 import static org.mockito.ArgumentMatchers.any;
+import java.time.Duration;
+import static org.mockito.ArgumentMatchers.any;
 import java.util.UUID;
 import static org.mockito.ArgumentMatchers.any;
 
@@ -145,6 +149,43 @@ class AccessLoggingAspectTest {
         );
     }
 
+    @Test
+    void logAccess_shouldLogReactiveAccessWithLatencyOnCompletion() throws Throwable {
+        // Given
+        Method method = TestController.class.getMethod("getResource");
+        when(methodSignature.getMethod()).thenReturn(method);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{exchange});
+        when(joinPoint.proceed()).thenReturn(Mono.just("success"));
+
+        when(request.getHeaders().getFirst("X-Consent-ID")).thenReturn(VALID_CONSENT_ID);
+        when(request.getHeaders().getFirst("X-API-KEY")).thenReturn("api-key-123");
+        when(request.getQueryParams().getFirst("partyId")).thenReturn(VALID_PARTY_ID);
+
+        when(accessLogService.logAccess(
+                any(UUID.class), any(UUID.class), eq("api-key-123"), eq(AccessType.READ), any(ResourceType.class),
+                anyString(), anyString(), anyString(), eq(AccessStatus.SUCCESS), isNull(), isNull(), isNull(),
+                any(Duration.class)
+        )).thenReturn(Mono.empty());
+
+        // When
+        Object result = aspect.logAccess(joinPoint);
+
+        // Then
+        verify(accessLogService, never()).logAccess(
+                any(UUID.class), any(UUID.class), anyString(), any(AccessType.class), any(ResourceType.class),
+                anyString(), anyString(), anyString(), any(AccessStatus.class), isNull(), isNull(), isNull(),
+                any(Duration.class)
+        );
+        StepVerifier.create((Mono<Object>) result)
+                .expectNext("success")
+                .verifyComplete();
+        verify(accessLogService).logAccess(
+                any(UUID.class), any(UUID.class), eq("api-key-123"), eq(AccessType.READ), any(ResourceType.class),
+                anyString(), anyString(), anyString(), eq(AccessStatus.SUCCESS), isNull(), isNull(), isNull(),
+                any(Duration.class)
+        );
+    }
+
     @Test
     void logAccess_shouldLogFailedAccess() throws Throwable {
         // Given
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.aspects;
+
+import com.firefly.core.banking.psdx.models.entities.Consent;
+import com.firefly.core.banking.psdx.models.routing.ConnectionAcquisitionListener;
+import com.firefly.core.banking.psdx.models.routing.ReadReplicaRoutingConnectionFactory;
+import com.firefly.core.banking.psdx.models.routing.RecentWriteTracker;
+import com.firefly.core.banking.psdx.models.routing.ReplicaLagMonitor;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the ReadReplicaRoutingAspect together with the ReadReplicaRoutingConnectionFactory.
+ * The primary and the replica are stand-in connection factories returning distinct connections.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingAspectTest {
+
+    private static final UUID CONSENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Mock
+    private ConnectionFactory primary;
+
+    @Mock
+    private ConnectionPool replica;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private ReadReplicaRoutingConnectionFactory connectionFactory;
+    private ReadReplicaRoutingAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        RecentWriteTracker tracker = new RecentWriteTracker(Duration.ofMinutes(1));
+        connectionFactory = new ReadReplicaRoutingConnectionFactory(primary, replica, lagMonitor, tracker,
+                ConnectionAcquisitionListener.NOOP);
+        aspect = new ReadReplicaRoutingAspect(tracker);
+
+        lenient().doReturn(Mono.just(primaryConnection)).when(primary).create();
+        lenient().when(replica.create()).thenReturn(Mono.just(replicaConnection));
+        lenient().when(lagMonitor.isWithinMaxLag()).thenReturn(true);
+    }
+
+    @Test
+    void routeRead_ShouldUseReplica() throws Throwable {
+        when(joinPoint.getArgs()).thenReturn(new Object[]{CONSENT_ID});
+        when(joinPoint.proceed()).thenReturn(connectionFactory.create());
+
+        StepVerifier.create((Mono<Object>) aspect.routeRead(joinPoint))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void routeRead_ShouldUsePrimaryWhenReplicaLags() throws Throwable {
+        when(lagMonitor.isWithinMaxLag()).thenReturn(false);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{CONSENT_ID});
+        when(joinPoint.proceed()).thenReturn(connectionFactory.create());
+
+        StepVerifier.create((Mono<Object>) aspect.routeRead(joinPoint))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        verify(replica, never()).create();
+    }
+
+    @Test
+    void routeRead_ShouldUsePrimaryAfterWriteOfSameConsent() throws Throwable {
+        Consent consent = Consent.builder().id(CONSENT_ID).build();
+        when(joinPoint.getArgs()).thenReturn(new Object[]{consent});
+        when(joinPoint.proceed()).thenReturn(Mono.just(consent));
+        StepVerifier.create((Mono<Object>) aspect.trackWrite(joinPoint))
+                .expectNext(consent)
+                .verifyComplete();
+
+        when(joinPoint.getArgs()).thenReturn(new Object[]{new UUID[]{UUID.randomUUID(), CONSENT_ID}});
+        when(joinPoint.proceed()).thenReturn(connectionFactory.create());
+        StepVerifier.create((Mono<Object>) aspect.routeRead(joinPoint))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+
+        when(joinPoint.getArgs()).thenReturn(new Object[]{UUID.randomUUID()});
+        when(joinPoint.proceed()).thenReturn(connectionFactory.create());
+        StepVerifier.create((Mono<Object>) aspect.routeRead(joinPoint))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void create_ShouldUsePrimaryOutsideReadOnlyQueries() {
+        StepVerifier.create(connectionFactory.create())
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        verify(replica, never()).create();
+    }
+
+    @Test
+    void idsOf_ShouldCollectIdsFromArguments() {
+        UUID other = UUID.randomUUID();
+        Set<UUID> ids = ReadReplicaRoutingAspect.idsOf(new Object[]{CONSENT_ID, List.of(other), "ignored", null});
+
+        assertEquals(Set.of(CONSENT_ID, other), ids);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.aspects;
+
+import com.firefly.core.banking.psdx.models.repositories.ConsentRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the RepositoryMetricsAspect.
+ */
+@ExtendWith(MockitoExtension.class)
+class RepositoryMetricsAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    @Mock
+    private ConsentRepository consentRepository;
+
+    private SimpleMeterRegistry registry;
+    private RepositoryMetricsAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        aspect = new RepositoryMetricsAspect(registry);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(consentRepository);
+    }
+
+    @Test
+    void timeQuery_ShouldRecordOnSubscription() throws Throwable {
+        when(signature.getName()).thenReturn("findByPartyId");
+        when(joinPoint.proceed()).thenReturn(Flux.just(1, 2));
+
+        Flux<?> result = (Flux<?>) aspect.timeQuery(joinPoint);
+        assertNull(registry.find("psdx.r2dbc.query").timer());
+
+        StepVerifier.create(result)
+                .expectNextCount(2)
+                .verifyComplete();
+
+        Timer timer = registry.get("psdx.r2dbc.query")
+                .tag("repository", "ConsentRepository")
+                .tag("method", "findByPartyId")
+                .tag("outcome", "success")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void timeQuery_ShouldTagErrors() throws Throwable {
+        when(signature.getName()).thenReturn("findById");
+        when(joinPoint.proceed()).thenReturn(Mono.error(new IllegalStateException("connection closed")));
+
+        StepVerifier.create((Mono<?>) aspect.timeQuery(joinPoint))
+                .verifyError(IllegalStateException.class);
+
+        assertEquals(1, registry.get("psdx.r2dbc.query").tag("outcome", "error").timer().count());
+    }
+}
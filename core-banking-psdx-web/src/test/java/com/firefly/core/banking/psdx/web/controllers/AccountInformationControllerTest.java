@@ -99,7 +99,7 @@ class AccountInformationControllerTest {
     @Test
     void getAccounts_shouldReturnAccounts() {
         // Given
-        when(accountInformationService.getAccounts(CONSENT_ID, PARTY_ID))
+        when(accountInformationService.getAccounts(CONSENT_ID, PARTY_ID, false))
                 .thenReturn(Flux.fromIterable(Arrays.asList(account1, account2)));
 
         // When & Then
@@ -21,6 +21,7 @@ import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentStatusDTO;
 import com.firefly.core.banking.psdx.interfaces.services.ConsentService;
+import com.firefly.core.banking.psdx.interfaces.services.IdempotencyService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,6 +38,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -48,6 +50,9 @@ class ConsentControllerTest {
     @Mock
     private ConsentService consentService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @InjectMocks
     private ConsentController consentController;
 
@@ -120,6 +125,8 @@ class ConsentControllerTest {
     @Test
     void createConsent_shouldReturnCreatedConsent() {
         // Given
+        when(idempotencyService.execute(any(), any(), any(), any(), eq(PSDConsentDTO.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Mono<PSDConsentDTO>>>getArgument(5).get());
         when(consentService.createConsent(any(PSDConsentRequestDTO.class)))
                 .thenReturn(Mono.just(consent1));
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.controllers;
+
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDAccountDTO;
+import com.firefly.core.banking.psdx.interfaces.dtos.PSDDashboardItemDTO;
+import com.firefly.core.banking.psdx.interfaces.services.DashboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardControllerTest {
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @InjectMocks
+    private DashboardController dashboardController;
+
+    private WebTestClient webTestClient;
+
+    private final UUID CONSENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private final UUID CARD_CONSENT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440007");
+    private final UUID PARTY_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private final String THIRD_PARTY_ID = "tpp-1";
+
+    private PSDDashboardItemDTO accountItem;
+    private PSDDashboardItemDTO noticeItem;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(dashboardController).build();
+
+        // Setup test data
+        PSDAccountDTO account = new PSDAccountDTO();
+        account.setResourceId(UUID.fromString("550e8400-e29b-41d4-a716-446655440002"));
+        account.setIban("DE89370400440532013000");
+
+        accountItem = PSDDashboardItemDTO.builder()
+                .itemType("ACCOUNT")
+                .consentId(CONSENT_ID)
+                .account(account)
+                .build();
+        noticeItem = PSDDashboardItemDTO.builder()
+                .itemType("NOTICE")
+                .consentId(CARD_CONSENT_ID)
+                .message("Invalid or expired consent")
+                .build();
+    }
+
+    @Test
+    void getDashboard_shouldStreamItemsForAllConsents() {
+        // Given
+        when(dashboardService.getDashboard(List.of(CONSENT_ID, CARD_CONSENT_ID), PARTY_ID, THIRD_PARTY_ID))
+                .thenReturn(Flux.just(accountItem, noticeItem));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/dashboard?partyId=" + PARTY_ID)
+                .header("X-Consent-ID", CONSENT_ID + "," + CARD_CONSENT_ID)
+                .header("X-API-KEY", THIRD_PARTY_ID)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PSDDashboardItemDTO.class)
+                .hasSize(2)
+                .contains(accountItem, noticeItem);
+    }
+}
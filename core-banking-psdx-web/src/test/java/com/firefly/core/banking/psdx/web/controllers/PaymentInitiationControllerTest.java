@@ -20,6 +20,7 @@ package com.firefly.core.banking.psdx.web.controllers;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentInitiationRequestDTO;
 import com.firefly.core.banking.psdx.interfaces.dtos.PSDPaymentStatusDTO;
+import com.firefly.core.banking.psdx.interfaces.services.IdempotencyService;
 import com.firefly.core.banking.psdx.interfaces.services.PaymentInitiationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -46,6 +47,9 @@ class PaymentInitiationControllerTest {
     @Mock
     private PaymentInitiationService paymentInitiationService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @InjectMocks
     private PaymentInitiationController paymentInitiationController;
 
@@ -23,6 +23,7 @@ import com.firefly.core.banking.psdx.interfaces.dtos.PSDConsentStatusDTO;
 import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
 import com.firefly.core.banking.psdx.interfaces.enums.ConsentType;
 import com.firefly.core.banking.psdx.interfaces.services.ConsentService;
+import com.firefly.core.banking.psdx.interfaces.services.IdempotencyService;
 import com.firefly.core.banking.psdx.web.controllers.ConsentController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,6 +39,7 @@ import reactor.core.publisher.Mono;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -54,6 +56,9 @@ public class ConsentIntegrationTest {
     @Mock
     private ConsentService consentService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @InjectMocks
     private ConsentController consentController;
 
@@ -92,6 +97,8 @@ public class ConsentIntegrationTest {
     @Test
     void createConsent_shouldReturnCreatedConsent() {
         // Given
+        when(idempotencyService.execute(any(), any(), any(), any(), eq(PSDConsentDTO.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Mono<PSDConsentDTO>>>getArgument(5).get());
         when(consentService.createConsent(any(PSDConsentRequestDTO.class))).thenReturn(Mono.just(consentDTO));
 
         // When & Then
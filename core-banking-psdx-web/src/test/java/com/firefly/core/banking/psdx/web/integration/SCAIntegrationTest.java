@@ -33,6 +33,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -131,7 +132,7 @@ public class SCAIntegrationTest {
     @Test
     void isSCARequired_shouldReturnBoolean() {
         // Given
-        when(scaServicePort.isSCARequired(100.0, "EUR")).thenReturn(Mono.just(true));
+        when(scaServicePort.isSCARequired(new BigDecimal("100.0"), "EUR")).thenReturn(Mono.just(true));
 
         // When & Then
         webTestClient.get()
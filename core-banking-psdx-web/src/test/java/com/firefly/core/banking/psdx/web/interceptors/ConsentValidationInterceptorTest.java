@@ -17,7 +17,12 @@
 
 package com.firefly.core.banking.psdx.web.interceptors;
 
+import com.firefly.core.banking.psdx.core.consent.ConsentAccessScope;
+import com.firefly.core.banking.psdx.core.consent.ConsentContext;
+import com.firefly.core.banking.psdx.core.consent.ValidatedConsent;
 import com.firefly.core.banking.psdx.core.services.ConsentValidationService;
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentStatus;
+import com.firefly.core.banking.psdx.interfaces.enums.ConsentType;
 import com.firefly.core.banking.psdx.interfaces.enums.ResourceType;
 import com.firefly.core.banking.psdx.interfaces.exceptions.PSDConsentInvalidException;
 import com.firefly.core.banking.psdx.interfaces.exceptions.PSDFormatException;
@@ -32,6 +37,7 @@ import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -187,8 +193,14 @@ class ConsentValidationInterceptorTest {
                 .build();
         MockServerWebExchange exchange = MockServerWebExchange.from(request);
 
-        when(consentValidationService.validateConsent(any(UUID.class), any(ResourceType.class), any(UUID.class), eq("api-key-123")))
-                .thenReturn(Mono.just(true));
+        ValidatedConsent consent = new ValidatedConsent(UUID.fromString(VALID_CONSENT_ID), UUID.fromString(VALID_PARTY_ID),
+                ConsentType.ACCOUNT_INFORMATION, ConsentStatus.VALID, LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1), ConsentAccessScope.of("account", null), null);
+        when(consentValidationService.validate(any(UUID.class), any(ResourceType.class), any(UUID.class), eq("api-key-123")))
+                .thenReturn(Mono.just(consent));
+        when(chain.filter(exchange)).thenReturn(ConsentContext.current(consent.consentId())
+                .switchIfEmpty(Mono.error(new IllegalStateException("No validated consent in context")))
+                .then());
 
         // When
         Mono<Void> result = interceptor.filter(exchange, chain);
@@ -209,8 +221,8 @@ class ConsentValidationInterceptorTest {
                 .build();
         MockServerWebExchange exchange = MockServerWebExchange.from(request);
 
-        when(consentValidationService.validateConsent(any(UUID.class), any(ResourceType.class), any(UUID.class), eq("api-key-123")))
-                .thenReturn(Mono.just(false));
+        when(consentValidationService.validate(any(UUID.class), any(ResourceType.class), any(UUID.class), eq("api-key-123")))
+                .thenReturn(Mono.empty());
 
         // When
         Mono<Void> result = interceptor.filter(exchange, chain);
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.banking.psdx.web.interceptors;
+
+import com.firefly.core.banking.psdx.models.routing.Workload;
+import com.firefly.core.banking.psdx.models.routing.WorkloadContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for the WorkloadRoutingFilter.
+ */
+class WorkloadRoutingFilterTest {
+
+    private final WorkloadRoutingFilter filter = new WorkloadRoutingFilter();
+
+    @Test
+    void resolveWorkload_ShouldRouteByPathAndMethod() {
+        assertEquals(Workload.AIS_READ, filter.resolveWorkload(HttpMethod.GET, "/api/v1/accounts/123/balances"));
+        assertEquals(Workload.AIS_READ, filter.resolveWorkload(HttpMethod.GET, "/api/v1/dashboard"));
+        assertEquals(Workload.PIS_WRITE, filter.resolveWorkload(HttpMethod.POST, "/api/v1/payments"));
+        assertEquals(Workload.PIS_WRITE, filter.resolveWorkload(HttpMethod.DELETE, "/api/v1/payments/123"));
+        assertEquals(Workload.DEFAULT, filter.resolveWorkload(HttpMethod.GET, "/api/v1/payments/123/status"));
+        assertEquals(Workload.DEFAULT, filter.resolveWorkload(HttpMethod.POST, "/api/v1/consents"));
+    }
+
+    @Test
+    void filter_ShouldWriteWorkloadIntoContext() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/payments").build());
+        AtomicReference<Workload> seen = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, ex -> WorkloadContext.current().doOnNext(seen::set).then()))
+                .verifyComplete();
+
+        assertEquals(Workload.PIS_WRITE, seen.get());
+    }
+
+    @Test
+    void filter_ShouldLeaveDefaultRequestsUnassigned() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/consents/123").build());
+        AtomicReference<Workload> seen = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, ex -> WorkloadContext.current().doOnNext(seen::set).then()))
+                .verifyComplete();
+
+        assertNull(seen.get());
+    }
+}